@@ -18,12 +18,12 @@ package com.foreach.across.modules.adminweb.resource;
 
 import com.foreach.across.modules.adminweb.AdminWebModule;
 import com.foreach.across.modules.bootstrapui.resource.BootstrapUiWebResources;
+import com.foreach.across.modules.bootstrapui.resource.PrecompiledWebResourcePackage;
 import com.foreach.across.modules.web.AcrossWebModule;
 import com.foreach.across.modules.web.context.WebAppPathResolver;
 import com.foreach.across.modules.web.resource.WebResource;
-import com.foreach.across.modules.web.resource.WebResourcePackage;
 import com.foreach.across.modules.web.resource.WebResourcePackageManager;
-import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceRule;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -40,9 +40,10 @@ import static com.foreach.across.modules.web.resource.WebResourceRule.addPackage
 /**
  * Boostrap css, requires jquery as well.
  * Also registers some application paths as javascript data.
+ * The paths are resolved and serialized only once, when the package is first installed.
  */
 @Component
-public class AdminWebWebResources implements WebResourcePackage
+public class AdminWebWebResources extends PrecompiledWebResourcePackage
 {
 	public static final String NAME = "bootstrap-adminweb";
 	public static final String TOASTR = "toastr";
@@ -60,17 +61,21 @@ public class AdminWebWebResources implements WebResourcePackage
 	}
 
 	@Override
-	public void install( WebResourceRegistry registry ) {
+	protected WebResourceRule[] compileRules() {
 		Map<String, String> acrossWebPathVariables = new HashMap<>();
 		acrossWebPathVariables.put( "resourcePath", StringUtils.removeEnd( pathResolver.path( "@resource:/" ), "/" ) );
 		acrossWebPathVariables.put( "staticPath", StringUtils.removeEnd( pathResolver.path( "@static:/" ), "/" ) );
 
 		Map<String, String> adminWebPathVariables = Collections.singletonMap( "rootPath", StringUtils.removeEnd( pathResolver.path( "@adminWeb:/" ), "/" ) );
 
-		registry.apply(
+		return new WebResourceRule[] {
 				// global data
-				add( WebResource.globalJsonData( "Across.AcrossWebModule", acrossWebPathVariables ) ).withKey( AcrossWebModule.NAME ).toBucket( JAVASCRIPT ),
-				add( WebResource.globalJsonData( "Across.AdminWebModule", adminWebPathVariables ) ).withKey( AdminWebModule.NAME ).toBucket( JAVASCRIPT ),
+				add( WebResource.globalJsonData( "Across.AcrossWebModule", precompiledJson( acrossWebPathVariables ) ) )
+						.withKey( AcrossWebModule.NAME )
+						.toBucket( JAVASCRIPT ),
+				add( WebResource.globalJsonData( "Across.AdminWebModule", precompiledJson( adminWebPathVariables ) ) )
+						.withKey( AdminWebModule.NAME )
+						.toBucket( JAVASCRIPT ),
 
 				// javascript/css
 				addPackage( BootstrapUiWebResources.NAME ),
@@ -92,6 +97,6 @@ public class AdminWebWebResources implements WebResourcePackage
 				add( WebResource.javascript( "@static:/adminweb/js/admin-web-module.js" ) )
 						.withKey( NAME )
 						.toBucket( JAVASCRIPT_PAGE_END )
-		);
+		};
 	}
 }
@@ -40,6 +40,7 @@ public class ApplicationInfoModuleSettings
 	public static final String BUILD_DATE = "application-info.build-date";
 	public static final String HOSTNAME = "application-info.host-name";
 	public static final String STARTUP_DATE = "application-info.startup-date";
+	public static final String STARTUP_PROFILE_CAPACITY = "application-info.startup-profile-capacity";
 
 	/**
 	 * Internal id of the application
@@ -80,4 +81,9 @@ public class ApplicationInfoModuleSettings
 	 * Timestamp when the application should be considered started.
 	 */
 	private Date startupDate;
+
+	/**
+	 * Maximum number of startup phases that will be recorded in the startup profile.
+	 */
+	private int startupProfileCapacity = 10000;
 }
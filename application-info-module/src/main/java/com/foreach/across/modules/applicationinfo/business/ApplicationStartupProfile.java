@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.applicationinfo.business;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Detailed timing profile of the application startup. Module bootstrap times are registered directly when a module
+ * starts and finishes bootstrapping, other phases are recorded as {@link StartupStep}s on the exposed
+ * {@link BufferingApplicationStartup}.
+ * Modules can record their own phases by looking up that bean and using it as a regular
+ * {@link org.springframework.core.metrics.ApplicationStartup}, the first tag of a step is used as the phase name.
+ * <p/>
+ * Steps recorded after the capacity of the {@link BufferingApplicationStartup} has been reached are silently ignored.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class ApplicationStartupProfile
+{
+	/**
+	 * Category for the bootstrap of a single Across module.
+	 */
+	public static final String MODULE_BOOTSTRAP = "across.module.bootstrap";
+
+	/**
+	 * Category for a single installer run, installers can record their runs using this step name.
+	 */
+	public static final String INSTALLER = "across.installer";
+
+	private final BufferingApplicationStartup applicationStartup;
+	private final List<StartupPhase> modulePhases = new ArrayList<>();
+	private final Map<String, Long> moduleBootstrapStarts = new HashMap<>();
+	private final long created;
+
+	public ApplicationStartupProfile( BufferingApplicationStartup applicationStartup ) {
+		this.applicationStartup = applicationStartup;
+		this.created = System.currentTimeMillis();
+	}
+
+	/**
+	 * Register a module as starting its bootstrap.
+	 *
+	 * @param moduleName name of the module
+	 */
+	public synchronized void moduleBootstrapStarted( String moduleName ) {
+		moduleBootstrapStarts.put( moduleName, System.currentTimeMillis() );
+	}
+
+	/**
+	 * Register a module as bootstrapped, the duration is the time elapsed since {@link #moduleBootstrapStarted(String)}
+	 * for the same module. If the start of the module was not registered - the module that creates the profile
+	 * has already started bootstrapping - the creation time of the profile is used instead and the phase is tagged
+	 * as partial, so no time spent before the profile existed is attributed to the module.
+	 *
+	 * @param moduleName name of the module
+	 */
+	public synchronized void moduleBootstrapped( String moduleName ) {
+		long now = System.currentTimeMillis();
+		Long start = moduleBootstrapStarts.remove( moduleName );
+
+		Map<String, String> tags = new LinkedHashMap<>();
+		tags.put( "module", moduleName );
+		if ( start == null ) {
+			start = created;
+			tags.put( "partial", "true" );
+		}
+
+		modulePhases.add( new StartupPhase( MODULE_BOOTSTRAP, moduleName, tags, new Date( start ), now - start ) );
+	}
+
+	/**
+	 * @return all recorded phases, ordered by start date
+	 */
+	public List<StartupPhase> getPhases() {
+		List<StartupPhase> phases;
+		synchronized ( this ) {
+			phases = new ArrayList<>( modulePhases );
+		}
+
+		applicationStartup.getBufferedTimeline()
+		                  .getEvents()
+		                  .forEach( event -> phases.add( toStartupPhase( event ) ) );
+
+		phases.sort( Comparator.comparing( StartupPhase::getStartDate ) );
+		return phases;
+	}
+
+	/**
+	 * @return all recorded phases, slowest first
+	 */
+	public List<StartupPhase> getPhasesByDuration() {
+		return getPhases().stream()
+		                  .sorted( Comparator.comparingLong( StartupPhase::getDuration ).reversed() )
+		                  .collect( Collectors.toList() );
+	}
+
+	/**
+	 * @return total duration per phase category
+	 */
+	public Map<String, Long> getDurationPerCategory() {
+		Map<String, Long> totals = new TreeMap<>();
+		getPhases().forEach( phase -> totals.merge( phase.getCategory(), phase.getDuration(), Long::sum ) );
+		return totals;
+	}
+
+	private StartupPhase toStartupPhase( TimelineEvent event ) {
+		StartupStep step = event.getStartupStep();
+		Map<String, String> tags = new LinkedHashMap<>();
+		step.getTags().forEach( tag -> tags.put( tag.getKey(), tag.getValue() ) );
+
+		return new StartupPhase(
+				step.getName(),
+				tags.isEmpty() ? step.getName() : tags.values().iterator().next(),
+				tags,
+				Date.from( event.getStartTime() ),
+				event.getDuration().toMillis()
+		);
+	}
+}
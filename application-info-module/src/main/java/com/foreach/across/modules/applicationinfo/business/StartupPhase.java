@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.applicationinfo.business;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A single timed phase of the application startup, for example the bootstrap of a module
+ * or the application of a single entity configurer.
+ *
+ * @author Arne Vandamme
+ * @see ApplicationStartupProfile
+ * @since 4.3.0
+ */
+public final class StartupPhase
+{
+	private final String category, name;
+	private final Map<String, String> tags;
+	private final Date startDate;
+	private final long duration;
+
+	public StartupPhase( String category, String name, Map<String, String> tags, Date startDate, long duration ) {
+		this.category = category;
+		this.name = name;
+		this.tags = Collections.unmodifiableMap( new LinkedHashMap<>( tags ) );
+		this.startDate = startDate;
+		this.duration = duration;
+	}
+
+	/**
+	 * @return category of the phase, the name of the startup step that was recorded
+	 */
+	public String getCategory() {
+		return category;
+	}
+
+	/**
+	 * @return descriptive name of the phase within its category, for example the module name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return all tags that were attached to the phase
+	 */
+	public Map<String, String> getTags() {
+		return tags;
+	}
+
+	public Date getStartDate() {
+		return startDate;
+	}
+
+	/**
+	 * @return duration of the phase in milliseconds
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	@Override
+	public String toString() {
+		return "StartupPhase{" +
+				"category='" + category + '\'' +
+				", name='" + name + '\'' +
+				", duration=" + duration +
+				'}';
+	}
+}
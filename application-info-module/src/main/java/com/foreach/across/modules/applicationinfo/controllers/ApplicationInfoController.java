@@ -1,6 +1,7 @@
 package com.foreach.across.modules.applicationinfo.controllers;
 
 import com.foreach.across.modules.applicationinfo.business.AcrossApplicationInfo;
+import com.foreach.across.modules.applicationinfo.business.ApplicationStartupProfile;
 import com.foreach.across.modules.debugweb.mvc.DebugWebController;
 import org.apache.commons.lang3.time.DurationFormatUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,9 @@ public class ApplicationInfoController
 	@Autowired
 	private AcrossApplicationInfo applicationInfo;
 
+	@Autowired
+	private ApplicationStartupProfile startupProfile;
+
 	@RequestMapping(PATH)
 	public String dashboard( Model model ) {
 		model.addAttribute( "applicationInfo", applicationInfo );
@@ -26,6 +30,8 @@ public class ApplicationInfoController
 				"uptimeFormatted",
 				DurationFormatUtils.formatDuration( applicationInfo.getUptime(), "d 'days' HH:mm:ss" )
 		);
+		model.addAttribute( "startupPhases", startupProfile.getPhasesByDuration() );
+		model.addAttribute( "startupDurationPerCategory", startupProfile.getDurationPerCategory() );
 
 		return "th/applicationinfo/dashboard";
 	}
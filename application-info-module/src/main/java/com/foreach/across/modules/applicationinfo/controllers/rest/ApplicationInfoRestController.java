@@ -1,6 +1,8 @@
 package com.foreach.across.modules.applicationinfo.controllers.rest;
 
 import com.foreach.across.modules.applicationinfo.business.AcrossApplicationInfo;
+import com.foreach.across.modules.applicationinfo.business.ApplicationStartupProfile;
+import com.foreach.across.modules.applicationinfo.business.StartupPhase;
 import com.foreach.across.modules.applicationinfo.controllers.ApplicationInfoController;
 import com.foreach.across.modules.debugweb.mvc.DebugWebController;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.util.List;
+
 /**
  * @author niels
  * @since 24/07/2015
@@ -18,13 +22,23 @@ import org.springframework.web.bind.annotation.ResponseBody;
 public class ApplicationInfoRestController
 {
 	public static final String PATH_REST_PREFIX = "/api";
+	public static final String PATH_STARTUP = "/startup";
 
 	@Autowired
 	private AcrossApplicationInfo applicationInfo;
 
+	@Autowired
+	private ApplicationStartupProfile startupProfile;
+
 	@RequestMapping( value = PATH_REST_PREFIX + ApplicationInfoController.PATH, produces = MediaType.APPLICATION_JSON_VALUE )
 	@ResponseBody
 	public ResponseEntity<AcrossApplicationInfo> getApplicationInfoAsJson() {
 		return new ResponseEntity<>( applicationInfo, HttpStatus.OK );
 	}
+
+	@RequestMapping( value = PATH_REST_PREFIX + ApplicationInfoController.PATH + PATH_STARTUP, produces = MediaType.APPLICATION_JSON_VALUE )
+	@ResponseBody
+	public ResponseEntity<List<StartupPhase>> getStartupPhasesAsJson() {
+		return new ResponseEntity<>( startupProfile.getPhases(), HttpStatus.OK );
+	}
 }
@@ -20,10 +20,14 @@ import com.foreach.across.core.annotations.Exposed;
 import com.foreach.across.core.annotations.ModuleConfiguration;
 import com.foreach.across.core.context.bootstrap.AcrossBootstrapConfigurer;
 import com.foreach.across.core.events.AcrossContextBootstrappedEvent;
+import com.foreach.across.core.events.AcrossModuleBeforeBootstrapEvent;
+import com.foreach.across.core.events.AcrossModuleBootstrappedEvent;
 import com.foreach.across.modules.applicationinfo.ApplicationInfoModuleSettings;
 import com.foreach.across.modules.applicationinfo.business.AcrossApplicationInfoImpl;
+import com.foreach.across.modules.applicationinfo.business.ApplicationStartupProfile;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.event.EventListener;
@@ -72,6 +76,31 @@ class AcrossContextInfrastructureExtension
 		return applicationInfo;
 	}
 
+	/**
+	 * Startup recorder that other modules can use to register timed phases in the startup profile.
+	 */
+	@Bean
+	@Exposed
+	public BufferingApplicationStartup applicationInfoStartupRecorder() {
+		return new BufferingApplicationStartup( settings.getStartupProfileCapacity() );
+	}
+
+	@Bean
+	@Exposed
+	public ApplicationStartupProfile applicationStartupProfile() {
+		return new ApplicationStartupProfile( applicationInfoStartupRecorder() );
+	}
+
+	@EventListener
+	public void moduleBootstrapStarted( AcrossModuleBeforeBootstrapEvent event ) {
+		applicationStartupProfile().moduleBootstrapStarted( event.getModule().getName() );
+	}
+
+	@EventListener
+	public void moduleBootstrapped( AcrossModuleBootstrappedEvent event ) {
+		applicationStartupProfile().moduleBootstrapped( event.getModule().getName() );
+	}
+
 	@EventListener
 	public void bootstrapFinished( AcrossContextBootstrappedEvent event ) {
 		runningApplicationInfo().setBootstrapEndDate( new Date() );
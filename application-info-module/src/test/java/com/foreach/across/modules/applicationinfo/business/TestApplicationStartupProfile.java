@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.applicationinfo.business;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestApplicationStartupProfile
+{
+	private BufferingApplicationStartup applicationStartup;
+	private ApplicationStartupProfile profile;
+
+	@BeforeEach
+	public void reset() {
+		applicationStartup = new BufferingApplicationStartup( 100 );
+		profile = new ApplicationStartupProfile( applicationStartup );
+	}
+
+	@Test
+	public void noPhasesRecorded() {
+		assertTrue( profile.getPhases().isEmpty() );
+		assertTrue( profile.getDurationPerCategory().isEmpty() );
+	}
+
+	@Test
+	public void moduleBootstrapDurationIsTimeBetweenStartAndEnd() throws InterruptedException {
+		Thread.sleep( 20 );
+		profile.moduleBootstrapStarted( "ModuleOne" );
+		Thread.sleep( 20 );
+		profile.moduleBootstrapped( "ModuleOne" );
+		Thread.sleep( 20 );
+		profile.moduleBootstrapStarted( "ModuleTwo" );
+		profile.moduleBootstrapped( "ModuleTwo" );
+
+		List<StartupPhase> phases = profile.getPhases();
+		assertEquals( 2, phases.size() );
+		assertEquals( ApplicationStartupProfile.MODULE_BOOTSTRAP, phases.get( 0 ).getCategory() );
+		assertEquals( "ModuleOne", phases.get( 0 ).getName() );
+		assertTrue( phases.get( 0 ).getDuration() >= 20 );
+		assertEquals( "ModuleTwo", phases.get( 1 ).getName() );
+		assertTrue( phases.get( 1 ).getStartDate().getTime() >= phases.get( 0 ).getStartDate().getTime() + 40 );
+		assertFalse( phases.get( 1 ).getTags().containsKey( "partial" ) );
+	}
+
+	@Test
+	public void moduleWithoutRegisteredStartIsMeasuredFromProfileCreation() throws InterruptedException {
+		Thread.sleep( 20 );
+		profile.moduleBootstrapped( "ModuleOne" );
+
+		StartupPhase phase = profile.getPhases().get( 0 );
+		assertTrue( phase.getDuration() >= 20 );
+		assertEquals( "true", phase.getTags().get( "partial" ) );
+	}
+
+	@Test
+	public void recordedStepsAreAddedAsPhases() throws InterruptedException {
+		applicationStartup.start( "entity-module.configurer" ).tag( "configurer", "fast" ).end();
+		profile.moduleBootstrapped( "ModuleOne" );
+
+		StartupStep step = applicationStartup.start( "entity-module.configurer" ).tag( "configurer", "slow" );
+		Thread.sleep( 20 );
+		step.end();
+
+		List<StartupPhase> byDuration = profile.getPhasesByDuration();
+		assertEquals( 3, byDuration.size() );
+		assertTrue( byDuration.get( 0 ).getDuration() >= byDuration.get( 1 ).getDuration() );
+		assertTrue( byDuration.get( 1 ).getDuration() >= byDuration.get( 2 ).getDuration() );
+
+		StartupPhase slow = byDuration.stream().filter( p -> "slow".equals( p.getName() ) ).findFirst().orElse( null );
+		assertNotNull( slow );
+		assertEquals( "entity-module.configurer", slow.getCategory() );
+		assertEquals( "slow", slow.getTags().get( "configurer" ) );
+		assertTrue( slow.getDuration() >= 20 );
+
+		Map<String, Long> totals = profile.getDurationPerCategory();
+		assertEquals( 2, totals.size() );
+		assertTrue( totals.get( "entity-module.configurer" ) >= 20 );
+		assertTrue( totals.containsKey( ApplicationStartupProfile.MODULE_BOOTSTRAP ) );
+	}
+}
@@ -3,6 +3,7 @@ package com.foreach.across.modules.applicationinfo.it;
 import com.foreach.across.modules.applicationinfo.ApplicationInfoModule;
 import com.foreach.across.modules.applicationinfo.ApplicationInfoModuleSettings;
 import com.foreach.across.modules.applicationinfo.business.AcrossApplicationInfo;
+import com.foreach.across.modules.applicationinfo.business.ApplicationStartupProfile;
 import com.foreach.across.test.AcrossTestContext;
 import org.apache.commons.lang3.time.FastDateFormat;
 import org.junit.jupiter.api.Test;
@@ -55,6 +56,14 @@ public class ITApplicationInfoBuilding
 					applicationInfo.getBootstrapStartDate().getTime() >= applicationInfo.getStartupDate().getTime() );
 			assertTrue( applicationInfo.getBootstrapEndDate().getTime() >= applicationInfo.getBootstrapStartDate()
 			                                                                              .getTime() );
+
+			ApplicationStartupProfile startupProfile = ctx.getBeanOfType( ApplicationStartupProfile.class );
+			assertTrue(
+					startupProfile.getPhases()
+					              .stream()
+					              .anyMatch( phase -> ApplicationStartupProfile.MODULE_BOOTSTRAP.equals( phase.getCategory() )
+							              && ApplicationInfoModule.NAME.equals( phase.getName() ) )
+			);
 		}
 	}
 
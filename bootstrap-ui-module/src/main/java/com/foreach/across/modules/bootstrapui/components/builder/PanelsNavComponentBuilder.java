@@ -19,11 +19,11 @@ package com.foreach.across.modules.bootstrapui.components.builder;
 import com.foreach.across.modules.bootstrapui.attributes.BootstrapAttributes;
 import com.foreach.across.modules.bootstrapui.elements.LinkViewElement;
 import com.foreach.across.modules.bootstrapui.styles.AcrossBootstrapStyles;
+import com.foreach.across.modules.bootstrapui.utils.HtmlIdGenerator;
 import com.foreach.across.modules.web.menu.Menu;
 import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
 import com.foreach.across.modules.web.ui.elements.NodeViewElement;
 
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.foreach.across.modules.bootstrapui.styles.BootstrapStyles.css;
@@ -53,11 +53,11 @@ public class PanelsNavComponentBuilder extends NavComponentBuilder<PanelsNavComp
 	@Deprecated
 	public static final String ATTR_RENDER_AS_PANEL = "nav:renderAsPanel";
 
-	private String subMenuBaseId = UUID.randomUUID().toString();
+	private String subMenuBaseId;
 
 	/**
 	 * Optionally set a base id to be used for generating the unique sub-menu ids.
-	 * Defaults to a UUID.
+	 * If not set, the sub-menu ids are generated using the {@link HtmlIdGenerator} of the builder context.
 	 *
 	 * @param htmlId to use as base
 	 * @return current builder
@@ -165,7 +165,9 @@ public class PanelsNavComponentBuilder extends NavComponentBuilder<PanelsNavComp
 	}
 
 	private void addSubMenu( NodeViewElement li, Menu item, ViewElementBuilderContext builderContext, AtomicInteger subMenuCount ) {
-		String subMenuId = subMenuBaseId + "-" + subMenuCount.incrementAndGet();
+		String subMenuId = subMenuBaseId != null
+				? subMenuBaseId + "-" + subMenuCount.incrementAndGet()
+				: HtmlIdGenerator.forBuilderContext( builderContext ).next();
 
 		LinkViewElement link = new LinkViewElement();
 		link.setUrl( "#a" + subMenuId );
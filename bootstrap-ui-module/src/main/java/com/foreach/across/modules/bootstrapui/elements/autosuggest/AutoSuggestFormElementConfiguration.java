@@ -17,13 +17,13 @@
 package com.foreach.across.modules.bootstrapui.elements.autosuggest;
 
 import com.foreach.across.modules.bootstrapui.utils.ElementConfigurationMap;
+import com.foreach.across.modules.bootstrapui.utils.HtmlIdGenerator;
 import lombok.NonNull;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -221,7 +221,7 @@ public class AutoSuggestFormElementConfiguration extends ElementConfigurationMap
 	public static class DataSet extends ElementConfigurationMap<DataSet>
 	{
 		private DataSet() {
-			name( UUID.randomUUID().toString() );
+			name( HtmlIdGenerator.current().next() );
 			setAttribute( "bloodhound", new ElementConfigurationMap<>() );
 		}
 
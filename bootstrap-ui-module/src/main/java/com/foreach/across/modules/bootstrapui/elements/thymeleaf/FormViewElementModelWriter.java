@@ -16,6 +16,7 @@
 package com.foreach.across.modules.bootstrapui.elements.thymeleaf;
 
 import com.foreach.across.modules.bootstrapui.elements.FormViewElement;
+import com.foreach.across.modules.bootstrapui.utils.HtmlIdGenerator;
 import com.foreach.across.modules.web.thymeleaf.ThymeleafModelBuilder;
 import com.foreach.across.modules.web.ui.elements.thymeleaf.AbstractHtmlViewElementModelWriter;
 import org.springframework.http.HttpMethod;
@@ -32,7 +33,6 @@ import org.thymeleaf.standard.expression.VariableExpression;
 import org.thymeleaf.util.StringUtils;
 
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * @author Arne Vandamme
@@ -66,7 +66,7 @@ public class FormViewElementModelWriter extends AbstractHtmlViewElementModelWrit
 		if ( form.getErrors() != null ) {
 			Map<String, Object> requestContextModel = requestContext.getModel();
 
-			String beanName = UUID.randomUUID().toString();
+			String beanName = HtmlIdGenerator.current().next();
 			String bindingResultName = BindingResult.MODEL_KEY_PREFIX + beanName;
 			if ( requestContextModel != null ) {
 				requestContextModel.put( bindingResultName, form.getErrors() );
@@ -17,6 +17,7 @@
 package com.foreach.across.modules.bootstrapui.elements.thymeleaf;
 
 import com.foreach.across.modules.bootstrapui.elements.ScriptViewElement;
+import com.foreach.across.modules.bootstrapui.utils.HtmlIdGenerator;
 import com.foreach.across.modules.web.thymeleaf.ThymeleafModelBuilder;
 import com.foreach.across.modules.web.ui.elements.thymeleaf.AbstractHtmlViewElementModelWriter;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +30,6 @@ import org.thymeleaf.model.ITemplateEvent;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Responsible for writing out {@link ScriptViewElement}, representing {@code <script>} HTML nodes.
@@ -60,7 +60,7 @@ public class ScriptViewElementModelWriter extends AbstractHtmlViewElementModelWr
 				super.writeModel( viewElement, model );
 			}
 			else {
-				String id = UUID.randomUUID().toString();
+				String id = HtmlIdGenerator.current().next();
 				scripts.add( new DeferredScript( id, viewElement ) );
 
 				String refTagName = viewElement.getRefTagName();
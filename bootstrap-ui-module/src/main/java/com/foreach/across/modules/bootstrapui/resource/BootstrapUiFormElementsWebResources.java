@@ -17,8 +17,7 @@ package com.foreach.across.modules.bootstrapui.resource;
 
 import com.foreach.across.modules.bootstrapui.BootstrapUiModule;
 import com.foreach.across.modules.web.resource.WebResource;
-import com.foreach.across.modules.web.resource.WebResourcePackage;
-import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceRule;
 import lombok.RequiredArgsConstructor;
 
 import static com.foreach.across.modules.web.resource.WebResource.CSS;
@@ -41,7 +40,7 @@ import static com.foreach.across.modules.web.resource.WebResourceRule.addPackage
  */
 @SuppressWarnings("WeakerAccess")
 @RequiredArgsConstructor
-public class BootstrapUiFormElementsWebResources implements WebResourcePackage
+public class BootstrapUiFormElementsWebResources extends PrecompiledWebResourcePackage
 {
 	public static final String NAME = "bootstrapui-formelements";
 	public static final String MOMENTJS = "momentjs";
@@ -63,8 +62,8 @@ public class BootstrapUiFormElementsWebResources implements WebResourcePackage
 	private final boolean minified;
 
 	@Override
-	public void install( WebResourceRegistry registry ) {
-		registry.apply(
+	protected WebResourceRule[] compileRules() {
+		return new WebResourceRule[] {
 				addPackage( BootstrapUiWebResources.NAME ),
 
 				// momentjs with locales
@@ -116,7 +115,7 @@ public class BootstrapUiFormElementsWebResources implements WebResourcePackage
 				add( WebResource.javascript( "@static:/" + BootstrapUiModule.NAME + "/js/bootstrapui-formelements.js" ) )
 						.withKey( NAME )
 						.toBucket( JAVASCRIPT_PAGE_END )
-		);
+		};
 	}
 
 	private String minified( String extension ) {
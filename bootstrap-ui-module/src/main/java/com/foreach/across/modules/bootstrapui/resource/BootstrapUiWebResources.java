@@ -17,8 +17,7 @@ package com.foreach.across.modules.bootstrapui.resource;
 
 import com.foreach.across.modules.bootstrapui.BootstrapUiModule;
 import com.foreach.across.modules.web.resource.WebResource;
-import com.foreach.across.modules.web.resource.WebResourcePackage;
-import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceRule;
 import lombok.RequiredArgsConstructor;
 
 import static com.foreach.across.modules.web.resource.WebResource.*;
@@ -32,7 +31,7 @@ import static com.foreach.across.modules.web.resource.WebResourceRule.addPackage
  * @since 2.0.0
  */
 @RequiredArgsConstructor
-public class BootstrapUiWebResources implements WebResourcePackage
+public class BootstrapUiWebResources extends PrecompiledWebResourcePackage
 {
 	public static final String NAME = "bootstrap";
 	public static final String POPPER = "popper";
@@ -47,8 +46,8 @@ public class BootstrapUiWebResources implements WebResourcePackage
 	private final boolean minified;
 
 	@Override
-	public void install( WebResourceRegistry registry ) {
-		registry.apply(
+	protected WebResourceRule[] compileRules() {
+		return new WebResourceRule[] {
 				addPackage( JQueryWebResources.NAME ),
 
 				// Bootstrap CSS & Javascript
@@ -80,6 +79,6 @@ public class BootstrapUiWebResources implements WebResourcePackage
 				add( WebResource.css( "@webjars:/ax-bootstrap-4-utilities/" + ACROSS_BOOTSTRAP_UTILITIES_VERSION + "/css/ax-bootstrap-utilities.css" ) )
 						.withKey( ACROSS_BOOTSTRAP_UTILITIES )
 						.toBucket( CSS )
-		);
+		};
 	}
 }
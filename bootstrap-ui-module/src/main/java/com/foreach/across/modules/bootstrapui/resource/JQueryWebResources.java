@@ -16,7 +16,6 @@
 package com.foreach.across.modules.bootstrapui.resource;
 
 import com.foreach.across.modules.web.resource.WebResource;
-import com.foreach.across.modules.web.resource.WebResourcePackage;
 import com.foreach.across.modules.web.resource.WebResourceRegistry;
 import com.foreach.across.modules.web.resource.WebResourceRule;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +28,7 @@ import org.springframework.core.Ordered;
  * @since 2.0.0
  */
 @RequiredArgsConstructor
-public class JQueryWebResources implements WebResourcePackage
+public class JQueryWebResources extends PrecompiledWebResourcePackage
 {
 	public static final String NAME = "jquery";
 
@@ -38,12 +37,12 @@ public class JQueryWebResources implements WebResourcePackage
 	private final boolean minified;
 
 	@Override
-	public void install( WebResourceRegistry webResourceRegistry ) {
-		webResourceRegistry.apply(
+	protected WebResourceRule[] compileRules() {
+		return new WebResourceRule[] {
 				WebResourceRule.add( WebResource.javascript( "@webjars:/jquery/" + JQUERY_VERSION + "/jquery" + ( minified ? ".min" : "" ) + ".js" ) )
 				               .withKey( NAME )
 				               .toBucket( WebResource.JAVASCRIPT_PAGE_END )
 				               .order( Ordered.HIGHEST_PRECEDENCE )
-		);
+		};
 	}
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.bootstrapui.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.foreach.across.modules.web.resource.WebResource;
+import com.foreach.across.modules.web.resource.WebResourcePackage;
+import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base class for a {@link WebResourcePackage} that always installs the same set of rules.
+ * The rules are compiled only once, the first time the package is installed, after which the same
+ * rules are applied to every {@link WebResourceRegistry} the package gets installed in.
+ * <p/>
+ * Compiled rules are shared between requests: they should only contain request independent values,
+ * for example paths resolved through the {@link com.foreach.across.modules.web.context.WebAppPathResolver}.
+ * Use {@link #precompiledJson(Object)} to serialize global JSON data only once as well.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public abstract class PrecompiledWebResourcePackage implements WebResourcePackage
+{
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private volatile WebResourceRule[] rules;
+
+	@Override
+	public void install( WebResourceRegistry registry ) {
+		registry.apply( compiledRules() );
+	}
+
+	/**
+	 * @return the compiled rules of this package, compiling them if necessary
+	 */
+	public final List<WebResourceRule> getRules() {
+		return Collections.unmodifiableList( Arrays.asList( compiledRules() ) );
+	}
+
+	/**
+	 * Discard the compiled rules, the next install will compile them again.
+	 */
+	public final void reset() {
+		rules = null;
+	}
+
+	private WebResourceRule[] compiledRules() {
+		WebResourceRule[] current = rules;
+		if ( current == null ) {
+			synchronized ( this ) {
+				current = rules;
+				if ( current == null ) {
+					current = compileRules().clone();
+					rules = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Create the rules that should be applied when installing this package.
+	 * Only called once, unless the package is {@link #reset()}.
+	 *
+	 * @return rules
+	 */
+	protected abstract WebResourceRule[] compileRules();
+
+	/**
+	 * Serialize data for a {@link WebResource#globalJsonData(String, Object)} resource immediately,
+	 * instead of every time the resource is rendered.
+	 *
+	 * @param data to serialize
+	 * @return pre-serialized JSON value
+	 */
+	protected static Object precompiledJson( Object data ) {
+		try {
+			return new RawValue( OBJECT_MAPPER.writeValueAsString( data ) );
+		}
+		catch ( JsonProcessingException jpe ) {
+			throw new IllegalArgumentException( "Unable to serialize global json data", jpe );
+		}
+	}
+}
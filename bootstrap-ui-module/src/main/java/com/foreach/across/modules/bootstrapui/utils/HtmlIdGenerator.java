@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.bootstrapui.utils;
+
+import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cheap generator for unique HTML ids, to be used instead of a {@link java.util.UUID} when rendering or building elements.
+ * Every generator has a random prefix and generates ids using a simple sequence: ids are unique within a single generator,
+ * and the random prefix keeps ids from different generators apart, for example when a page is extended with fragments
+ * from separate AJAX requests. Generated ids are <strong>not</strong> secure and should not be used as tokens.
+ * <p/>
+ * A single generator is shared for the entire request, use {@link #current()} or {@link #forBuilderContext(ViewElementBuilderContext)}
+ * to retrieve it. If a {@link ViewElementBuilderContext} has a generator registered as attribute, that one will be used instead.
+ * Outside of a request a new generator is returned every time.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public final class HtmlIdGenerator
+{
+	private static final String REQUEST_ATTRIBUTE = HtmlIdGenerator.class.getName();
+
+	private final String prefix;
+	private final AtomicInteger sequence = new AtomicInteger();
+
+	public HtmlIdGenerator() {
+		this( "bum" + Long.toString( ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX ) );
+	}
+
+	public HtmlIdGenerator( String prefix ) {
+		this.prefix = prefix;
+	}
+
+	/**
+	 * @return a new id, unique for this generator
+	 */
+	public String next() {
+		return prefix + "-" + sequence.incrementAndGet();
+	}
+
+	/**
+	 * Get the generator for the builder context. Uses the generator registered as attribute on the context,
+	 * or the generator for the current request if there is none.
+	 *
+	 * @param builderContext to get the generator for
+	 * @return generator
+	 */
+	public static HtmlIdGenerator forBuilderContext( ViewElementBuilderContext builderContext ) {
+		HtmlIdGenerator generator = builderContext != null ? builderContext.getAttribute( HtmlIdGenerator.class ) : null;
+		return generator != null ? generator : current();
+	}
+
+	/**
+	 * Get the generator for the current request. A new generator is created if there is no current request.
+	 *
+	 * @return generator
+	 */
+	public static HtmlIdGenerator current() {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+
+		if ( requestAttributes == null ) {
+			return new HtmlIdGenerator();
+		}
+
+		HtmlIdGenerator generator = (HtmlIdGenerator) requestAttributes.getAttribute( REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST );
+
+		if ( generator == null ) {
+			generator = new HtmlIdGenerator();
+			requestAttributes.setAttribute( REQUEST_ATTRIBUTE, generator, RequestAttributes.SCOPE_REQUEST );
+		}
+
+		return generator;
+	}
+}
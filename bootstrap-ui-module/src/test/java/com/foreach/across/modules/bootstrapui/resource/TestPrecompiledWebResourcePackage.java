@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.bootstrapui.resource;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Arne Vandamme
+ */
+class TestPrecompiledWebResourcePackage
+{
+	private final WebResourceRule rule = mock( WebResourceRule.class );
+	private final AtomicInteger compiled = new AtomicInteger();
+
+	private final PrecompiledWebResourcePackage webResourcePackage = new PrecompiledWebResourcePackage()
+	{
+		@Override
+		protected WebResourceRule[] compileRules() {
+			compiled.incrementAndGet();
+			return new WebResourceRule[] { rule };
+		}
+	};
+
+	@Test
+	void rulesAreCompiledOnlyOnce() {
+		WebResourceRegistry first = mock( WebResourceRegistry.class );
+		WebResourceRegistry second = mock( WebResourceRegistry.class );
+
+		webResourcePackage.install( first );
+		webResourcePackage.install( second );
+
+		verify( first ).apply( rule );
+		verify( second ).apply( rule );
+		assertThat( compiled.get() ).isEqualTo( 1 );
+		assertThat( webResourcePackage.getRules() ).containsExactly( rule );
+		assertThat( compiled.get() ).isEqualTo( 1 );
+	}
+
+	@Test
+	void resetCompilesTheRulesAgain() {
+		assertThat( webResourcePackage.getRules() ).containsExactly( rule );
+		webResourcePackage.reset();
+		assertThat( webResourcePackage.getRules() ).containsExactly( rule );
+		assertThat( compiled.get() ).isEqualTo( 2 );
+	}
+
+	@Test
+	void precompiledJsonIsSerializedImmediately() {
+		Object json = PrecompiledWebResourcePackage.precompiledJson( Collections.singletonMap( "rootPath", "/admin" ) );
+		assertThat( json ).isInstanceOf( RawValue.class );
+		assertThat( ( (RawValue) json ).rawValue() ).isEqualTo( "{\"rootPath\":\"/admin\"}" );
+	}
+}
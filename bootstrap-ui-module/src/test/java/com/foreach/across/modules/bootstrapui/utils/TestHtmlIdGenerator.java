@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.bootstrapui.utils;
+
+import com.foreach.across.modules.web.ui.DefaultViewElementBuilderContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ */
+class TestHtmlIdGenerator
+{
+	@AfterEach
+	void resetRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void idsAreGeneratedInSequence() {
+		HtmlIdGenerator generator = new HtmlIdGenerator( "page" );
+		assertThat( generator.next() ).isEqualTo( "page-1" );
+		assertThat( generator.next() ).isEqualTo( "page-2" );
+	}
+
+	@Test
+	void generatorsHaveDifferentPrefixes() {
+		String first = new HtmlIdGenerator().next();
+		String second = new HtmlIdGenerator().next();
+
+		assertThat( first ).startsWith( "bum" ).endsWith( "-1" );
+		assertThat( second ).startsWith( "bum" ).endsWith( "-1" );
+		assertThat( first ).isNotEqualTo( second );
+	}
+
+	@Test
+	void sameGeneratorIsUsedForTheEntireRequest() {
+		RequestContextHolder.setRequestAttributes( new ServletRequestAttributes( new MockHttpServletRequest() ) );
+
+		HtmlIdGenerator generator = HtmlIdGenerator.current();
+		assertThat( HtmlIdGenerator.current() ).isSameAs( generator );
+		assertThat( HtmlIdGenerator.forBuilderContext( new DefaultViewElementBuilderContext() ) ).isSameAs( generator );
+
+		RequestContextHolder.setRequestAttributes( new ServletRequestAttributes( new MockHttpServletRequest() ) );
+		assertThat( HtmlIdGenerator.current() ).isNotSameAs( generator );
+	}
+
+	@Test
+	void builderContextGeneratorHasPrecedence() {
+		RequestContextHolder.setRequestAttributes( new ServletRequestAttributes( new MockHttpServletRequest() ) );
+
+		HtmlIdGenerator generator = new HtmlIdGenerator( "fragment" );
+		DefaultViewElementBuilderContext builderContext = new DefaultViewElementBuilderContext();
+		builderContext.setAttribute( HtmlIdGenerator.class, generator );
+
+		assertThat( HtmlIdGenerator.forBuilderContext( builderContext ) ).isSameAs( generator );
+		assertThat( HtmlIdGenerator.current() ).isNotSameAs( generator );
+	}
+
+	@Test
+	void newGeneratorOutsideOfRequest() {
+		assertThat( HtmlIdGenerator.current() ).isNotSameAs( HtmlIdGenerator.current() );
+	}
+}
@@ -35,6 +35,7 @@ import com.foreach.across.modules.entity.views.processors.support.EntityViewProc
 import com.foreach.across.modules.entity.web.EntityLinkBuilder;
 import com.foreach.across.modules.entity.web.links.EntityViewLinkBuilder;
 import com.foreach.across.modules.entity.web.links.EntityViewLinkBuilderSupport;
+import com.foreach.across.modules.entity.web.links.EntityViewLinkTemplate;
 import com.foreach.across.modules.entity.web.links.SingleEntityViewLinkBuilder;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -52,6 +53,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 // todo see {@link ElasticsearchMenuconfiguration for menu configuration
 @Configuration
@@ -191,6 +193,11 @@ public class EntityElasticsearchConfiguration implements EntityConfigurer
 			return entityLinkBuilder.withId( id );
 		}
 
+		@Override
+		public EntityViewLinkTemplate instanceTemplate( @NonNull Function<SingleEntityViewLinkBuilder, ? extends EntityViewLinkBuilderSupport<?>> linkCustomizer ) {
+			return entityLinkBuilder.instanceTemplate( linkCustomizer );
+		}
+
 		// override to prevent local componentsbuilder being used
 
 		@Override
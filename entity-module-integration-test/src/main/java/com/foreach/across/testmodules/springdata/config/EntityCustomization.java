@@ -19,6 +19,7 @@ package com.foreach.across.testmodules.springdata.config;
 import com.foreach.across.core.annotations.Exposed;
 import com.foreach.across.modules.bootstrapui.elements.BootstrapUiElements;
 import com.foreach.across.modules.bootstrapui.elements.TextareaFormElement;
+import com.foreach.across.modules.entity.EntityAttributes;
 import com.foreach.across.modules.entity.actions.FixedEntityAllowableActionsBuilder;
 import com.foreach.across.modules.entity.conditionals.ConditionalOnBootstrapUI;
 import com.foreach.across.modules.entity.config.EntityConfigurer;
@@ -65,6 +66,9 @@ public class EntityCustomization implements EntityConfigurer
 				                      .attribute( EntityQueryConditionTranslator.class, EntityQueryConditionTranslator.expandingOr( "id", "name" ) )
 		        );
 
+		entities.withType( Group.class )
+		        .attribute( EntityAttributes.TEXT_CONDITION_TRANSLATOR, EntityQueryConditionTranslator.prefixRanges() );
+
 		entities.withType( ClientGroup.class )
 		        .label( "role" );
 
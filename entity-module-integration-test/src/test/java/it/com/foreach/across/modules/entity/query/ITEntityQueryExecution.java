@@ -16,6 +16,7 @@
 
 package it.com.foreach.across.modules.entity.query;
 
+import com.foreach.across.modules.entity.EntityAttributes;
 import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryConditionTranslator;
 import com.foreach.across.modules.entity.query.EntityQueryExecutor;
@@ -29,9 +30,13 @@ import com.foreach.across.testmodules.springdata.business.Group;
 import com.foreach.across.testmodules.springdata.business.QCompany;
 import com.foreach.across.testmodules.springdata.business.Representative;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -230,6 +235,14 @@ public class ITEntityQueryExecution extends AbstractQueryTest
 		findCompanies( "id not ilike '%O%'", three );
 	}
 
+	@Test
+	public void fullTextMatches() {
+		findRepresentatives( "name matches 'surname'", john, joe, peter );
+		findRepresentatives( "name matches 'SURNAME john'", john );
+		findRepresentatives( "name matches 'john peter'" );
+		findRepresentatives( "name not matches 'john'", joe, peter, weirdo, absolute );
+	}
+
 	@Test
 	public void contains() {
 		findCompanies( "representatives contains " + john.getId(), one, two );
@@ -357,6 +370,79 @@ public class ITEntityQueryExecution extends AbstractQueryTest
 		}
 	}
 
+	@Test
+	public void prefixPatternTranslatedToIndexedRange() {
+		EntityConfiguration entityConfiguration = entityRegistry.getEntityConfiguration( Representative.class );
+		MutableEntityPropertyRegistry propertyRegistry = (MutableEntityPropertyRegistry) entityConfiguration.getPropertyRegistry();
+		EntityQueryParser queryParser = entityConfiguration.getAttribute( EntityQueryParser.class );
+
+		JdbcTemplate template = new JdbcTemplate( dataSource );
+		String databaseName = template.execute( (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName() );
+		boolean h2 = "H2".equalsIgnoreCase( databaseName );
+
+		MutableEntityPropertyDescriptor descriptor = propertyRegistry.getProperty( "id" );
+		try {
+			descriptor.setAttribute( EntityQueryConditionTranslator.class, EntityQueryConditionTranslator.prefixRanges() );
+
+			assertThat( queryParser.prepare( EntityQuery.parse( "id like 'jo%'" ) ) ).hasToString( "(id >= 'jo' and id < 'jp')" );
+
+			if ( h2 ) {
+				template.execute( "SET QUERY_STATISTICS TRUE" );
+			}
+
+			findRepresentatives( "id like 'jo%'", john, joe );
+
+			if ( h2 ) {
+				// the statement generated for the translated query should use the primary key index
+				String executedStatement = template.queryForList( "SELECT SQL_STATEMENT FROM INFORMATION_SCHEMA.QUERY_STATISTICS", String.class )
+				                                   .stream()
+				                                   .filter( sql -> StringUtils.containsIgnoreCase( sql, "from repr " ) )
+				                                   .findFirst()
+				                                   .orElseThrow( () -> new AssertionError( "Representative query was not executed" ) );
+				assertThat( executedStatement ).doesNotContainIgnoringCase( "lower(" ).doesNotContainIgnoringCase( " like " );
+				assertThat( template.queryForObject( "EXPLAIN " + executedStatement, String.class, "jo", "jp" ) )
+						.doesNotContainIgnoringCase( "tableScan" );
+			}
+
+			findRepresentatives( "id not like 'jo%'", peter, weirdo, absolute );
+			findRepresentatives( "id like '%eter'", peter );
+		}
+		finally {
+			descriptor.removeAttribute( EntityQueryConditionTranslator.class );
+			if ( h2 ) {
+				template.execute( "SET QUERY_STATISTICS FALSE" );
+			}
+		}
+	}
+
+	@Test
+	public void textConditionTranslatorConfiguredForEntityType() {
+		EntityConfiguration entityConfiguration = entityRegistry.getEntityConfiguration( Group.class );
+		EntityQueryParser queryParser = entityConfiguration.getAttribute( EntityQueryParser.class );
+
+		assertThat( entityConfiguration.getAttribute( EntityAttributes.TEXT_CONDITION_TRANSLATOR ) ).isNotNull();
+		assertThat( queryParser.prepare( EntityQuery.parse( "name like 'groupT%'" ) ) ).hasToString( "(name >= 'groupT' and name < 'groupU')" );
+		findGroups( "name like 'groupT%'", groupTwo, groupThree );
+		findGroups( "name not like 'groupT%'", groupOne );
+	}
+
+	@Test
+	public void sliceAndCountRepresentatives() {
+		EntityConfiguration entityConfiguration = entityRegistry.getEntityConfiguration( Representative.class );
+		EntityQueryExecutor<Representative> queryExecutor = entityConfiguration.getAttribute( EntityQueryExecutor.class );
+		EntityQuery query = entityConfiguration.getAttribute( EntityQueryParser.class ).parse( "id like 'j%' order by name asc" );
+
+		Slice<Representative> first = queryExecutor.findSlice( query, PageRequest.of( 0, 1 ), null );
+		assertThat( first.getContent() ).containsExactly( joe );
+		assertThat( first.hasNext() ).isTrue();
+
+		Slice<Representative> second = queryExecutor.findSlice( query, PageRequest.of( 1, 1 ), null );
+		assertThat( second.getContent() ).containsExactly( john );
+		assertThat( second.hasNext() ).isFalse();
+
+		assertThat( queryExecutor.count( query ) ).isEqualTo( 2 );
+	}
+
 	private List<Company> findCompanies( String query, Company... expected ) {
 		EntityConfiguration entityConfiguration = entityRegistry.getEntityConfiguration( Company.class );
 		EntityQueryExecutor<Company> queryExecutor = entityConfiguration.getAttribute( EntityQueryExecutor.class );
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package it.com.foreach.across.modules.entity.query.jpa;
+
+import com.foreach.across.modules.entity.query.EntityFetchPlan;
+import com.foreach.across.modules.entity.query.EntityQuery;
+import com.foreach.across.modules.entity.query.jpa.EntityQueryJpaExecutor;
+import com.foreach.across.modules.entity.query.jpa.EntityQueryJpaUtils;
+import com.foreach.across.modules.entity.query.querydsl.EntityQueryQueryDslExecutor;
+import com.foreach.across.modules.entity.registry.EntityConfigurationImpl;
+import com.foreach.across.testmodules.springdata.business.Company;
+import it.com.foreach.across.modules.entity.query.AbstractQueryTest;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.criteria.Fetch;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.metamodel.Attribute;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the JPA based executors use an {@link EntityFetchPlan} for loading the associations.
+ *
+ * @author Arne Vandamme
+ */
+public class ITEntityQueryJpaExecutorFetchPlan extends AbstractQueryTest
+{
+	private static final EntityFetchPlan FETCH_PLAN = EntityFetchPlan.of( "group.name", "representatives[].name" );
+
+	@Autowired
+	@Qualifier("jpaTransactionManager")
+	private PlatformTransactionManager transactionManager;
+
+	private List<ExecutedQuery> executedQueries;
+	private JpaSpecificationExecutor<Company> recordingExecutor;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void createRecordingExecutor() {
+		executedQueries = new ArrayList<>();
+		recordingExecutor = (JpaSpecificationExecutor<Company>) Proxy.newProxyInstance(
+				getClass().getClassLoader(),
+				new Class[] { JpaSpecificationExecutor.class },
+				( proxy, method, args ) -> {
+					if ( args != null ) {
+						for ( int i = 0; i < args.length; i++ ) {
+							if ( args[i] instanceof Specification ) {
+								args[i] = recording( (Specification<Company>) args[i] );
+							}
+						}
+					}
+					return method.invoke( companyRepository, args );
+				}
+		);
+	}
+
+	@Test
+	public void toOneAssociationsAreFetchJoinedAndCollectionsAreBatchFetched() {
+		EntityQueryJpaExecutor<Company> executor = new EntityQueryJpaExecutor<>( recordingExecutor );
+
+		Page<Company> page = executor.findAll( EntityQuery.all(), PageRequest.of( 0, 2, Sort.by( "id" ) ), FETCH_PLAN );
+		assertThat( page.getContent() ).containsExactly( one, three );
+		assertThat( page.getTotalElements() ).isEqualTo( 3 );
+
+		assertThat( executedQueries ).hasSize( 3 );
+
+		// select, count, batch fetch of the collection
+		ExecutedQuery select = executedQueries.get( 0 );
+		assertThat( select.resultType ).isEqualTo( Company.class );
+		assertThat( select.fetches ).containsExactly( "group" );
+
+		ExecutedQuery batchFetch = executedQueries.get( 2 );
+		assertThat( batchFetch.resultType ).isEqualTo( Company.class );
+		assertThat( batchFetch.fetches ).containsExactly( "representatives" );
+	}
+
+	@Test
+	public void countQueryDoesNotApplyFetchJoins() {
+		EntityQueryJpaExecutor<Company> executor = new EntityQueryJpaExecutor<>( recordingExecutor );
+		executor.findAll( EntityQuery.all(), PageRequest.of( 0, 2, Sort.by( "id" ) ), FETCH_PLAN );
+
+		List<ExecutedQuery> countQueries = executedQueries.stream()
+		                                                  .filter( q -> Long.class.equals( q.resultType ) )
+		                                                  .collect( Collectors.toList() );
+		assertThat( countQueries ).hasSize( 1 );
+		assertThat( countQueries.get( 0 ).fetches ).isEmpty();
+	}
+
+	@Test
+	public void queryDslExecutorBatchFetchesThePlannedAssociations() {
+		EntityQueryQueryDslExecutor<Company> executor = new EntityQueryQueryDslExecutor<>(
+				companyRepository, new EntityConfigurationImpl<>( Company.class )
+		);
+
+		new TransactionTemplate( transactionManager ).executeWithoutResult( status -> {
+			List<Company> companies = executor.findAll( EntityQuery.all(), Sort.by( "id" ), FETCH_PLAN );
+
+			assertThat( companies ).containsExactly( one, three, two );
+			assertThat( companies )
+					.allSatisfy( company -> {
+						assertThat( Hibernate.isInitialized( company.getGroup() ) ).isTrue();
+						assertThat( Hibernate.isInitialized( company.getRepresentatives() ) ).isTrue();
+					} );
+		} );
+	}
+
+	@Test
+	public void batchFetchLoadsCollectionsOfEntitiesInTheSamePersistenceContext() {
+		new TransactionTemplate( transactionManager ).executeWithoutResult( status -> {
+			List<Company> companies = companyRepository.findAll( Sort.by( "id" ) );
+			assertThat( companies ).noneMatch( company -> Hibernate.isInitialized( company.getRepresentatives() ) );
+
+			EntityQueryJpaUtils.batchFetch( recordingExecutor, companies, FETCH_PLAN );
+
+			assertThat( companies ).allMatch( company -> Hibernate.isInitialized( company.getRepresentatives() ) );
+			assertThat( companies.get( 0 ).getRepresentatives() ).containsExactly( john );
+			assertThat( executedQueries )
+					.extracting( q -> q.fetches )
+					.containsExactly( Collections.singleton( "group" ), Collections.singleton( "representatives" ) );
+		} );
+	}
+
+	private Specification<Company> recording( Specification<Company> specification ) {
+		return ( root, criteriaQuery, cb ) -> {
+			Predicate predicate = specification.toPredicate( root, criteriaQuery, cb );
+			executedQueries.add( new ExecutedQuery(
+					criteriaQuery.getResultType(),
+					root.getFetches().stream().map( Fetch::getAttribute ).map( Attribute::getName ).collect( Collectors.toSet() )
+			) );
+			return predicate;
+		};
+	}
+
+	private static class ExecutedQuery
+	{
+		private final Class<?> resultType;
+		private final Set<String> fetches;
+
+		ExecutedQuery( Class<?> resultType, Set<String> fetches ) {
+			this.resultType = resultType;
+			this.fetches = fetches;
+		}
+	}
+}
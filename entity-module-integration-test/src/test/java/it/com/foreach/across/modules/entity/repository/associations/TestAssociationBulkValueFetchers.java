@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package it.com.foreach.across.modules.entity.repository.associations;
+
+import com.foreach.across.modules.entity.EntityAttributes;
+import com.foreach.across.modules.entity.bind.EntityPropertiesBinder;
+import com.foreach.across.modules.entity.bind.EntityPropertiesBinderCache;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.registry.EntityRegistry;
+import com.foreach.across.modules.entity.registry.MutableEntityConfiguration;
+import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
+import com.foreach.across.test.AcrossWebAppConfiguration;
+import com.foreach.across.testmodules.springdata.business.Client;
+import com.foreach.across.testmodules.springdata.business.Company;
+import com.foreach.across.testmodules.springdata.business.Representative;
+import com.foreach.across.testmodules.springdata.repositories.ClientRepository;
+import com.foreach.across.testmodules.springdata.repositories.CompanyRepository;
+import com.foreach.across.testmodules.springdata.repositories2.RepresentativeRepository;
+import it.com.foreach.across.modules.entity.repository.TestRepositoryEntityRegistrar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies the bulk value fetchers registered for JPA association properties.
+ *
+ * @author Arne Vandamme
+ */
+@ExtendWith(SpringExtension.class)
+@DirtiesContext
+@AcrossWebAppConfiguration
+@ContextConfiguration(classes = TestRepositoryEntityRegistrar.Config.class)
+public class TestAssociationBulkValueFetchers
+{
+	private static boolean inserted = false;
+
+	private static Company one, two, three;
+	private static Client john, joe, peter;
+
+	@Autowired
+	private EntityRegistry entityRegistry;
+
+	@Autowired
+	private RepresentativeRepository representativeRepository;
+
+	@Autowired
+	private CompanyRepository companyRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@BeforeEach
+	public void insertTestData() {
+		if ( !inserted ) {
+			inserted = true;
+
+			Representative first = new Representative( "first", "First" );
+			Representative second = new Representative( "second", "Second" );
+			representativeRepository.saveAll( Arrays.asList( first, second ) );
+
+			one = new Company( "one", 1 );
+			two = new Company( "two", 2 );
+			three = new Company( "three", 3 );
+			one.setRepresentatives( Collections.singleton( first ) );
+			two.setRepresentatives( new HashSet<>( Arrays.asList( first, second ) ) );
+			companyRepository.saveAll( Arrays.asList( one, two, three ) );
+
+			john = new Client( "john", one );
+			joe = new Client( "joe", two );
+			peter = new Client( "peter", two );
+			clientRepository.saveAll( Arrays.asList( john, joe, peter ) );
+		}
+	}
+
+	@Test
+	public void toOnePropertyIsOptimizedForBulkValueFetching() {
+		EntityConfiguration client = entityRegistry.getEntityConfiguration( Client.class );
+		EntityPropertyDescriptor company = client.getPropertyRegistry().getProperty( "company" );
+
+		assertThat( company.getController().isOptimizedForBulkValueFetching() ).isTrue();
+
+		List<Object> clients = new ArrayList<>( clientRepository.findAll() );
+		EntityPropertiesBinderCache cache = EntityPropertiesBinderCache.builder()
+		                                                               .propertyRegistry( client.getPropertyRegistry() )
+		                                                               .entities( clients )
+		                                                               .build();
+
+		clients.forEach( c -> assertThat( binder( cache, c ).get( "company" ).getValue() ).isEqualTo( ( (Client) c ).getCompany() ) );
+	}
+
+	@Test
+	public void loadedToOneValueIsNotFetchedAgain() {
+		EntityConfiguration client = entityRegistry.getEntityConfiguration( Client.class );
+
+		Company loaded = new Company( "one", 1 );
+		Client unsaved = new Client( "unsaved", loaded );
+		List<Object> clients = Arrays.asList( unsaved, clientRepository.findById( john.getId() ).orElseThrow( IllegalStateException::new ) );
+
+		EntityPropertiesBinderCache cache = EntityPropertiesBinderCache.builder()
+		                                                               .propertyRegistry( client.getPropertyRegistry() )
+		                                                               .entities( clients )
+		                                                               .build();
+
+		assertThat( binder( cache, unsaved ).get( "company" ).getValue() ).isSameAs( loaded );
+		assertThat( binder( cache, clients.get( 1 ) ).get( "company" ).getValue() ).isEqualTo( one );
+	}
+
+	@Test
+	public void toManyPropertyHasHiddenCountProperty() {
+		EntityConfiguration company = entityRegistry.getEntityConfiguration( Company.class );
+		EntityPropertyDescriptor count = company.getPropertyRegistry().getProperty( "representativesCount" );
+
+		assertThat( count ).isNotNull();
+		assertThat( count.isHidden() ).isTrue();
+		assertThat( count.isWritable() ).isFalse();
+		assertThat( count.getPropertyType() ).isEqualTo( Long.class );
+		assertThat( count.getController().isOptimizedForBulkValueFetching() ).isTrue();
+
+		assertThat( countsByCompany( company ) )
+				.containsEntry( "one", 1L )
+				.containsEntry( "two", 2L )
+				.containsEntry( "three", 0L );
+	}
+
+	@Test
+	public void bulkFetchingCanBeDisabledOnTheEntityConfiguration() {
+		MutableEntityConfiguration company = (MutableEntityConfiguration) entityRegistry.getEntityConfiguration( Company.class );
+
+		try {
+			company.setAttribute( EntityAttributes.ASSOCIATION_BULK_VALUE_FETCHING, false );
+
+			assertThat( countsByCompany( company ) )
+					.containsEntry( "one", 1L )
+					.containsEntry( "two", 2L )
+					.containsEntry( "three", 0L );
+		}
+		finally {
+			company.setAttribute( EntityAttributes.ASSOCIATION_BULK_VALUE_FETCHING, true );
+		}
+	}
+
+	private Map<String, Object> countsByCompany( EntityConfiguration company ) {
+		List<Object> companies = new ArrayList<>( companyRepository.findAllById( Arrays.asList( "one", "two", "three" ) ) );
+		EntityPropertiesBinderCache cache = EntityPropertiesBinderCache.builder()
+		                                                               .propertyRegistry( company.getPropertyRegistry() )
+		                                                               .entities( companies )
+		                                                               .build();
+
+		Map<String, Object> counts = new HashMap<>();
+		companies.forEach( c -> counts.put( ( (Company) c ).getId(), binder( cache, c ).get( "representativesCount" ).getValue() ) );
+		return counts;
+	}
+
+	private EntityPropertiesBinder binder( EntityPropertiesBinderCache cache, Object entity ) {
+		return cache.getPropertiesBinder( entity ).orElseThrow( IllegalArgumentException::new );
+	}
+}
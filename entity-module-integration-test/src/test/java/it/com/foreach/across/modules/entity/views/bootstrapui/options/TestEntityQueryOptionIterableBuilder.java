@@ -19,12 +19,16 @@ package it.com.foreach.across.modules.entity.views.bootstrapui.options;
 import com.foreach.across.modules.bootstrapui.elements.builder.OptionFormElementBuilder;
 import com.foreach.across.modules.entity.query.*;
 import com.foreach.across.modules.entity.registry.EntityModel;
+import com.foreach.across.modules.entity.views.bootstrapui.options.EntityQueryOptionCache;
 import com.foreach.across.modules.entity.views.bootstrapui.options.EntityQueryOptionIterableBuilder;
 import com.foreach.across.modules.web.ui.DefaultViewElementBuilderContext;
 import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.*;
 
@@ -116,6 +120,42 @@ public class TestEntityQueryOptionIterableBuilder
 		verify( entityQueryExecutor ).findAll( query );
 	}
 
+	@Test
+	public void cachedOptionsAreOnlyFetchedOnce() {
+		EntityQuery query = EntityQuery.parse( "name = 'test'" );
+		iterableBuilder.setEntityQuery( query );
+		when( entityQueryParser.prepare( query ) ).thenReturn( query );
+
+		EntityQueryOptionCache cache = new EntityQueryOptionCache();
+		iterableBuilder.setOptionCache( cache, "entity" );
+
+		build();
+		build();
+		assertOptions( ONE, TWO, THREE );
+		verify( entityQueryExecutor, times( 1 ) ).findAll( query );
+
+		cache.evict( "entity" );
+		build();
+		verify( entityQueryExecutor, times( 2 ) ).findAll( query );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void countOptions() {
+		EntityQuery query = EntityQuery.parse( "name = 'test'" );
+		iterableBuilder.setEntityQuery( query );
+		when( entityQueryParser.prepare( query ) ).thenReturn( query );
+		when( entityQueryExecutor.findAll( eq( query ), any( Pageable.class ) ) ).thenReturn( new PageImpl( Collections.singletonList( ONE ), PageRequest.of( 0, 1 ), 500 ) );
+
+		assertEquals( 500, iterableBuilder.countOptions() );
+
+		iterableBuilder.setOptionCache( new EntityQueryOptionCache(), "entity" );
+		assertEquals( 500, iterableBuilder.countOptions() );
+		assertEquals( 500, iterableBuilder.countOptions() );
+		verify( entityQueryExecutor, times( 2 ) ).findAll( eq( query ), any( Pageable.class ) );
+		verify( entityQueryExecutor, never() ).findAll( query );
+	}
+
 	private void assertOptions( Entity... entities ) {
 		for ( Entity entity : entities ) {
 			assertFalse( options.get( entity.name ).isSelected() );
@@ -24,15 +24,16 @@ import com.foreach.across.modules.bootstrapui.elements.icons.IconSetRegistry;
 import com.foreach.across.modules.bootstrapui.elements.icons.SimpleIconSet;
 import com.foreach.across.modules.entity.EntityModule;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
-import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
-import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
-import com.foreach.across.modules.entity.registry.properties.EntityPropertySelector;
+import com.foreach.across.modules.entity.registry.properties.*;
 import com.foreach.across.modules.entity.support.EntityMessageCodeResolver;
 import com.foreach.across.modules.entity.views.EntityViewElementBuilderService;
 import com.foreach.across.modules.entity.views.ViewElementMode;
 import com.foreach.across.modules.entity.views.bootstrapui.util.PagingMessages;
 import com.foreach.across.modules.entity.views.bootstrapui.util.SortableTableBuilder;
+import com.foreach.across.modules.entity.views.util.EntityViewElementUtils;
+import com.foreach.across.modules.web.ui.DefaultViewElementBuilderContext;
 import com.foreach.across.modules.web.ui.ViewElement;
+import com.foreach.across.modules.web.ui.ViewElementBuilder;
 import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
 import com.foreach.across.modules.web.ui.elements.*;
 import com.foreach.across.modules.web.ui.elements.builder.NodeViewElementBuilder;
@@ -47,12 +48,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.*;
 import org.springframework.test.context.ContextConfiguration;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.foreach.across.modules.bootstrapui.styles.BootstrapStyles.css;
 import static com.foreach.across.modules.entity.views.support.EntityMessages.RESULTS_FOUND;
+import static com.foreach.across.modules.web.ui.elements.HtmlViewElements.html;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -463,12 +467,90 @@ public class TestSortableTableBuilder extends AbstractViewElementTemplateTest
 		assertNotEquals( Optional.empty(), ContainerViewElementUtils.find( result, "myTable-noresults", ViewElement.class ) );
 	}
 
+	@Test
+	public void propertyValuesAreFetchedInBulkForAllRowsOnThePage() {
+		AtomicInteger singleFetchCount = new AtomicInteger();
+		AtomicInteger bulkFetchCount = new AtomicInteger();
+
+		MutableEntityPropertyRegistry registry = DefaultEntityPropertyRegistryProvider.newInstance().get( Item.class );
+		Arrays.asList( "name", "code" ).forEach(
+				propertyName -> EntityPropertyDescriptor.builder( propertyName )
+				                                        .controller(
+						                                        ctl -> ctl.withTarget( Item.class, String.class )
+						                                                  .valueFetcher( item -> {
+							                                                  singleFetchCount.incrementAndGet();
+							                                                  return item.getName();
+						                                                  } )
+						                                                  .bulkValueFetcher( items -> {
+							                                                  bulkFetchCount.incrementAndGet();
+							                                                  return items.stream().collect(
+									                                                  Collectors.toMap( item -> item, item -> propertyName + ":" + item.getName() )
+							                                                  );
+						                                                  } )
+				                                        )
+				                                        .apply( registry.getProperty( propertyName ) )
+		);
+
+		List<String> renderedValues = new ArrayList<>();
+		when( viewElementBuilderService.getElementBuilder( any( EntityPropertyDescriptor.class ), eq( ViewElementMode.LIST_LABEL ) ) )
+				.thenReturn( new TextViewElementBuilder().text( "label" ) );
+		when( viewElementBuilderService.getElementBuilder( any( EntityPropertyDescriptor.class ), eq( ViewElementMode.LIST_VALUE ) ) )
+				.thenAnswer( invocation -> (ViewElementBuilder<TextViewElement>) builderContext -> {
+					DefaultViewElementBuilderContext propertyContext = new DefaultViewElementBuilderContext( builderContext );
+					propertyContext.setAttribute( EntityPropertyDescriptor.class, invocation.getArgument( 0 ) );
+					String value = EntityViewElementUtils.currentPropertyValue( propertyContext, String.class );
+					renderedValues.add( value );
+					return html.text( value );
+				} );
+
+		List<Item> items = IntStream.range( 0, 100 ).mapToObj( i -> new Item( "item-" + i ) ).collect( Collectors.toList() );
+
+		tableBuilder.propertyRegistry( registry )
+		            .properties( Arrays.asList( registry.getProperty( "name" ), registry.getProperty( "code" ) ) )
+		            .items( items )
+		            .tableOnly()
+		            .build( new DefaultViewElementBuilderContext() );
+
+		assertThat( bulkFetchCount.get() ).isEqualTo( 2 );
+		assertThat( singleFetchCount.get() ).isZero();
+		assertThat( renderedValues )
+				.hasSize( 200 )
+				.startsWith( "name:item-0", "code:item-0", "name:item-1", "code:item-1" )
+				.endsWith( "name:item-99", "code:item-99" );
+
+		renderedValues.clear();
+		bulkFetchCount.set( 0 );
+
+		tableBuilder.bulkValueFetching( false ).build( new DefaultViewElementBuilderContext() );
+
+		assertThat( bulkFetchCount.get() ).isZero();
+		assertThat( singleFetchCount.get() ).isEqualTo( 200 );
+		assertThat( renderedValues ).hasSize( 200 ).startsWith( "item-0", "item-0", "item-1" );
+	}
+
 	private void expect( String output ) {
 		ViewElementBuilderContext ctx = mock( ViewElementBuilderContext.class );
 
 		renderAndExpect( tableBuilder.build( ctx ), output );
 	}
 
+	public static class Item
+	{
+		private final String name;
+
+		Item( String name ) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getCode() {
+			return name.toUpperCase();
+		}
+	}
+
 	@Configuration
 	protected static class Config implements AcrossContextConfigurer
 	{
@@ -94,7 +94,7 @@ export class SortableTable
                         if ( pageNumber < 1 ) {
                             pageNumber = 1;
                         }
-                        else if ( pageNumber > this.totalPages ) {
+                        else if ( this.totalPages > 0 && pageNumber > this.totalPages ) {
                             pageNumber = this.totalPages;
                         }
                         this.table.trigger( SortableTableEvent.MOVE_TO_PAGE, pageNumber - 1 );
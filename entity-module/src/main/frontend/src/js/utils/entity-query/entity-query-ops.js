@@ -107,6 +107,8 @@ export const EntityQueryOps = {
                     , "is not" ),
             "IS_EMPTY": new EntityQueryOperand( ( field, ...args ) => `${field} is EMPTY`, "is" ),
             "IS_NOT_EMPTY": new EntityQueryOperand( ( field, ...args ) => `${field} is not EMPTY`, "is not" ),
+            "MATCHES": new EntityQueryOperand( ( field, ...args ) => `${field} matches ${objectAsString( args[0] )}`, "matches" ),
+            "NOT_MATCHES": new EntityQueryOperand( ( field, ...args ) => `${field} not matches ${objectAsString( args[0] )}`, "not matches" ),
 
             "forToken": function( token ) {
                 const lookup = token.toLowerCase().trim();
@@ -104,6 +104,26 @@ describe( "EntityQueryOps", function() {
         expect( operand.toString( "id", -2, -3 ) ).toEqual( "id not contains -2" );
     } );
 
+    it( "MATCHES", function() {
+        let operand = EntityQueryOps.MATCHES;
+        assertExists( operand );
+        let tokens = operand.tokens;
+
+        expect( tokens.length ).toEqual( 1 );
+        expect( tokens ).toContain( "matches" );
+        expect( operand.toString( "name", "foo bar" ) ).toEqual( "name matches 'foo bar'" );
+    } );
+
+    it( "NOT_MATCHES", function() {
+        let operand = EntityQueryOps.NOT_MATCHES;
+        assertExists( operand );
+        let tokens = operand.tokens;
+
+        expect( tokens.length ).toEqual( 1 );
+        expect( tokens ).toContain( "not matches" );
+        expect( operand.toString( "name", "foo" ) ).toEqual( "name not matches 'foo'" );
+    } );
+
     it( "IN", function() {
         let operand = EntityQueryOps.IN;
         assertExists( operand );
@@ -16,6 +16,9 @@
 
 package com.foreach.across.modules.entity;
 
+import com.foreach.across.modules.entity.query.EntityFetchPlan;
+import com.foreach.across.modules.entity.query.EntityQueryConditionTranslator;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import com.foreach.across.modules.entity.views.bootstrapui.options.OptionGenerator;
@@ -85,6 +88,30 @@ public interface EntityAttributes
 	 */
 	String OPTIONS_ENHANCER = OptionGenerator.class.getName() + ".enhancer";
 
+	/**
+	 * If set to {@code true} on either the {@link EntityPropertyDescriptor} or the target
+	 * {@link com.foreach.across.modules.entity.registry.EntityConfiguration}, the options fetched using an
+	 * {@link com.foreach.across.modules.entity.query.EntityQuery} will be cached per locale.
+	 * The cache is evicted when an entity of the target type is saved or deleted.
+	 *
+	 * @see com.foreach.across.modules.entity.views.bootstrapui.options.EntityQueryOptionCache
+	 * @since 4.3.0
+	 */
+	String OPTIONS_CACHED = OptionIterableBuilder.class.getName() + ".cached";
+
+	/**
+	 * If set on either the {@link EntityPropertyDescriptor} or the target {@link com.foreach.across.modules.entity.registry.EntityConfiguration},
+	 * holds the maximum number of options that should be rendered in a select or multi-checkbox control.
+	 * If there are more options available, an auto-suggest control will be rendered instead. This requires an
+	 * auto-suggest dataset to be configured for the property or the target entity configuration.
+	 * <p/>
+	 * The actual value should be a number.
+	 *
+	 * @see com.foreach.across.modules.entity.views.bootstrapui.EntityOptionsThresholdLookupStrategy
+	 * @since 4.3.0
+	 */
+	String OPTIONS_LAZY_THRESHOLD = OptionIterableBuilder.class.getName() + ".lazyThreshold";
+
 	/**
 	 * In case of a nested {@link EntityPropertyDescriptor}, this attribute can hold the original target {@link EntityPropertyDescriptor}
 	 * that was used, in combination with the parent descriptor, to build the nested property descriptor.
@@ -122,6 +149,42 @@ public interface EntityAttributes
 	 */
 	String LABEL_TARGET_PROPERTY = EntityPropertyRegistry.LABEL + ".targetProperty";
 
+	/**
+	 * Can be set on an {@link EntityConfiguration} to disable the bulk value fetchers
+	 * that are registered automatically for JPA association properties. Bulk fetching is used unless the value is {@code false}.
+	 *
+	 * @see com.foreach.across.modules.entity.registrars.repository.jpa.JpaAssociationBulkValueFetcherBuilder
+	 */
+	String ASSOCIATION_BULK_VALUE_FETCHING = EntityConfiguration.class.getName() + ".associationBulkValueFetching";
+
+	/**
+	 * Can be set on either {@link com.foreach.across.modules.entity.views.EntityViewFactory} or {@link EntityConfiguration}.
+	 * Holds whether a list view should pass an {@link EntityFetchPlan} for the properties being rendered when fetching the items,
+	 * so the associations those properties require are loaded together with the items. A value on the view takes precedence.
+	 * The actual value should be {@code true} or {@code false}, a fetch plan is used if no value is set.
+	 */
+	String LIST_VIEW_FETCH_PLAN = EntityFetchPlan.class.getName() + ".listView";
+
+	/**
+	 * Can be set on an {@link EntityConfiguration} to hold a {@link com.foreach.across.modules.entity.query.EntityQueryConditionTranslator}
+	 * that should be used for all text properties of the entity. It is applied to conditions on every {@link String} property
+	 * that does not have a condition translator of its own, a translator set on the property takes precedence.
+	 * The attribute is resolved when a query is translated by the default {@link com.foreach.across.modules.entity.query.EntityQueryParser}.
+	 *
+	 * @see com.foreach.across.modules.entity.query.support.TextMatchingEntityQueryConditionTranslator
+	 */
+	String TEXT_CONDITION_TRANSLATOR = EntityQueryConditionTranslator.class.getName() + ".text";
+
+	/**
+	 * Can be set on an {@link EntityConfiguration} of an Elasticsearch document to configure how accurately the total number
+	 * of hits should be tracked for paged queries. The value can be {@code true}, {@code false} or an {@link Integer} holding
+	 * the number of hits up to which the total should be accurate. Takes precedence over the settings of the executor.
+	 * If the total is not tracked, pages only know if there is a next page.
+	 *
+	 * @see com.foreach.across.modules.entity.query.elastic.ElasticEntityQueryExecutor
+	 */
+	String TRACK_TOTAL_HITS = EntityConfiguration.class.getName() + ".trackTotalHits";
+
 	/**
 	 * Retrieve the control name to use for a {@link EntityPropertyDescriptor}.
 	 * If an attribute {@link #CONTROL_NAME} is present, it will be used, else the regular name will be used.
@@ -125,6 +125,7 @@ public class AutoSuggestDataAttributeRegistrar
 
 			InitializingAutoSuggestDataSet autoSuggestData = new InitializingAutoSuggestDataSet();
 			autoSuggestData.setInitializer( dataSet -> initializeEntityConfigurationAutoSuggestData( owner, dataSet, definition ) );
+			autoSuggestData.setPrefetchCacheSettings( definition.prefetchCacheSettings );
 
 			String dataSetId = definition.dataSetId;
 			if ( dataSetId == null ) {
@@ -139,6 +140,40 @@ public class AutoSuggestDataAttributeRegistrar
 		} );
 	}
 
+	/**
+	 * Register an in-memory {@link IndexedAutoSuggestDataSet} as an alternative to an entity query based dataset.
+	 * Suggestions will be fetched from the prefix index of the dataset instead of querying the source.
+	 * The id of the dataset will be derived from the context on which the attribute is being registered.
+	 *
+	 * @param dataSet indexed dataset
+	 * @return attribute registrar
+	 * @since 4.3.0
+	 */
+	public <U extends ReadableAttributes> DataSetRegistrar<U> indexed( @NonNull IndexedAutoSuggestDataSet<?> dataSet ) {
+		return indexed( null, dataSet );
+	}
+
+	/**
+	 * Register an in-memory {@link IndexedAutoSuggestDataSet} under a specific id.
+	 * If the id is {@code null}, it will be derived from the context on which the attribute is being registered.
+	 *
+	 * @param dataSetId id of the dataset
+	 * @param dataSet   indexed dataset
+	 * @return attribute registrar
+	 * @since 4.3.0
+	 */
+	public <U extends ReadableAttributes> DataSetRegistrar<U> indexed( String dataSetId, @NonNull IndexedAutoSuggestDataSet<?> dataSet ) {
+		return new DataSetRegistrar<>( ( owner, attributes ) -> {
+			String id = dataSetId != null ? dataSetId : resolveDataSetId( owner );
+
+			AutoSuggestDataEndpoint endpoint = autoSuggestDataEndpoint.getIfAvailable();
+			Assert.notNull( endpoint, () -> "No AutoSuggestEndpoint is available for registering datasets" );
+			endpoint.registerDataSet( id, dataSet );
+
+			attributes.setAttribute( DATASET_ID, id );
+		} );
+	}
+
 	/**
 	 * Registers or customizes only the {@link AutoSuggestFormElementConfiguration} which determines the default settings
 	 * for the auto-suggest control (for example the minimum length before fetching results).
@@ -338,6 +373,7 @@ public class AutoSuggestDataAttributeRegistrar
 		private BiFunction<String, String, EntityQuery> suggestionsEntityQuery;
 		private Function<String, EntityQuery> prefetchEntityQuery;
 		private Function<T, AutoSuggestDataSet.Result> resultTransformer;
+		private PrefetchCacheSettings prefetchCacheSettings;
 
 		/**
 		 * Specify the entity type that this dataset fetches. If not set, the entity type
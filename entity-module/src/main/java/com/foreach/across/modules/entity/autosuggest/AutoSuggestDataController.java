@@ -16,23 +16,35 @@
 
 package com.foreach.across.modules.entity.autosuggest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foreach.across.modules.adminweb.annotations.AdminWebController;
 import com.foreach.across.modules.web.template.ClearTemplate;
-import lombok.RequiredArgsConstructor;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.foreach.across.modules.entity.autosuggest.AutoSuggestDataController.DEFAULT_REQUEST_MAPPING;
 
 /**
  * API controller for fetching auto-suggest data.
  * Designed so it can be extended if it needs to be exposed under a different (for example non-admin web) path.
+ * <p/>
+ * Prefetch data is serialized to JSON by the controller itself and returned with a content-based {@code ETag}.
+ * Depending on the {@link PrefetchCacheSettings} of the dataset, the serialized payload is cached on the server
+ * and returned gzipped if the client supports it.
  *
  * @author Arne Vandamme
  * @see AutoSuggestDataEndpoint
@@ -40,12 +52,26 @@ import static com.foreach.across.modules.entity.autosuggest.AutoSuggestDataContr
  */
 @AdminWebController
 @RequestMapping(DEFAULT_REQUEST_MAPPING)
-@RequiredArgsConstructor
 public class AutoSuggestDataController
 {
 	public static final String DEFAULT_REQUEST_MAPPING = "/api/entityModule/auto-suggest";
 
 	private final AutoSuggestDataEndpoint endpoint;
+	private final ObjectMapper objectMapper;
+
+	public AutoSuggestDataController( AutoSuggestDataEndpoint endpoint ) {
+		this( endpoint, new ObjectMapper() );
+	}
+
+	@Autowired
+	public AutoSuggestDataController( AutoSuggestDataEndpoint endpoint, ObjectProvider<ObjectMapper> objectMapper ) {
+		this( endpoint, objectMapper.getIfAvailable( ObjectMapper::new ) );
+	}
+
+	protected AutoSuggestDataController( AutoSuggestDataEndpoint endpoint, ObjectMapper objectMapper ) {
+		this.endpoint = endpoint;
+		this.objectMapper = objectMapper;
+	}
 
 	@ClearTemplate
 	@GetMapping(path = "/query", produces = "application/json")
@@ -66,16 +92,75 @@ public class AutoSuggestDataController
 	@ClearTemplate
 	@GetMapping(path = "/prefetch", produces = "application/json")
 	public Object prefetch( @RequestParam("dataset") String dataSetId,
-	                        @RequestParam(value = "controlName", required = false) String controlName ) {
+	                        @RequestParam(value = "controlName", required = false) String controlName,
+	                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+	                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding ) {
 		val dataSet = endpoint.getDataSet( dataSetId );
 
 		if ( dataSet == null ) {
 			return ResponseEntity.notFound();
 		}
 
-		Object data = dataSet.getDataSet().prefetch( controlName );
+		PrefetchCacheSettings settings = dataSet.getPrefetchCacheSettings();
+		AtomicReference<Object> responseEntity = new AtomicReference<>();
 
-		return convertToResponseEntity( data );
+		PrefetchPayload payload = dataSet.getPrefetchPayload( controlName, () -> {
+			Object data = dataSet.getDataSet().prefetch( controlName );
+			if ( data instanceof ResponseEntity ) {
+				// custom response entities are returned as is and never cached
+				responseEntity.set( data );
+				return null;
+			}
+			return serialize( data != null ? data : Collections.emptyList(), settings.isGzipEnabled() );
+		} );
+
+		if ( payload == null ) {
+			return responseEntity.get();
+		}
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag( payload.getETag() );
+		headers.setVary( Collections.singletonList( HttpHeaders.ACCEPT_ENCODING ) );
+		if ( settings.getCacheControl() != null && settings.getCacheControl().getHeaderValue() != null ) {
+			headers.setCacheControl( settings.getCacheControl().getHeaderValue() );
+		}
+
+		if ( isNotModified( ifNoneMatch, payload.getETag() ) ) {
+			return new ResponseEntity<>( headers, HttpStatus.NOT_MODIFIED );
+		}
+
+		headers.setContentType( MediaType.APPLICATION_JSON );
+
+		if ( payload.getGzipped() != null && StringUtils.containsIgnoreCase( acceptEncoding, "gzip" ) ) {
+			headers.set( HttpHeaders.CONTENT_ENCODING, "gzip" );
+			return new ResponseEntity<>( payload.getGzipped(), headers, HttpStatus.OK );
+		}
+
+		return new ResponseEntity<>( payload.getJson(), headers, HttpStatus.OK );
+	}
+
+	private PrefetchPayload serialize( Object data, boolean gzipIt ) {
+		try {
+			return PrefetchPayload.of( objectMapper.writeValueAsBytes( data ), gzipIt );
+		}
+		catch ( JsonProcessingException jpe ) {
+			throw new IllegalStateException( "Unable to serialize auto-suggest prefetch data", jpe );
+		}
+	}
+
+	private boolean isNotModified( String ifNoneMatch, String eTag ) {
+		if ( StringUtils.isEmpty( ifNoneMatch ) ) {
+			return false;
+		}
+
+		for ( String candidate : StringUtils.split( ifNoneMatch, ',' ) ) {
+			String tag = StringUtils.removeStart( candidate.trim(), "W/" );
+			if ( "*".equals( tag ) || eTag.equals( tag ) ) {
+				return true;
+			}
+		}
+
+		return false;
 	}
 
 	private Object convertToResponseEntity( Object data ) {
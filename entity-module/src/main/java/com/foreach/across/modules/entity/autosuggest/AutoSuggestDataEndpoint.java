@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Registry for attaching a {@link SimpleAutoSuggestDataSet} to a particular endpoint.
@@ -94,6 +95,17 @@ public final class AutoSuggestDataEndpoint
 		return dataSetMap.get( dataSetId );
 	}
 
+	/**
+	 * Evict the cached prefetch payloads of the dataset with that id.
+	 * Does nothing if there is no such dataset.
+	 *
+	 * @param dataSetId id of the dataset
+	 * @since 4.3.0
+	 */
+	public void evictPrefetchCache( String dataSetId ) {
+		Optional.ofNullable( dataSetMap.get( dataSetId ) ).ifPresent( MappedDataSet::evictPrefetchCache );
+	}
+
 	/**
 	 * Create the suggestions url components for a named dataset.
 	 * Usually the resulting url should not be encoded as it contains {@code {{XX}}} parameters.
@@ -120,13 +132,16 @@ public final class AutoSuggestDataEndpoint
 	 * Wraps a regular {@link SimpleAutoSuggestDataSet} with endpoint identification data.
 	 */
 	@Getter
-	@EqualsAndHashCode
+	@EqualsAndHashCode(of = { "id", "dataSet" })
 	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 	public class MappedDataSet
 	{
 		private final String id;
 		private final AutoSuggestDataSet dataSet;
 
+		@Getter(AccessLevel.NONE)
+		private final Map<String, PrefetchPayload> prefetchPayloads = new ConcurrentHashMap<>();
+
 		public String suggestionsUrl() {
 			return suggestionsUriComponents().build().toUriString();
 		}
@@ -146,5 +161,54 @@ public final class AutoSuggestDataEndpoint
 		public boolean isPrefetchSupported() {
 			return dataSet.isPrefetchSupported();
 		}
+
+		/**
+		 * @return the prefetch cache settings of the dataset, never {@code null}
+		 * @since 4.3.0
+		 */
+		public PrefetchCacheSettings getPrefetchCacheSettings() {
+			PrefetchCacheSettings settings = dataSet.getPrefetchCacheSettings();
+			return settings != null ? settings : PrefetchCacheSettings.DEFAULT;
+		}
+
+		/**
+		 * Get the prefetch payload for a control name. Returns a previously cached payload if there
+		 * is one that has not expired, else the payload will be created using the supplier.
+		 * The resulting payload will only be cached if the server cache is enabled for the dataset.
+		 *
+		 * @param controlName     name of the control for which the data is requested
+		 * @param payloadSupplier to create the payload if necessary
+		 * @return payload
+		 * @since 4.3.0
+		 */
+		public PrefetchPayload getPrefetchPayload( String controlName, @NonNull Supplier<PrefetchPayload> payloadSupplier ) {
+			PrefetchCacheSettings settings = getPrefetchCacheSettings();
+
+			if ( !settings.isServerCacheEnabled() ) {
+				return payloadSupplier.get();
+			}
+
+			String key = controlName != null ? controlName : "";
+			PrefetchPayload payload = prefetchPayloads.get( key );
+
+			if ( payload == null || payload.isExpired( settings.getTimeToLive() ) ) {
+				payload = payloadSupplier.get();
+
+				if ( payload != null && ( prefetchPayloads.containsKey( key ) || prefetchPayloads.size() < settings.getMaximumEntries() ) ) {
+					prefetchPayloads.put( key, payload );
+				}
+			}
+
+			return payload;
+		}
+
+		/**
+		 * Remove all cached prefetch payloads, the prefetch loader will be called again on the next request.
+		 *
+		 * @since 4.3.0
+		 */
+		public void evictPrefetchCache() {
+			prefetchPayloads.clear();
+		}
 	}
 }
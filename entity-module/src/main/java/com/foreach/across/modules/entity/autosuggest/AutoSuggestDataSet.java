@@ -47,6 +47,17 @@ public interface AutoSuggestDataSet
 	 */
 	boolean isPrefetchSupported();
 
+	/**
+	 * Settings for caching the prefetch data of this set. If {@code null} the
+	 * {@link PrefetchCacheSettings#DEFAULT} will be used.
+	 *
+	 * @return cache settings for the prefetch data
+	 * @since 4.3.0
+	 */
+	default PrefetchCacheSettings getPrefetchCacheSettings() {
+		return null;
+	}
+
 	/**
 	 * Create a builder for a simple dataset. Using a
 	 * @return builder for a simple auto-suggest dataset
@@ -0,0 +1,443 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.autosuggest;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@link AutoSuggestDataSet} implementation for a fixed (in-memory) collection of items.
+ * Instead of filtering the collection on every request, a normalized token index is built over the
+ * label and the (optional) keywords of every item. Normalization is case and diacritic insensitive:
+ * {@code Élan} will match a query for {@code ela}.
+ * <p/>
+ * A query is split in tokens, an item matches if every query token is a prefix of at least one
+ * of the item tokens. At most {@link #getMaximumResults()} suggestions are returned, ordered by
+ * the matching token, so items with a token equal to the query are returned first.
+ * <p/>
+ * The index is built upon first use. Use {@link #refresh()} to update the index after the source
+ * has changed: only items that have been added, removed or had their label or keywords modified
+ * will be re-indexed. If a {@code version} function is configured, the label and keywords are only
+ * evaluated for items with a different version. Single items can be updated directly using
+ * {@link #addOrUpdate(Object)} and {@link #remove(Object)}.
+ * <p/>
+ * If prefetching is enabled, the prefetch results are kept until the index is modified.
+ * <p/>
+ * Usually registered using {@link AutoSuggestDataAttributeRegistrar#indexed(IndexedAutoSuggestDataSet)}.
+ *
+ * @param <T> type of the items
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class IndexedAutoSuggestDataSet<T> implements AutoSuggestDataSet, AutoSuggestDataSet.ResultTransformer
+{
+	private static final Pattern DIACRITICS = Pattern.compile( "\\p{M}+" );
+	private static final Pattern TOKEN_SEPARATOR = Pattern.compile( "[^\\p{L}\\p{N}]+" );
+
+	private final Supplier<? extends Collection<? extends T>> source;
+	private final Function<T, Object> idFunction;
+	private final Function<T, String> labelFunction;
+	private final Function<T, ? extends Collection<String>> keywordsFunction;
+	private final Function<T, Object> versionFunction;
+	private final Function<T, AutoSuggestDataSet.Result> resultTransformer;
+
+	@Getter
+	private final int maximumResults;
+
+	@Getter
+	private final PrefetchCacheSettings prefetchCacheSettings;
+
+	private final boolean prefetchSupported;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Object, IndexedItem<T>> itemsById = new LinkedHashMap<>();
+	private final NavigableMap<String, Set<IndexedItem<T>>> tokenIndex = new TreeMap<>();
+
+	private volatile boolean initialized;
+	private volatile List<AutoSuggestDataSet.Result> prefetchResults;
+
+	@Builder
+	@SuppressWarnings("unchecked")
+	private IndexedAutoSuggestDataSet( @NonNull Supplier<? extends Collection<? extends T>> source,
+	                                   Function<T, Object> id,
+	                                   Function<T, String> label,
+	                                   Function<T, ? extends Collection<String>> keywords,
+	                                   Function<T, Object> version,
+	                                   Function<T, AutoSuggestDataSet.Result> resultTransformer,
+	                                   Integer maximumResults,
+	                                   boolean prefetch,
+	                                   PrefetchCacheSettings prefetchCacheSettings ) {
+		this.source = source;
+		this.idFunction = id != null ? id : item -> item;
+		this.labelFunction = label != null ? label : String::valueOf;
+		this.keywordsFunction = keywords != null ? keywords : item -> Collections.emptyList();
+		this.versionFunction = version;
+		this.resultTransformer = resultTransformer != null
+				? resultTransformer : item -> new SimpleAutoSuggestDataSet.Result( idFunction.apply( item ), labelFunction.apply( item ) );
+		this.maximumResults = maximumResults != null ? maximumResults : 50;
+		this.prefetchSupported = prefetch;
+		this.prefetchCacheSettings = prefetchCacheSettings;
+	}
+
+	@Override
+	public Object suggestions( String query, String controlName ) {
+		return findItems( query, maximumResults ).stream()
+		                                         .map( resultTransformer )
+		                                         .collect( Collectors.toList() );
+	}
+
+	@Override
+	public Object prefetch( String controlName ) {
+		if ( !prefetchSupported ) {
+			return Collections.emptyList();
+		}
+
+		initializeIfNecessary();
+
+		List<AutoSuggestDataSet.Result> results = prefetchResults;
+		if ( results == null ) {
+			lock.readLock().lock();
+			try {
+				results = Collections.unmodifiableList(
+						itemsById.values()
+						         .stream()
+						         .map( indexed -> resultTransformer.apply( indexed.item ) )
+						         .collect( Collectors.toList() )
+				);
+				prefetchResults = results;
+			}
+			finally {
+				lock.readLock().unlock();
+			}
+		}
+		return results;
+	}
+
+	@Override
+	public boolean isPrefetchSupported() {
+		return prefetchSupported;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Result transformToResult( Object candidate ) {
+		return resultTransformer.apply( (T) candidate );
+	}
+
+	/**
+	 * Find the items matching the query, in order of relevance.
+	 * If the query is empty, the first items of the source will be returned.
+	 *
+	 * @param query      to search for
+	 * @param maxResults maximum number of items to return
+	 * @return matching items
+	 */
+	public List<T> findItems( String query, int maxResults ) {
+		initializeIfNecessary();
+
+		String[] queryTokens = tokenize( query );
+		List<T> items = new ArrayList<>( Math.min( maxResults, 64 ) );
+
+		lock.readLock().lock();
+		try {
+			if ( queryTokens.length == 0 ) {
+				for ( IndexedItem<T> indexed : itemsById.values() ) {
+					if ( items.size() >= maxResults ) {
+						break;
+					}
+					items.add( indexed.item );
+				}
+				return items;
+			}
+
+			// iterate the candidates for the most selective (longest) query token
+			String primary = queryTokens[0];
+			for ( String token : queryTokens ) {
+				if ( token.length() > primary.length() ) {
+					primary = token;
+				}
+			}
+
+			Set<IndexedItem<T>> seen = new HashSet<>();
+			for ( Set<IndexedItem<T>> candidates : tokenIndex.subMap( primary, true, primary + Character.MAX_VALUE, false ).values() ) {
+				for ( IndexedItem<T> candidate : candidates ) {
+					if ( seen.add( candidate ) && candidate.matchesAll( queryTokens ) ) {
+						items.add( candidate.item );
+						if ( items.size() >= maxResults ) {
+							return items;
+						}
+					}
+				}
+			}
+
+			return items;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Reload the items from the source and update the index for all items that have changed.
+	 * Items are only tokenized again if their label or keywords have been modified.
+	 */
+	public void refresh() {
+		Collection<? extends T> items = source.get();
+
+		lock.writeLock().lock();
+		try {
+			Map<Object, IndexedItem<T>> previous = new LinkedHashMap<>( itemsById );
+			List<Object> previousIds = new ArrayList<>( previous.keySet() );
+			boolean modified = false;
+			itemsById.clear();
+
+			for ( T item : items ) {
+				Object id = idFunction.apply( item );
+				IndexedItem<T> existing = previous.remove( id );
+				if ( existing == null ) {
+					// duplicate id in the source, last one wins
+					existing = itemsById.get( id );
+				}
+
+				Object version = versionFunction != null ? versionFunction.apply( item ) : null;
+
+				if ( existing != null && versionFunction != null && Objects.equals( existing.version, version ) ) {
+					modified |= existing.item != item;
+					existing.item = item;
+					itemsById.put( id, existing );
+					continue;
+				}
+
+				String label = labelFunction.apply( item );
+				List<String> keywords = keywords( item );
+
+				if ( existing != null && existing.hasText( label, keywords ) ) {
+					modified |= existing.item != item;
+					existing.item = item;
+					existing.version = version;
+					itemsById.put( id, existing );
+				}
+				else {
+					if ( existing != null ) {
+						unindex( existing );
+					}
+					IndexedItem<T> updated = createIndexedItem( id, item, version, label, keywords );
+					index( updated );
+					itemsById.put( id, updated );
+					modified = true;
+				}
+			}
+
+			// items no longer present in the source
+			previous.values().forEach( this::unindex );
+
+			if ( modified || !previous.isEmpty() || !previousIds.equals( new ArrayList<>( itemsById.keySet() ) ) ) {
+				prefetchResults = null;
+			}
+			initialized = true;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Add a single item to the index, or update the item with the same id.
+	 * New items are added at the end.
+	 *
+	 * @param item to add or update
+	 */
+	public void addOrUpdate( @NonNull T item ) {
+		initializeIfNecessary();
+
+		lock.writeLock().lock();
+		try {
+			IndexedItem<T> updated = createIndexedItem(
+					idFunction.apply( item ),
+					item,
+					versionFunction != null ? versionFunction.apply( item ) : null,
+					labelFunction.apply( item ),
+					keywords( item )
+			);
+			IndexedItem<T> existing = itemsById.get( updated.id );
+
+			if ( existing != null ) {
+				unindex( existing );
+			}
+			index( updated );
+			itemsById.put( updated.id, updated );
+			prefetchResults = null;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Remove the item with the given id from the index.
+	 *
+	 * @param id of the item
+	 * @return true if an item was removed
+	 */
+	public boolean remove( Object id ) {
+		initializeIfNecessary();
+
+		lock.writeLock().lock();
+		try {
+			IndexedItem<T> existing = itemsById.remove( id );
+			if ( existing != null ) {
+				unindex( existing );
+				prefetchResults = null;
+				return true;
+			}
+			return false;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void initializeIfNecessary() {
+		if ( !initialized ) {
+			synchronized ( this ) {
+				if ( !initialized ) {
+					refresh();
+				}
+			}
+		}
+	}
+
+	private List<String> keywords( T item ) {
+		Collection<String> keywords = keywordsFunction.apply( item );
+		return keywords != null && !keywords.isEmpty() ? new ArrayList<>( keywords ) : Collections.emptyList();
+	}
+
+	private IndexedItem<T> createIndexedItem( Object id, T item, Object version, String label, List<String> keywords ) {
+		SortedSet<String> tokens = new TreeSet<>( Arrays.asList( tokenize( label ) ) );
+		keywords.forEach( keyword -> tokens.addAll( Arrays.asList( tokenize( keyword ) ) ) );
+		return new IndexedItem<>( id, item, version, label, keywords, tokens.toArray( new String[0] ) );
+	}
+
+	private void index( IndexedItem<T> indexed ) {
+		for ( String token : indexed.tokens ) {
+			tokenIndex.computeIfAbsent( token, t -> new LinkedHashSet<>() ).add( indexed );
+		}
+	}
+
+	private void unindex( IndexedItem<T> indexed ) {
+		for ( String token : indexed.tokens ) {
+			Set<IndexedItem<T>> items = tokenIndex.get( token );
+			if ( items != null ) {
+				items.remove( indexed );
+				if ( items.isEmpty() ) {
+					tokenIndex.remove( token );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Normalize a string for indexing or searching: diacritics are stripped and the result is lower case.
+	 *
+	 * @param value to normalize
+	 * @return normalized value, never {@code null}
+	 */
+	public static String normalize( String value ) {
+		if ( StringUtils.isEmpty( value ) ) {
+			return "";
+		}
+		return DIACRITICS.matcher( Normalizer.normalize( value, Normalizer.Form.NFD ) ).replaceAll( "" ).toLowerCase( Locale.ROOT );
+	}
+
+	static String[] tokenize( String value ) {
+		String normalized = normalize( value );
+		return Arrays.stream( TOKEN_SEPARATOR.split( normalized ) )
+		             .filter( token -> !token.isEmpty() )
+		             .toArray( String[]::new );
+	}
+
+	/**
+	 * Builder for an {@link IndexedAutoSuggestDataSet}.
+	 */
+	public static class IndexedAutoSuggestDataSetBuilder<T>
+	{
+		/**
+		 * Use a fixed collection of items as source.
+		 *
+		 * @param items to index
+		 * @return builder
+		 */
+		public IndexedAutoSuggestDataSetBuilder<T> items( @NonNull Collection<? extends T> items ) {
+			return source( () -> items );
+		}
+	}
+
+	/**
+	 * Single item in the index, identity based. Keeps the label and keywords the tokens were created from,
+	 * so changes can be detected without tokenizing again.
+	 */
+	private static final class IndexedItem<T>
+	{
+		private final Object id;
+		private final String label;
+		private final List<String> keywords;
+		private final String[] tokens;
+		private T item;
+		private Object version;
+
+		IndexedItem( Object id, T item, Object version, String label, List<String> keywords, String[] tokens ) {
+			this.id = id;
+			this.item = item;
+			this.version = version;
+			this.label = label;
+			this.keywords = keywords;
+			this.tokens = tokens;
+		}
+
+		boolean hasText( String label, List<String> keywords ) {
+			return Objects.equals( this.label, label ) && this.keywords.equals( keywords );
+		}
+
+		/**
+		 * @return true if every query token is a prefix of at least one of the (sorted) item tokens
+		 */
+		boolean matchesAll( String[] queryTokens ) {
+			for ( String queryToken : queryTokens ) {
+				int position = Arrays.binarySearch( tokens, queryToken );
+				if ( position < 0 ) {
+					int insertion = -position - 1;
+					if ( insertion >= tokens.length || !tokens[insertion].startsWith( queryToken ) ) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
+}
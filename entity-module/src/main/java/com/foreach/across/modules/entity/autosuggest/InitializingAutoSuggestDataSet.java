@@ -45,6 +45,11 @@ public class InitializingAutoSuggestDataSet implements AutoSuggestDataSet, AutoS
 	private BiFunction<String, String, Object> suggestionsLoader;
 	private Function<String, Object> prefetchLoader;
 
+	/**
+	 * Optional settings for caching the prefetch data.
+	 */
+	private PrefetchCacheSettings prefetchCacheSettings;
+
 	@NonNull
 	private AutoSuggestDataSet.ResultTransformer resultTransformer;
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.autosuggest;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+
+/**
+ * Configures the HTTP and server-side caching of the prefetch data of an {@link AutoSuggestDataSet}.
+ * <p/>
+ * If {@link #isServerCacheEnabled()} is {@code true}, the serialized (and gzipped) prefetch payload
+ * will be kept in memory for every control name, so the prefetch loader is only executed once
+ * (or once every {@link #getTimeToLive()}). The {@link #getCacheControl()} determines the
+ * {@code Cache-Control} header sent along with the prefetch response. Regardless of these settings,
+ * a content-based {@code ETag} will be returned and {@code If-None-Match} requests will be honoured.
+ * <p/>
+ * Only enable the server cache if the prefetch data does not depend on the current user or request.
+ *
+ * @author Arne Vandamme
+ * @see AutoSuggestDataController
+ * @see AutoSuggestDataEndpoint.MappedDataSet#evictPrefetchCache()
+ * @since 4.3.0
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PrefetchCacheSettings
+{
+	/**
+	 * Default settings: no server cache and a {@code no-cache} header, meaning the client
+	 * will always revalidate the prefetch data using the {@code ETag}.
+	 */
+	public static final PrefetchCacheSettings DEFAULT = PrefetchCacheSettings.builder().build();
+
+	/**
+	 * Should the serialized prefetch payload be cached on the server.
+	 */
+	private final boolean serverCacheEnabled;
+
+	/**
+	 * How long a payload cached on the server remains valid.
+	 * If {@code null}, the payload is kept until the cache is evicted manually.
+	 */
+	private final Duration timeToLive;
+
+	/**
+	 * Maximum number of different control names for which a payload will be cached.
+	 * Protects against unbounded memory use as the control name is a request parameter.
+	 */
+	@Builder.Default
+	private final int maximumEntries = 32;
+
+	/**
+	 * The {@code Cache-Control} header that should be returned with the prefetch data.
+	 */
+	@Builder.Default
+	private final CacheControl cacheControl = CacheControl.noCache();
+
+	/**
+	 * Should the payload be sent gzipped if the client accepts it.
+	 */
+	@Builder.Default
+	private final boolean gzipEnabled = true;
+
+	/**
+	 * Create settings that cache the prefetch payload on the server and allow the client
+	 * to cache the data for the given duration without revalidating.
+	 *
+	 * @param maxAge how long the client can use its cached copy
+	 * @return settings
+	 */
+	public static PrefetchCacheSettings cached( Duration maxAge ) {
+		return PrefetchCacheSettings.builder()
+		                            .serverCacheEnabled( true )
+		                            .cacheControl( CacheControl.maxAge( maxAge ).cachePrivate() )
+		                            .build();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.autosuggest;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds a serialized prefetch response of an {@link AutoSuggestDataSet}: the raw JSON bytes,
+ * the gzipped version of those bytes and an {@code ETag} that is computed from the content.
+ * <p/>
+ * Instances are immutable and can safely be shared between requests.
+ *
+ * @author Arne Vandamme
+ * @see AutoSuggestDataController
+ * @since 4.3.0
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PrefetchPayload
+{
+	private final byte[] json;
+	private final byte[] gzipped;
+	private final String eTag;
+	private final long createdTimestamp;
+
+	/**
+	 * Check if this payload is older than the maximum time it should live.
+	 *
+	 * @param timeToLive maximum age, can be {@code null} in which case the payload never expires
+	 * @return true if expired
+	 */
+	public boolean isExpired( Duration timeToLive ) {
+		return timeToLive != null && System.currentTimeMillis() - createdTimestamp > timeToLive.toMillis();
+	}
+
+	/**
+	 * Create a payload from the serialized JSON bytes.
+	 *
+	 * @param json   serialized data
+	 * @param gzipIt should a gzipped version be created
+	 * @return payload
+	 */
+	public static PrefetchPayload of( @NonNull byte[] json, boolean gzipIt ) {
+		return new PrefetchPayload( json, gzipIt ? gzip( json ) : null, "\"" + DigestUtils.md5DigestAsHex( json ) + "\"",
+		                            System.currentTimeMillis() );
+	}
+
+	private static byte[] gzip( byte[] data ) {
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream( Math.max( 512, data.length / 4 ) );
+			try (GZIPOutputStream gzip = new GZIPOutputStream( bos )) {
+				gzip.write( data );
+			}
+			return bos.toByteArray();
+		}
+		catch ( IOException ioe ) {
+			throw new UncheckedIOException( ioe );
+		}
+	}
+}
@@ -16,10 +16,7 @@
 
 package com.foreach.across.modules.entity.autosuggest;
 
-import lombok.Builder;
-import lombok.Data;
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
+import lombok.*;
 
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -41,12 +38,22 @@ import java.util.function.Function;
  * @since 3.0.0
  */
 @Builder
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class SimpleAutoSuggestDataSet implements AutoSuggestDataSet
 {
 	private final BiFunction<String, String, Object> suggestionsLoader;
 	private final Function<String, Object> prefetchLoader;
 
+	/**
+	 * Optional settings for caching the prefetch data.
+	 */
+	@Getter
+	private final PrefetchCacheSettings prefetchCacheSettings;
+
+	public SimpleAutoSuggestDataSet( BiFunction<String, String, Object> suggestionsLoader, Function<String, Object> prefetchLoader ) {
+		this( suggestionsLoader, prefetchLoader, null );
+	}
+
 	/**
 	 * Retrieve the suggestions for a particular query.
 	 * The second parameter is an optional control name for which the suggestions are requested.
@@ -193,6 +193,13 @@ abstract class AbstractEntityPropertyBinder implements EntityPropertyBinder
 		return false;
 	}
 
+	/**
+	 * @return true if saving this binder also saves nested property binders, instead of only its own value
+	 */
+	boolean hasNestedPropertyBinders() {
+		return false;
+	}
+
 	@Override
 	public void setDeleted( boolean deleted ) {
 		this.deleted = deleted;
@@ -28,7 +28,6 @@ import org.springframework.validation.Errors;
 
 import java.lang.reflect.Array;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Represents a property value backed by a {@link java.util.Collection} that is not a map.
@@ -43,6 +42,12 @@ import java.util.stream.Collectors;
  * By default when {@link #enableBinding(boolean)} is {@code true}, the list of items will be reset as it is
  * expected that binding will replace all the items (eg. all of them are submitted by form). This behaviour
  * can be customized by calling {@link #setUpdateItemsOnBinding(boolean)} with {@code true}.
+ * <p/>
+ * The sorted list of items is kept between calls and is only sorted again if items have been added, removed
+ * or their sort index has changed. If the controller of the member property is optimized for bulk saving
+ * (see {@link EntityPropertyController#isOptimizedForBulkSave()}), all items will be saved using a single
+ * {@link EntityPropertyController#saveAll(com.foreach.across.modules.entity.registry.properties.EntityPropertyBindingContext, Collection)}
+ * call instead of saving them one by one, unless one of the items has nested property binders that need to be saved.
  *
  * @author Arne Vandamme
  * @see SingleEntityPropertyBinder
@@ -52,6 +57,27 @@ import java.util.stream.Collectors;
 @SuppressWarnings("Duplicates")
 public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 {
+	/**
+	 * Orders numeric item keys by their numeric value, followed by all other keys in natural order.
+	 */
+	static final Comparator<String> ITEM_KEY_ORDER = ( left, right ) -> {
+		boolean leftNumeric = StringUtils.isNumeric( left );
+		boolean rightNumeric = StringUtils.isNumeric( right );
+
+		if ( leftNumeric && rightNumeric ) {
+			int lengthDifference = Integer.compare( left.length(), right.length() );
+			return lengthDifference != 0 ? lengthDifference : left.compareTo( right );
+		}
+		if ( leftNumeric != rightNumeric ) {
+			return leftNumeric ? -1 : 1;
+		}
+		return left.compareTo( right );
+	};
+
+	private static final Comparator<EntityPropertyBinder> ITEM_ORDER
+			= Comparator.comparingLong( EntityPropertyBinder::getSortIndex )
+			            .thenComparing( EntityPropertyBinder::getItemKey, Comparator.nullsFirst( ITEM_KEY_ORDER ) );
+
 	private final EntityPropertiesBinder binder;
 	private final EntityPropertyDescriptor collectionDescriptor;
 	private final TypeDescriptor collectionTypeDescriptor;
@@ -65,7 +91,10 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 	private boolean initializedValuePathWasUsed;
 
 	private AbstractEntityPropertyBinder itemTemplate;
-	private Map<String, EntityPropertyBinder> items;
+	private Items items;
+
+	private List<EntityPropertyBinder> sortedItems;
+	private int sortedItemsModificationCount = -1;
 
 	/**
 	 * If set to {@code true}, the existing items will always be returned when performing data binding,
@@ -166,13 +195,37 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 	 * @return unmodifiable list of all items in order
 	 */
 	public List<EntityPropertyBinder> getItemList() {
-		return Collections.unmodifiableList(
-				getItems()
-						.values()
-						.stream()
-						.sorted( Comparator.comparingLong( EntityPropertyBinder::getSortIndex ) )
-						.collect( Collectors.toList() )
-		);
+		return Collections.unmodifiableList( sortedItems() );
+	}
+
+	/**
+	 * Returns the maintained list of items in order. Only sorts the items again if the map of items
+	 * has been modified or if the current list is no longer in order. A sorted list is never modified,
+	 * it is replaced by a new list instead.
+	 */
+	private List<EntityPropertyBinder> sortedItems() {
+		getItems();
+
+		if ( sortedItems == null
+				|| sortedItemsModificationCount != items.modificationCount
+				|| sortedItems.size() != items.size()
+				|| !isInOrder( sortedItems ) ) {
+			List<EntityPropertyBinder> list = new ArrayList<>( items.values() );
+			list.sort( ITEM_ORDER );
+			sortedItems = list;
+			sortedItemsModificationCount = items.modificationCount;
+		}
+
+		return sortedItems;
+	}
+
+	private static boolean isInOrder( List<EntityPropertyBinder> list ) {
+		for ( int i = 1; i < list.size(); i++ ) {
+			if ( ITEM_ORDER.compare( list.get( i - 1 ), list.get( i ) ) > 0 ) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -193,14 +246,14 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 		Object[] items = new Object[0];
 
 		if ( !isDeleted() ) {
-			items = getItems()
-					.values()
-					.stream()
-					.filter( b -> !b.isDeleted() )
-					.sorted( Comparator.comparingLong( EntityPropertyBinder::getSortIndex ) )
-					.map( EntityPropertyBinder::getValue )
-					.toArray( size -> (Object[]) Array.newInstance( memberTypeDescriptor.getObjectType(), size ) );
-
+			List<EntityPropertyBinder> itemList = sortedItems();
+			List<Object> values = new ArrayList<>( itemList.size() );
+			for ( EntityPropertyBinder item : itemList ) {
+				if ( !item.isDeleted() ) {
+					values.add( item.getValue() );
+				}
+			}
+			items = values.toArray( (Object[]) Array.newInstance( memberTypeDescriptor.getObjectType(), values.size() ) );
 		}
 
 		return binder.convertIfNecessary( items, collectionTypeDescriptor, getBinderPath( "items" ) );
@@ -224,7 +277,7 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 
 			int index = 0;
 			for ( Object v : values ) {
-				String key = "" + index;
+				String key = String.valueOf( index );
 				AbstractEntityPropertyBinder item = binder.createPropertyBinder( memberDescriptor );
 				item.setItemKey( key );
 				item.setOriginalValue( v );
@@ -244,7 +297,7 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 	public boolean validate( Errors errors, Object... validationHints ) {
 		int beforeValidate = errors.getErrorCount();
 
-		getItemList()
+		sortedItems()
 				.forEach( item -> {
 					try {
 						errors.pushNestedPath( "items[" + item.getItemKey() + "]" );
@@ -275,8 +328,15 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 		boolean saved = false;
 
 		if ( !isDeleted() ) {
-			for ( EntityPropertyBinder item : getItemList() ) {
-				saved |= item.save();
+			EntityPropertyController memberController = memberDescriptor.getController();
+
+			if ( memberController != null && memberController.isOptimizedForBulkSave() && canSaveItemsInBulk() ) {
+				saved |= saveItemsInBulk( memberController );
+			}
+			else {
+				for ( EntityPropertyBinder item : sortedItems() ) {
+					saved |= item.save();
+				}
 			}
 		}
 
@@ -285,6 +345,35 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 		return saved;
 	}
 
+	@Override
+	boolean hasNestedPropertyBinders() {
+		return true;
+	}
+
+	/**
+	 * Items can only be saved in bulk if saving them individually would only save their own value.
+	 * Items with nested property binders (eg. an embedded object with child properties) are saved one by one.
+	 */
+	private boolean canSaveItemsInBulk() {
+		for ( EntityPropertyBinder item : sortedItems() ) {
+			if ( !( item instanceof AbstractEntityPropertyBinder )
+					|| ( !item.isDeleted() && ( (AbstractEntityPropertyBinder) item ).hasNestedPropertyBinders() ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean saveItemsInBulk( EntityPropertyController memberController ) {
+		List<EntityPropertyBinder> itemList = sortedItems();
+		List<EntityPropertyValue<Object>> values = new ArrayList<>( itemList.size() );
+		for ( EntityPropertyBinder item : itemList ) {
+			values.add( new EntityPropertyValue<>( item.getOriginalValue(), item.getValue(), item.isDeleted() ) );
+		}
+		return memberController.saveAll( binder.getValueBindingContext(), values );
+	}
+
 	/**
 	 * While binding is enabled, the items collection will not remove any (possibly) deleted items.
 	 * When explicitly disabling binding, the items will be cleared of any deleted items and will be
@@ -320,9 +409,40 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 
 	/**
 	 * Creates a new item for every key requested.
+	 * Keeps track of modifications so the sorted list of items can be maintained.
 	 */
 	class Items extends TreeMap<String, EntityPropertyBinder>
 	{
+		private int modificationCount;
+
+		Items() {
+			super( ITEM_KEY_ORDER );
+		}
+
+		@Override
+		public EntityPropertyBinder put( String key, EntityPropertyBinder value ) {
+			modificationCount++;
+			return super.put( key, value );
+		}
+
+		@Override
+		public void putAll( Map<? extends String, ? extends EntityPropertyBinder> map ) {
+			modificationCount++;
+			super.putAll( map );
+		}
+
+		@Override
+		public EntityPropertyBinder remove( Object key ) {
+			modificationCount++;
+			return super.remove( key );
+		}
+
+		@Override
+		public void clear() {
+			modificationCount++;
+			super.clear();
+		}
+
 		@Override
 		public EntityPropertyBinder get( Object key ) {
 			String itemKey = (String) key;
@@ -336,7 +456,7 @@ public final class ListEntityPropertyBinder extends AbstractEntityPropertyBinder
 				markDirty();
 
 				item = itemBinder;
-				super.put( itemKey, item );
+				put( itemKey, item );
 			}
 
 			return item;
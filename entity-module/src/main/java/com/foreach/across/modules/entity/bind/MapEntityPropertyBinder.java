@@ -277,6 +277,11 @@ public final class MapEntityPropertyBinder extends AbstractEntityPropertyBinder
 		return saved;
 	}
 
+	@Override
+	boolean hasNestedPropertyBinders() {
+		return true;
+	}
+
 	/**
 	 * While binding is enabled, the entries collection will not remove any (possibly) deleted entries.
 	 * When explicitly disabling binding, the entries will be cleared of any deleted entries and will be
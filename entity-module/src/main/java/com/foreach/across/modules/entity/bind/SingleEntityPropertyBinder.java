@@ -188,6 +188,11 @@ public final class SingleEntityPropertyBinder extends AbstractEntityPropertyBind
 		return true;
 	}
 
+	@Override
+	boolean hasNestedPropertyBinders() {
+		return properties != null;
+	}
+
 	/**
 	 * Resolve the {@link EntityPropertyBinder} for the property descriptor.
 	 * If the descriptor represents a nested property, intermediate binders might get initialized
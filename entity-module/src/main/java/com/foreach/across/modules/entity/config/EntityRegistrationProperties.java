@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration of the automatic entity registration during bootstrap.
+ *
+ * @author Arne Vandamme
+ * @see com.foreach.across.modules.entity.registrars.repository.RepositoryEntityRegistrar
+ * @since 4.3.0
+ */
+@Data
+@Component
+@ConfigurationProperties("entity-module.registration")
+public class EntityRegistrationProperties
+{
+	/**
+	 * Maximum number of threads used to introspect the entity types and build their property registries.
+	 * Registering the entities themselves is always done sequentially, in a fixed order.
+	 * Requires all property registrars to be thread-safe. A value of 1 disables parallel introspection.
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * Should entity view factories only be built when they are first requested?
+	 * Reduces startup time and memory usage for large domains where many views are never used.
+	 */
+	private boolean lazyViewFactories = false;
+
+	/**
+	 * Check if lazy view factories are enabled in the bean factory.
+	 *
+	 * @param beanFactory to get the registration properties from
+	 * @return true if lazy view factories are enabled
+	 */
+	public static boolean isLazyViewFactories( BeanFactory beanFactory ) {
+		ObjectProvider<EntityRegistrationProperties> properties = beanFactory.getBeanProvider( EntityRegistrationProperties.class );
+		EntityRegistrationProperties registrationProperties = properties != null ? properties.getIfAvailable() : null;
+		return registrationProperties != null && registrationProperties.isLazyViewFactories();
+	}
+}
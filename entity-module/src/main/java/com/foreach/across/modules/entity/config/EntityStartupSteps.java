@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.config;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * Names of the startup steps that are recorded during entity registration, and lookup of the
+ * {@link ApplicationStartup} they should be recorded on. Steps are only recorded if a
+ * {@link BufferingApplicationStartup} bean is available, for example the one exposed by the ApplicationInfoModule.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@UtilityClass
+public class EntityStartupSteps
+{
+	/**
+	 * Execution of a single {@link com.foreach.across.modules.entity.registrars.EntityRegistrar} for a module.
+	 */
+	public static final String REGISTRAR = "entity-module.registrar";
+
+	/**
+	 * Execution of {@link EntityConfigurer#configure(com.foreach.across.modules.entity.config.builders.EntitiesConfigurationBuilder)}.
+	 */
+	public static final String CONFIGURER = "entity-module.configurer";
+
+	/**
+	 * Creating or applying the configuration builders to a single entity configuration.
+	 */
+	public static final String ENTITY_CONFIGURATION = "entity-module.entity-configuration";
+
+	/**
+	 * Building the property registry for a single entity type.
+	 */
+	public static final String PROPERTY_REGISTRY = "entity-module.property-registry";
+
+	public static ApplicationStartup applicationStartup( BeanFactory beanFactory ) {
+		return beanFactory != null ? applicationStartup( beanFactory.getBeanProvider( BufferingApplicationStartup.class ) ) : ApplicationStartup.DEFAULT;
+	}
+
+	public static ApplicationStartup applicationStartup( ObjectProvider<BufferingApplicationStartup> applicationStartup ) {
+		if ( applicationStartup == null ) {
+			return ApplicationStartup.DEFAULT;
+		}
+		return applicationStartup.orderedStream()
+		                         .findFirst()
+		                         .map( ApplicationStartup.class::cast )
+		                         .orElse( ApplicationStartup.DEFAULT );
+	}
+}
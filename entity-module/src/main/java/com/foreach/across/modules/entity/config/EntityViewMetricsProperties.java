@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the timing instrumentation for entity views.
+ *
+ * @author Arne Vandamme
+ * @see com.foreach.across.modules.entity.views.metrics.EntityViewMetrics
+ * @since 4.3.0
+ */
+@Data
+@Component
+@ConfigurationProperties("entity-module.view-metrics")
+public class EntityViewMetricsProperties
+{
+	/**
+	 * Should entity view requests and entity queries be timed?
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Should the duration of every individual processor be recorded, in addition to the view phases?
+	 */
+	private boolean processorTimings = true;
+
+	/**
+	 * Views taking longer than this threshold will be logged with their processor breakdown.
+	 * Set to {@code null} to disable the slow view log.
+	 */
+	private Duration slowViewThreshold = Duration.ofSeconds( 1 );
+
+	/**
+	 * Should a panel with the view timings be added to the admin web page of the current request?
+	 * Intended for development only.
+	 */
+	private boolean debugPanel = false;
+}
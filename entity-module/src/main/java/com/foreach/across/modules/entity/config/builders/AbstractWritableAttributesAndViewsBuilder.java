@@ -225,9 +225,15 @@ public abstract class AbstractWritableAttributesAndViewsBuilder<T extends Readab
 			V viewFactory;
 
 			if ( viewRegistry.hasView( viewName ) ) {
-				viewFactory = viewRegistry.getViewFactory( viewName );
 				list.forEach( c -> c.accept( builder ) );
-				builder.apply( viewFactory );
+
+				if ( isLazyViewMaterialization() ) {
+					viewRegistry.customizeView( viewName, builder::apply );
+				}
+				else {
+					viewFactory = viewRegistry.getViewFactory( viewName );
+					builder.apply( viewFactory );
+				}
 			}
 			else {
 				builder.attribute( EntityViewFactoryAttributes.VIEW_NAME, viewName );
@@ -238,11 +244,28 @@ public abstract class AbstractWritableAttributesAndViewsBuilder<T extends Readab
 				builder.messagePrefix( "views[" + viewName + "]" );
 
 				list.forEach( c -> c.accept( builder ) );
-				viewRegistry.registerView( viewName, builder.build() );
+
+				if ( isLazyViewMaterialization() ) {
+					viewRegistry.registerLazyView( viewName, builder::build );
+				}
+				else {
+					viewRegistry.registerView( viewName, builder.build() );
+				}
 			}
 		} );
 	}
 
+	/**
+	 * Should view factories only be built when they are first requested.
+	 * If so, the view builders are kept and modifications to existing views are queued until the view factory is created.
+	 *
+	 * @return true if view factories should be registered lazily
+	 * @since 4.3.0
+	 */
+	protected boolean isLazyViewMaterialization() {
+		return false;
+	}
+
 	protected abstract <U extends EntityViewFactoryBuilder> U createViewFactoryBuilder( Class<U> builderType );
 
 	protected abstract <U extends EntityViewFactoryBuilder> void initializeViewFactoryBuilder( String viewName, String templateName, U builder );
@@ -15,6 +15,7 @@
  */
 package com.foreach.across.modules.entity.config.builders;
 
+import com.foreach.across.modules.entity.config.EntityStartupSteps;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.EntityConfigurationProvider;
 import com.foreach.across.modules.entity.registry.MutableEntityConfiguration;
@@ -24,6 +25,8 @@ import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
@@ -31,6 +34,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Central builder for customizing configuration entries in the
@@ -49,9 +53,15 @@ public class EntitiesConfigurationBuilder
 	private EntityConfigurationBuilder<Object> allBuilder;
 
 	private final BeanFactory beanFactory;
+	private final ApplicationStartup applicationStartup;
 
 	EntitiesConfigurationBuilder( @NonNull AutowireCapableBeanFactory beanFactory ) {
+		this( beanFactory, ApplicationStartup.DEFAULT );
+	}
+
+	EntitiesConfigurationBuilder( @NonNull AutowireCapableBeanFactory beanFactory, @NonNull ApplicationStartup applicationStartup ) {
 		this.beanFactory = beanFactory;
+		this.applicationStartup = applicationStartup;
 	}
 
 	/**
@@ -167,7 +177,10 @@ public class EntitiesConfigurationBuilder
 			entityRegistry.getEntities().forEach(
 					e -> {
 						MutableEntityConfiguration cfg = entityRegistry.getEntityConfiguration( e.getName() );
-						allBuilder.apply( cfg, false );
+						recordStep( "all", () -> {
+							allBuilder.apply( cfg, false );
+							return cfg;
+						} );
 						appliedBuilders.add( new ImmutablePair<>( allBuilder, cfg ) );
 					}
 			);
@@ -183,7 +196,10 @@ public class EntitiesConfigurationBuilder
 		applyNameSpecificBuilders( false, entityRegistry, appliedBuilders );
 
 		// Run postprocessors
-		appliedBuilders.forEach( p -> p.getKey().postProcess( p.getValue() ) );
+		appliedBuilders.forEach( p -> recordStep( "post-process", () -> {
+			p.getKey().postProcess( p.getValue() );
+			return p.getValue();
+		} ) );
 	}
 
 	@SuppressWarnings("unchecked")
@@ -196,7 +212,10 @@ public class EntitiesConfigurationBuilder
 
 			predicateBuilders.forEach( ( predicate, builder ) -> {
 				if ( predicate.test( config ) ) {
-					builder.apply( config, false );
+					recordStep( "predicate", () -> {
+						builder.apply( config, false );
+						return config;
+					} );
 					appliedBuilders.add( new ImmutablePair<>( builder, config ) );
 				}
 			} );
@@ -255,7 +274,7 @@ public class EntitiesConfigurationBuilder
 
 		if ( forCreation ) {
 			if ( config == null ) {
-				config = configurationBuilder.build( false );
+				config = recordStep( "create", () -> configurationBuilder.build( false ) );
 				entityRegistry.register( config );
 			}
 		}
@@ -264,7 +283,11 @@ public class EntitiesConfigurationBuilder
 			Assert.notNull( config, () -> "existing MutableEntityConfiguration should not be null" );
 
 			// register applied builders only once
-			configurationBuilder.apply( config, false );
+			MutableEntityConfiguration existingConfig = config;
+			recordStep( "apply", () -> {
+				configurationBuilder.apply( existingConfig, false );
+				return existingConfig;
+			} );
 			appliedBuilders.add( new ImmutablePair<>( configurationBuilder, config ) );
 		}
 	}
@@ -275,7 +298,7 @@ public class EntitiesConfigurationBuilder
 	) {
 		newConfigurationBuilders.forEach(
 				c -> {
-					MutableEntityConfiguration<?> config = c.build( false );
+					MutableEntityConfiguration<?> config = recordStep( "create", () -> c.build( false ) );
 					entityRegistry.register( config );
 
 					appliedBuilders.add( new ImmutablePair<>( c, config ) );
@@ -283,6 +306,25 @@ public class EntitiesConfigurationBuilder
 		);
 	}
 
+	/**
+	 * Record the creation or modification of a single entity configuration as startup step.
+	 * The entity name is only known once the configuration has been built.
+	 */
+	@SuppressWarnings("rawtypes")
+	private <V extends MutableEntityConfiguration> V recordStep( String phase, Supplier<V> action ) {
+		StartupStep step = applicationStartup.start( EntityStartupSteps.ENTITY_CONFIGURATION );
+		V config = null;
+		try {
+			config = action.get();
+			return config;
+		}
+		finally {
+			step.tag( "entity", config != null ? config.getName() : "unknown" )
+			    .tag( "phase", phase )
+			    .end();
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private EntityConfigurationBuilder<Object> createConfigurationBuilder() {
 		return beanFactory.getBean( EntityConfigurationBuilder.class );
@@ -17,6 +17,7 @@
 package com.foreach.across.modules.entity.config.builders;
 
 import com.foreach.across.modules.entity.config.AttributeRegistrar;
+import com.foreach.across.modules.entity.config.EntityRegistrationProperties;
 import com.foreach.across.modules.entity.registry.*;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertySelector;
@@ -487,6 +488,11 @@ public class EntityAssociationBuilder extends AbstractWritableAttributesAndViews
 		return targetConfiguration;
 	}
 
+	@Override
+	protected boolean isLazyViewMaterialization() {
+		return EntityRegistrationProperties.isLazyViewFactories( beanFactory );
+	}
+
 	@Override
 	protected <U extends EntityViewFactoryBuilder> U createViewFactoryBuilder( Class<U> builderType ) {
 		if ( EntityListViewFactoryBuilder.class.isAssignableFrom( builderType ) ) {
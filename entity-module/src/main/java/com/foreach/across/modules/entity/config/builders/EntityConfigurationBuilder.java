@@ -18,6 +18,7 @@ package com.foreach.across.modules.entity.config.builders;
 import com.foreach.across.core.support.WritableAttributes;
 import com.foreach.across.modules.entity.actions.EntityConfigurationAllowableActionsBuilder;
 import com.foreach.across.modules.entity.config.AttributeRegistrar;
+import com.foreach.across.modules.entity.config.EntityRegistrationProperties;
 import com.foreach.across.modules.entity.registry.*;
 import com.foreach.across.modules.entity.util.EntityUtils;
 import com.foreach.across.modules.entity.views.ViewElementLookupRegistry;
@@ -496,6 +497,11 @@ public class EntityConfigurationBuilder<T> extends AbstractWritableAttributesAnd
 		postProcessors.forEach( c -> c.accept( configuration ) );
 	}
 
+	@Override
+	protected boolean isLazyViewMaterialization() {
+		return EntityRegistrationProperties.isLazyViewFactories( beanFactory );
+	}
+
 	@Override
 	protected <U extends EntityViewFactoryBuilder> U createViewFactoryBuilder( Class<U> builderType ) {
 		if ( EntityListViewFactoryBuilder.class.isAssignableFrom( builderType ) ) {
@@ -18,6 +18,7 @@ package com.foreach.across.modules.entity.config.builders;
 
 import com.foreach.across.modules.entity.conditionals.ConditionalOnAdminWeb;
 import com.foreach.across.modules.entity.config.AttributeRegistrar;
+import com.foreach.across.modules.entity.query.EntityQueryCountStrategy;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertySelector;
 import com.foreach.across.modules.entity.views.EntityViewFactory;
@@ -277,6 +278,18 @@ public class EntityListViewFactoryBuilder extends EntityViewFactoryBuilder
 		return this;
 	}
 
+	/**
+	 * Set the strategy for determining the total number of results when fetching a page of items.
+	 * Takes precedence over a strategy registered on the entity configuration.
+	 *
+	 * @param countStrategy to use
+	 * @return current builder
+	 * @see com.foreach.across.modules.entity.views.processors.DefaultEntityFetchingViewProcessor#COUNT_STRATEGY_ATTRIBUTE_NAME
+	 */
+	public EntityListViewFactoryBuilder countStrategy( EntityQueryCountStrategy countStrategy ) {
+		return attribute( EntityQueryCountStrategy.class, countStrategy );
+	}
+
 	/**
 	 * @param showResultNumber true if result numbers should be shown in the list
 	 * @return current builder
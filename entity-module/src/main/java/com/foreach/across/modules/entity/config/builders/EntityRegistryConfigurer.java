@@ -17,10 +17,14 @@
 package com.foreach.across.modules.entity.config.builders;
 
 import com.foreach.across.modules.entity.config.EntityConfigurer;
+import com.foreach.across.modules.entity.config.EntityStartupSteps;
 import com.foreach.across.modules.entity.registry.MutableEntityRegistry;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.ClassUtils;
 
 import java.util.ArrayDeque;
 import java.util.Collection;
@@ -29,7 +33,8 @@ import java.util.Collection;
  * Class for applying a set of {@link EntityConfigurer} instances to an {@link com.foreach.across.modules.entity.registry.EntityRegistry}.
  * Allows specifying the {@link AutowireCapableBeanFactory} that should be used per configurer.
  * <p/>
- * All configurers will be applied in adding order.
+ * All configurers will be applied in adding order. The configuration of every configurer and the application
+ * of the resulting builders to every entity are recorded as startup steps, see {@link EntityStartupSteps}.
  *
  * @author Arne Vandamme
  * @see EntityConfigurer
@@ -60,8 +65,18 @@ public class EntityRegistryConfigurer
 	 */
 	@SuppressWarnings("UnusedReturnValue")
 	public EntityRegistryConfigurer applyTo( MutableEntityRegistry entityRegistry ) {
-		EntitiesConfigurationBuilder builder = new EntitiesConfigurationBuilder( beanFactory );
-		entityConfigurers.forEach( cfg -> cfg.configure( builder ) );
+		ApplicationStartup applicationStartup = EntityStartupSteps.applicationStartup( beanFactory );
+		EntitiesConfigurationBuilder builder = new EntitiesConfigurationBuilder( beanFactory, applicationStartup );
+		entityConfigurers.forEach( cfg -> {
+			StartupStep step = applicationStartup.start( EntityStartupSteps.CONFIGURER )
+			                                     .tag( "configurer", ClassUtils.getUserClass( cfg ).getName() );
+			try {
+				cfg.configure( builder );
+			}
+			finally {
+				step.end();
+			}
+		} );
 		builder.apply( entityRegistry );
 		return this;
 	}
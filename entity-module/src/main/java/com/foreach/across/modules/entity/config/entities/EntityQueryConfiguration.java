@@ -21,7 +21,6 @@ import com.foreach.across.modules.entity.config.builders.EntitiesConfigurationBu
 import com.foreach.across.modules.entity.query.*;
 import com.foreach.across.modules.entity.query.support.EntityQueryAuthenticationFunctions;
 import com.foreach.across.modules.entity.query.support.EntityQueryDateFunctions;
-import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
@@ -75,9 +74,7 @@ class EntityQueryConfiguration
 			)
 			   .postProcessor(
 					   entityConfiguration -> {
-						   EntityPropertyRegistry propertyRegistry = entityConfiguration.getPropertyRegistry();
-
-						   EntityQueryParser entityQueryParser = entityQueryParserFactory.createParser( propertyRegistry );
+						   EntityQueryParser entityQueryParser = entityQueryParserFactory.createParser( entityConfiguration );
 						   entityConfiguration.setAttribute( EntityQueryParser.class, entityQueryParser );
 
 						   entityConfiguration.setAttribute(
@@ -28,6 +28,8 @@ import com.foreach.across.modules.entity.views.context.ConfigurableEntityViewCon
 import com.foreach.across.modules.entity.views.context.DefaultEntityViewContext;
 import com.foreach.across.modules.entity.views.context.EntityViewContext;
 import com.foreach.across.modules.entity.views.context.EntityViewContextLoader;
+import com.foreach.across.modules.entity.views.metrics.EntityViewMetrics;
+import com.foreach.across.modules.entity.views.metrics.EntityViewTimings;
 import com.foreach.across.modules.entity.views.request.EntityViewCommand;
 import com.foreach.across.modules.entity.views.request.EntityViewRequest;
 import com.foreach.across.modules.entity.views.support.EntityMessages;
@@ -37,6 +39,7 @@ import com.foreach.across.modules.entity.web.links.EntityViewLinks;
 import com.foreach.across.modules.web.context.WebAppPathResolver;
 import com.foreach.across.modules.web.resource.WebResourceRegistry;
 import com.foreach.across.modules.web.template.WebTemplateInterceptor;
+import com.foreach.across.modules.web.ui.ViewElement;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -92,6 +95,7 @@ public class GenericEntityViewController
 	private WebAppPathResolver webAppPathResolver;
 	private EntityViewLinks entityViewLinks;
 	private ConversionService mvcConversionService;
+	private EntityViewMetrics entityViewMetrics;
 
 	/**
 	 * Responsible for building the initial {@link com.foreach.across.modules.entity.views.context.EntityViewContext}
@@ -172,7 +176,17 @@ public class GenericEntityViewController
 	public Object executeView( @NonNull @ModelAttribute(EntityViewModel.VIEW_COMMAND) EntityViewCommand command, BindingResult bindingResult ) {
 		entityViewRequest.setBindingResult( bindingResult );
 
-		EntityView entityView = entityViewRequest.getViewFactory().createView( entityViewRequest );
+		EntityViewTimings timings = entityViewMetrics != null ? entityViewMetrics.start( entityViewRequest ) : null;
+		EntityView entityView;
+
+		try {
+			entityView = entityViewRequest.getViewFactory().createView( entityViewRequest );
+		}
+		finally {
+			if ( timings != null ) {
+				entityViewMetrics.stop( timings );
+			}
+		}
 
 		if ( entityView.isRedirect() ) {
 			return webAppPathResolver.redirect( entityView.getRedirectUrl() );
@@ -181,6 +195,13 @@ public class GenericEntityViewController
 			return entityView.getCustomView();
 		}
 
+		if ( timings != null ) {
+			ViewElement debugPanel = entityViewMetrics.buildDebugPanel( timings );
+			if ( debugPanel != null ) {
+				pageContentStructure.addToFooter( debugPanel );
+			}
+		}
+
 		return StringUtils.defaultString( entityView.getTemplate(), PageContentStructure.TEMPLATE );
 	}
 
@@ -286,6 +307,11 @@ public class GenericEntityViewController
 		this.mvcConversionService = conversionService;
 	}
 
+	@Autowired(required = false)
+	void setEntityViewMetrics( EntityViewMetrics entityViewMetrics ) {
+		this.entityViewMetrics = entityViewMetrics;
+	}
+
 	/**
 	 * Proxy wrapping around the current message code resolver attached to the view context, which should never be {@code null}.
 	 */
@@ -17,41 +17,106 @@
 package com.foreach.across.modules.entity.query;
 
 import com.foreach.across.modules.entity.util.EntityUtils;
+import lombok.Getter;
+import lombok.Setter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Base class for an {@link EntityQueryExecutor} that supports {@link Sort} specifications on
  * both the {@link EntityQuery} and as method parameter.  If both are present, they will be
  * combined with the method specified sort applied first.
+ * <p/>
+ * Optionally an {@link EntityQueryExecutionTimer} can be set, which will receive the duration of every query execution.
  *
  * @author Arne Vandamme
  * @since 2.2.0
  */
 public abstract class AbstractEntityQueryExecutor<T> implements EntityQueryExecutor<T>
 {
+	/**
+	 * Optional timer that should be notified of every query execution.
+	 */
+	@Getter
+	@Setter
+	private EntityQueryExecutionTimer queryExecutionTimer;
+
 	@Override
 	public final Page<T> findAll( EntityQuery query, Pageable pageable ) {
 		if ( pageable == null ) {
 			return EntityUtils.asPage( findAll( query ) );
 		}
 		Pageable pageableToUse = query.hasSort() ? combinePageable( pageable, query.getSort() ) : pageable;
-		return executeQuery( query, pageableToUse );
+		return timed( EntityQueryExecutionTimer.PAGE, () -> executeQuery( query, pageableToUse ) );
 	}
 
 	@Override
 	public final List<T> findAll( EntityQuery query ) {
-		return EntityUtils.asList( query.hasSort() ? executeQuery( query, query.getSort() ) : executeQuery( query ) );
+		return timed( EntityQueryExecutionTimer.LIST,
+		              () -> EntityUtils.asList( query.hasSort() ? executeQuery( query, query.getSort() ) : executeQuery( query ) ) );
 	}
 
 	@Override
 	public final List<T> findAll( EntityQuery query, Sort sort ) {
 		Sort sortToUse = query.hasSort() ? EntityUtils.combineSortSpecifiers( sort, query.getSort() ) : sort;
-		return EntityUtils.asList( sortToUse != null ? executeQuery( query, sortToUse ) : executeQuery( query ) );
+		return timed( EntityQueryExecutionTimer.LIST,
+		              () -> EntityUtils.asList( sortToUse != null ? executeQuery( query, sortToUse ) : executeQuery( query ) ) );
+	}
+
+	@Override
+	public final Page<T> findAll( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		if ( fetchPlan == null || fetchPlan.isEmpty() ) {
+			return findAll( query, pageable );
+		}
+		if ( pageable == null ) {
+			return EntityUtils.asPage( findAll( query, (Sort) null, fetchPlan ) );
+		}
+		Pageable pageableToUse = query.hasSort() ? combinePageable( pageable, query.getSort() ) : pageable;
+		return timed( EntityQueryExecutionTimer.PAGE, () -> executeQuery( query, pageableToUse, fetchPlan ) );
+	}
+
+	@Override
+	public final List<T> findAll( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+		if ( fetchPlan == null || fetchPlan.isEmpty() ) {
+			return findAll( query, sort );
+		}
+		Sort sortToUse = query.hasSort() ? EntityUtils.combineSortSpecifiers( sort, query.getSort() ) : sort;
+		return timed( EntityQueryExecutionTimer.LIST, () -> EntityUtils.asList( executeQuery( query, sortToUse, fetchPlan ) ) );
+	}
+
+	@Override
+	public final Slice<T> findSlice( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		if ( pageable == null || pageable.isUnpaged() ) {
+			return fetchPlan != null ? findAll( query, pageable, fetchPlan ) : findAll( query, pageable );
+		}
+		Pageable pageableToUse = query.hasSort() ? combinePageable( pageable, query.getSort() ) : pageable;
+		return timed( EntityQueryExecutionTimer.PAGE, () -> executeSliceQuery( query, pageableToUse, fetchPlan ) );
+	}
+
+	@Override
+	public final long count( EntityQuery query ) {
+		return timed( EntityQueryExecutionTimer.COUNT, () -> executeCountQuery( query ) );
+	}
+
+	private <V> V timed( String operation, Supplier<V> execution ) {
+		EntityQueryExecutionTimer timer = queryExecutionTimer;
+		if ( timer == null ) {
+			return execution.get();
+		}
+
+		long start = System.nanoTime();
+		try {
+			return execution.get();
+		}
+		finally {
+			timer.record( operation, System.nanoTime() - start );
+		}
 	}
 
 	private Pageable combinePageable( Pageable pageable, Sort sort ) {
@@ -73,4 +138,57 @@ public abstract class AbstractEntityQueryExecutor<T> implements EntityQueryExecu
 	 * Implementations of this method should ignore the {@link EntityQuery#getSort()} value.
 	 */
 	protected abstract Page<T> executeQuery( EntityQuery query, Pageable pageable );
+
+	/**
+	 * Execute the query and use the fetch plan to load the properties that will be accessed.
+	 * By default the fetch plan is ignored. Implementations of this method should ignore the
+	 * {@link EntityQuery#getSort()} value.
+	 *
+	 * @param query     to execute
+	 * @param sort      to apply, can be {@code null}
+	 * @param fetchPlan properties that will be accessed on the results
+	 * @return results
+	 */
+	protected Iterable<T> executeQuery( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+		return sort != null ? executeQuery( query, sort ) : executeQuery( query );
+	}
+
+	/**
+	 * Execute the query and use the fetch plan to load the properties that will be accessed.
+	 * By default the fetch plan is ignored. Implementations of this method should ignore the
+	 * {@link EntityQuery#getSort()} value.
+	 *
+	 * @param query     to execute
+	 * @param pageable  page to select
+	 * @param fetchPlan properties that will be accessed on the results
+	 * @return results
+	 */
+	protected Page<T> executeQuery( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return executeQuery( query, pageable );
+	}
+
+	/**
+	 * Execute the query for a single page without determining the total number of results.
+	 * By default this executes the regular paged query, implementations should override it if they
+	 * can avoid the count query. Implementations of this method should ignore the {@link EntityQuery#getSort()} value.
+	 *
+	 * @param query     to execute
+	 * @param pageable  page to select
+	 * @param fetchPlan properties that will be accessed on the results, can be {@code null}
+	 * @return results
+	 */
+	protected Slice<T> executeSliceQuery( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return fetchPlan != null && !fetchPlan.isEmpty() ? executeQuery( query, pageable, fetchPlan ) : executeQuery( query, pageable );
+	}
+
+	/**
+	 * Count the number of results of the query. By default this retrieves the total of the first page,
+	 * implementations should override it if they can count directly.
+	 *
+	 * @param query to execute
+	 * @return number of results
+	 */
+	protected long executeCountQuery( EntityQuery query ) {
+		return executeQuery( query, PageRequest.of( 0, 1 ) ).getTotalElements();
+	}
 }
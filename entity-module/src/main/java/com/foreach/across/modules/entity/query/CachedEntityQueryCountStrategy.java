@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link EntityQueryCountStrategy} that caches the exact count of every query for a fixed time period.
+ * Paging through the results of the same query will only perform a single count query until the
+ * cached total expires. The total can be slightly off if entities are being added or removed in the meantime.
+ * <p/>
+ * The cache key is the query without its sort, an instance should only be used for a single entity type.
+ * At most {@link #getMaximumSize()} counts are kept, expired entries are removed when that limit is reached.
+ *
+ * @author Arne Vandamme
+ * @see EntityQueryCountStrategy#cached(Duration)
+ * @since 4.3.0
+ */
+public class CachedEntityQueryCountStrategy implements EntityQueryCountStrategy
+{
+	/**
+	 * Default maximum number of counts that will be cached.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	private final Map<EntityQuery, CachedCount> counts = new ConcurrentHashMap<>();
+	private final Clock clock;
+
+	@Getter
+	private final Duration timeToLive;
+
+	@Getter
+	private final int maximumSize;
+
+	public CachedEntityQueryCountStrategy( @NonNull Duration timeToLive ) {
+		this( timeToLive, DEFAULT_MAXIMUM_SIZE );
+	}
+
+	public CachedEntityQueryCountStrategy( @NonNull Duration timeToLive, int maximumSize ) {
+		this( timeToLive, maximumSize, Clock.systemUTC() );
+	}
+
+	CachedEntityQueryCountStrategy( Duration timeToLive, int maximumSize, Clock clock ) {
+		if ( maximumSize < 1 ) {
+			throw new IllegalArgumentException( "Maximum size of the count cache must be at least 1" );
+		}
+		this.timeToLive = timeToLive;
+		this.maximumSize = maximumSize;
+		this.clock = clock;
+	}
+
+	@Override
+	public <T> Slice<T> createPage( EntityQuery query, Slice<T> slice, LongSupplier exactCount ) {
+		if ( slice instanceof Page ) {
+			return slice;
+		}
+
+		long knownTotal = EntityQueryCountStrategy.knownTotal( slice );
+		if ( knownTotal >= 0 ) {
+			return new PageImpl<>( slice.getContent(), slice.getPageable(), knownTotal );
+		}
+
+		return new PageImpl<>( slice.getContent(), slice.getPageable(), count( query, exactCount ) );
+	}
+
+	/**
+	 * Remove all cached counts.
+	 */
+	public void clear() {
+		counts.clear();
+	}
+
+	private long count( EntityQuery query, LongSupplier exactCount ) {
+		EntityQuery key = new EntityQuery( query ).setSort( null );
+		long now = clock.millis();
+
+		CachedCount cached = counts.get( key );
+		if ( cached != null && cached.getExpiresAt() > now ) {
+			return cached.getTotal();
+		}
+
+		long total = exactCount.getAsLong();
+
+		if ( counts.size() >= maximumSize ) {
+			counts.values().removeIf( count -> count.getExpiresAt() <= now );
+			if ( counts.size() >= maximumSize ) {
+				counts.clear();
+			}
+		}
+		counts.put( key, new CachedCount( total, now + timeToLive.toMillis() ) );
+
+		return total;
+	}
+
+	@Override
+	public String toString() {
+		return "CachedEntityQueryCountStrategy{timeToLive=" + timeToLive + "}";
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	private static class CachedCount
+	{
+		private final long total;
+		private final long expiresAt;
+	}
+}
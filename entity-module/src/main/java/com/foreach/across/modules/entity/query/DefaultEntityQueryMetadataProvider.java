@@ -40,7 +40,7 @@ public class DefaultEntityQueryMetadataProvider implements EntityQueryMetadataPr
 {
 	private static final EntityQueryOps[] STRING_OPS =
 			new EntityQueryOps[] { EQ, NEQ, IN, NOT_IN, LIKE, NOT_LIKE, LIKE_IC, NOT_LIKE_IC, IS_NULL, IS_NOT_NULL, IS_EMPTY, IS_NOT_EMPTY, CONTAINS,
-			                       NOT_CONTAINS };
+			                       NOT_CONTAINS, MATCHES, NOT_MATCHES };
 	private static final EntityQueryOps[] NUMBER_OPS =
 			new EntityQueryOps[] { EQ, NEQ, IN, NOT_IN, GT, GE, LT, LE, IS_NULL, IS_NOT_NULL, IS_EMPTY, IS_NOT_EMPTY };
 	private static final EntityQueryOps[] COLLECTION_OPS =
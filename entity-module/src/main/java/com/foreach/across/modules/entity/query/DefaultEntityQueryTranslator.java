@@ -22,6 +22,7 @@ import com.foreach.across.modules.entity.query.support.InEntityQueryConditionTra
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import com.foreach.across.modules.entity.util.EntityUtils;
+import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.util.Assert;
@@ -30,6 +31,7 @@ import javax.annotation.PostConstruct;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import static com.foreach.across.modules.entity.query.EntityQueryOps.*;
 
@@ -38,7 +40,8 @@ import static com.foreach.across.modules.entity.query.EntityQueryOps.*;
  * to retrieve the property type information and an {@link EQTypeConverter} to convert raw arguments into typed values.
  * <p/>
  * If a {@link EntityPropertyDescriptor} has an {@link EntityQueryConditionTranslator} attribute, the processed
- * {@link EntityQueryCondition} will be run through that translator as well.
+ * {@link EntityQueryCondition} will be run through that translator as well. Conditions on a text property without
+ * a translator of its own are run through the {@link #setTextConditionTranslator(Supplier) text condition translator}, if there is one.
  * <p/>
  * Note that as of {@code 2.2.0} translation happens recursively on sub queries returned: if a condition translation results in a sub query,
  * the individual conditions of that sub query will also be translated.
@@ -55,6 +58,7 @@ public class DefaultEntityQueryTranslator implements EntityQueryTranslator
 
 	private EQTypeConverter typeConverter;
 	private EntityPropertyRegistry propertyRegistry;
+	private Supplier<EntityQueryConditionTranslator> textConditionTranslator = () -> null;
 
 	private final Collection<EntityQueryConditionTranslator> defaultConditionTranslators = Arrays.asList(
 			ContainsEntityQueryConditionTranslator.INSTANCE, InEntityQueryConditionTranslator.INSTANCE
@@ -68,6 +72,18 @@ public class DefaultEntityQueryTranslator implements EntityQueryTranslator
 		this.typeConverter = typeConverter;
 	}
 
+	/**
+	 * Set the supplier for the {@link EntityQueryConditionTranslator} that should be applied to conditions on
+	 * {@link String} properties that do not have a condition translator of their own. The supplier is called
+	 * every time such a condition is translated and can return {@code null} if no translator should be applied.
+	 *
+	 * @param textConditionTranslator supplier for the translator
+	 * @since 4.3.0
+	 */
+	public void setTextConditionTranslator( @NonNull Supplier<EntityQueryConditionTranslator> textConditionTranslator ) {
+		this.textConditionTranslator = textConditionTranslator;
+	}
+
 	@PostConstruct
 	public void validateProperties() {
 		Assert.notNull( propertyRegistry, () -> "propertyRegistry should be available" );
@@ -166,6 +182,10 @@ public class DefaultEntityQueryTranslator implements EntityQueryTranslator
 
 		EntityQueryConditionTranslator conditionTranslator = descriptor.getAttribute( EntityQueryConditionTranslator.class );
 
+		if ( conditionTranslator == null && TypeDescriptor.valueOf( String.class ).equals( expectedType ) ) {
+			conditionTranslator = textConditionTranslator.get();
+		}
+
 		if ( conditionTranslator != null ) {
 			EntityQueryExpression expression = conditionTranslator.translate( translated );
 
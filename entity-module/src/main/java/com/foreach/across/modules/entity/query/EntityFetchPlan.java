@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
+import lombok.EqualsAndHashCode;
+import lombok.NonNull;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+
+/**
+ * Hint for an {@link EntityQueryExecutor} about the properties that will be accessed on the entities
+ * returned by a query, for example the columns of a list view. An executor can use it to load the
+ * associations required for those properties together with the entities, instead of one by one
+ * when they are being accessed.
+ * <p/>
+ * A fetch plan only contains property paths (eg. {@code company.group.name}), it is up to the executor
+ * to determine which parts of a path represent associations that should be fetched.
+ *
+ * @author Arne Vandamme
+ * @see EntityQueryExecutor#findAll(EntityQuery, org.springframework.data.domain.Pageable, EntityFetchPlan)
+ * @since 4.3.0
+ */
+@EqualsAndHashCode
+public final class EntityFetchPlan
+{
+	/**
+	 * Fetch plan that does not hold any property paths.
+	 */
+	public static final EntityFetchPlan EMPTY = new EntityFetchPlan( Collections.emptySet() );
+
+	private final Set<String> propertyPaths;
+
+	private EntityFetchPlan( Set<String> propertyPaths ) {
+		this.propertyPaths = Collections.unmodifiableSet( propertyPaths );
+	}
+
+	/**
+	 * @return the property paths that will be accessed, never {@code null}
+	 */
+	public Set<String> getPropertyPaths() {
+		return propertyPaths;
+	}
+
+	/**
+	 * @return true if the fetch plan does not hold any property paths
+	 */
+	public boolean isEmpty() {
+		return propertyPaths.isEmpty();
+	}
+
+	/**
+	 * Create a new fetch plan holding the property paths of both this and the other fetch plan.
+	 *
+	 * @param other fetch plan to combine with
+	 * @return new fetch plan
+	 */
+	public EntityFetchPlan combine( @NonNull EntityFetchPlan other ) {
+		Set<String> combined = new LinkedHashSet<>( propertyPaths );
+		combined.addAll( other.propertyPaths );
+		return new EntityFetchPlan( combined );
+	}
+
+	@Override
+	public String toString() {
+		return "EntityFetchPlan" + propertyPaths;
+	}
+
+	/**
+	 * Create a fetch plan for a number of property paths.
+	 * Any indexer ({@code []}) or special property ({@code #label}) part will be removed from the path.
+	 *
+	 * @param propertyPaths that will be accessed
+	 * @return fetch plan
+	 */
+	public static EntityFetchPlan of( @NonNull String... propertyPaths ) {
+		return of( Arrays.asList( propertyPaths ) );
+	}
+
+	/**
+	 * Create a fetch plan for a number of property paths.
+	 * Any indexer ({@code []}) or special property ({@code #label}) part will be removed from the path.
+	 *
+	 * @param propertyPaths that will be accessed
+	 * @return fetch plan
+	 */
+	public static EntityFetchPlan of( @NonNull Collection<String> propertyPaths ) {
+		Set<String> paths = new LinkedHashSet<>();
+		propertyPaths.stream()
+		             .map( EntityFetchPlan::stripNonPropertySegments )
+		             .filter( StringUtils::isNotEmpty )
+		             .forEach( paths::add );
+		return paths.isEmpty() ? EMPTY : new EntityFetchPlan( paths );
+	}
+
+	/**
+	 * Create a fetch plan for the properties represented by the descriptors.
+	 *
+	 * @param descriptors of the properties that will be accessed
+	 * @return fetch plan
+	 */
+	public static EntityFetchPlan forProperties( @NonNull Collection<EntityPropertyDescriptor> descriptors ) {
+		List<String> paths = new ArrayList<>( descriptors.size() );
+		descriptors.forEach( descriptor -> paths.add( descriptor.getName() ) );
+		return of( paths );
+	}
+
+	private static String stripNonPropertySegments( String propertyPath ) {
+		List<String> segments = new ArrayList<>();
+
+		for ( String segment : StringUtils.split( propertyPath, '.' ) ) {
+			if ( segment.startsWith( "#" ) ) {
+				break;
+			}
+
+			int indexer = segment.indexOf( '[' );
+			if ( indexer >= 0 ) {
+				if ( indexer > 0 ) {
+					segments.add( segment.substring( 0, indexer ) );
+				}
+				break;
+			}
+
+			segments.add( segment );
+		}
+
+		return StringUtils.join( segments, '.' );
+	}
+}
@@ -18,6 +18,7 @@ package com.foreach.across.modules.entity.query;
 
 import com.foreach.across.modules.entity.query.support.ExpandingEntityQueryConditionTranslator;
 import com.foreach.across.modules.entity.query.support.IgnoringCaseEntityQueryConditionTranslator;
+import com.foreach.across.modules.entity.query.support.TextMatchingEntityQueryConditionTranslator;
 
 /**
  * API for converting or optimizing a single {@link EntityQueryCondition}.
@@ -68,4 +69,38 @@ public interface EntityQueryConditionTranslator
 	static EntityQueryConditionTranslator expandingAnd( String... propertyNames ) {
 		return ExpandingEntityQueryConditionTranslator.and( propertyNames );
 	}
+
+	/**
+	 * Creates a translator for a text property backed by a case-insensitive collation: case-insensitive conditions
+	 * are executed as regular {@code like} conditions, allowing the datastore to use an index on the property.
+	 *
+	 * @return translator instance
+	 * @see TextMatchingEntityQueryConditionTranslator
+	 */
+	static TextMatchingEntityQueryConditionTranslator caseInsensitiveCollation() {
+		return TextMatchingEntityQueryConditionTranslator.caseInsensitiveCollation();
+	}
+
+	/**
+	 * Creates a translator that executes case-insensitive conditions as a {@code like} on a different property,
+	 * which holds the lower-cased value of the original property.
+	 *
+	 * @param propertyName of the lower-cased property
+	 * @return translator instance
+	 * @see TextMatchingEntityQueryConditionTranslator
+	 */
+	static TextMatchingEntityQueryConditionTranslator lowerCasedProperty( String propertyName ) {
+		return TextMatchingEntityQueryConditionTranslator.lowerCasedProperty( propertyName );
+	}
+
+	/**
+	 * Creates a translator that replaces {@code like} conditions with a leading-text pattern (eg. {@code 'abc%'})
+	 * by the equivalent range condition. Assumes the property is stored using a binary collation.
+	 *
+	 * @return translator instance
+	 * @see TextMatchingEntityQueryConditionTranslator
+	 */
+	static TextMatchingEntityQueryConditionTranslator prefixRanges() {
+		return TextMatchingEntityQueryConditionTranslator.prefixRanges();
+	}
 }
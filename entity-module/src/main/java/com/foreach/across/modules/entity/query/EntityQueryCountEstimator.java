@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+/**
+ * SPI for estimating the total number of results of an {@link EntityQuery}, usually based on
+ * database statistics instead of an actual count. Used by the {@link EstimatedEntityQueryCountStrategy}.
+ *
+ * @author Arne Vandamme
+ * @see com.foreach.across.modules.entity.query.jpa.PostgreSqlEntityQueryCountEstimator
+ * @since 4.3.0
+ */
+@FunctionalInterface
+public interface EntityQueryCountEstimator
+{
+	/**
+	 * Estimate the total number of results of the query.
+	 *
+	 * @param query (without sort) to estimate the number of results for
+	 * @return estimate or {@code null} if no estimate can be made for this query
+	 */
+	Long estimateCount( EntityQuery query );
+}
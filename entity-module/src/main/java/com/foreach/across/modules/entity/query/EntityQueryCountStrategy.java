@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import lombok.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Strategy for determining the total number of results of a paged {@link EntityQuery}.
+ * Receives the results of the requested page as a {@link Slice} that was loaded without counting,
+ * and decides if - and how - the total number of results should be determined.
+ * <p/>
+ * Can be registered as attribute on an {@link com.foreach.across.modules.entity.registry.EntityConfiguration}
+ * or on a list view, where it will be used by the
+ * {@link com.foreach.across.modules.entity.views.processors.DefaultEntityFetchingViewProcessor}.
+ *
+ * @author Arne Vandamme
+ * @see EntityQueryExecutor#findSlice(EntityQuery, org.springframework.data.domain.Pageable, EntityFetchPlan)
+ * @see EntityQueryExecutor#count(EntityQuery)
+ * @since 4.3.0
+ */
+public interface EntityQueryCountStrategy
+{
+	/**
+	 * Always determines the exact total, unless it can be deduced from the slice itself (eg. last page).
+	 */
+	EntityQueryCountStrategy EXACT = new EntityQueryCountStrategy()
+	{
+		@Override
+		public <T> Slice<T> createPage( EntityQuery query, Slice<T> slice, LongSupplier exactCount ) {
+			if ( slice instanceof Page ) {
+				return slice;
+			}
+			long knownTotal = knownTotal( slice );
+			return new PageImpl<>( slice.getContent(), slice.getPageable(), knownTotal >= 0 ? knownTotal : exactCount.getAsLong() );
+		}
+
+		@Override
+		public String toString() {
+			return "EntityQueryCountStrategy.EXACT";
+		}
+	};
+
+	/**
+	 * Never determines the total, the slice is returned as is.
+	 */
+	EntityQueryCountStrategy NONE = new EntityQueryCountStrategy()
+	{
+		@Override
+		public <T> Slice<T> createPage( EntityQuery query, Slice<T> slice, LongSupplier exactCount ) {
+			return slice;
+		}
+
+		@Override
+		public String toString() {
+			return "EntityQueryCountStrategy.NONE";
+		}
+	};
+
+	/**
+	 * Create the actual result for the requested page. Can be a {@link Slice} if the total is unknown,
+	 * a regular {@link Page} if the total is exact or an {@link EstimatedTotalPage} if the total is an estimate.
+	 * If the slice is already a {@link Page}, the executor was unable to load it without counting and
+	 * implementations should usually return it as is.
+	 *
+	 * @param query      that was executed, its sort can be ignored
+	 * @param slice      results of the requested page
+	 * @param exactCount to determine the exact total of the query
+	 * @param <T>        entity type
+	 * @return page
+	 */
+	<T> Slice<T> createPage( EntityQuery query, Slice<T> slice, LongSupplier exactCount );
+
+	/**
+	 * Create a new strategy that caches the exact count for every query for a period of time.
+	 * Every entity type should use its own instance.
+	 *
+	 * @param timeToLive how long a count should be cached
+	 * @return strategy
+	 */
+	static EntityQueryCountStrategy cached( @NonNull Duration timeToLive ) {
+		return new CachedEntityQueryCountStrategy( timeToLive );
+	}
+
+	/**
+	 * Create a new strategy that uses the estimator to determine the total.
+	 * Falls back to the exact count if no estimate is available or the estimate is small.
+	 *
+	 * @param estimator to use
+	 * @return strategy
+	 */
+	static EntityQueryCountStrategy estimated( @NonNull EntityQueryCountEstimator estimator ) {
+		return new EstimatedEntityQueryCountStrategy( estimator );
+	}
+
+	/**
+	 * Determine the total that is known based on the slice itself: the slice is the last one
+	 * (or there are no results at all).
+	 *
+	 * @param slice loaded without counting
+	 * @return total or {@code -1} if the total can't be deduced from the slice
+	 */
+	static long knownTotal( @NonNull Slice<?> slice ) {
+		if ( slice.hasNext() ) {
+			return -1;
+		}
+		if ( slice.getPageable().isUnpaged() ) {
+			return slice.getNumberOfElements();
+		}
+		if ( slice.hasContent() || slice.getNumber() == 0 ) {
+			return slice.getPageable().getOffset() + slice.getNumberOfElements();
+		}
+		return -1;
+	}
+}
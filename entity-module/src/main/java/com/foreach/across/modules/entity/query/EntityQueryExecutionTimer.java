@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.query;
+
+/**
+ * Callback for an {@link AbstractEntityQueryExecutor} that receives the duration of every query execution.
+ *
+ * @author Arne Vandamme
+ * @see AbstractEntityQueryExecutor#setQueryExecutionTimer(EntityQueryExecutionTimer)
+ * @since 4.3.0
+ */
+@FunctionalInterface
+public interface EntityQueryExecutionTimer
+{
+	/**
+	 * Operation name for a query returning a single page of results.
+	 */
+	String PAGE = "page";
+
+	/**
+	 * Operation name for a query returning all results.
+	 */
+	String LIST = "list";
+
+	/**
+	 * Operation name for a query only counting the number of results.
+	 */
+	String COUNT = "count";
+
+	/**
+	 * Record a single query execution.
+	 *
+	 * @param operation     type of query, {@link #PAGE}, {@link #LIST} or {@link #COUNT}
+	 * @param durationNanos duration of the execution in nanoseconds
+	 */
+	void record( String operation, long durationNanos );
+}
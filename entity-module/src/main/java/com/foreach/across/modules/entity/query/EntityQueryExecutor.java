@@ -17,7 +17,9 @@ package com.foreach.across.modules.entity.query;
 
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
@@ -42,6 +44,59 @@ public interface EntityQueryExecutor<T>
 
 	Page<T> findAll( EntityQuery query, Pageable pageable );
 
+	/**
+	 * Find all entities matching the query, sorted by the sort parameter after applying the sort order of the query.
+	 * The {@link EntityFetchPlan} specifies the properties that will be accessed on the results, implementations
+	 * can use it to load associations together with the entities. By default the fetch plan is ignored.
+	 *
+	 * @param query     to execute
+	 * @param sort      to apply
+	 * @param fetchPlan properties that will be accessed on the results
+	 * @return results
+	 */
+	default List<T> findAll( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+		return findAll( query, sort );
+	}
+
+	/**
+	 * Find all entities matching the query and apply the pageable to the result set.
+	 * The {@link EntityFetchPlan} specifies the properties that will be accessed on the results, implementations
+	 * can use it to load associations together with the entities. By default the fetch plan is ignored.
+	 *
+	 * @param query     to execute
+	 * @param pageable  page selection and optional sorting
+	 * @param fetchPlan properties that will be accessed on the results
+	 * @return results
+	 */
+	default Page<T> findAll( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return findAll( query, pageable );
+	}
+
+	/**
+	 * Find the entities matching the query for the requested page, without determining the total number of results.
+	 * Implementations should avoid the count query this requires, the default implementation however simply
+	 * returns the {@link Page} with the total.
+	 *
+	 * @param query     to execute
+	 * @param pageable  page selection and optional sorting
+	 * @param fetchPlan properties that will be accessed on the results, can be {@code null}
+	 * @return results
+	 * @see EntityQueryCountStrategy
+	 */
+	default Slice<T> findSlice( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return fetchPlan != null ? findAll( query, pageable, fetchPlan ) : findAll( query, pageable );
+	}
+
+	/**
+	 * Count the number of entities matching the query. The default implementation retrieves the total of the first page.
+	 *
+	 * @param query to execute
+	 * @return number of results
+	 */
+	default long count( EntityQuery query ) {
+		return findAll( query, PageRequest.of( 0, 1 ) ).getTotalElements();
+	}
+
 	/**
 	 * Can be implemented to check if this executor can actually work with this query.
 	 * Required to be implemented when using {@link #createFallbackExecutor(EntityQueryExecutor, EntityQueryExecutor)}.
@@ -78,6 +133,26 @@ public interface EntityQueryExecutor<T>
 			public Page<U> findAll( EntityQuery query, Pageable pageable ) {
 				return initial.canExecute( query ) ? initial.findAll( query, pageable ) : fallback.findAll( query, pageable );
 			}
+
+			@Override
+			public List<U> findAll( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+				return initial.canExecute( query ) ? initial.findAll( query, sort, fetchPlan ) : fallback.findAll( query, sort, fetchPlan );
+			}
+
+			@Override
+			public Page<U> findAll( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+				return initial.canExecute( query ) ? initial.findAll( query, pageable, fetchPlan ) : fallback.findAll( query, pageable, fetchPlan );
+			}
+
+			@Override
+			public Slice<U> findSlice( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+				return initial.canExecute( query ) ? initial.findSlice( query, pageable, fetchPlan ) : fallback.findSlice( query, pageable, fetchPlan );
+			}
+
+			@Override
+			public long count( EntityQuery query ) {
+				return initial.canExecute( query ) ? initial.count( query ) : fallback.count( query );
+			}
 		};
 	}
 }
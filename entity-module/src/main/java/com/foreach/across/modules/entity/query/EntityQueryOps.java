@@ -66,7 +66,13 @@ public enum EntityQueryOps
 	IS_NULL( ( field, args ) -> field + " is NULL", "is" ),
 	IS_NOT_NULL( ( field, args ) -> field + " is not NULL", true, "is not" ),
 	IS_EMPTY( ( field, args ) -> field + " is EMPTY", "is" ),
-	IS_NOT_EMPTY( ( field, args ) -> field + " is not EMPTY", true, "is not" );
+	IS_NOT_EMPTY( ( field, args ) -> field + " is not EMPTY", true, "is not" ),
+	/**
+	 * Full-text match: all words of the argument should be present, case and accent insensitive.
+	 * How words are matched is determined by the query backend.
+	 */
+	MATCHES( ( field, args ) -> field + " matches " + objectAsString( args[0] ), "matches" ),
+	NOT_MATCHES( ( field, args ) -> field + " not matches " + objectAsString( args[0] ), true, "not matches" );
 
 	private final static Map<EntityQueryOps, EntityQueryOps> REVERSE_OPS = new HashMap<>();
 
@@ -91,6 +97,8 @@ public enum EntityQueryOps
 		REVERSE_OPS.put( IS_NOT_NULL, IS_NULL );
 		REVERSE_OPS.put( IS_EMPTY, IS_NOT_EMPTY );
 		REVERSE_OPS.put( IS_NOT_EMPTY, IS_EMPTY );
+		REVERSE_OPS.put( MATCHES, NOT_MATCHES );
+		REVERSE_OPS.put( NOT_MATCHES, MATCHES );
 
 	}
 
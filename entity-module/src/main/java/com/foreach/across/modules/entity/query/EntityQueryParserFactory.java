@@ -16,6 +16,8 @@
 
 package com.foreach.across.modules.entity.query;
 
+import com.foreach.across.modules.entity.EntityAttributes;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -48,6 +50,28 @@ public class EntityQueryParserFactory
 		return parser;
 	}
 
+	/**
+	 * Create a new {@link EntityQueryParser} prepared for the {@link EntityConfiguration} specified.
+	 * Like {@link #createParser(EntityPropertyRegistry)} but the translator will also apply the
+	 * {@link EntityAttributes#TEXT_CONDITION_TRANSLATOR} of the entity configuration. The attribute
+	 * is resolved when a query is translated, so it can be set or modified after the parser has been created.
+	 *
+	 * @param entityConfiguration to configure the parser for
+	 * @return parser instance
+	 * @since 4.3.0
+	 */
+	public EntityQueryParser createParser( @NonNull EntityConfiguration<?> entityConfiguration ) {
+		DefaultEntityQueryTranslator translator = createTranslator( entityConfiguration.getPropertyRegistry() );
+		translator.setTextConditionTranslator(
+				() -> entityConfiguration.getAttribute( EntityAttributes.TEXT_CONDITION_TRANSLATOR, EntityQueryConditionTranslator.class )
+		);
+
+		EntityQueryParser parser = createParser();
+		parser.setMetadataProvider( createMetadataProvider( entityConfiguration.getPropertyRegistry() ) );
+		parser.setQueryTranslator( translator );
+		return parser;
+	}
+
 	/**
 	 * Create a new {@link EntityQueryParser} instance without any default configuration.
 	 * The returned instance will not be usable until both a {@link EntityQueryTranslator}
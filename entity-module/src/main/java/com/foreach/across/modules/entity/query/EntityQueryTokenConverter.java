@@ -475,6 +475,7 @@ class EntityQueryTokenConverter
 			case "in":
 			case "like":
 			case "ilike":
+			case "matches":
 			case "is":
 				return true;
 		}
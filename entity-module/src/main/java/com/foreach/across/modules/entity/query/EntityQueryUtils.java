@@ -23,11 +23,16 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.convert.TypeDescriptor;
 
+import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -36,6 +41,9 @@ import java.util.stream.Stream;
  */
 public abstract class EntityQueryUtils
 {
+	private static final Pattern DIACRITICS = Pattern.compile( "\\p{M}+" );
+	private static final Pattern WORD_SEPARATORS = Pattern.compile( "[^\\p{L}\\p{N}]+" );
+
 	private EntityQueryUtils() {
 	}
 
@@ -216,4 +224,40 @@ public abstract class EntityQueryUtils
 		}
 		return matches;
 	}
+
+	/**
+	 * Splits a text into the distinct words used for a {@link EntityQueryOps#MATCHES} condition.
+	 * Words are lower-cased and stripped of accents, anything that is not a letter or digit acts as separator.
+	 * Backends that match in memory or build their own predicates should use this to get consistent results.
+	 *
+	 * @param text to tokenize
+	 * @return distinct words in order of appearance, empty if none
+	 */
+	public static List<String> tokenizeFullText( String text ) {
+		return tokenizeFullText( text, true );
+	}
+
+	/**
+	 * Splits a text into the distinct lower-cased words used for a {@link EntityQueryOps#MATCHES} condition.
+	 * Accents should only be stripped if the values being matched are stripped of accents as well,
+	 * backends that compare against the raw stored value should keep them.
+	 *
+	 * @param text         to tokenize
+	 * @param stripAccents should accents be removed from the words
+	 * @return distinct words in order of appearance, empty if none
+	 */
+	public static List<String> tokenizeFullText( String text, boolean stripAccents ) {
+		if ( StringUtils.isBlank( text ) ) {
+			return Collections.emptyList();
+		}
+
+		String normalized = stripAccents
+				? DIACRITICS.matcher( Normalizer.normalize( text, Normalizer.Form.NFD ) ).replaceAll( "" ).toLowerCase( Locale.ROOT )
+				: text.toLowerCase( Locale.ROOT );
+
+		return Stream.of( WORD_SEPARATORS.split( normalized ) )
+		             .filter( StringUtils::isNotEmpty )
+		             .distinct()
+		             .collect( Collectors.toList() );
+	}
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.LongSupplier;
+
+/**
+ * {@link EntityQueryCountStrategy} that uses an {@link EntityQueryCountEstimator} to determine the total,
+ * returning an {@link EstimatedTotalPage}. If the estimator can't make an estimate for the query, the
+ * fallback strategy will be used, by default {@link EntityQueryCountStrategy#EXACT}.
+ * <p/>
+ * Estimates below the {@link #getExactCountThreshold()} will be replaced by an exact count,
+ * as counting a small number of results is cheap and estimates are usually the least accurate for small tables.
+ *
+ * @author Arne Vandamme
+ * @see EntityQueryCountStrategy#estimated(EntityQueryCountEstimator)
+ * @since 4.3.0
+ */
+@Getter
+public class EstimatedEntityQueryCountStrategy implements EntityQueryCountStrategy
+{
+	/**
+	 * Default estimate below which an exact count will be performed instead.
+	 */
+	public static final long DEFAULT_EXACT_COUNT_THRESHOLD = 10_000;
+
+	private final EntityQueryCountEstimator estimator;
+	private final EntityQueryCountStrategy fallbackStrategy;
+	private final long exactCountThreshold;
+
+	public EstimatedEntityQueryCountStrategy( @NonNull EntityQueryCountEstimator estimator ) {
+		this( estimator, EntityQueryCountStrategy.EXACT, DEFAULT_EXACT_COUNT_THRESHOLD );
+	}
+
+	public EstimatedEntityQueryCountStrategy( @NonNull EntityQueryCountEstimator estimator,
+	                                          @NonNull EntityQueryCountStrategy fallbackStrategy,
+	                                          long exactCountThreshold ) {
+		this.estimator = estimator;
+		this.fallbackStrategy = fallbackStrategy;
+		this.exactCountThreshold = exactCountThreshold;
+	}
+
+	@Override
+	public <T> Slice<T> createPage( EntityQuery query, Slice<T> slice, LongSupplier exactCount ) {
+		if ( slice instanceof Page ) {
+			return slice;
+		}
+
+		long knownTotal = EntityQueryCountStrategy.knownTotal( slice );
+		if ( knownTotal >= 0 ) {
+			return new PageImpl<>( slice.getContent(), slice.getPageable(), knownTotal );
+		}
+
+		Long estimate = estimator.estimateCount( query );
+
+		if ( estimate == null ) {
+			return fallbackStrategy.createPage( query, slice, exactCount );
+		}
+
+		if ( estimate < exactCountThreshold ) {
+			return new PageImpl<>( slice.getContent(), slice.getPageable(), exactCount.getAsLong() );
+		}
+
+		return new EstimatedTotalPage<>( slice.getContent(), slice.getPageable(), estimate, slice.hasNext() );
+	}
+
+	@Override
+	public String toString() {
+		return "EstimatedEntityQueryCountStrategy{estimator=" + estimator + "}";
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * {@link org.springframework.data.domain.Page} where the total number of elements is an estimate.
+ * Whether there is a next page is based on the actual results, the total will never be less than
+ * the number of results that is known to exist.
+ *
+ * @author Arne Vandamme
+ * @see EstimatedEntityQueryCountStrategy
+ * @since 4.3.0
+ */
+public class EstimatedTotalPage<T> extends PageImpl<T>
+{
+	private final boolean hasNext;
+
+	public EstimatedTotalPage( List<T> content, Pageable pageable, long estimatedTotal, boolean hasNext ) {
+		super( content, pageable, minimumTotal( content, pageable, estimatedTotal, hasNext ) );
+		this.hasNext = hasNext;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	@Override
+	public boolean isLast() {
+		return !hasNext;
+	}
+
+	private static long minimumTotal( List<?> content, Pageable pageable, long estimatedTotal, boolean hasNext ) {
+		long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+		return Math.max( estimatedTotal, offset + content.size() + ( hasNext ? 1 : 0 ) );
+	}
+}
@@ -20,6 +20,7 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 
 import java.util.List;
@@ -59,4 +60,24 @@ public class SimpleEntityQueryFacade<T> implements EntityQueryFacade<T>
 	public Page<T> findAll( EntityQuery query, Pageable pageable ) {
 		return executor.findAll( query, pageable );
 	}
+
+	@Override
+	public List<T> findAll( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+		return executor.findAll( query, sort, fetchPlan );
+	}
+
+	@Override
+	public Page<T> findAll( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return executor.findAll( query, pageable, fetchPlan );
+	}
+
+	@Override
+	public Slice<T> findSlice( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return executor.findSlice( query, pageable, fetchPlan );
+	}
+
+	@Override
+	public long count( EntityQuery query ) {
+		return executor.count( query );
+	}
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * {@link org.springframework.data.domain.Page} where the total number of elements is not known,
+ * only whether there is a next page. Behaves like a {@link org.springframework.data.domain.Slice}:
+ * the total only holds the number of elements that are known to exist, and should not be rendered as such.
+ *
+ * @author Arne Vandamme
+ * @see EstimatedTotalPage
+ * @since 4.3.0
+ */
+public class UnknownTotalPage<T> extends PageImpl<T>
+{
+	private final boolean hasNext;
+
+	public UnknownTotalPage( List<T> content, Pageable pageable, boolean hasNext ) {
+		super( content, pageable, ( pageable.isPaged() ? pageable.getOffset() : 0 ) + content.size() + ( hasNext ? 1 : 0 ) );
+		this.hasNext = hasNext;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	@Override
+	public boolean isLast() {
+		return !hasNext;
+	}
+}
@@ -17,6 +17,7 @@
 package com.foreach.across.modules.entity.query.collections;
 
 import com.foreach.across.modules.entity.query.EntityQueryCondition;
+import com.foreach.across.modules.entity.query.EntityQueryUtils;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
@@ -41,6 +42,8 @@ import java.util.regex.Pattern;
 @Slf4j
 class CollectionEntityQueryPredicates
 {
+	private static final CollectionFullTextIndex FULL_TEXT_INDEX = new CollectionFullTextIndex( 10_000 );
+
 	static Predicate<CollectionEntityQueryItem<Object>> createPredicate( EntityQueryCondition condition, @NonNull EntityPropertyDescriptor descriptor ) {
 		switch ( condition.getOperand() ) {
 			case EQ:
@@ -79,6 +82,10 @@ class CollectionEntityQueryPredicates
 				return isEmpty( condition.getProperty(), descriptor );
 			case IS_NOT_EMPTY:
 				return isEmpty( condition.getProperty(), descriptor ).negate();
+			case MATCHES:
+				return matches( condition.getProperty(), condition.getFirstArgument() );
+			case NOT_MATCHES:
+				return matches( condition.getProperty(), condition.getFirstArgument() ).negate();
 		}
 
 		throw new IllegalArgumentException( "Unsupported operand for collections query: " + condition.getOperand() );
@@ -139,6 +146,11 @@ class CollectionEntityQueryPredicates
 		return Pattern.quote( StringUtils.replace( before, "\\%", "%" ) );
 	}
 
+	private static <T> Predicate<CollectionEntityQueryItem<T>> matches( String property, Object value ) {
+		List<String> queryWords = EntityQueryUtils.tokenizeFullText( Objects.toString( value, null ) );
+		return item -> FULL_TEXT_INDEX.matches( Objects.toString( item.getPropertyValue( property ) ), queryWords );
+	}
+
 	@SuppressWarnings("unchecked")
 	private static <T> Predicate<CollectionEntityQueryItem<T>> greaterThan( String property, Object value, boolean orEqual ) {
 		return item -> {
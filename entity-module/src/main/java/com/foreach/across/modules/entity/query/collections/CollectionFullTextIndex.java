@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.collections;
+
+import com.foreach.across.modules.entity.query.EntityQueryUtils;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the words of text values for in-memory {@link com.foreach.across.modules.entity.query.EntityQueryOps#MATCHES}
+ * conditions, so the same value is not tokenized again for every query. The index is keyed on the text value itself
+ * which means it does not need to be invalidated when items change. The number of values kept is bounded,
+ * the least recently used values are evicted first.
+ * Only for internal use.
+ *
+ * @author Arne Vandamme
+ * @see CollectionEntityQueryPredicates
+ * @since 4.3.0
+ */
+class CollectionFullTextIndex
+{
+	private final Map<String, List<String>> words;
+
+	CollectionFullTextIndex( int maxSize ) {
+		words = new LinkedHashMap<String, List<String>>( 16, 0.75f, true )
+		{
+			@Override
+			protected boolean removeEldestEntry( Map.Entry<String, List<String>> eldest ) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Check if the text contains all query words: every query word should be the start of a word in the text.
+	 *
+	 * @param text       value to search
+	 * @param queryWords words to find, as returned by {@link EntityQueryUtils#tokenizeFullText(String)}
+	 * @return true if all words match
+	 */
+	boolean matches( String text, Collection<String> queryWords ) {
+		List<String> textWords = getWords( text );
+		return queryWords.stream().allMatch( queryWord -> textWords.stream().anyMatch( word -> word.startsWith( queryWord ) ) );
+	}
+
+	List<String> getWords( String text ) {
+		synchronized ( words ) {
+			return words.computeIfAbsent( text, EntityQueryUtils::tokenizeFullText );
+		}
+	}
+
+	int size() {
+		synchronized ( words ) {
+			return words.size();
+		}
+	}
+}
@@ -17,14 +17,15 @@
 package com.foreach.across.modules.entity.query.elastic;
 
 import com.foreach.across.modules.entity.EntityAttributes;
-import com.foreach.across.modules.entity.query.AbstractEntityQueryExecutor;
-import com.foreach.across.modules.entity.query.EntityQuery;
-import com.foreach.across.modules.entity.query.EntityQueryCondition;
-import com.foreach.across.modules.entity.query.EntityQueryExpression;
+import com.foreach.across.modules.entity.query.*;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.EntityRegistry;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
+import com.foreach.across.modules.entity.util.EntityUtils;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import lombok.var;
 import org.apache.commons.lang3.StringUtils;
@@ -32,18 +33,37 @@ import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.data.domain.*;
 import org.springframework.data.elasticsearch.annotations.FieldType;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHitSupport;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
 import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+/**
+ * {@link com.foreach.across.modules.entity.query.EntityQueryExecutor} for Elasticsearch documents.
+ * The property metadata required to translate conditions and sort orders is resolved only once per property.
+ * <p/>
+ * Besides regular paging, this executor supports cursor based paging using the sort values of the last
+ * result (search after) through {@link #findAfter(EntityQuery, Sort, List, int)} and {@link #stream(EntityQuery, Sort, int)}.
+ * Unlike offset based paging this is not limited by the maximum result window of the index, which makes it
+ * the preferred way to iterate over large result sets (eg. exports).
+ * <p/>
+ * How accurately the total number of hits is tracked for paged queries can be configured on the executor, or
+ * per entity using the {@link EntityAttributes#TRACK_TOTAL_HITS} attribute. If the total is not tracked,
+ * an {@link UnknownTotalPage} is returned. A list view can avoid counting altogether by using
+ * {@link EntityQueryCountStrategy#NONE}, in which case only a {@link Slice} is fetched.
+ *
+ * @see ElasticSearchAfterResult
+ */
 @Slf4j
 public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T>
 {
@@ -51,6 +71,27 @@ public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T
 	private final EntityRegistry entityRegistry;
 	private final EntityConfiguration<T> entityConfiguration;
 
+	private final Map<String, Optional<ReferencedIdProperty>> referencedIdProperties = new ConcurrentHashMap<>();
+	private final Map<String, String> sortProperties = new ConcurrentHashMap<>();
+
+	/**
+	 * Should the total number of hits be tracked accurately for paged queries (track_total_hits).
+	 * If {@code null} the Elasticsearch default applies (accurate up to 10.000 hits).
+	 * If the total is only a lower bound, an {@link EstimatedTotalPage} will be returned.
+	 * If the total is not tracked, an {@link UnknownTotalPage} will be returned.
+	 * The {@link EntityAttributes#TRACK_TOTAL_HITS} attribute on the entity configuration takes precedence.
+	 */
+	@Getter
+	@Setter
+	private Boolean trackTotalHits;
+
+	/**
+	 * Number of hits up to which the total should be tracked accurately, takes precedence over {@link #trackTotalHits}.
+	 */
+	@Getter
+	@Setter
+	private Integer trackTotalHitsUpTo;
+
 	public ElasticEntityQueryExecutor(
 			ElasticsearchOperations elasticsearchOperations,
 			EntityRegistry entityRegistry,
@@ -88,11 +129,226 @@ public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T
 
 		CriteriaQuery criteriaQuery = EntityQueryElasticUtils.toCriteriaQuery( transformedQuery );
 		criteriaQuery.setPageable( pageRequest );
+
+		Object totalHitsTracking = resolveTotalHitsTracking();
+		boolean totalTracked = !Boolean.FALSE.equals( totalHitsTracking );
+		if ( !totalTracked ) {
+			criteriaQuery.setTrackTotalHitsUpTo( Math.toIntExact( pageable.getOffset() + pageable.getPageSize() + 1 ) );
+		}
+		else if ( totalHitsTracking instanceof Number ) {
+			criteriaQuery.setTrackTotalHitsUpTo( ( (Number) totalHitsTracking ).intValue() );
+		}
+		else if ( totalHitsTracking != null ) {
+			criteriaQuery.setTrackTotalHits( (Boolean) totalHitsTracking );
+		}
 		SearchHits<?> hits = elasticsearchOperations.search( criteriaQuery, entityConfiguration.getEntityType() );
 		List<T> items = (List<T>) SearchHitSupport.unwrapSearchHits( hits );
+
+		if ( !totalTracked ) {
+			return new UnknownTotalPage<>( items, pageable, hits.getTotalHits() > pageable.getOffset() + items.size() );
+		}
+
+		if ( hits.getTotalHitsRelation() == TotalHitsRelation.GREATER_THAN_OR_EQUAL_TO ) {
+			boolean hasNext = items.size() == pageable.getPageSize() || hits.getTotalHits() > pageable.getOffset() + items.size();
+			return new EstimatedTotalPage<>( items, pageable, hits.getTotalHits(), hasNext );
+		}
+
 		return new PageImpl<T>( items, pageable, hits.getTotalHits() );
 	}
 
+	/**
+	 * Only tracks the total number of hits up to the first result of the next page,
+	 * which is enough to determine if there is a next page without counting all matches.
+	 */
+	@Override
+	protected Slice<T> executeSliceQuery( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		EntityQuery transformedQuery = transformExpression( query );
+		Sort transformedSort = transformSort( pageable.getSort() );
+		PageRequest pageRequest = PageRequest.of( pageable.getPageNumber(), pageable.getPageSize(), transformedSort );
+
+		CriteriaQuery criteriaQuery = EntityQueryElasticUtils.toCriteriaQuery( transformedQuery );
+		criteriaQuery.setPageable( pageRequest );
+		criteriaQuery.setTrackTotalHitsUpTo( Math.toIntExact( pageable.getOffset() + pageable.getPageSize() + 1 ) );
+		SearchHits<?> hits = elasticsearchOperations.search( criteriaQuery, entityConfiguration.getEntityType() );
+		List<T> items = (List<T>) SearchHitSupport.unwrapSearchHits( hits );
+		return new SliceImpl<>( items, pageable, hits.getTotalHits() > pageable.getOffset() + items.size() );
+	}
+
+	/**
+	 * Total hits tracking to apply: the {@link EntityAttributes#TRACK_TOTAL_HITS} attribute if set, else the executor settings.
+	 * A tracking of {@code false} means only the hits up to the first result of the next page are tracked.
+	 *
+	 * @return {@code true}, {@code false}, a number or {@code null} for the Elasticsearch default
+	 */
+	private Object resolveTotalHitsTracking() {
+		if ( entityConfiguration.hasAttribute( EntityAttributes.TRACK_TOTAL_HITS ) ) {
+			return entityConfiguration.getAttribute( EntityAttributes.TRACK_TOTAL_HITS );
+		}
+		return trackTotalHitsUpTo != null ? trackTotalHitsUpTo : trackTotalHits;
+	}
+
+	@Override
+	protected long executeCountQuery( EntityQuery query ) {
+		CriteriaQuery criteriaQuery = EntityQueryElasticUtils.toCriteriaQuery( transformExpression( query ) );
+		return elasticsearchOperations.count( criteriaQuery, entityConfiguration.getEntityType() );
+	}
+
+	/**
+	 * Fetch the results following the document with the given sort values, the search after values
+	 * are taken from the previous {@link ElasticSearchAfterResult}. The id property is always added
+	 * as the last sort order to ensure a unique position in the result set. As opposed to offset based paging,
+	 * the position is stable when documents are added or removed before it.
+	 *
+	 * @param query       to execute
+	 * @param sort        to apply, combined with the sort of the query
+	 * @param searchAfter sort values of the last document of the previous batch, {@code null} or empty for the first batch
+	 * @param size        maximum number of results to return
+	 * @return results and the search after values for the next batch
+	 */
+	public ElasticSearchAfterResult<T> findAfter( EntityQuery query, Sort sort, List<Object> searchAfter, int size ) {
+		Sort sortToUse = query.hasSort() ? EntityUtils.combineSortSpecifiers( sort, query.getSort() ) : sort;
+		Sort transformedSort = withIdTieBreaker( transformSort( sortToUse != null ? sortToUse : Sort.unsorted() ) );
+
+		EntityQuery transformedQuery = transformExpression( query );
+		if ( searchAfter != null && !searchAfter.isEmpty() ) {
+			transformedQuery = EntityQuery.and( transformedQuery, buildSearchAfterQuery( transformedSort, searchAfter ) );
+		}
+
+		CriteriaQuery criteriaQuery = EntityQueryElasticUtils.toCriteriaQuery( transformedQuery );
+		criteriaQuery.setPageable( PageRequest.of( 0, size, transformedSort ) );
+		criteriaQuery.setTrackTotalHits( false );
+		SearchHits<?> hits = elasticsearchOperations.search( criteriaQuery, entityConfiguration.getEntityType() );
+		List<T> items = (List<T>) SearchHitSupport.unwrapSearchHits( hits );
+
+		List<Object> nextSearchAfter = null;
+		if ( items.size() == size && hits.hasSearchHits() ) {
+			SearchHit<?> lastHit = hits.getSearchHit( hits.getSearchHits().size() - 1 );
+			nextSearchAfter = lastHit.getSortValues();
+		}
+
+		return new ElasticSearchAfterResult<>( items, nextSearchAfter );
+	}
+
+	/**
+	 * Lazily iterate over all results of the query, fetching them in batches using {@link #findAfter(EntityQuery, Sort, List, int)}.
+	 * This is suitable for exporting result sets that exceed the maximum result window.
+	 *
+	 * @param query     to execute
+	 * @param sort      to apply, combined with the sort of the query
+	 * @param batchSize number of results to fetch per request
+	 * @return stream of results
+	 */
+	public Stream<T> stream( EntityQuery query, Sort sort, int batchSize ) {
+		Iterator<List<T>> batches = new Iterator<List<T>>()
+		{
+			private ElasticSearchAfterResult<T> current;
+
+			@Override
+			public boolean hasNext() {
+				return current == null || current.hasNext();
+			}
+
+			@Override
+			public List<T> next() {
+				if ( !hasNext() ) {
+					throw new NoSuchElementException();
+				}
+				current = findAfter( query, sort, current != null ? current.getSearchAfter() : null, batchSize );
+				return current.getContent();
+			}
+		};
+
+		return StreamSupport.stream( Spliterators.spliteratorUnknownSize( batches, Spliterator.ORDERED ), false )
+		                    .flatMap( List::stream );
+	}
+
+	private Sort withIdTieBreaker( Sort sort ) {
+		String idPropertyName = idPropertyName();
+
+		if ( idPropertyName == null || sort.getOrderFor( idPropertyName ) != null ) {
+			return sort;
+		}
+		return sort.and( Sort.by( Sort.Order.asc( idPropertyName ) ) );
+	}
+
+	private String idPropertyName() {
+		ElasticsearchPersistentEntity<?> persistentEntity = elasticsearchOperations.getElasticsearchConverter()
+		                                                                           .getMappingContext()
+		                                                                           .getPersistentEntity( entityConfiguration.getEntityType() );
+		ElasticsearchPersistentProperty idProperty = persistentEntity != null ? persistentEntity.getIdProperty() : null;
+		return idProperty != null ? idProperty.getName() : null;
+	}
+
+	/**
+	 * Builds the condition selecting all documents sorted after the search after values:
+	 * {@code (a > v1) or (a = v1 and b > v2) or ...}, using less than for descending orders.
+	 * <p/>
+	 * Documents without a value for a sort property are sorted last, unless the order specifies
+	 * {@link Sort.NullHandling#NULLS_FIRST}. Their sort value is either {@code null} or the extreme numeric value
+	 * Elasticsearch substitutes for a missing value. A missing value is matched with an {@code is NULL} condition,
+	 * and documents without a value are included when they are sorted after a document with a value.
+	 */
+	EntityQuery buildSearchAfterQuery( Sort sort, List<Object> searchAfter ) {
+		List<Sort.Order> orders = sort.toList();
+		if ( orders.size() != searchAfter.size() ) {
+			throw new IllegalArgumentException(
+					"Number of search after values (" + searchAfter.size() + ") does not match the number of sort orders (" + orders.size() + ")" );
+		}
+
+		String idPropertyName = idPropertyName();
+		EntityQuery searchAfterQuery = new EntityQuery( EntityQueryOps.OR );
+		for ( int i = 0; i < orders.size(); i++ ) {
+			EntityQueryExpression sortedAfter = sortedAfter( orders.get( i ), searchAfter.get( i ), idPropertyName );
+			if ( sortedAfter != null && i == 0 ) {
+				searchAfterQuery.add( sortedAfter );
+			}
+			else if ( sortedAfter != null ) {
+				EntityQuery position = new EntityQuery( EntityQueryOps.AND );
+				for ( int j = 0; j < i; j++ ) {
+					position.add( sameSortValue( orders.get( j ), searchAfter.get( j ) ) );
+				}
+				position.add( sortedAfter );
+				searchAfterQuery.add( position );
+			}
+		}
+		return searchAfterQuery;
+	}
+
+	private EntityQueryCondition sameSortValue( Sort.Order order, Object value ) {
+		return isMissingSortValue( value )
+				? new EntityQueryCondition( order.getProperty(), EntityQueryOps.IS_NULL )
+				: new EntityQueryCondition( order.getProperty(), EntityQueryOps.EQ, value );
+	}
+
+	private EntityQueryExpression sortedAfter( Sort.Order order, Object value, String idPropertyName ) {
+		String property = order.getProperty();
+		boolean missingFirst = order.getNullHandling() == Sort.NullHandling.NULLS_FIRST;
+
+		if ( isMissingSortValue( value ) ) {
+			return missingFirst ? new EntityQueryCondition( property, EntityQueryOps.IS_NOT_NULL ) : null;
+		}
+
+		EntityQueryCondition condition = new EntityQueryCondition( property, order.isAscending() ? EntityQueryOps.GT : EntityQueryOps.LT, value );
+		if ( missingFirst || property.equals( idPropertyName ) ) {
+			return condition;
+		}
+		return EntityQuery.or( condition, new EntityQueryCondition( property, EntityQueryOps.IS_NULL ) );
+	}
+
+	private static boolean isMissingSortValue( Object value ) {
+		if ( value instanceof Long ) {
+			long number = (Long) value;
+			return number == Long.MAX_VALUE || number == Long.MIN_VALUE;
+		}
+		if ( value instanceof Double ) {
+			return ( (Double) value ).isInfinite();
+		}
+		if ( value instanceof Float ) {
+			return ( (Float) value ).isInfinite();
+		}
+		return value == null;
+	}
+
 	protected Sort transformSort( Sort sort ) {
 		List<Sort.Order> transformedOrders = StreamSupport.stream( sort.spliterator(), false )
 		                                                  .map( this::mapToLabelProperty )
@@ -107,6 +363,14 @@ public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T
 	 * When sorting on (fields of) nested entities, make sure they are marked as {@link FieldType#Nested}.
 	 */
 	private Sort.Order mapToLabelProperty( Sort.Order order ) {
+		String sortProperty = sortProperties.computeIfAbsent( order.getProperty(), property -> resolveSortProperty( order ) );
+		if ( sortProperty.equals( order.getProperty() ) ) {
+			return order;
+		}
+		return order.isAscending() ? Sort.Order.asc( sortProperty ) : Sort.Order.desc( sortProperty );
+	}
+
+	private String resolveSortProperty( Sort.Order order ) {
 		EntityPropertyRegistry currentPropertyRegistry = entityConfiguration.getPropertyRegistry();
 		EntityPropertyDescriptor currentProperty = currentPropertyRegistry.getProperty( order.getProperty() );
 		Class<?> currentPropertyType = resolveObjectType( currentProperty );
@@ -122,11 +386,10 @@ public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T
 			ElasticsearchPersistentProperty labelReferencedProperty = persistentEntity.getPersistentProperty( labelPropertyReference );
 
 			if ( Objects.nonNull( labelReferencedProperty ) ) {
-				String referencedProperty = StringUtils.stripEnd( order.getProperty(), "." ) + "." + labelReferencedProperty.getName();
-				return order.isAscending() ? Sort.Order.asc( referencedProperty ) : Sort.Order.desc( referencedProperty );
+				return StringUtils.stripEnd( order.getProperty(), "." ) + "." + labelReferencedProperty.getName();
 			}
 		}
-		return order;
+		return order.getProperty();
 	}
 
 	@SuppressWarnings("unchecked")
@@ -152,7 +415,27 @@ public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T
 	}
 
 	private EntityQueryExpression transformEntityQueryCondition( EntityQueryCondition original ) {
-		EntityPropertyDescriptor property = entityConfiguration.getPropertyRegistry().getProperty( original.getProperty() );
+		Optional<ReferencedIdProperty> referencedIdProperty
+				= referencedIdProperties.computeIfAbsent( original.getProperty(), this::resolveReferencedIdProperty );
+
+		if ( referencedIdProperty.isPresent() ) {
+			ReferencedIdProperty reference = referencedIdProperty.get();
+			try {
+				Object[] args = transformArgumentsToIdValues( original, reference.getIdProperty() );
+				return new EntityQueryCondition( reference.getPropertyName(), original.getOperand(), args );
+			}
+			catch ( IllegalAccessException | InvocationTargetException e ) {
+				LOG.error( "An unexpected error occurred whilst trying to resolve the id property for " + original.getProperty(), e );
+			}
+		}
+		return original;
+	}
+
+	private Optional<ReferencedIdProperty> resolveReferencedIdProperty( String propertyName ) {
+		EntityPropertyDescriptor property = entityConfiguration.getPropertyRegistry().getProperty( propertyName );
+		if ( property == null ) {
+			return Optional.empty();
+		}
 		Class<?> resolvedType = resolveObjectType( property );
 
 		var mappingContext = elasticsearchOperations.getElasticsearchConverter().getMappingContext();
@@ -161,18 +444,11 @@ public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T
 			if ( persistentEntity != null ) {
 				ElasticsearchPersistentProperty idProperty = persistentEntity.getIdProperty();
 				if ( Objects.nonNull( idProperty ) ) {
-					String referencedProperty = property.getName() + "." + idProperty.getName();
-					try {
-						Object[] args = transformArgumentsToIdValues( original, idProperty );
-						return new EntityQueryCondition( referencedProperty, original.getOperand(), args );
-					}
-					catch ( IllegalAccessException | InvocationTargetException e ) {
-						LOG.error( "An unexpected error occurred whilst trying to resolve the id property for " + resolvedType.getName(), e );
-					}
+					return Optional.of( new ReferencedIdProperty( property.getName() + "." + idProperty.getName(), idProperty ) );
 				}
 			}
 		}
-		return original;
+		return Optional.empty();
 	}
 
 	private Class<?> resolveObjectType( EntityPropertyDescriptor property ) {
@@ -191,4 +467,11 @@ public class ElasticEntityQueryExecutor<T> extends AbstractEntityQueryExecutor<T
 		}
 		return args;
 	}
+
+	@Value
+	private static class ReferencedIdProperty
+	{
+		private final String propertyName;
+		private final ElasticsearchPersistentProperty idProperty;
+	}
 }
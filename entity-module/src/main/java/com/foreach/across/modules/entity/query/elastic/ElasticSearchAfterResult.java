@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.elastic;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch of results fetched using search after (cursor based paging) by the {@link ElasticEntityQueryExecutor}.
+ * Holds the sort values of the last result, which should be passed to fetch the next batch.
+ *
+ * @author Arne Vandamme
+ * @see ElasticEntityQueryExecutor#findAfter(com.foreach.across.modules.entity.query.EntityQuery, org.springframework.data.domain.Sort, List, int)
+ * @since 4.3.0
+ */
+@Getter
+@RequiredArgsConstructor
+public class ElasticSearchAfterResult<T>
+{
+	/**
+	 * Results of this batch.
+	 */
+	private final List<T> content;
+
+	/**
+	 * Sort values of the last result, {@code null} if there are no more results.
+	 */
+	private final List<Object> searchAfter;
+
+	/**
+	 * @return {@code true} if a next batch should be fetched
+	 */
+	public boolean hasNext() {
+		return searchAfter != null;
+	}
+}
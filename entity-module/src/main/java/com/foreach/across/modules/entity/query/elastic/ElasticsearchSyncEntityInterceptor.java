@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.elastic;
+
+import com.foreach.across.modules.hibernate.aop.EntityInterceptorAdapter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registers every created, updated or deleted entity of a type with an {@link ElasticsearchSyncPipeline}.
+ * Requires the AcrossHibernateModule, register it as a bean to have it applied to the repositories.
+ *
+ * @param <T> type of the entity
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@RequiredArgsConstructor
+public class ElasticsearchSyncEntityInterceptor<T> extends EntityInterceptorAdapter<T>
+{
+	@NonNull
+	private final Class<T> entityType;
+
+	@NonNull
+	private final ElasticsearchSyncPipeline<T> pipeline;
+
+	@Override
+	public boolean handles( Class<?> entityClass ) {
+		return entityType.isAssignableFrom( entityClass );
+	}
+
+	@Override
+	public void afterCreate( T entity ) {
+		pipeline.save( entity );
+	}
+
+	@Override
+	public void afterUpdate( T entity ) {
+		pipeline.save( entity );
+	}
+
+	@Override
+	public void afterDelete( T entity ) {
+		pipeline.delete( entity );
+	}
+}
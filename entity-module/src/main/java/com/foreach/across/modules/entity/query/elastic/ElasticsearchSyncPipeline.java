@@ -0,0 +1,505 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.elastic;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps an Elasticsearch index in sync with the (JPA) entities it is built from, for example an entity
+ * that is proxied by an Elasticsearch document. Saved and deleted entities are registered using
+ * {@link #save(Object)} and {@link #delete(Object)}, usually from an {@link ElasticsearchSyncEntityInterceptor}.
+ * <p/>
+ * Inside a transaction the changes are collected and only queued once the transaction has committed,
+ * nothing is sent when it rolls back. Multiple changes to the same entity are merged: only the last one is sent.
+ * Queued changes are written in batches using bulk index and delete requests, either directly in the
+ * committing thread or by the {@link #getFlushExecutor()} if one is set. Deletes are only sent as a single
+ * bulk request if the {@link ElasticsearchOperations} is an {@link ElasticsearchRestTemplate}, other
+ * implementations delete the documents one by one.
+ * <p/>
+ * A batch that could not be written is kept and retried - before any other queued changes - once the retry backoff
+ * has passed, the backoff doubles with every failed attempt. The retry happens on the next flush, or is scheduled
+ * if the flush executor is a {@link ScheduledExecutorService}. After the maximum number of retries the batch
+ * is dropped and an error is logged, the index will need to be rebuilt to get it back in sync.
+ * Writing the changes never fails the transaction that produced them.
+ * <p/>
+ * The queue is bounded: if it is full the producing thread writes a batch itself before it can continue,
+ * slowing down the producers instead of dropping changes or growing the queue without limit.
+ * <p/>
+ * For (re-)building the complete index, use {@link #reindex(ChunkLoader, int)} which loads the
+ * entities in keyset chunks and bulk indexes every chunk directly. Entities that have been changed
+ * while their chunk was being loaded are left to the regular synchronization, so a reindex running
+ * concurrently with live changes never overwrites a document with stale data.
+ *
+ * @param <T> type of the source entity
+ * @author Arne Vandamme
+ * @see ElasticsearchSyncEntityInterceptor
+ * @since 4.3.0
+ */
+@Slf4j
+public class ElasticsearchSyncPipeline<T> implements DisposableBean
+{
+	private final ElasticsearchOperations elasticsearchOperations;
+	private final Class<?> documentType;
+	private final Function<T, ?> documentMapper;
+	private final Function<T, ?> documentId;
+	private final int batchSize;
+	private final int maxRetries;
+	private final Duration retryBackoff;
+	private final Executor flushExecutor;
+
+	private final BlockingQueue<PendingOperation> queue;
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	private final Object flushLock = new Object();
+	private final Object reindexLock = new Object();
+
+	/**
+	 * Ids of the documents that have been queued since the current reindex chunk started loading,
+	 * {@code null} if no reindex is running.
+	 */
+	private volatile Set<String> reindexChangedIds;
+
+	/**
+	 * Batch that could not be written and will be retried before any other operations, guarded by the flush lock.
+	 */
+	private List<PendingOperation> failedBatch;
+	private int failedAttempts;
+	private volatile long retryNotBefore;
+
+	/**
+	 * @param elasticsearchOperations to write the documents with
+	 * @param documentType            type of the document, determines the index
+	 * @param documentMapper          converts the entity into the document to index
+	 * @param documentId              resolves the document id for an entity
+	 * @param batchSize               maximum number of operations sent in a single bulk request, defaults to 500
+	 * @param queueCapacity           maximum number of operations waiting to be written, defaults to 10.000
+	 * @param maxRetries              maximum number of times a failed batch is retried, defaults to 5
+	 * @param retryBackoff            delay before the first retry of a failed batch, defaults to 1 second
+	 * @param flushExecutor           optional executor for writing the queued operations asynchronously
+	 */
+	@Builder
+	private ElasticsearchSyncPipeline( @NonNull ElasticsearchOperations elasticsearchOperations,
+	                                   @NonNull Class<?> documentType,
+	                                   @NonNull Function<T, ?> documentMapper,
+	                                   @NonNull Function<T, ?> documentId,
+	                                   Integer batchSize,
+	                                   Integer queueCapacity,
+	                                   Integer maxRetries,
+	                                   Duration retryBackoff,
+	                                   Executor flushExecutor ) {
+		this.elasticsearchOperations = elasticsearchOperations;
+		this.documentType = documentType;
+		this.documentMapper = documentMapper;
+		this.documentId = documentId;
+		this.batchSize = batchSize != null ? batchSize : 500;
+		this.maxRetries = maxRetries != null ? maxRetries : 5;
+		this.retryBackoff = retryBackoff != null ? retryBackoff : Duration.ofSeconds( 1 );
+		this.flushExecutor = flushExecutor;
+		this.queue = new ArrayBlockingQueue<>( queueCapacity != null ? queueCapacity : 10_000 );
+	}
+
+	/**
+	 * @return executor used for writing queued operations, {@code null} if they are written by the committing thread
+	 */
+	public Executor getFlushExecutor() {
+		return flushExecutor;
+	}
+
+	/**
+	 * @return number of operations waiting to be written
+	 */
+	public int getQueueSize() {
+		return queue.size();
+	}
+
+	/**
+	 * Register an entity that has been created or updated. The document is created immediately,
+	 * so lazy properties can still be loaded, but it will only be indexed once the transaction commits.
+	 *
+	 * @param entity that has been saved
+	 */
+	public void save( @NonNull T entity ) {
+		register( new PendingOperation( documentId( entity ), documentMapper.apply( entity ) ) );
+	}
+
+	/**
+	 * Register an entity that has been deleted. The document will be removed once the transaction commits.
+	 *
+	 * @param entity that has been deleted
+	 */
+	public void delete( @NonNull T entity ) {
+		register( new PendingOperation( documentId( entity ), null ) );
+	}
+
+	/**
+	 * Write all queued operations in the current thread. Stops if a batch could not be written,
+	 * a failed batch is only retried once its retry backoff has passed.
+	 */
+	public void flush() {
+		while ( flushBatch() > 0 ) {
+			// continue until the queue is empty
+		}
+	}
+
+	/**
+	 * Rebuild the index by loading all entities in chunks and indexing every chunk using a single bulk request.
+	 * Chunks are loaded using keyset pagination: the loader gets the last entity of the previous chunk and
+	 * should return the next entities ordered by a unique key (eg. id greater than the id of the last entity),
+	 * so loading a chunk does not depend on the number of entities before it and no entities are skipped
+	 * if entities are created or deleted during the reindex. The loader should not keep the previous chunks
+	 * attached to the persistence context, so the memory use does not grow with the number of entities.
+	 * <p/>
+	 * Documents of entities that have been saved or deleted since their chunk started loading are not written,
+	 * the regular synchronization will write the newer version. Documents of entities that no longer exist
+	 * are not removed. Only one reindex runs at a time.
+	 *
+	 * @param chunkLoader loads a single chunk of entities
+	 * @param chunkSize   maximum number of entities in a single chunk, a smaller chunk ends the reindex
+	 * @return number of documents indexed
+	 */
+	public long reindex( @NonNull ChunkLoader<T> chunkLoader, int chunkSize ) {
+		if ( chunkSize < 1 ) {
+			throw new IllegalArgumentException( "Chunk size must be at least 1" );
+		}
+
+		synchronized ( reindexLock ) {
+			flush();
+
+			IndexCoordinates index = elasticsearchOperations.getIndexCoordinatesFor( documentType );
+			long total = 0;
+			T lastEntity = null;
+			List<? extends T> chunk;
+
+			try {
+				do {
+					Set<String> changedIds = ConcurrentHashMap.newKeySet();
+					reindexChangedIds = changedIds;
+
+					chunk = chunkLoader.load( lastEntity, chunkSize );
+					total += reindexChunk( chunk, changedIds, index );
+					LOG.debug( "Reindexed {} documents of type {}", total, documentType.getName() );
+
+					if ( !chunk.isEmpty() ) {
+						lastEntity = chunk.get( chunk.size() - 1 );
+					}
+				}
+				while ( chunk.size() >= chunkSize );
+			}
+			finally {
+				reindexChangedIds = null;
+			}
+
+			return total;
+		}
+	}
+
+	/**
+	 * Indexes the entities of a chunk, skipping the ones that have been changed since the chunk started loading.
+	 * Holds the flush lock so no newer version of a document can be written between checking the changes and
+	 * writing the chunk, any change queued afterwards is written after the chunk.
+	 */
+	private int reindexChunk( List<? extends T> chunk, Set<String> changedIds, IndexCoordinates index ) {
+		synchronized ( flushLock ) {
+			List<IndexQuery> indexQueries = new ArrayList<>( chunk.size() );
+			for ( T entity : chunk ) {
+				String id = documentId( entity );
+				if ( !changedIds.contains( id ) ) {
+					indexQueries.add( indexQuery( id, documentMapper.apply( entity ) ) );
+				}
+			}
+			if ( indexQueries.size() < chunk.size() ) {
+				LOG.debug( "Skipped reindexing {} documents of type {} that have been changed during the reindex",
+				           chunk.size() - indexQueries.size(), documentType.getName() );
+			}
+			if ( !indexQueries.isEmpty() ) {
+				elasticsearchOperations.bulkIndex( indexQueries, index );
+			}
+			return indexQueries.size();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		flush();
+	}
+
+	private String documentId( T entity ) {
+		return Objects.toString( documentId.apply( entity ), null );
+	}
+
+	@SuppressWarnings("unchecked")
+	private void register( PendingOperation operation ) {
+		if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+			Map<String, PendingOperation> pending = (Map<String, PendingOperation>) TransactionSynchronizationManager.getResource( this );
+			if ( pending == null ) {
+				pending = new LinkedHashMap<>();
+				TransactionSynchronizationManager.bindResource( this, pending );
+				TransactionSynchronizationManager.registerSynchronization( new PendingOperationsSynchronization( pending ) );
+			}
+			pending.remove( operation.getId() );
+			pending.put( operation.getId(), operation );
+		}
+		else {
+			enqueue( Collections.singletonList( operation ) );
+		}
+	}
+
+	private void enqueue( Collection<PendingOperation> operations ) {
+		Set<String> changedIds = reindexChangedIds;
+		if ( changedIds != null ) {
+			operations.forEach( operation -> changedIds.add( operation.getId() ) );
+		}
+
+		for ( PendingOperation operation : operations ) {
+			while ( !queue.offer( operation ) ) {
+				if ( flushBatch() == 0 ) {
+					waitForRetry();
+				}
+			}
+		}
+		scheduleFlush();
+	}
+
+	private void waitForRetry() {
+		long delay = retryNotBefore - System.currentTimeMillis();
+		if ( delay > 0 ) {
+			try {
+				Thread.sleep( delay );
+			}
+			catch ( InterruptedException ie ) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException( "Interrupted while waiting to synchronize documents of type " + documentType.getName(), ie );
+			}
+		}
+	}
+
+	private void scheduleFlush() {
+		if ( flushExecutor == null ) {
+			flush();
+		}
+		else if ( flushScheduled.compareAndSet( false, true ) ) {
+			flushExecutor.execute( () -> {
+				try {
+					flush();
+				}
+				finally {
+					flushScheduled.set( false );
+				}
+				if ( !queue.isEmpty() && !isRetryPending() ) {
+					scheduleFlush();
+				}
+			} );
+		}
+	}
+
+	private boolean isRetryPending() {
+		synchronized ( flushLock ) {
+			return failedBatch != null;
+		}
+	}
+
+	private void scheduleRetry( long delay ) {
+		if ( flushExecutor instanceof ScheduledExecutorService ) {
+			( (ScheduledExecutorService) flushExecutor ).schedule( this::scheduleFlush, delay, TimeUnit.MILLISECONDS );
+		}
+	}
+
+	/**
+	 * Writes a single batch, batches are written one at a time to ensure the operations for the same document are applied in order.
+	 * A previously failed batch is always written first, nothing is written as long as its retry backoff has not passed.
+	 *
+	 * @return number of operations that have been handled, 0 if nothing was written
+	 */
+	private int flushBatch() {
+		synchronized ( flushLock ) {
+			List<PendingOperation> batch;
+
+			if ( failedBatch != null ) {
+				if ( System.currentTimeMillis() < retryNotBefore ) {
+					return 0;
+				}
+				batch = failedBatch;
+			}
+			else {
+				batch = new ArrayList<>( batchSize );
+				queue.drainTo( batch, batchSize );
+				if ( batch.isEmpty() ) {
+					return 0;
+				}
+			}
+
+			try {
+				write( batch );
+			}
+			catch ( RuntimeException e ) {
+				failedAttempts++;
+
+				if ( failedAttempts > maxRetries ) {
+					LOG.error( "Unable to synchronize {} changes to documents of type {}, giving up after {} attempts - the index should be rebuilt",
+					           batch.size(), documentType.getName(), failedAttempts, e );
+					failedBatch = null;
+					failedAttempts = 0;
+					return batch.size();
+				}
+
+				long delay = retryBackoff.toMillis() << Math.min( failedAttempts - 1, 16 );
+				LOG.warn( "Unable to synchronize {} changes to documents of type {}, retrying in {} ms",
+				          batch.size(), documentType.getName(), delay, e );
+				failedBatch = batch;
+				retryNotBefore = System.currentTimeMillis() + delay;
+				scheduleRetry( delay );
+				return 0;
+			}
+
+			failedBatch = null;
+			failedAttempts = 0;
+
+			return batch.size();
+		}
+	}
+
+	private void write( List<PendingOperation> batch ) {
+		Map<String, PendingOperation> operations = new LinkedHashMap<>();
+		batch.forEach( operation -> {
+			operations.remove( operation.getId() );
+			operations.put( operation.getId(), operation );
+		} );
+
+		List<IndexQuery> indexQueries = new ArrayList<>();
+		List<String> deletedIds = new ArrayList<>();
+		operations.values().forEach( operation -> {
+			if ( operation.isDelete() ) {
+				deletedIds.add( operation.getId() );
+			}
+			else {
+				indexQueries.add( indexQuery( operation.getId(), operation.getDocument() ) );
+			}
+		} );
+
+		IndexCoordinates index = elasticsearchOperations.getIndexCoordinatesFor( documentType );
+		if ( !indexQueries.isEmpty() ) {
+			elasticsearchOperations.bulkIndex( indexQueries, index );
+		}
+		if ( !deletedIds.isEmpty() ) {
+			bulkDelete( deletedIds, index );
+		}
+	}
+
+	private void bulkDelete( List<String> ids, IndexCoordinates index ) {
+		if ( elasticsearchOperations instanceof ElasticsearchRestTemplate ) {
+			BulkRequest bulkRequest = new BulkRequest();
+			ids.forEach( id -> bulkRequest.add( new DeleteRequest( index.getIndexName(), id ) ) );
+
+			BulkResponse response = ( (ElasticsearchRestTemplate) elasticsearchOperations )
+					.execute( client -> client.bulk( bulkRequest, RequestOptions.DEFAULT ) );
+
+			if ( response.hasFailures() ) {
+				throw new IllegalStateException( "Bulk delete of documents failed: " + response.buildFailureMessage() );
+			}
+		}
+		else {
+			ids.forEach( id -> elasticsearchOperations.delete( id, index ) );
+		}
+	}
+
+	private IndexQuery indexQuery( String id, Object document ) {
+		return new IndexQueryBuilder().withId( id ).withObject( document ).build();
+	}
+
+	/**
+	 * Loads a chunk of entities for {@link #reindex(ChunkLoader, int)} using keyset pagination.
+	 *
+	 * @param <T> type of the source entity
+	 */
+	@FunctionalInterface
+	public interface ChunkLoader<T>
+	{
+		/**
+		 * Load the entities following the last entity of the previous chunk, ordered by a unique key.
+		 *
+		 * @param lastEntity last entity of the previous chunk, {@code null} for the first chunk
+		 * @param chunkSize  maximum number of entities to return
+		 * @return entities following the last entity, empty if there are none
+		 */
+		List<? extends T> load( T lastEntity, int chunkSize );
+	}
+
+	@Value
+	private static class PendingOperation
+	{
+		private final String id;
+		private final Object document;
+
+		boolean isDelete() {
+			return document == null;
+		}
+	}
+
+	/**
+	 * Queues the operations collected during the transaction once it has been committed.
+	 * Failures are only logged, the transaction itself has already been committed.
+	 */
+	private class PendingOperationsSynchronization implements TransactionSynchronization
+	{
+		private final Map<String, PendingOperation> pending;
+
+		PendingOperationsSynchronization( Map<String, PendingOperation> pending ) {
+			this.pending = pending;
+		}
+
+		@Override
+		public void afterCommit() {
+			try {
+				enqueue( new ArrayList<>( pending.values() ) );
+			}
+			catch ( RuntimeException e ) {
+				LOG.error( "Unable to queue changes {} to documents of type {} after commit", pending.keySet(), documentType.getName(), e );
+			}
+		}
+
+		@Override
+		public void afterCompletion( int status ) {
+			TransactionSynchronizationManager.unbindResourceIfPossible( ElasticsearchSyncPipeline.this );
+		}
+	}
+}
@@ -99,6 +99,11 @@ public class EntityQueryElasticUtils
 			case NOT_LIKE_IC:
 				return Criteria.where( resolveProperty( condition.getProperty() ) ).not().contains(
 						StringUtils.lowerCase( Objects.toString( condition.getFirstArgument() ) ) );
+			case MATCHES:
+				// match query requiring all terms, analyzed using the analyzer of the field
+				return Criteria.where( resolveProperty( condition.getProperty() ) ).matchesAll( Objects.toString( condition.getFirstArgument(), "" ) );
+			case NOT_MATCHES:
+				return Criteria.where( resolveProperty( condition.getProperty() ) ).not().matchesAll( Objects.toString( condition.getFirstArgument(), "" ) );
 		}
 		throw new IllegalArgumentException( "Unsupported operand for Elasticsearch query: " + condition.getOperand() );
 	}
@@ -16,40 +16,136 @@
 package com.foreach.across.modules.entity.query.jpa;
 
 import com.foreach.across.modules.entity.query.AbstractEntityQueryExecutor;
+import com.foreach.across.modules.entity.query.EntityFetchPlan;
 import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryExecutor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
-import static com.foreach.across.modules.entity.query.jpa.EntityQueryJpaUtils.toSpecification;
+import javax.persistence.EntityManager;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.foreach.across.modules.entity.query.jpa.EntityQueryJpaUtils.*;
 
 /**
  * Implementation of {@link EntityQueryExecutor} that runs against a {@link JpaSpecificationExecutor} instance.
+ * If an {@link EntityFetchPlan} is passed, to-one associations will be fetch joined in the query itself,
+ * collection associations will be loaded with a separate query per association.
+ * <p/>
+ * If an {@link EntityManager} is available, {@link #findSlice(EntityQuery, Pageable, EntityFetchPlan)} will select
+ * the entities without executing a count query.
+ * <p/>
+ * Full-text conditions ({@link com.foreach.across.modules.entity.query.EntityQueryOps#MATCHES}) are built
+ * using the configured {@link JpaFullTextDialect}, {@link JpaFullTextDialect#DEFAULT} if none is set.
  *
  * @author Arne Vandamme
  */
 public class EntityQueryJpaExecutor<T> extends AbstractEntityQueryExecutor<T>
 {
 	private final JpaSpecificationExecutor<T> jpaSpecificationExecutor;
+	private final EntityManager entityManager;
+	private final Class<T> entityType;
+
+	private JpaFullTextDialect fullTextDialect = JpaFullTextDialect.DEFAULT;
 
 	public EntityQueryJpaExecutor( JpaSpecificationExecutor<T> jpaSpecificationExecutor ) {
+		this( jpaSpecificationExecutor, null, null );
+	}
+
+	/**
+	 * @param jpaSpecificationExecutor to execute the queries
+	 * @param entityManager            to use for selecting a single page without count query, can be {@code null}
+	 * @param entityType               type of the entities, required if an entity manager is set
+	 * @since 4.3.0
+	 */
+	public EntityQueryJpaExecutor( JpaSpecificationExecutor<T> jpaSpecificationExecutor, EntityManager entityManager, Class<T> entityType ) {
 		this.jpaSpecificationExecutor = jpaSpecificationExecutor;
+		this.entityManager = entityType != null ? entityManager : null;
+		this.entityType = entityType;
+	}
+
+	/**
+	 * @param fullTextDialect to use for building full-text predicates, {@code null} resets to the default dialect
+	 * @since 4.3.0
+	 */
+	public void setFullTextDialect( JpaFullTextDialect fullTextDialect ) {
+		this.fullTextDialect = fullTextDialect != null ? fullTextDialect : JpaFullTextDialect.DEFAULT;
+	}
+
+	/**
+	 * @return dialect used for building full-text predicates
+	 * @since 4.3.0
+	 */
+	public JpaFullTextDialect getFullTextDialect() {
+		return fullTextDialect;
 	}
 
 	@Override
 	protected Iterable<T> executeQuery( EntityQuery query ) {
-		return jpaSpecificationExecutor.findAll( toSpecification( query ) );
+		return jpaSpecificationExecutor.findAll( createSpecification( query ) );
 	}
 
 	@Override
 	protected Iterable<T> executeQuery( EntityQuery query, Sort sort ) {
-		return jpaSpecificationExecutor.findAll( toSpecification( query ), sort );
+		return jpaSpecificationExecutor.findAll( createSpecification( query ), sort );
 	}
 
 	@Override
 	protected Page<T> executeQuery( EntityQuery query, Pageable pageable ) {
-		return jpaSpecificationExecutor.findAll( toSpecification( query ), pageable );
+		return jpaSpecificationExecutor.findAll( createSpecification( query ), pageable );
+	}
+
+	@Override
+	protected Iterable<T> executeQuery( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+		Set<String> batchFetchPaths = new LinkedHashSet<>();
+		Specification<T> specification = withFetchJoins( createSpecification( query ), fetchPlan, batchFetchPaths );
+
+		List<T> items = sort != null ? jpaSpecificationExecutor.findAll( specification, sort ) : jpaSpecificationExecutor.findAll( specification );
+		batchFetch( jpaSpecificationExecutor, items, batchFetchPaths );
+
+		return items;
+	}
+
+	@Override
+	protected Page<T> executeQuery( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		Set<String> batchFetchPaths = new LinkedHashSet<>();
+		Page<T> page = jpaSpecificationExecutor.findAll( withFetchJoins( createSpecification( query ), fetchPlan, batchFetchPaths ), pageable );
+		batchFetch( jpaSpecificationExecutor, page.getContent(), batchFetchPaths );
+
+		return page;
+	}
+
+	@Override
+	protected Slice<T> executeSliceQuery( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		if ( entityManager == null ) {
+			return super.executeSliceQuery( query, pageable, fetchPlan );
+		}
+
+		Set<String> batchFetchPaths = new LinkedHashSet<>();
+		Specification<T> specification = createSpecification( query );
+
+		if ( fetchPlan != null && !fetchPlan.isEmpty() ) {
+			specification = withFetchJoins( specification, fetchPlan, batchFetchPaths );
+		}
+
+		Slice<T> slice = EntityQueryJpaUtils.findSlice( entityManager, entityType, specification, pageable );
+		batchFetch( jpaSpecificationExecutor, slice.getContent(), batchFetchPaths );
+
+		return slice;
+	}
+
+	@Override
+	protected long executeCountQuery( EntityQuery query ) {
+		return jpaSpecificationExecutor.count( createSpecification( query ) );
+	}
+
+	private Specification<T> createSpecification( EntityQuery query ) {
+		return toSpecification( query, fullTextDialect );
 	}
 }
@@ -15,39 +15,254 @@
  */
 package com.foreach.across.modules.entity.query.jpa;
 
+import com.foreach.across.modules.entity.query.EntityFetchPlan;
 import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryCondition;
 import com.foreach.across.modules.entity.query.EntityQueryExpression;
 import com.foreach.across.modules.entity.query.EntityQueryOps;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.*;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.SingularAttribute;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * @author Arne Vandamme
  */
 public abstract class EntityQueryJpaUtils
 {
+	private static final int MAX_BATCH_SIZE = 500;
+
 	private EntityQueryJpaUtils() {
 	}
 
 	public static <V> Specification<V> toSpecification( final EntityQuery query ) {
-		return ( root, criteriaQuery, cb ) -> EntityQueryJpaUtils.buildPredicate( query, root, criteriaQuery, cb );
+		return toSpecification( query, JpaFullTextDialect.DEFAULT );
+	}
+
+	/**
+	 * Convert the query into a specification, using the dialect for any {@link EntityQueryOps#MATCHES} conditions.
+	 *
+	 * @param query           to convert
+	 * @param fullTextDialect to use for full-text conditions
+	 * @return specification
+	 * @since 4.3.0
+	 */
+	public static <V> Specification<V> toSpecification( final EntityQuery query, final JpaFullTextDialect fullTextDialect ) {
+		return ( root, criteriaQuery, cb ) -> EntityQueryJpaUtils.buildPredicate( query, root, criteriaQuery, cb, fullTextDialect );
+	}
+
+	/**
+	 * Wrap a specification so that the to-one associations required for the properties in the {@link EntityFetchPlan}
+	 * are fetch joined when selecting the entities. Paths containing a collection association are not fetch joined
+	 * as that would break pagination, they are added to {@code batchFetchPaths} instead and should be loaded
+	 * separately using {@link #batchFetch(JpaSpecificationExecutor, List, Collection)}.
+	 * <p/>
+	 * Fetch joins are never applied to count queries.
+	 *
+	 * @param specification   to wrap
+	 * @param fetchPlan       properties that will be accessed
+	 * @param batchFetchPaths collection that will receive the association paths that should be batch fetched
+	 * @return specification
+	 * @since 4.3.0
+	 */
+	public static <V> Specification<V> withFetchJoins( Specification<V> specification,
+	                                                   EntityFetchPlan fetchPlan,
+	                                                   Collection<String> batchFetchPaths ) {
+		return ( root, criteriaQuery, cb ) -> {
+			if ( !isCountQuery( criteriaQuery ) ) {
+				fetchPlan.getPropertyPaths().forEach( propertyPath -> {
+					FetchPath fetchPath = resolveFetchPath( root.getModel(), propertyPath );
+
+					if ( fetchPath.isCollection() ) {
+						batchFetchPaths.add( fetchPath.getPath() );
+					}
+					else if ( !fetchPath.isEmpty() ) {
+						fetch( root, fetchPath.getPath() );
+					}
+				} );
+			}
+
+			return specification.toPredicate( root, criteriaQuery, cb );
+		};
+	}
+
+	/**
+	 * Load the associations for a number of association paths for a list of entities that have already been selected.
+	 * A separate query is executed for every path, the entities are selected again by id with the association path
+	 * fetch joined. This requires the original entities to be attached to the same persistence context,
+	 * the returned entity instances are not used.
+	 *
+	 * @param executor   to use for selecting the entities
+	 * @param entities   whose associations should be loaded
+	 * @param fetchPaths association paths to load
+	 * @since 4.3.0
+	 */
+	public static <V> void batchFetch( JpaSpecificationExecutor<V> executor, List<V> entities, Collection<String> fetchPaths ) {
+		if ( entities.isEmpty() ) {
+			return;
+		}
+
+		for ( String fetchPath : fetchPaths ) {
+			forEachBatch( entities, batch -> executor.findAll( ( root, criteriaQuery, cb ) -> {
+				criteriaQuery.distinct( true );
+				fetch( root, fetchPath );
+				return root.in( batch );
+			} ) );
+		}
+	}
+
+	/**
+	 * Load the associations required for the properties of an {@link EntityFetchPlan} for a list of entities that
+	 * have already been selected. All to-one associations are loaded in a single query, every collection
+	 * association path in a separate query. Used when the original query could not apply fetch joins.
+	 *
+	 * @param executor  to use for selecting the entities
+	 * @param entities  whose associations should be loaded
+	 * @param fetchPlan properties that will be accessed
+	 * @see #batchFetch(JpaSpecificationExecutor, List, Collection)
+	 * @since 4.3.0
+	 */
+	public static <V> void batchFetch( JpaSpecificationExecutor<V> executor, List<V> entities, EntityFetchPlan fetchPlan ) {
+		if ( entities.isEmpty() || fetchPlan.isEmpty() ) {
+			return;
+		}
+
+		Set<String> collectionPaths = new LinkedHashSet<>();
+		forEachBatch( entities, batch -> executor.findAll(
+				EntityQueryJpaUtils.<V>withFetchJoins( ( root, criteriaQuery, cb ) -> root.in( batch ), fetchPlan, collectionPaths )
+		) );
+
+		batchFetch( executor, entities, collectionPaths );
+	}
+
+	/**
+	 * Select a single page of entities matching the specification, without executing a count query.
+	 * One additional entity is selected to determine if there is a next page.
+	 *
+	 * @param entityManager to use
+	 * @param entityType    type of entities to select
+	 * @param specification to apply, can be {@code null}
+	 * @param pageable      page to select
+	 * @return slice
+	 * @since 4.3.0
+	 */
+	public static <V> Slice<V> findSlice( EntityManager entityManager, Class<V> entityType, Specification<V> specification, Pageable pageable ) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<V> criteriaQuery = cb.createQuery( entityType );
+		Root<V> root = criteriaQuery.from( entityType );
+
+		if ( specification != null ) {
+			Predicate predicate = specification.toPredicate( root, criteriaQuery, cb );
+			if ( predicate != null ) {
+				criteriaQuery.where( predicate );
+			}
+		}
+
+		criteriaQuery.select( root );
+
+		if ( pageable.getSort().isSorted() ) {
+			criteriaQuery.orderBy( QueryUtils.toOrders( pageable.getSort(), root, cb ) );
+		}
+
+		TypedQuery<V> query = entityManager.createQuery( criteriaQuery );
+		query.setFirstResult( (int) pageable.getOffset() );
+		query.setMaxResults( pageable.getPageSize() + 1 );
+
+		List<V> results = query.getResultList();
+		boolean hasNext = results.size() > pageable.getPageSize();
+
+		return new SliceImpl<>( hasNext ? results.subList( 0, pageable.getPageSize() ) : results, pageable, hasNext );
 	}
 
-	private static <V> Predicate buildPredicate( EntityQueryExpression expression, Root<V> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder cb ) {
+	private static <V> void forEachBatch( List<V> entities, Consumer<List<V>> consumer ) {
+		for ( int start = 0; start < entities.size(); start += MAX_BATCH_SIZE ) {
+			consumer.accept( entities.subList( start, Math.min( start + MAX_BATCH_SIZE, entities.size() ) ) );
+		}
+	}
+
+	private static boolean isCountQuery( CriteriaQuery<?> criteriaQuery ) {
+		Class<?> resultType = criteriaQuery.getResultType();
+		return Long.class.equals( resultType ) || long.class.equals( resultType );
+	}
+
+	private static FetchPath resolveFetchPath( ManagedType<?> rootType, String propertyPath ) {
+		List<String> segments = new ArrayList<>();
+		ManagedType<?> currentType = rootType;
+		boolean collection = false;
+
+		for ( String segment : StringUtils.split( propertyPath, '.' ) ) {
+			String attributeName = StringUtils.removeEnd( segment, EntityPropertyRegistry.INDEXER );
+			Attribute<?, ?> attribute = findAttribute( currentType, attributeName );
+
+			if ( attribute == null || !attribute.isAssociation() ) {
+				break;
+			}
+
+			segments.add( attributeName );
+
+			if ( attribute.isCollection() ) {
+				collection = true;
+				break;
+			}
+
+			Object targetType = ( (SingularAttribute<?, ?>) attribute ).getType();
+			if ( !( targetType instanceof ManagedType ) ) {
+				break;
+			}
+
+			currentType = (ManagedType<?>) targetType;
+		}
+
+		return new FetchPath( StringUtils.join( segments, '.' ), collection );
+	}
+
+	private static Attribute<?, ?> findAttribute( ManagedType<?> type, String name ) {
+		try {
+			return type.getAttribute( name );
+		}
+		catch ( IllegalArgumentException iae ) {
+			// not a persistent attribute
+			return null;
+		}
+	}
+
+	private static void fetch( Root<?> root, String fetchPath ) {
+		FetchParent<?, ?> parent = root;
+
+		for ( String segment : StringUtils.split( fetchPath, '.' ) ) {
+			FetchParent<?, ?> current = parent;
+			parent = current.getFetches()
+			                .stream()
+			                .filter( f -> segment.equals( f.getAttribute().getName() ) )
+			                .findFirst()
+			                .map( f -> (FetchParent<?, ?>) f )
+			                .orElseGet( () -> current.fetch( segment, JoinType.LEFT ) );
+		}
+	}
+
+	private static <V> Predicate buildPredicate( EntityQueryExpression expression,
+	                                             Root<V> root,
+	                                             CriteriaQuery<?> criteriaQuery,
+	                                             CriteriaBuilder cb,
+	                                             JpaFullTextDialect fullTextDialect ) {
 		if ( expression instanceof EntityQueryCondition ) {
-			return buildConditionPredicate( (EntityQueryCondition) expression, root, criteriaQuery, cb );
+			return buildConditionPredicate( (EntityQueryCondition) expression, root, criteriaQuery, cb, fullTextDialect );
 		}
 		else {
-			return buildQueryPredicate( (EntityQuery) expression, root, criteriaQuery, cb );
+			return buildQueryPredicate( (EntityQuery) expression, root, criteriaQuery, cb, fullTextDialect );
 		}
 	}
 
@@ -55,7 +270,8 @@ public abstract class EntityQueryJpaUtils
 	private static <V> Predicate buildConditionPredicate( EntityQueryCondition condition,
 	                                                      Root<V> root,
 	                                                      CriteriaQuery<?> criteriaQuery,
-	                                                      CriteriaBuilder cb ) {
+	                                                      CriteriaBuilder cb,
+	                                                      JpaFullTextDialect fullTextDialect ) {
 		if ( condition.getFirstArgument() instanceof EntityQueryConditionJpaFunctionHandler ) {
 			return ( (EntityQueryConditionJpaFunctionHandler) condition.getFirstArgument() ).apply( condition ).toPredicate( root, criteriaQuery, cb );
 		}
@@ -134,6 +350,14 @@ public abstract class EntityQueryJpaUtils
 				Expression<String> p = (Expression<String>) resolveProperty( root, condition.getProperty() );
 				return cb.notLike( cb.lower( p ), StringUtils.lowerCase( toEscapedString( condition.getFirstArgument() ) ), ';' );
 			}
+			case MATCHES: {
+				Expression<String> p = (Expression<String>) resolveProperty( root, condition.getProperty() );
+				return fullTextDialect.match( cb, p, Objects.toString( condition.getFirstArgument(), null ) );
+			}
+			case NOT_MATCHES: {
+				Expression<String> p = (Expression<String>) resolveProperty( root, condition.getProperty() );
+				return cb.not( fullTextDialect.match( cb, p, Objects.toString( condition.getFirstArgument(), null ) ) );
+			}
 		}
 
 		throw new IllegalArgumentException( "Unsupported operand for JPA query: " + condition.getOperand() );
@@ -178,15 +402,42 @@ public abstract class EntityQueryJpaUtils
 		return path.get( propertyName );
 	}
 
-	private static <V> Predicate buildQueryPredicate( EntityQuery query, Root<V> root, CriteriaQuery<?> criteriaQuery, CriteriaBuilder cb ) {
+	private static <V> Predicate buildQueryPredicate( EntityQuery query,
+	                                                  Root<V> root,
+	                                                  CriteriaQuery<?> criteriaQuery,
+	                                                  CriteriaBuilder cb,
+	                                                  JpaFullTextDialect fullTextDialect ) {
 		List<Predicate> predicates = new ArrayList<>();
 
 		for ( EntityQueryExpression expression : query.getExpressions() ) {
-			predicates.add( buildPredicate( expression, root, criteriaQuery, cb ) );
+			predicates.add( buildPredicate( expression, root, criteriaQuery, cb, fullTextDialect ) );
 		}
 
 		return query.getOperand() == EntityQueryOps.AND
 				? cb.and( predicates.toArray( new Predicate[0] ) )
 				: cb.or( predicates.toArray( new Predicate[0] ) );
 	}
+
+	private static final class FetchPath
+	{
+		private final String path;
+		private final boolean collection;
+
+		FetchPath( String path, boolean collection ) {
+			this.path = path;
+			this.collection = collection;
+		}
+
+		String getPath() {
+			return path;
+		}
+
+		boolean isCollection() {
+			return collection;
+		}
+
+		boolean isEmpty() {
+			return path.isEmpty();
+		}
+	}
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.jpa;
+
+import com.foreach.across.modules.entity.query.EntityQueryOps;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+
+/**
+ * Builds the JPA predicate for a {@link EntityQueryOps#MATCHES} condition.
+ * Full-text support is database specific, the dialect to use can be set on the {@link EntityQueryJpaExecutor}.
+ * The {@link #DEFAULT} dialect is portable but requires scanning the column values.
+ *
+ * @author Arne Vandamme
+ * @see TokenizedLikeJpaFullTextDialect
+ * @see PostgreSqlJpaFullTextDialect
+ * @since 4.3.0
+ */
+@FunctionalInterface
+public interface JpaFullTextDialect
+{
+	/**
+	 * Portable dialect, used if no database specific dialect is configured.
+	 */
+	JpaFullTextDialect DEFAULT = new TokenizedLikeJpaFullTextDialect();
+
+	/**
+	 * Create the predicate that matches if the property contains all words of the text.
+	 *
+	 * @param cb       criteria builder
+	 * @param property expression for the text property
+	 * @param text     full-text search value
+	 * @return predicate
+	 */
+	Predicate match( CriteriaBuilder cb, Expression<String> property, String text );
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.jpa;
+
+import com.foreach.across.modules.entity.query.EntityQuery;
+import com.foreach.across.modules.entity.query.EntityQueryCountEstimator;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.util.List;
+
+/**
+ * {@link EntityQueryCountEstimator} for PostgreSQL, using the row estimate the query planner keeps in
+ * {@code pg_class.reltuples}. The estimate is maintained by {@code VACUUM} and {@code ANALYZE}, and is only used
+ * for queries without conditions, as it represents the size of the entire table. No estimate is returned if the
+ * table has never been analyzed or the statistics can't be read.
+ * <p/>
+ * Example configuration:
+ * <pre>{@code
+ * entities.withType( Order.class )
+ *         .attribute( EntityQueryCountStrategy.class,
+ *                     EntityQueryCountStrategy.estimated( new PostgreSqlEntityQueryCountEstimator( entityManager, "orders" ) ) );
+ * }</pre>
+ *
+ * @author Arne Vandamme
+ * @see com.foreach.across.modules.entity.query.EstimatedEntityQueryCountStrategy
+ * @since 4.3.0
+ */
+@Slf4j
+public class PostgreSqlEntityQueryCountEstimator implements EntityQueryCountEstimator
+{
+	private static final String ESTIMATE_QUERY = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass(?1)";
+
+	private final EntityManager entityManager;
+	private final String tableName;
+
+	/**
+	 * @param entityManager to use for reading the statistics
+	 * @param tableName     (optionally schema qualified) name of the table holding the entities
+	 */
+	public PostgreSqlEntityQueryCountEstimator( @NonNull EntityManager entityManager, @NonNull String tableName ) {
+		this.entityManager = entityManager;
+		this.tableName = tableName;
+	}
+
+	@Override
+	public Long estimateCount( EntityQuery query ) {
+		if ( query.hasExpressions() ) {
+			return null;
+		}
+
+		try {
+			List<?> results = entityManager.createNativeQuery( ESTIMATE_QUERY )
+			                               .setParameter( 1, tableName )
+			                               .getResultList();
+
+			if ( !results.isEmpty() && results.get( 0 ) instanceof Number ) {
+				long estimate = ( (Number) results.get( 0 ) ).longValue();
+				return estimate >= 0 ? estimate : null;
+			}
+		}
+		catch ( PersistenceException pe ) {
+			LOG.debug( "Unable to read the row estimate for table {}", tableName, pe );
+		}
+
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		return "PostgreSqlEntityQueryCountEstimator{tableName='" + tableName + "'}";
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.jpa;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.spi.MetadataBuilderInitializer;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@link PostgreSqlJpaFullTextDialect#MATCH_FUNCTION} on every Hibernate session factory.
+ * Discovered by Hibernate as a service, the function is only used if the dialect is PostgreSQL.
+ * <p/>
+ * The text search configuration is rendered as a constant (so it can match an index expression),
+ * it is read from the {@link PostgreSqlJpaFullTextDialect#TEXT_SEARCH_CONFIG_SETTING} property.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class PostgreSqlFullTextMetadataBuilderInitializer implements MetadataBuilderInitializer
+{
+	@Override
+	public void contribute( MetadataBuilder metadataBuilder, StandardServiceRegistry serviceRegistry ) {
+		String config = serviceRegistry.getService( ConfigurationService.class )
+		                               .getSetting( PostgreSqlJpaFullTextDialect.TEXT_SEARCH_CONFIG_SETTING,
+		                                            StandardConverters.STRING,
+		                                            PostgreSqlJpaFullTextDialect.DEFAULT_TEXT_SEARCH_CONFIG );
+
+		metadataBuilder.applySqlFunction( PostgreSqlJpaFullTextDialect.MATCH_FUNCTION,
+		                                  new SQLFunctionTemplate( StandardBasicTypes.BOOLEAN, matchTemplate( config ) ) );
+	}
+
+	static String matchTemplate( String textSearchConfig ) {
+		if ( !textSearchConfig.matches( "[A-Za-z_][A-Za-z0-9_.]*" ) ) {
+			throw new IllegalArgumentException( "Invalid PostgreSQL text search configuration: " + textSearchConfig );
+		}
+		return "(to_tsvector('" + textSearchConfig + "', ?1) @@ plainto_tsquery('" + textSearchConfig + "', ?2))";
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.jpa;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+
+/**
+ * {@link JpaFullTextDialect} for PostgreSQL which uses the native text search: the property is converted
+ * to a {@code tsvector} and matched against {@code plainto_tsquery} of the search text using the {@code @@} operator.
+ * <p/>
+ * The operator can not be expressed in JPQL, the predicate uses the {@link #MATCH_FUNCTION} which is registered
+ * on every Hibernate session factory by the {@link PostgreSqlFullTextMetadataBuilderInitializer}. It renders as:
+ * <pre>{@code
+ * (to_tsvector('simple', name) @@ plainto_tsquery('simple', ?))
+ * }</pre>
+ * Both sides use the same text search configuration, {@code simple} unless the Hibernate property
+ * {@link #TEXT_SEARCH_CONFIG_SETTING} specifies another one. Because the configuration is a constant,
+ * the vector expression can be indexed directly:
+ * <pre>{@code
+ * CREATE INDEX ix_company_name_fts ON company USING GIN (to_tsvector('simple', name));
+ * }</pre>
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class PostgreSqlJpaFullTextDialect implements JpaFullTextDialect
+{
+	/**
+	 * Name of the function that renders the {@code @@} match of a property and a search text.
+	 */
+	public static final String MATCH_FUNCTION = "entity_pg_fulltext_match";
+
+	/**
+	 * Hibernate property holding the PostgreSQL text search configuration to use.
+	 */
+	public static final String TEXT_SEARCH_CONFIG_SETTING = "entity.fulltext.text_search_config";
+
+	/**
+	 * Text search configuration used if none is specified: no stemming, no stop words and no accent stripping.
+	 */
+	public static final String DEFAULT_TEXT_SEARCH_CONFIG = "simple";
+
+	@Override
+	public Predicate match( CriteriaBuilder cb, Expression<String> property, String text ) {
+		if ( StringUtils.isBlank( text ) ) {
+			return cb.conjunction();
+		}
+
+		return cb.isTrue( cb.function( MATCH_FUNCTION, Boolean.class, property, cb.literal( text ) ) );
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.jpa;
+
+import com.foreach.across.modules.entity.query.EntityQueryUtils;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+import java.util.List;
+
+/**
+ * Portable {@link JpaFullTextDialect} which splits the text into words using {@link EntityQueryUtils#tokenizeFullText(String, boolean)}
+ * and requires every word to be present in the lower-cased property value. Works on any database but can not use an index.
+ * <p/>
+ * Accents are not stripped from the search words, as they can not be stripped portably from the property value.
+ * A word with accents only matches the same accented word, whether a word without accents matches an accented value
+ * depends on the collation of the column.
+ * <p/>
+ * This is also the dialect used for H2: its native full-text search is a table function which
+ * can not be combined with a criteria query.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class TokenizedLikeJpaFullTextDialect implements JpaFullTextDialect
+{
+	@Override
+	public Predicate match( CriteriaBuilder cb, Expression<String> property, String text ) {
+		List<String> words = EntityQueryUtils.tokenizeFullText( text, false );
+		Expression<String> lowerCased = cb.lower( property );
+
+		return cb.and(
+				words.stream()
+				     .map( word -> cb.like( lowerCased, "%" + word + "%" ) )
+				     .toArray( Predicate[]::new )
+		);
+	}
+}
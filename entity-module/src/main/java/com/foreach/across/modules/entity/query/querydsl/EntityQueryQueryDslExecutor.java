@@ -16,17 +16,26 @@
 package com.foreach.across.modules.entity.query.querydsl;
 
 import com.foreach.across.modules.entity.query.AbstractEntityQueryExecutor;
+import com.foreach.across.modules.entity.query.EntityFetchPlan;
 import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryExecutor;
+import com.foreach.across.modules.entity.query.jpa.EntityQueryJpaUtils;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.util.EntityUtils;
 import com.querydsl.core.types.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 
+import java.util.List;
+
 /**
  * Implementation of {@link EntityQueryExecutor} that runs against a {@link QuerydslPredicateExecutor} instance.
+ * A {@link QuerydslPredicateExecutor} does not support fetch joins. If an {@link EntityFetchPlan} is passed and the
+ * repository is also a {@link JpaSpecificationExecutor}, the associations will be loaded with separate queries
+ * after the entities have been selected.
  *
  * @author Arne Vandamme
  */
@@ -56,6 +65,32 @@ public class EntityQueryQueryDslExecutor<T> extends AbstractEntityQueryExecutor<
 		return queryDslPredicateExecutor.findAll( predicate( query ), pageable );
 	}
 
+	@Override
+	protected Iterable<T> executeQuery( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+		List<T> items = EntityUtils.asList( sort != null ? executeQuery( query, sort ) : executeQuery( query ) );
+		batchFetch( items, fetchPlan );
+		return items;
+	}
+
+	@Override
+	protected Page<T> executeQuery( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		Page<T> page = executeQuery( query, pageable );
+		batchFetch( page.getContent(), fetchPlan );
+		return page;
+	}
+
+	@Override
+	protected long executeCountQuery( EntityQuery query ) {
+		return queryDslPredicateExecutor.count( predicate( query ) );
+	}
+
+	@SuppressWarnings("unchecked")
+	private void batchFetch( List<T> items, EntityFetchPlan fetchPlan ) {
+		if ( queryDslPredicateExecutor instanceof JpaSpecificationExecutor ) {
+			EntityQueryJpaUtils.batchFetch( (JpaSpecificationExecutor<T>) queryDslPredicateExecutor, items, fetchPlan );
+		}
+	}
+
 	private Predicate predicate( EntityQuery query ) {
 		return EntityQueryQueryDslUtils.toPredicate( query, entityConfiguration );
 	}
@@ -19,22 +19,34 @@ import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryCondition;
 import com.foreach.across.modules.entity.query.EntityQueryExpression;
 import com.foreach.across.modules.entity.query.EntityQueryOps;
+import com.foreach.across.modules.entity.query.EntityQueryUtils;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.BooleanOperation;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.PathBuilder;
+import lombok.Value;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.SimpleEntityPathResolver;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
-import java.util.Arrays;
+import java.util.*;
 
 import static com.foreach.across.modules.entity.query.jpa.EntityQueryJpaUtils.toEscapedString;
 
 /**
+ * Converts an {@link EntityQuery} into a QueryDSL {@link Predicate}.
+ * <p/>
+ * The generated entity path of a type and the resolved property paths are cached. Queries are compiled into
+ * a predicate template per query shape (the structure of the query without its argument values), so building
+ * the predicate for a query with the same shape (eg. when paging through a filtered list) only binds the
+ * new argument values. Queries containing function handlers or full-text conditions are not compiled.
+ * All caches hold soft references, so they do not prevent entity classes from being unloaded.
+ *
  * @author Arne Vandamme
  */
 @UtilityClass
@@ -42,15 +54,28 @@ public class EntityQueryQueryDslUtils
 {
 	private static final EntityPathResolver DEFAULT_ENTITY_PATH_RESOLVER = SimpleEntityPathResolver.INSTANCE;
 
+	private static final Map<Class<?>, Optional<EntityPath<?>>> ENTITY_PATHS = new ConcurrentReferenceHashMap<>();
+	private static final Map<PropertyPathKey, PathBuilder<?>> PROPERTY_PATHS = new ConcurrentReferenceHashMap<>();
+	private static final Map<PredicateTemplateKey, PredicateTemplate> PREDICATE_TEMPLATES = new ConcurrentReferenceHashMap<>();
+
 	public <V> Predicate toPredicate( EntityQuery query, EntityConfiguration<?> entityConfiguration ) {
+		Optional<EntityPath<?>> entityPath = ENTITY_PATHS.computeIfAbsent( entityConfiguration.getEntityType(), EntityQueryQueryDslUtils::createEntityPath );
+
+		if ( entityPath.isPresent() ) {
+			return toPredicate( query, entityPath.get() );
+		}
+
+		return toPredicate( query, entityConfiguration.getEntityType(), entityConfiguration.getName() );
+	}
+
+	private Optional<EntityPath<?>> createEntityPath( Class<?> entityType ) {
 		try {
-			return toPredicate( query, entityConfiguration.getEntityType() );
+			return Optional.of( DEFAULT_ENTITY_PATH_RESOLVER.createPath( entityType ) );
 		}
 		catch ( Exception e ) {
-			/* ignore exception, try creating predicate using entity configuration */
+			/* no generated query type, predicates will be created using entity configuration */
+			return Optional.empty();
 		}
-
-		return toPredicate( query, entityConfiguration.getEntityType(), entityConfiguration.getName() );
 	}
 
 	public <V> Predicate toPredicate( EntityQuery query, Class<V> entityType ) {
@@ -62,102 +87,217 @@ public class EntityQueryQueryDslUtils
 	}
 
 	public <V> Predicate toPredicate( EntityQuery query, Class<V> entityType, String root ) {
-		PathBuilder<?> pathBuilder = new PathBuilder<>( entityType, root );
-		return buildQueryPredicate( query, pathBuilder );
+		StringBuilder shape = new StringBuilder();
+		List<Object> arguments = new ArrayList<>();
+
+		if ( appendShape( query, shape, arguments ) ) {
+			PredicateTemplate template = PREDICATE_TEMPLATES.computeIfAbsent(
+					new PredicateTemplateKey( entityType, root, shape.toString() ),
+					key -> compileQuery( query, new PathBuilder<>( entityType, root ) )
+			);
+			return template.bind( arguments.iterator() );
+		}
+
+		return buildQueryPredicate( query, new PathBuilder<>( entityType, root ) );
 	}
 
-	private Predicate buildPredicate( EntityQueryExpression expression, PathBuilder<?> pathBuilder ) {
+	/**
+	 * Append the shape of the expression and collect the argument values in the order the compiled
+	 * template will consume them.
+	 *
+	 * @return false if the expression can not be compiled into a template
+	 */
+	private boolean appendShape( EntityQueryExpression expression, StringBuilder shape, List<Object> arguments ) {
 		if ( expression instanceof EntityQueryCondition ) {
-			return buildConditionPredicate( (EntityQueryCondition) expression, pathBuilder );
+			EntityQueryCondition condition = (EntityQueryCondition) expression;
+			if ( condition.getFirstArgument() instanceof EntityQueryConditionQueryDslFunctionHandler ) {
+				return false;
+			}
+			switch ( condition.getOperand() ) {
+				case IS_NULL:
+				case IS_NOT_NULL:
+				case IS_EMPTY:
+				case IS_NOT_EMPTY:
+					break;
+				case EQ:
+				case NEQ:
+				case GT:
+				case GE:
+				case LT:
+				case LE:
+				case CONTAINS:
+				case NOT_CONTAINS:
+					arguments.add( condition.getFirstArgument() );
+					break;
+				case IN:
+				case NOT_IN:
+					arguments.add( Arrays.asList( condition.getArguments() ) );
+					break;
+				case LIKE:
+				case LIKE_IC:
+				case NOT_LIKE:
+				case NOT_LIKE_IC:
+					arguments.add( toEscapedString( condition.getFirstArgument() ) );
+					break;
+				default:
+					return false;
+			}
+			shape.append( condition.getProperty() ).append( ' ' ).append( condition.getOperand().name() ).append( ';' );
+			return true;
 		}
-		else {
-			return buildQueryPredicate( (EntityQuery) expression, pathBuilder );
+
+		EntityQuery query = (EntityQuery) expression;
+		shape.append( query.getOperand().name() ).append( '(' );
+		for ( EntityQueryExpression child : query.getExpressions() ) {
+			if ( !appendShape( child, shape, arguments ) ) {
+				return false;
+			}
 		}
+		shape.append( ')' );
+		return true;
 	}
 
-	private Predicate buildConditionPredicate( EntityQueryCondition condition, PathBuilder<?> pathBuilder ) {
-		if ( condition.getFirstArgument() instanceof EntityQueryConditionQueryDslFunctionHandler ) {
-			return ( (EntityQueryConditionQueryDslFunctionHandler) condition.getFirstArgument() ).apply( condition ).toPredicate( pathBuilder );
+	private PredicateTemplate compileQuery( EntityQuery query, PathBuilder<?> pathBuilder ) {
+		List<PredicateTemplate> templates = new ArrayList<>( query.getExpressions().size() );
+		for ( EntityQueryExpression expression : query.getExpressions() ) {
+			templates.add( expression instanceof EntityQueryCondition
+					               ? compileCondition( (EntityQueryCondition) expression, pathBuilder )
+					               : compileQuery( (EntityQuery) expression, pathBuilder ) );
 		}
-		switch ( condition.getOperand() ) {
-			case IS_NULL:
-				return resolveProperty( pathBuilder, condition.getProperty() ).isNull();
-			case IS_NOT_NULL:
-				return resolveProperty( pathBuilder, condition.getProperty() ).isNotNull();
-			case EQ: {
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.EQ, resolveProperty( pathBuilder, condition.getProperty() ), constant );
-			}
-			case NEQ: {
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.NE, resolveProperty( pathBuilder, condition.getProperty() ), constant );
-			}
-			case GT: {
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.GT, resolveProperty( pathBuilder, condition.getProperty() ), constant );
-			}
-			case GE: {
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.GOE, resolveProperty( pathBuilder, condition.getProperty() ), constant );
-			}
-			case LT: {
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.LT, resolveProperty( pathBuilder, condition.getProperty() ), constant );
+
+		boolean and = query.getOperand() == EntityQueryOps.AND;
+		return arguments -> {
+			BooleanBuilder builder = new BooleanBuilder();
+			for ( PredicateTemplate template : templates ) {
+				if ( and ) {
+					builder.and( template.bind( arguments ) );
+				}
+				else {
+					builder.or( template.bind( arguments ) );
+				}
 			}
-			case LE: {
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.LOE, resolveProperty( pathBuilder, condition.getProperty() ), constant );
+			return builder;
+		};
+	}
+
+	/**
+	 * Compile a condition into a template: paths are resolved once, only the argument value is bound
+	 * when creating the predicate. Predicates without arguments are immutable and created only once.
+	 */
+	private PredicateTemplate compileCondition( EntityQueryCondition condition, PathBuilder<?> pathBuilder ) {
+		switch ( condition.getOperand() ) {
+			case IS_NULL: {
+				Predicate predicate = resolvePath( pathBuilder, condition.getProperty() ).isNull();
+				return arguments -> predicate;
 			}
-			case CONTAINS: {
-				Path<?> property = pathBuilder.getCollection( condition.getProperty(), Object.class );
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.CONTAINS_VALUE, property, constant );
+			case IS_NOT_NULL: {
+				Predicate predicate = resolvePath( pathBuilder, condition.getProperty() ).isNotNull();
+				return arguments -> predicate;
 			}
+			case EQ:
+				return operation( Ops.EQ, resolvePath( pathBuilder, condition.getProperty() ) );
+			case NEQ:
+				return operation( Ops.NE, resolvePath( pathBuilder, condition.getProperty() ) );
+			case GT:
+				return operation( Ops.GT, resolvePath( pathBuilder, condition.getProperty() ) );
+			case GE:
+				return operation( Ops.GOE, resolvePath( pathBuilder, condition.getProperty() ) );
+			case LT:
+				return operation( Ops.LT, resolvePath( pathBuilder, condition.getProperty() ) );
+			case LE:
+				return operation( Ops.LOE, resolvePath( pathBuilder, condition.getProperty() ) );
+			case CONTAINS:
+				return operation( Ops.CONTAINS_VALUE, pathBuilder.getCollection( condition.getProperty(), Object.class ) );
 			case NOT_CONTAINS: {
-				Path<?> property = pathBuilder.getCollection( condition.getProperty(), Object.class );
-				Expression<Object> constant = Expressions.constant( condition.getFirstArgument() );
-				return Expressions.predicate( Ops.CONTAINS_VALUE, property, constant ).not();
+				PredicateTemplate contains = operation( Ops.CONTAINS_VALUE, pathBuilder.getCollection( condition.getProperty(), Object.class ) );
+				return arguments -> contains.bind( arguments ).not();
 			}
 			case IS_EMPTY: {
-				Path<?> property = pathBuilder.getCollection( condition.getProperty(), Object.class );
-				return Expressions.predicate( Ops.COL_IS_EMPTY, property );
+				Predicate predicate = Expressions.predicate( Ops.COL_IS_EMPTY, pathBuilder.getCollection( condition.getProperty(), Object.class ) );
+				return arguments -> predicate;
 			}
 			case IS_NOT_EMPTY: {
-				Path<?> property = pathBuilder.getCollection( condition.getProperty(), Object.class );
-				return Expressions.predicate( Ops.COL_IS_EMPTY, property ).not();
-			}
-			case IN: {
-				Expression<Object> constant = Expressions.constant( Arrays.asList( condition.getArguments() ) );
-				return Expressions.predicate( Ops.IN, resolveProperty( pathBuilder, condition.getProperty() ), constant );
-			}
-			case NOT_IN: {
-				Expression<Object> constant = Expressions.constant( Arrays.asList( condition.getArguments() ) );
-				return Expressions.predicate( Ops.NOT_IN, resolveProperty( pathBuilder, condition.getProperty() ), constant );
-			}
-			case LIKE: {
-				Expression<Object> constant = Expressions.constant( toEscapedString( condition.getFirstArgument() ) );
-				return Expressions.predicate( Ops.LIKE_ESCAPE, resolveProperty( pathBuilder, condition.getProperty() ), constant, Expressions.constant( ';' ) );
-			}
-			case LIKE_IC: {
-				Expression<Object> constant = Expressions.constant( toEscapedString( condition.getFirstArgument() ) );
-				return Expressions.predicate( Ops.LIKE_ESCAPE_IC, resolveProperty( pathBuilder, condition.getProperty() ), constant,
-				                              Expressions.constant( ';' ) );
-			}
-			case NOT_LIKE: {
-				Expression<Object> constant = Expressions.constant( toEscapedString( condition.getFirstArgument() ) );
-				return Expressions.predicate( Ops.LIKE_ESCAPE, resolveProperty( pathBuilder, condition.getProperty() ), constant, Expressions.constant( ';' ) )
-				                  .not();
-			}
-			case NOT_LIKE_IC: {
-				Expression<Object> constant = Expressions.constant( toEscapedString( condition.getFirstArgument() ) );
-				return Expressions.predicate( Ops.LIKE_ESCAPE_IC, resolveProperty( pathBuilder, condition.getProperty() ), constant,
-				                              Expressions.constant( ';' ) ).not();
+				Predicate predicate = Expressions.predicate( Ops.COL_IS_EMPTY, pathBuilder.getCollection( condition.getProperty(), Object.class ) )
+				                                 .not();
+				return arguments -> predicate;
 			}
+			case IN:
+				return operation( Ops.IN, resolvePath( pathBuilder, condition.getProperty() ) );
+			case NOT_IN:
+				return operation( Ops.NOT_IN, resolvePath( pathBuilder, condition.getProperty() ) );
+			case LIKE:
+				return likeOperation( Ops.LIKE_ESCAPE, resolvePath( pathBuilder, condition.getProperty() ), false );
+			case LIKE_IC:
+				return likeOperation( Ops.LIKE_ESCAPE_IC, resolvePath( pathBuilder, condition.getProperty() ), false );
+			case NOT_LIKE:
+				return likeOperation( Ops.LIKE_ESCAPE, resolvePath( pathBuilder, condition.getProperty() ), true );
+			case NOT_LIKE_IC:
+				return likeOperation( Ops.LIKE_ESCAPE_IC, resolvePath( pathBuilder, condition.getProperty() ), true );
 		}
 
 		throw new IllegalArgumentException( "Unsupported operand for QueryDsl query: " + condition.getOperand() );
 	}
 
+	private PredicateTemplate operation( Operator operator, Path<?> property ) {
+		return arguments -> Expressions.predicate( operator, property, Expressions.constant( arguments.next() ) );
+	}
+
+	private PredicateTemplate likeOperation( Operator operator, Path<?> property, boolean negate ) {
+		Expression<Character> escape = Expressions.constant( ';' );
+		return arguments -> {
+			BooleanOperation like = Expressions.predicate( operator, property, Expressions.constant( arguments.next() ), escape );
+			return negate ? like.not() : like;
+		};
+	}
+
+	private Predicate buildPredicate( EntityQueryExpression expression, PathBuilder<?> pathBuilder ) {
+		if ( expression instanceof EntityQueryCondition ) {
+			return buildConditionPredicate( (EntityQueryCondition) expression, pathBuilder );
+		}
+		else {
+			return buildQueryPredicate( (EntityQuery) expression, pathBuilder );
+		}
+	}
+
+	private Predicate buildConditionPredicate( EntityQueryCondition condition, PathBuilder<?> pathBuilder ) {
+		if ( condition.getFirstArgument() instanceof EntityQueryConditionQueryDslFunctionHandler ) {
+			return ( (EntityQueryConditionQueryDslFunctionHandler) condition.getFirstArgument() ).apply( condition ).toPredicate( pathBuilder );
+		}
+		switch ( condition.getOperand() ) {
+			case MATCHES:
+				return buildFullTextPredicate( resolvePath( pathBuilder, condition.getProperty() ), condition.getFirstArgument() );
+			case NOT_MATCHES:
+				return buildFullTextPredicate( resolvePath( pathBuilder, condition.getProperty() ), condition.getFirstArgument() ).not();
+			default: {
+				List<Object> arguments = new ArrayList<>( 1 );
+				appendShape( condition, new StringBuilder(), arguments );
+				return compileCondition( condition, pathBuilder ).bind( arguments.iterator() );
+			}
+		}
+	}
+
+	/**
+	 * Portable full-text predicate: every word of the text should be contained in the property value, ignoring case.
+	 * Accents are kept as they can not be stripped from the property value.
+	 */
+	private BooleanBuilder buildFullTextPredicate( Path<?> property, Object text ) {
+		BooleanBuilder builder = new BooleanBuilder();
+		EntityQueryUtils.tokenizeFullText( text != null ? text.toString() : null, false )
+		                .forEach( word -> builder.and( Expressions.predicate( Ops.STRING_CONTAINS_IC, property, Expressions.constant( word ) ) ) );
+		return builder;
+	}
+
+	/**
+	 * Resolve the path for a property of the root path, returns a cached instance if the
+	 * same property has been resolved before for an identical root.
+	 */
+	PathBuilder<?> resolvePath( PathBuilder<?> root, String propertyName ) {
+		return PROPERTY_PATHS.computeIfAbsent(
+				new PropertyPathKey( root.getType(), root.getMetadata().getName(), propertyName ),
+				key -> resolveProperty( new PathBuilder<>( key.getRootType(), key.getRootName() ), key.getPropertyName() )
+		);
+	}
+
 	public static PathBuilder<?> resolveProperty( PathBuilder<?> path, String propertyName ) {
 		int ix = propertyName.indexOf( "." );
 		if ( ix >= 0 ) {
@@ -194,4 +334,29 @@ public class EntityQueryQueryDslUtils
 
 		return builder;
 	}
+
+	/**
+	 * Compiled predicate for a query shape, binds the next argument values for every condition.
+	 */
+	@FunctionalInterface
+	private interface PredicateTemplate
+	{
+		Predicate bind( Iterator<Object> arguments );
+	}
+
+	@Value
+	private static class PredicateTemplateKey
+	{
+		private final Class<?> rootType;
+		private final String rootName;
+		private final String shape;
+	}
+
+	@Value
+	private static class PropertyPathKey
+	{
+		private final Class<?> rootType;
+		private final String rootName;
+		private final String propertyName;
+	}
 }
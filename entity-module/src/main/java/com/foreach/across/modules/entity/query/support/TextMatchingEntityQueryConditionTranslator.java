@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.support;
+
+import com.foreach.across.modules.entity.query.EntityQuery;
+import com.foreach.across.modules.entity.query.EntityQueryCondition;
+import com.foreach.across.modules.entity.query.EntityQueryConditionTranslator;
+import com.foreach.across.modules.entity.query.EntityQueryExpression;
+import com.foreach.across.modules.entity.query.EntityQueryOps;
+import org.apache.commons.lang3.StringUtils;
+
+import static com.foreach.across.modules.entity.query.EntityQueryOps.*;
+
+/**
+ * Implementation of {@link EntityQueryConditionTranslator} that rewrites text conditions so the datastore can use an index.
+ * By default {@code ilike} conditions are executed by applying {@code lower()} to the column, and a leading-text pattern
+ * ({@code name like 'abc%'}) is not handled differently from a contains pattern. Both usually result in a full table scan.
+ * <p/>
+ * Depending on how the column is stored, a case-insensitive condition can be translated instead:
+ * <ul>
+ * <li>{@link #caseInsensitiveCollation()}: the column already compares case-insensitively (eg. a case-insensitive collation on MySQL
+ * or SQL Server, {@code citext} on PostgreSQL, {@code VARCHAR_IGNORECASE} on H2), {@code ilike} is translated to a regular {@code like}</li>
+ * <li>{@link #lowerCasedProperty(String)}: a separate (indexed) property holds the lower-cased value,
+ * {@code ilike} is translated to a {@code like} on that property with a lower-cased argument</li>
+ * </ul>
+ * Optionally ({@link #withPrefixRanges()}) a {@code like} with a leading-text pattern is translated to a range condition:
+ * {@code name like 'abc%'} becomes {@code name >= 'abc' and name < 'abd'}. The upper bound is calculated by incrementing
+ * the last character of the prefix, so the range assumes the column uses a binary collation (values ordered by character code).
+ * With a linguistic collation - for example accent-insensitive or locale specific ordering - values starting with the prefix
+ * can be ordered outside of the range, and the translated condition would not return the same results as the {@code like}.
+ *
+ * @author Arne Vandamme
+ * @see com.foreach.across.modules.entity.EntityAttributes#TEXT_CONDITION_TRANSLATOR
+ * @since 4.3.0
+ */
+public final class TextMatchingEntityQueryConditionTranslator implements EntityQueryConditionTranslator
+{
+	private final boolean caseInsensitiveCollation;
+	private final String lowerCasedProperty;
+	private final boolean prefixRanges;
+
+	private TextMatchingEntityQueryConditionTranslator( boolean caseInsensitiveCollation, String lowerCasedProperty, boolean prefixRanges ) {
+		this.caseInsensitiveCollation = caseInsensitiveCollation;
+		this.lowerCasedProperty = lowerCasedProperty;
+		this.prefixRanges = prefixRanges;
+	}
+
+	@Override
+	public EntityQueryExpression translate( EntityQueryCondition condition ) {
+		if ( !( condition.hasArguments() && condition.getArguments().length == 1 && condition.getFirstArgument() instanceof String ) ) {
+			return condition;
+		}
+
+		EntityQueryOps operand = condition.getOperand();
+		String property = condition.getProperty();
+		String argument = (String) condition.getFirstArgument();
+
+		if ( operand == LIKE_IC || operand == NOT_LIKE_IC ) {
+			if ( lowerCasedProperty != null ) {
+				property = lowerCasedProperty;
+				argument = StringUtils.lowerCase( argument );
+			}
+			else if ( !caseInsensitiveCollation ) {
+				return condition;
+			}
+			operand = operand == LIKE_IC ? LIKE : NOT_LIKE;
+		}
+
+		if ( prefixRanges && ( operand == LIKE || operand == NOT_LIKE ) ) {
+			EntityQuery range = createPrefixRange( property, operand, argument );
+			if ( range != null ) {
+				return range;
+			}
+		}
+
+		if ( operand == condition.getOperand() ) {
+			return condition;
+		}
+
+		return new EntityQueryCondition( property, operand, argument );
+	}
+
+	private EntityQuery createPrefixRange( String property, EntityQueryOps operand, String pattern ) {
+		String prefix = resolvePrefix( pattern );
+		String upperBound = prefix != null ? resolveUpperBound( prefix ) : null;
+
+		if ( upperBound == null ) {
+			return null;
+		}
+
+		if ( operand == LIKE ) {
+			return EntityQuery.and( new EntityQueryCondition( property, GE, prefix ), new EntityQueryCondition( property, LT, upperBound ) );
+		}
+
+		return EntityQuery.or( new EntityQueryCondition( property, LT, prefix ), new EntityQueryCondition( property, GE, upperBound ) );
+	}
+
+	/**
+	 * @return the literal prefix if the pattern only has a single trailing wildcard, {@code null} otherwise
+	 */
+	private String resolvePrefix( String pattern ) {
+		StringBuilder prefix = new StringBuilder( pattern.length() );
+		boolean escaped = false;
+
+		for ( int i = 0; i < pattern.length(); i++ ) {
+			char c = pattern.charAt( i );
+			if ( escaped ) {
+				prefix.append( c );
+				escaped = false;
+			}
+			else if ( c == '\\' ) {
+				escaped = true;
+			}
+			else if ( c == '%' ) {
+				return i == pattern.length() - 1 && prefix.length() > 0 ? prefix.toString() : null;
+			}
+			else {
+				prefix.append( c );
+			}
+		}
+
+		return null;
+	}
+
+	private String resolveUpperBound( String prefix ) {
+		char last = prefix.charAt( prefix.length() - 1 );
+		if ( last == Character.MAX_VALUE || Character.isSurrogate( last ) ) {
+			return null;
+		}
+		return prefix.substring( 0, prefix.length() - 1 ) + (char) ( last + 1 );
+	}
+
+	/**
+	 * Create a new translator that also translates {@code like} conditions with a leading-text pattern into a range condition.
+	 *
+	 * @return new translator instance
+	 */
+	public TextMatchingEntityQueryConditionTranslator withPrefixRanges() {
+		return new TextMatchingEntityQueryConditionTranslator( caseInsensitiveCollation, lowerCasedProperty, true );
+	}
+
+	/**
+	 * Create a translator for a column that compares case-insensitively by itself.
+	 *
+	 * @return condition translator
+	 */
+	public static TextMatchingEntityQueryConditionTranslator caseInsensitiveCollation() {
+		return new TextMatchingEntityQueryConditionTranslator( true, null, false );
+	}
+
+	/**
+	 * Create a translator that executes case-insensitive conditions on a property holding the lower-cased value.
+	 * The property should be mapped in the datastore (eg. a JPA attribute) but does not need to be visible.
+	 *
+	 * @param propertyName property holding the lower-cased value
+	 * @return condition translator
+	 */
+	public static TextMatchingEntityQueryConditionTranslator lowerCasedProperty( String propertyName ) {
+		return new TextMatchingEntityQueryConditionTranslator( false, propertyName, false );
+	}
+
+	/**
+	 * Create a translator that only translates {@code like} conditions with a leading-text pattern into a range condition.
+	 *
+	 * @return condition translator
+	 */
+	public static TextMatchingEntityQueryConditionTranslator prefixRanges() {
+		return new TextMatchingEntityQueryConditionTranslator( false, null, true );
+	}
+}
@@ -23,12 +23,16 @@ import com.foreach.across.core.context.registry.AcrossContextBeanRegistry;
 import com.foreach.across.core.events.AcrossContextBootstrappedEvent;
 import com.foreach.across.core.events.AcrossModuleBootstrappedEvent;
 import com.foreach.across.modules.entity.config.EntityConfigurer;
+import com.foreach.across.modules.entity.config.EntityStartupSteps;
 import com.foreach.across.modules.entity.config.builders.EntityRegistryConfigurer;
 import com.foreach.across.modules.entity.registry.MutableEntityRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 import java.util.Collection;
 
@@ -102,9 +106,18 @@ public class ModuleEntityRegistration
 
 	private void applyModule( AcrossModuleInfo moduleInfo ) {
 		AcrossContextBeanRegistry beanRegistry = AcrossContextUtils.getBeanRegistry( moduleInfo );
+		ApplicationStartup applicationStartup = EntityStartupSteps.applicationStartup( beanFactory );
 
 		for ( EntityRegistrar registrar : registrars ) {
-			registrar.registerEntities( entityRegistry, moduleInfo, beanRegistry );
+			StartupStep step = applicationStartup.start( EntityStartupSteps.REGISTRAR )
+			                                     .tag( "registrar", ClassUtils.getUserClass( registrar ).getName() )
+			                                     .tag( "module", moduleInfo.getName() );
+			try {
+				registrar.registerEntities( entityRegistry, moduleInfo, beanRegistry );
+			}
+			finally {
+				step.end();
+			}
 		}
 	}
 }
@@ -16,6 +16,7 @@
 package com.foreach.across.modules.entity.registrars.repository;
 
 import com.foreach.across.modules.entity.registry.MutableEntityConfiguration;
+import com.foreach.across.modules.entity.registry.properties.DefaultEntityPropertyRegistryProvider;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyComparators;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistryProvider;
 import com.foreach.across.modules.entity.registry.properties.MutableEntityPropertyRegistry;
@@ -24,6 +25,7 @@ import org.springframework.stereotype.Component;
 
 import javax.validation.ValidatorFactory;
 import javax.validation.metadata.BeanDescriptor;
+import java.util.Collection;
 
 /**
  * <p>Creates a {@link com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry} for a
@@ -38,6 +40,16 @@ class RepositoryEntityPropertyRegistryBuilder
 	private final ValidatorFactory validatorFactory;
 	private final EntityPropertyRegistryProvider entityPropertyRegistryProvider;
 
+	/**
+	 * Create the property registries for a number of entity types in advance, using a bounded number of threads.
+	 * Only supported if the {@link EntityPropertyRegistryProvider} is a {@link DefaultEntityPropertyRegistryProvider}.
+	 */
+	public void prepareEntityPropertyRegistries( Collection<Class<?>> entityTypes, int parallelism ) {
+		if ( entityPropertyRegistryProvider instanceof DefaultEntityPropertyRegistryProvider ) {
+			( (DefaultEntityPropertyRegistryProvider) entityPropertyRegistryProvider ).createAll( entityTypes, parallelism );
+		}
+	}
+
 	public <T> void buildEntityPropertyRegistry( MutableEntityConfiguration<T> entityConfiguration ) {
 		Class<? extends T> entityType = entityConfiguration.getEntityType();
 
@@ -25,6 +25,7 @@ import com.foreach.across.modules.entity.EntityAttributes;
 import com.foreach.across.modules.entity.EntityModule;
 import com.foreach.across.modules.entity.annotations.EntityValidator;
 import com.foreach.across.modules.entity.config.EntityMessageCodeProperties;
+import com.foreach.across.modules.entity.config.EntityRegistrationProperties;
 import com.foreach.across.modules.entity.query.EntityQueryExecutor;
 import com.foreach.across.modules.entity.registrars.EntityRegistrar;
 import com.foreach.across.modules.entity.registry.*;
@@ -78,6 +79,7 @@ public class RepositoryEntityRegistrar implements EntityRegistrar, BeanClassLoad
 	private SmartValidator entityValidator;
 	private PlatformTransactionManagerResolver transactionManagerResolver;
 	private EntityMessageCodeProperties entityMessageCodeProperties;
+	private EntityRegistrationProperties registrationProperties;
 	private ConversionService mvcConversionService;
 	private ClassLoader classLoader;
 	private boolean acrossDevelopmentModeIsActive;
@@ -106,6 +108,12 @@ public class RepositoryEntityRegistrar implements EntityRegistrar, BeanClassLoad
 
 		List<MutableEntityConfiguration> registered = new ArrayList<>( repositoryFactoryInformationMap.size() );
 
+		if ( registrationProperties != null && registrationProperties.getParallelism() > 1 ) {
+			propertyRegistryBuilder.prepareEntityPropertyRegistries(
+					collectEntityTypes( lbf, entityRegistry, repositoryFactoryInformationMap ), registrationProperties.getParallelism()
+			);
+		}
+
 		for ( Map.Entry<String, RepositoryFactoryInformation> informationBean : repositoryFactoryInformationMap.entrySet() ) {
 			if ( isExposedBean( lbf, informationBean.getKey() ) ) {
 				continue;
@@ -146,6 +154,23 @@ public class RepositoryEntityRegistrar implements EntityRegistrar, BeanClassLoad
 		LOG.debug( "Registered {} entities from module {}", registered.size(), moduleInfo.getName() );
 	}
 
+	private List<Class<?>> collectEntityTypes( AcrossListableBeanFactory lbf,
+	                                           MutableEntityRegistry entityRegistry,
+	                                           Map<String, RepositoryFactoryInformation> repositoryFactoryInformationMap ) {
+		List<Class<?>> entityTypes = new ArrayList<>( repositoryFactoryInformationMap.size() );
+
+		repositoryFactoryInformationMap.forEach( ( beanName, repositoryFactoryInformation ) -> {
+			if ( !isExposedBean( lbf, beanName ) && repositoryFactoryInformation.getPersistentEntity() != null ) {
+				Class<?> entityType = ClassUtils.getUserClass( repositoryFactoryInformation.getRepositoryInformation().getDomainType() );
+				if ( !entityRegistry.contains( entityType ) ) {
+					entityTypes.add( entityType );
+				}
+			}
+		} );
+
+		return entityTypes;
+	}
+
 	private boolean isExposedBean( AcrossListableBeanFactory lbf, String beanName ) {
 		// todo: workaround for AX-252: exposed factory beans incorrectly identified as not exposed
 		if ( lbf.isExposedBean( beanName ) ) {
@@ -321,6 +346,11 @@ public class RepositoryEntityRegistrar implements EntityRegistrar, BeanClassLoad
 		this.entityMessageCodeProperties = entityMessageCodeProperties;
 	}
 
+	@Autowired(required = false)
+	public void setRegistrationProperties( EntityRegistrationProperties registrationProperties ) {
+		this.registrationProperties = registrationProperties;
+	}
+
 	@Autowired
 	public void setMvcConversionService( ConversionService mvcConversionService ) {
 		this.mvcConversionService = mvcConversionService;
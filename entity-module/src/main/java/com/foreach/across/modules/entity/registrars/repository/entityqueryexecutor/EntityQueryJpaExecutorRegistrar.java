@@ -16,22 +16,38 @@
 
 package com.foreach.across.modules.entity.registrars.repository.entityqueryexecutor;
 
+import com.foreach.across.core.context.info.AcrossModuleInfo;
 import com.foreach.across.modules.entity.query.EntityQueryExecutor;
 import com.foreach.across.modules.entity.query.jpa.EntityQueryJpaExecutor;
+import com.foreach.across.modules.entity.query.jpa.PostgreSqlJpaFullTextDialect;
 import com.foreach.across.modules.entity.registrars.repository.EntityQueryExecutorRegistrar;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.MutableEntityConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.core.annotation.Order;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.Repository;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+
+@Slf4j
 @Order(1_000_000)
 @Component
 @ConditionalOnClass(JpaSpecificationExecutor.class)
 public class EntityQueryJpaExecutorRegistrar implements EntityQueryExecutorRegistrar
 {
+	private static final boolean HIBERNATE_PRESENT = ClassUtils.isPresent(
+			"org.hibernate.engine.spi.SessionFactoryImplementor", EntityQueryJpaExecutorRegistrar.class.getClassLoader()
+	);
+
 	@Override
 	public boolean supports( EntityConfiguration entityConfiguration, Repository repository ) {
 		return repository instanceof JpaSpecificationExecutor;
@@ -40,6 +56,69 @@ public class EntityQueryJpaExecutorRegistrar implements EntityQueryExecutorRegis
 	@Override
 	@SuppressWarnings("unchecked")
 	public EntityQueryExecutor resolveEntityQueryExecutor( MutableEntityConfiguration entityConfiguration, Repository repository ) {
+		EntityManagerFactory entityManagerFactory = resolveEntityManagerFactory( entityConfiguration );
+
+		if ( entityManagerFactory != null ) {
+			EntityQueryJpaExecutor executor = new EntityQueryJpaExecutor( (JpaSpecificationExecutor) repository,
+			                                                              SharedEntityManagerCreator.createSharedEntityManager( entityManagerFactory ),
+			                                                              entityConfiguration.getEntityType() );
+			if ( HIBERNATE_PRESENT && HibernateDialectSupport.supportsPostgreSqlFullText( entityManagerFactory ) ) {
+				executor.setFullTextDialect( new PostgreSqlJpaFullTextDialect() );
+			}
+			return executor;
+		}
+
 		return new EntityQueryJpaExecutor( (JpaSpecificationExecutor) repository );
 	}
+
+	private EntityManagerFactory resolveEntityManagerFactory( EntityConfiguration entityConfiguration ) {
+		AcrossModuleInfo moduleInfo = entityConfiguration.getAttribute( AcrossModuleInfo.class );
+
+		if ( moduleInfo == null || moduleInfo.getApplicationContext() == null ) {
+			return null;
+		}
+
+		return BeanFactoryUtils.beansOfTypeIncludingAncestors( moduleInfo.getApplicationContext(), EntityManagerFactory.class )
+		                       .values()
+		                       .stream()
+		                       .filter( emf -> emf.getMetamodel()
+		                                          .getEntities()
+		                                          .stream()
+		                                          .anyMatch( entityType -> entityConfiguration.getEntityType().equals( entityType.getJavaType() ) ) )
+		                       .findFirst()
+		                       .orElse( null );
+	}
+
+	/**
+	 * Isolates the Hibernate specific code, only loaded if Hibernate is present.
+	 */
+	private static class HibernateDialectSupport
+	{
+		/**
+		 * Checks the dialect Hibernate has actually resolved for the session factory,
+		 * and if the full-text match function has been registered.
+		 */
+		static boolean supportsPostgreSqlFullText( EntityManagerFactory entityManagerFactory ) {
+			SessionFactoryImplementor sessionFactory;
+
+			try {
+				sessionFactory = entityManagerFactory.unwrap( SessionFactoryImplementor.class );
+			}
+			catch ( PersistenceException pe ) {
+				return false;
+			}
+
+			if ( !( sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect ) ) {
+				return false;
+			}
+
+			if ( sessionFactory.getSqlFunctionRegistry().findSQLFunction( PostgreSqlJpaFullTextDialect.MATCH_FUNCTION ) == null ) {
+				LOG.warn( "PostgreSQL dialect detected but function {} is not registered, falling back to the portable full-text dialect",
+				          PostgreSqlJpaFullTextDialect.MATCH_FUNCTION );
+				return false;
+			}
+
+			return true;
+		}
+	}
 }
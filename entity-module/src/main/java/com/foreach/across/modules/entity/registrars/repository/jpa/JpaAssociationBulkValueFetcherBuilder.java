@@ -0,0 +1,308 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.registrars.repository.jpa;
+
+import com.foreach.across.core.context.info.AcrossModuleInfo;
+import com.foreach.across.modules.entity.EntityAttributes;
+import com.foreach.across.modules.entity.registrars.repository.associations.EntityAssociationBuilder;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.registry.MutableEntityConfiguration;
+import com.foreach.across.modules.entity.registry.MutableEntityRegistry;
+import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
+import com.foreach.across.modules.entity.registry.properties.MutableEntityPropertyDescriptor;
+import com.foreach.across.modules.entity.registry.properties.MutableEntityPropertyRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.data.mapping.PersistentEntity;
+import org.springframework.data.mapping.PersistentProperty;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.*;
+import javax.persistence.metamodel.EntityType;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Registers default bulk value fetchers for JPA association properties, avoiding a separate query per entity
+ * when an association property is rendered for a list of entities (for example in a table).
+ * <ul>
+ * <li>{@link ManyToOne} and {@link OneToOne} properties load all target entities with a single IN query on their id</li>
+ * <li>for {@link OneToMany} and {@link ManyToMany} properties, a hidden, read-only {@code <property>Count} property is registered
+ * which fetches the number of associated items with a single GROUP BY query</li>
+ * </ul>
+ * A bulk fetcher can be replaced for a single property by configuring a custom bulk value fetcher on its controller.
+ * Bulk fetching for all associations of an entity can be disabled by setting the
+ * {@link EntityAttributes#ASSOCIATION_BULK_VALUE_FETCHING} attribute to {@code false} on its {@link EntityConfiguration}.
+ * Entities for which the association has already been loaded use the loaded value instead.
+ * Associations on embedded objects are not supported.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@ConditionalOnClass(SharedEntityManagerCreator.class)
+@Component
+public class JpaAssociationBulkValueFetcherBuilder implements EntityAssociationBuilder
+{
+	/**
+	 * Suffix of the property name that is registered for the number of items of a to-many association.
+	 */
+	public static final String COUNT_PROPERTY_SUFFIX = "Count";
+
+	private static final Logger LOG = LoggerFactory.getLogger( JpaAssociationBulkValueFetcherBuilder.class );
+
+	private static final int MAX_IN_CLAUSE_SIZE = 500;
+
+	@Override
+	public boolean supports( PersistentProperty<?> sourceProperty ) {
+		return sourceProperty.isAnnotationPresent( ManyToOne.class )
+				|| sourceProperty.isAnnotationPresent( OneToOne.class )
+				|| sourceProperty.isAnnotationPresent( OneToMany.class )
+				|| sourceProperty.isAnnotationPresent( ManyToMany.class );
+	}
+
+	@Override
+	public void buildAssociation( MutableEntityRegistry entityRegistry,
+	                              MutableEntityConfiguration entityConfiguration,
+	                              PersistentProperty property,
+	                              String propertyPrefix ) {
+		if ( !propertyPrefix.isEmpty() ) {
+			return;
+		}
+
+		MutableEntityPropertyRegistry propertyRegistry = entityConfiguration.getPropertyRegistry();
+		MutableEntityPropertyDescriptor descriptor = propertyRegistry.getProperty( property.getName() );
+		PersistentEntity<?, ?> persistentEntity = entityConfiguration.getAttribute( PersistentEntity.class );
+		EntityManagerFactory entityManagerFactory = resolveEntityManagerFactory( entityConfiguration, property.getActualType() );
+
+		if ( descriptor == null || persistentEntity == null || entityManagerFactory == null ) {
+			LOG.trace( "Not registering bulk value fetcher for association property {} of entity {}", property.getName(), entityConfiguration.getName() );
+			return;
+		}
+
+		AssociationValueFetcher fetcher = new AssociationValueFetcher( entityConfiguration, persistentEntity, property, entityManagerFactory );
+
+		if ( property.isCollectionLike() || property.isMap() ) {
+			String countPropertyName = property.getName() + COUNT_PROPERTY_SUFFIX;
+
+			if ( !propertyRegistry.contains( countPropertyName ) && fetcher.hasSingleIdAttribute( entityConfiguration.getEntityType() ) ) {
+				propertyRegistry.register(
+						EntityPropertyDescriptor.builder( countPropertyName )
+						                        .propertyType( Long.class )
+						                        .hidden( true )
+						                        .readable( true )
+						                        .writable( false )
+						                        .controller( ctl -> ctl.withTarget( Object.class, Long.class )
+						                                               .valueFetcher( fetcher::countItems )
+						                                               .bulkValueFetcher( fetcher::countAllItems ) )
+						                        .build()
+				);
+			}
+		}
+		else if ( fetcher.hasSingleIdAttribute( property.getActualType() ) ) {
+			EntityPropertyDescriptor.builder( property.getName() )
+			                        .controller( ctl -> ctl.withTarget( Object.class, Object.class )
+			                                               .bulkValueFetcher( fetcher::fetchTargets ) )
+			                        .apply( descriptor );
+		}
+	}
+
+	private EntityManagerFactory resolveEntityManagerFactory( EntityConfiguration entityConfiguration, Class<?> targetType ) {
+		AcrossModuleInfo moduleInfo = entityConfiguration.getAttribute( AcrossModuleInfo.class );
+
+		if ( moduleInfo == null || moduleInfo.getApplicationContext() == null ) {
+			return null;
+		}
+
+		return BeanFactoryUtils.beansOfTypeIncludingAncestors( moduleInfo.getApplicationContext(), EntityManagerFactory.class )
+		                       .values()
+		                       .stream()
+		                       .filter( emf -> isManagedEntity( emf, entityConfiguration.getEntityType() ) && isManagedEntity( emf, targetType ) )
+		                       .findFirst()
+		                       .orElse( null );
+	}
+
+	private static boolean isManagedEntity( EntityManagerFactory entityManagerFactory, Class<?> type ) {
+		return entityManagerFactory.getMetamodel()
+		                           .getEntities()
+		                           .stream()
+		                           .anyMatch( entityType -> type.equals( entityType.getJavaType() ) );
+	}
+
+	/**
+	 * Performs the actual (bulk) fetching of association values for a single property.
+	 */
+	private static class AssociationValueFetcher
+	{
+		private final EntityConfiguration entityConfiguration;
+		private final PersistentEntity<?, ?> persistentEntity;
+		private final PersistentProperty<?> property;
+		private final EntityManagerFactory entityManagerFactory;
+		private final EntityManager entityManager;
+
+		AssociationValueFetcher( EntityConfiguration entityConfiguration,
+		                         PersistentEntity<?, ?> persistentEntity,
+		                         PersistentProperty<?> property,
+		                         EntityManagerFactory entityManagerFactory ) {
+			this.entityConfiguration = entityConfiguration;
+			this.persistentEntity = persistentEntity;
+			this.property = property;
+			this.entityManagerFactory = entityManagerFactory;
+			this.entityManager = SharedEntityManagerCreator.createSharedEntityManager( entityManagerFactory );
+		}
+
+		boolean hasSingleIdAttribute( Class<?> entityType ) {
+			return entityManagerFactory.getMetamodel().entity( entityType ).hasSingleIdAttribute();
+		}
+
+		Map<Object, Object> fetchTargets( Collection<Object> entities ) {
+			Map<Object, Object> values = new IdentityHashMap<>( entities.size() );
+
+			if ( !isBulkFetchingEnabled() ) {
+				entities.forEach( entity -> values.put( entity, propertyValue( entity ) ) );
+				return values;
+			}
+
+			PersistenceUnitUtil persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+			Map<Object, Object> targetIdByEntity = new IdentityHashMap<>( entities.size() );
+
+			entities.forEach( entity -> {
+				Object target = propertyValue( entity );
+
+				if ( target == null || persistenceUnitUtil.isLoaded( entity, property.getName() ) ) {
+					values.put( entity, target );
+					return;
+				}
+
+				Object targetId = persistenceUnitUtil.getIdentifier( target );
+
+				if ( targetId != null ) {
+					targetIdByEntity.put( entity, targetId );
+				}
+				else {
+					values.put( entity, target );
+				}
+			} );
+
+			if ( !targetIdByEntity.isEmpty() ) {
+				EntityType<?> targetType = entityManagerFactory.getMetamodel().entity( property.getActualType() );
+				Map<Object, Object> targetsById = new HashMap<>();
+
+				inBatches( new LinkedHashSet<>( targetIdByEntity.values() ), ids -> {
+					String query = "select t from " + targetType.getName() + " t where t." + idAttributeName( targetType ) + " in :ids";
+					entityManager.createQuery( query )
+							.setParameter( "ids", ids )
+							.getResultList()
+							.forEach( target -> targetsById.put( persistenceUnitUtil.getIdentifier( target ), target ) );
+				} );
+
+				targetIdByEntity.forEach(
+						( entity, targetId ) -> values.put( entity, targetsById.containsKey( targetId ) ? targetsById.get( targetId ) : propertyValue( entity ) )
+				);
+			}
+
+			return values;
+		}
+
+		Long countItems( Object entity ) {
+			Object value = propertyValue( entity );
+
+			if ( value instanceof Collection ) {
+				return (long) ( (Collection) value ).size();
+			}
+			if ( value instanceof Map ) {
+				return (long) ( (Map) value ).size();
+			}
+
+			return 0L;
+		}
+
+		Map<Object, Long> countAllItems( Collection<Object> entities ) {
+			Map<Object, Long> values = new IdentityHashMap<>( entities.size() );
+
+			if ( !isBulkFetchingEnabled() ) {
+				entities.forEach( entity -> values.put( entity, countItems( entity ) ) );
+				return values;
+			}
+
+			PersistenceUnitUtil persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+			Map<Object, Object> idByEntity = new IdentityHashMap<>( entities.size() );
+
+			entities.forEach( entity -> {
+				Object id = persistenceUnitUtil.isLoaded( entity, property.getName() ) ? null : persistenceUnitUtil.getIdentifier( entity );
+
+				if ( id != null ) {
+					idByEntity.put( entity, id );
+				}
+				else {
+					values.put( entity, countItems( entity ) );
+				}
+			} );
+
+			if ( !idByEntity.isEmpty() ) {
+				EntityType<?> entityType = entityManagerFactory.getMetamodel().entity( entityConfiguration.getEntityType() );
+				String idAttributeName = idAttributeName( entityType );
+				Map<Object, Long> countsById = new HashMap<>();
+
+				inBatches( new LinkedHashSet<>( idByEntity.values() ), ids -> {
+					String query = "select e." + idAttributeName + ", count(t) from " + entityType.getName() + " e join e." + property.getName() + " t"
+							+ " where e." + idAttributeName + " in :ids group by e." + idAttributeName;
+					entityManager.createQuery( query, Object[].class )
+							.setParameter( "ids", ids )
+							.getResultList()
+							.forEach( row -> countsById.put( row[0], ( (Number) row[1] ).longValue() ) );
+				} );
+
+				idByEntity.forEach( ( entity, id ) -> values.put( entity, countsById.getOrDefault( id, 0L ) ) );
+			}
+
+			return values;
+		}
+
+		private boolean isBulkFetchingEnabled() {
+			return !Boolean.FALSE.equals( entityConfiguration.getAttribute( EntityAttributes.ASSOCIATION_BULK_VALUE_FETCHING, Boolean.class ) );
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object propertyValue( Object entity ) {
+			return ( (PersistentEntity) persistentEntity ).getPropertyAccessor( entity ).getProperty( property );
+		}
+
+		private static String idAttributeName( EntityType<?> entityType ) {
+			return entityType.getId( entityType.getIdType().getJavaType() ).getName();
+		}
+
+		private static void inBatches( Collection<Object> ids, Consumer<List<Object>> consumer ) {
+			List<Object> batch = new ArrayList<>( Math.min( ids.size(), MAX_IN_CLAUSE_SIZE ) );
+
+			for ( Object id : ids ) {
+				batch.add( id );
+
+				if ( batch.size() == MAX_IN_CLAUSE_SIZE ) {
+					consumer.accept( batch );
+					batch = new ArrayList<>( MAX_IN_CLAUSE_SIZE );
+				}
+			}
+
+			if ( !batch.isEmpty() ) {
+				consumer.accept( batch );
+			}
+		}
+	}
+}
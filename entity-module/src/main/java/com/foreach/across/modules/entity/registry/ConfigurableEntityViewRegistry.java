@@ -2,6 +2,9 @@ package com.foreach.across.modules.entity.registry;
 
 import com.foreach.across.modules.entity.views.EntityViewFactory;
 
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 public interface ConfigurableEntityViewRegistry extends EntityViewRegistry
 {
 	void registerView( String viewName, EntityViewFactory viewFactory );
@@ -12,4 +15,29 @@ public interface ConfigurableEntityViewRegistry extends EntityViewRegistry
 	 * @param viewName name of the view
 	 */
 	void removeView( String viewName );
+
+	/**
+	 * Register a view that should only be created when it is first requested.
+	 * The default implementation creates the view factory immediately.
+	 *
+	 * @param viewName            name of the view
+	 * @param viewFactorySupplier creating the view factory
+	 * @since 4.3.0
+	 */
+	default void registerLazyView( String viewName, Supplier<? extends EntityViewFactory> viewFactorySupplier ) {
+		registerView( viewName, viewFactorySupplier.get() );
+	}
+
+	/**
+	 * Customize an existing view factory. If the view has been registered lazily and has not yet been created,
+	 * the customizer will be applied right after creation, in the order the customizers were added.
+	 * The default implementation applies the customizer to the view factory immediately.
+	 *
+	 * @param viewName   name of the view
+	 * @param customizer to apply
+	 * @since 4.3.0
+	 */
+	default void customizeView( String viewName, Consumer<EntityViewFactory> customizer ) {
+		customizer.accept( getViewFactory( viewName ) );
+	}
 }
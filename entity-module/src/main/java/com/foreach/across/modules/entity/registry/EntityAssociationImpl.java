@@ -19,6 +19,8 @@ import com.foreach.across.core.support.AttributeSupport;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
 import com.foreach.across.modules.entity.views.EntityViewFactory;
 
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -140,6 +142,16 @@ public class EntityAssociationImpl extends AttributeSupport implements MutableEn
 		sourceEntityConfiguration.registerView( buildAssociatedViewName( viewName ), viewFactory );
 	}
 
+	@Override
+	public void registerLazyView( String viewName, Supplier<? extends EntityViewFactory> viewFactorySupplier ) {
+		sourceEntityConfiguration.registerLazyView( buildAssociatedViewName( viewName ), viewFactorySupplier );
+	}
+
+	@Override
+	public void customizeView( String viewName, Consumer<EntityViewFactory> customizer ) {
+		sourceEntityConfiguration.customizeView( buildAssociatedViewName( viewName ), customizer );
+	}
+
 	@Override
 	public void removeView( String viewName ) {
 		sourceEntityConfiguration.removeView( buildAssociatedViewName( viewName ) );
@@ -27,16 +27,18 @@ import com.foreach.across.modules.spring.security.actions.AllowableActions;
 import lombok.NonNull;
 
 import java.io.Serializable;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * The base configuration for an Entity type.  Provides access to the
  * {@link com.foreach.across.modules.entity.registry.EntityModel},
  * {@link com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry}
  * along with the registered views and attributes.
+ * <p/>
+ * Views registered using {@link #registerLazyView(String, Supplier)} are only created when they are first requested.
  *
  * @author Arne Vandamme
  * @since 1.0.0
@@ -45,7 +47,8 @@ public class EntityConfigurationImpl<T> extends AttributeSupport implements Muta
 {
 	private final String name;
 	private final Class<? extends T> entityType;
-	private final Map<String, EntityViewFactory> registeredViews = new HashMap<>();
+	private final Map<String, EntityViewFactory> registeredViews = new ConcurrentHashMap<>();
+	private final Map<String, Supplier<? extends EntityViewFactory>> lazyViews = new ConcurrentHashMap<>();
 	private final Map<String, EntityAssociation> entityAssociations = new HashMap<>();
 
 	private EntityMessageCodeResolver entityMessageCodeResolver;
@@ -115,28 +118,76 @@ public class EntityConfigurationImpl<T> extends AttributeSupport implements Muta
 
 	@Override
 	public boolean hasView( String viewName ) {
-		return registeredViews.containsKey( viewName );
+		return registeredViews.containsKey( viewName ) || lazyViews.containsKey( viewName );
 	}
 
 	@Override
-	public void registerView( @NonNull String viewName, @NonNull EntityViewFactory viewFactory ) {
+	public synchronized void registerView( @NonNull String viewName, @NonNull EntityViewFactory viewFactory ) {
+		lazyViews.remove( viewName );
 		registeredViews.put( viewName, viewFactory );
 	}
 
 	@Override
-	public void removeView( String viewName ) {
+	public synchronized void registerLazyView( @NonNull String viewName, @NonNull Supplier<? extends EntityViewFactory> viewFactorySupplier ) {
+		registeredViews.remove( viewName );
+		lazyViews.put( viewName, viewFactorySupplier );
+	}
+
+	@Override
+	public synchronized void customizeView( @NonNull String viewName, @NonNull Consumer<EntityViewFactory> customizer ) {
+		Supplier<? extends EntityViewFactory> viewFactorySupplier = lazyViews.get( viewName );
+
+		if ( viewFactorySupplier != null ) {
+			lazyViews.put( viewName, () -> {
+				EntityViewFactory viewFactory = viewFactorySupplier.get();
+				customizer.accept( viewFactory );
+				return viewFactory;
+			} );
+		}
+		else {
+			customizer.accept( getViewFactory( viewName ) );
+		}
+	}
+
+	@Override
+	public synchronized void removeView( String viewName ) {
+		lazyViews.remove( viewName );
 		registeredViews.remove( viewName );
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public <Y extends EntityViewFactory> Y getViewFactory( String viewName ) {
-		return (Y) registeredViews.get( viewName );
+		EntityViewFactory viewFactory = registeredViews.get( viewName );
+
+		if ( viewFactory == null && lazyViews.containsKey( viewName ) ) {
+			viewFactory = materializeView( viewName );
+		}
+
+		return (Y) viewFactory;
+	}
+
+	private synchronized EntityViewFactory materializeView( String viewName ) {
+		EntityViewFactory viewFactory = registeredViews.get( viewName );
+
+		if ( viewFactory == null ) {
+			Supplier<? extends EntityViewFactory> viewFactorySupplier = lazyViews.get( viewName );
+
+			if ( viewFactorySupplier != null ) {
+				viewFactory = viewFactorySupplier.get();
+				lazyViews.remove( viewName );
+				registeredViews.put( viewName, viewFactory );
+			}
+		}
+
+		return viewFactory;
 	}
 
 	@Override
 	public String[] getViewNames() {
-		String[] viewNames = registeredViews.keySet().toArray( new String[registeredViews.size()] );
+		Set<String> names = new HashSet<>( registeredViews.keySet() );
+		names.addAll( lazyViews.keySet() );
+		String[] viewNames = names.toArray( new String[0] );
 		Arrays.sort( viewNames );
 		return viewNames;
 	}
@@ -148,6 +148,18 @@ public interface ConfigurableEntityPropertyController<T, U>
 	 */
 	ConfigurableEntityPropertyController<T, U> saveFunction( BiFunction<T, EntityPropertyValue<U>, Boolean> saveFunction );
 
+	/**
+	 * The function that should be called when saving multiple values at once using
+	 * {@link EntityPropertyController#saveAll(EntityPropertyBindingContext, Collection)}, for example
+	 * all members of a collection. Setting a non-null bulk save function will make
+	 * {@link EntityPropertyController#isOptimizedForBulkSave()} return {@code true}.
+	 * If the {@link BiFunction} returns {@code null}, this will be converted to {@code false}.
+	 *
+	 * @param saveFunction function for saving the values
+	 * @return self
+	 */
+	ConfigurableEntityPropertyController<T, U> bulkSaveFunction( BiFunction<T, Collection<EntityPropertyValue<U>>, Boolean> saveFunction );
+
 	/**
 	 * Set the property validator.
 	 *
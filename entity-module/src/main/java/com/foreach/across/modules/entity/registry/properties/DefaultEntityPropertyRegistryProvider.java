@@ -17,19 +17,24 @@ package com.foreach.across.modules.entity.registry.properties;
 
 import com.foreach.across.core.annotations.RefreshableCollection;
 import com.foreach.across.modules.entity.annotations.EntityValidator;
+import com.foreach.across.modules.entity.config.EntityStartupSteps;
 import com.foreach.across.modules.entity.registrars.repository.PersistenceMetadataPropertiesRegistrar;
 import com.foreach.across.modules.entity.registry.properties.registrars.DefaultPropertiesRegistrar;
 import com.foreach.across.modules.entity.registry.properties.registrars.LabelPropertiesRegistrar;
 import com.foreach.across.modules.entity.registry.properties.registrars.ValidationMetadataPropertiesRegistrar;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.SmartValidator;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 /**
  * Manages the {@link EntityPropertyRegistry} instances for a set of entity types.
@@ -53,6 +58,7 @@ public class DefaultEntityPropertyRegistryProvider implements EntityPropertyRegi
 
 	private EntityPropertyValidator defaultMemberValidator;
 	private Collection<PropertiesRegistrar> propertiesRegistrars = Collections.emptyList();
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
 
 	@Autowired
 	public DefaultEntityPropertyRegistryProvider( EntityPropertyDescriptorFactory descriptorFactory ) {
@@ -76,6 +82,17 @@ public class DefaultEntityPropertyRegistryProvider implements EntityPropertyRegi
 		this.propertiesRegistrars = propertiesRegistrars;
 	}
 
+	/**
+	 * Record the creation of every registry as a startup step, if a {@link BufferingApplicationStartup} is available.
+	 *
+	 * @param applicationStartup provider for the startup recorder
+	 * @since 4.3.0
+	 */
+	@Autowired
+	public void setApplicationStartup( ObjectProvider<BufferingApplicationStartup> applicationStartup ) {
+		this.applicationStartup = EntityStartupSteps.applicationStartup( applicationStartup );
+	}
+
 	@EntityValidator(required = false)
 	public void setDefaultMemberValidator( SmartValidator validator ) {
 		defaultMemberValidator = EntityPropertyValidator.of( validator );
@@ -86,13 +103,85 @@ public class DefaultEntityPropertyRegistryProvider implements EntityPropertyRegi
 		return registries.computeIfAbsent( entityType, this::create );
 	}
 
+	/**
+	 * Create the registries for all entity types that do not yet have one, using at most {@code parallelism} threads.
+	 * The {@link PropertiesRegistrar}s must be thread-safe if parallelism is larger than 1. Every registry is created
+	 * independently, but the registries are stored sequentially in the order of the entity types, so the result
+	 * is the same as calling {@link #get(Class)} for every entity type.
+	 *
+	 * @param entityTypes to create the registries for
+	 * @param parallelism maximum number of threads to use
+	 * @since 4.3.0
+	 */
+	public void createAll( Collection<Class<?>> entityTypes, int parallelism ) {
+		List<Class<?>> missing = entityTypes.stream()
+		                                    .distinct()
+		                                    .filter( entityType -> !registries.containsKey( entityType ) )
+		                                    .collect( Collectors.toList() );
+
+		if ( parallelism <= 1 || missing.size() < 2 ) {
+			missing.forEach( this::get );
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool( Math.min( parallelism, missing.size() ),
+		                                                         registrationThreadFactory( Thread.currentThread().getContextClassLoader() ) );
+		try {
+			List<Future<MutableEntityPropertyRegistry>> futures = new ArrayList<>( missing.size() );
+			missing.forEach( entityType -> futures.add( executor.submit( () -> create( entityType ) ) ) );
+
+			for ( int i = 0; i < missing.size(); i++ ) {
+				registries.putIfAbsent( missing.get( i ), awaitRegistry( futures.get( i ) ) );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static MutableEntityPropertyRegistry awaitRegistry( Future<MutableEntityPropertyRegistry> future ) {
+		try {
+			return future.get();
+		}
+		catch ( ExecutionException ee ) {
+			Throwable cause = ee.getCause();
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException( "Unable to create entity property registry", cause );
+		}
+		catch ( InterruptedException ie ) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException( "Interrupted while creating entity property registries", ie );
+		}
+	}
+
+	private static ThreadFactory registrationThreadFactory( ClassLoader classLoader ) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread( runnable, "entity-registration-" + counter.incrementAndGet() );
+			thread.setDaemon( true );
+			thread.setContextClassLoader( classLoader );
+			return thread;
+		};
+	}
+
 	@Override
 	public MutableEntityPropertyRegistry create( Class<?> entityType ) {
-		DefaultEntityPropertyRegistry newRegistry = new DefaultEntityPropertyRegistry( this );
-		newRegistry.setId( entityType.getName() );
-		newRegistry.setDefaultMemberValidator( defaultMemberValidator );
-		propertiesRegistrars.forEach( b -> b.accept( entityType, newRegistry ) );
-		return newRegistry;
+		StartupStep step = applicationStartup.start( EntityStartupSteps.PROPERTY_REGISTRY ).tag( "entityType", entityType.getName() );
+		try {
+			DefaultEntityPropertyRegistry newRegistry = new DefaultEntityPropertyRegistry( this );
+			newRegistry.setId( entityType.getName() );
+			newRegistry.setDefaultMemberValidator( defaultMemberValidator );
+			propertiesRegistrars.forEach( b -> b.accept( entityType, newRegistry ) );
+			return newRegistry;
+		}
+		finally {
+			step.end();
+		}
 	}
 
 	@Override
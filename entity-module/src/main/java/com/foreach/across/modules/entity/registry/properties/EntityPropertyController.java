@@ -188,6 +188,37 @@ public interface EntityPropertyController<T> extends Ordered
 		return false;
 	}
 
+	/**
+	 * Save multiple values of the property for the same owning entity in a single call.
+	 * Used for the members of a collection property, where every value represents a single member.
+	 * Deleted members will have {@link EntityPropertyValue#isDeleted()} {@code true}.
+	 * Default implementation does a sequential {@link #save(EntityPropertyBindingContext, EntityPropertyValue)}
+	 * but custom implementations should provide a more optimal approach (eg. a single batch update).
+	 *
+	 * @param context        binding context
+	 * @param propertyValues to save
+	 * @return true if any of the property values has been saved
+	 * @see #isOptimizedForBulkSave()
+	 */
+	default boolean saveAll( EntityPropertyBindingContext context, Collection<EntityPropertyValue<T>> propertyValues ) {
+		boolean saved = false;
+		for ( EntityPropertyValue<T> propertyValue : propertyValues ) {
+			saved |= save( context, propertyValue );
+		}
+		return saved;
+	}
+
+	/**
+	 * Check if this controller has optimized support for saving multiple values at once.
+	 * If {@code true}, the members of a collection will be saved using a single call
+	 * to {@link #saveAll(EntityPropertyBindingContext, Collection)} instead of one by one.
+	 *
+	 * @return true if this controller has optimal bulk saving
+	 */
+	default boolean isOptimizedForBulkSave() {
+		return false;
+	}
+
 	/**
 	 * The order in which this controller should be applied.
 	 * Defaults to {@link #AFTER_ENTITY} meaning the controller methods will be executed after
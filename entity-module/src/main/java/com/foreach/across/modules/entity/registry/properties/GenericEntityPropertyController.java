@@ -71,6 +71,9 @@ public class GenericEntityPropertyController implements EntityPropertyController
 	@Getter
 	private BiFunction<EntityPropertyBindingContext, EntityPropertyValue<Object>, Boolean> saveFunction;
 
+	@Getter
+	private BiFunction<EntityPropertyBindingContext, Collection<EntityPropertyValue<Object>>, Boolean> bulkSaveFunction;
+
 	@Getter
 	private EntityPropertyValidator validator;
 
@@ -190,6 +193,12 @@ public class GenericEntityPropertyController implements EntityPropertyController
 		return this;
 	}
 
+	@Override
+	public GenericEntityPropertyController bulkSaveFunction( BiFunction<EntityPropertyBindingContext, Collection<EntityPropertyValue<Object>>, Boolean> saveFunction ) {
+		this.bulkSaveFunction = saveFunction;
+		return this;
+	}
+
 	@Override
 	public ConfigurableEntityPropertyController<EntityPropertyBindingContext, Object> validator( EntityPropertyValidator validator ) {
 		this.validator = validator;
@@ -252,6 +261,21 @@ public class GenericEntityPropertyController implements EntityPropertyController
 		return original != null && original.save( context, propertyValue );
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean saveAll( EntityPropertyBindingContext context, Collection propertyValues ) {
+		if ( bulkSaveFunction != null ) {
+			return Boolean.TRUE.equals( bulkSaveFunction.apply( context, propertyValues ) );
+		}
+
+		return original != null ? original.saveAll( context, propertyValues ) : EntityPropertyController.super.saveAll( context, propertyValues );
+	}
+
+	@Override
+	public boolean isOptimizedForBulkSave() {
+		return bulkSaveFunction != null || ( original != null && original.isOptimizedForBulkSave() );
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public void validate( EntityPropertyBindingContext context, EntityPropertyValue propertyValue, Errors errors, Object... validationHints ) {
@@ -110,6 +110,11 @@ public class NestedEntityPropertyController implements EntityPropertyController,
 		return child.saveFunction( saveFunction );
 	}
 
+	@Override
+	public ConfigurableEntityPropertyController<EntityPropertyBindingContext, Object> bulkSaveFunction( BiFunction<EntityPropertyBindingContext, Collection<EntityPropertyValue<Object>>, Boolean> saveFunction ) {
+		return child.bulkSaveFunction( saveFunction );
+	}
+
 	@Override
 	public ConfigurableEntityPropertyController<EntityPropertyBindingContext, Object> validator( EntityPropertyValidator propertyValidator ) {
 		return child.validator( propertyValidator );
@@ -177,6 +182,17 @@ public class NestedEntityPropertyController implements EntityPropertyController,
 		return child.save( childContext( context ), propertyValue );
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean saveAll( EntityPropertyBindingContext context, Collection propertyValues ) {
+		return child.saveAll( childContext( context ), propertyValues );
+	}
+
+	@Override
+	public boolean isOptimizedForBulkSave() {
+		return child.isOptimizedForBulkSave();
+	}
+
 	@Override
 	public int getOrder() {
 		return child.getOrder();
@@ -134,6 +134,14 @@ class ScopedConfigurableEntityPropertyController<T, U> implements ConfigurableEn
 		return this;
 	}
 
+	@Override
+	public ConfigurableEntityPropertyController<T, U> bulkSaveFunction( BiFunction<T, Collection<EntityPropertyValue<U>>, Boolean> saveFunction ) {
+		BiFunction<EntityPropertyBindingContext, Collection<EntityPropertyValue<Object>>, Boolean> wrapper =
+				( ctx, values ) -> saveFunction.apply( (T) bindingContextTranslator.apply( ctx ), (Collection) values );
+		parent.bulkSaveFunction( wrapper );
+		return this;
+	}
+
 	@Override
 	public ConfigurableEntityPropertyController<T, U> validator( EntityPropertyValidator propertyValidator ) {
 		parent.validator( propertyValidator );
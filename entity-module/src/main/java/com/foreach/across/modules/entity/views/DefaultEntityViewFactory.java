@@ -23,6 +23,8 @@ import com.foreach.across.modules.entity.support.EntityMessageCodeResolver;
 import com.foreach.across.modules.entity.support.EntityViewMessageSource;
 import com.foreach.across.modules.entity.views.context.ConfigurableEntityViewContext;
 import com.foreach.across.modules.entity.views.context.EntityViewContext;
+import com.foreach.across.modules.entity.views.metrics.EntityViewPhase;
+import com.foreach.across.modules.entity.views.metrics.EntityViewTimings;
 import com.foreach.across.modules.entity.views.processors.support.TransactionalEntityViewProcessorRegistry;
 import com.foreach.across.modules.entity.views.request.EntityViewCommand;
 import com.foreach.across.modules.entity.views.request.EntityViewRequest;
@@ -52,6 +54,8 @@ import static com.foreach.across.modules.web.ui.elements.HtmlViewElements.html;
  * <p/>
  * Supports a {@link TransactionalEntityViewProcessorRegistry}.  All {@link EntityViewProcessor#doControl(EntityViewRequest, EntityView, EntityViewCommand)}
  * calls will be dispatched in a single transaction if they occur with a state altering {@link HttpMethod} like {@link HttpMethod#POST}.
+ * <p/>
+ * If {@link EntityViewTimings} are bound to the current thread, the duration of every {@link EntityViewPhase} will be recorded.
  *
  * @author Arne Vandamme
  * @see TransactionalEntityViewProcessorRegistry
@@ -89,12 +93,15 @@ public class DefaultEntityViewFactory extends AttributeSupport implements Dispat
 				= ViewElementBuilderContextHolder.setViewElementBuilderContext( createViewElementBuilderContext( entityViewRequest ) );
 
 		final EntityView entityView = new EntityView( entityViewRequest.getModel(), entityViewRequest.getRedirectAttributes() );
+		final EntityViewTimings timings = EntityViewTimings.current();
 
 		try {
 			// pre-process the view
+			startPhase( timings, EntityViewPhase.PRE_PROCESS );
 			processorRegistry.dispatch( p -> p.preProcess( entityViewRequest, entityView ) );
 
 			// perform controller logic - optionally do so in a single transaction
+			startPhase( timings, EntityViewPhase.DO_CONTROL );
 			processorRegistry.dispatch(
 					p -> p.doControl( entityViewRequest, entityView, entityViewRequest.getCommand() ),
 					shouldDispatchInTransaction( entityViewRequest )
@@ -103,6 +110,7 @@ public class DefaultEntityViewFactory extends AttributeSupport implements Dispat
 			// check if rendering is required
 			if ( entityView.shouldRender() ) {
 				// prepare for rendering
+				startPhase( timings, EntityViewPhase.PRE_RENDER );
 				processorRegistry.dispatch( p -> p.preRender( entityViewRequest, entityView ) );
 
 				// create a container builder
@@ -110,6 +118,7 @@ public class DefaultEntityViewFactory extends AttributeSupport implements Dispat
 				entityView.addAttribute( ATTRIBUTE_CONTAINER_BUILDER, containerBuilder );
 
 				// do the initial render
+				startPhase( timings, EntityViewPhase.RENDER );
 				processorRegistry.dispatch( p -> p.render( entityViewRequest, entityView ) );
 
 				// build the container - add as first child to the page content
@@ -131,15 +140,21 @@ public class DefaultEntityViewFactory extends AttributeSupport implements Dispat
 				page.addChild( container );
 
 				// perform render related post-processing
+				startPhase( timings, EntityViewPhase.POST_RENDER );
 				processorRegistry.dispatch( p -> p.postRender( entityViewRequest, entityView ) );
 
 				entityView.removeAttribute( ATTRIBUTE_CONTAINER_ELEMENT );
 			}
 
 			// perform general post-processing
+			startPhase( timings, EntityViewPhase.POST_PROCESS );
 			processorRegistry.dispatch( p -> p.postProcess( entityViewRequest, entityView ) );
 		}
 		finally {
+			if ( timings != null ) {
+				timings.endPhase();
+			}
+
 			// reset to the original builder context
 			ViewElementBuilderContextHolder.setViewElementBuilderContext( existingBuilderContext );
 		}
@@ -147,6 +162,12 @@ public class DefaultEntityViewFactory extends AttributeSupport implements Dispat
 		return entityView;
 	}
 
+	private void startPhase( EntityViewTimings timings, EntityViewPhase phase ) {
+		if ( timings != null ) {
+			timings.startPhase( phase );
+		}
+	}
+
 	/**
 	 * Create a custom {@link ViewElementBuilderContext} for the view request.
 	 */
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.bootstrapui;
+
+import com.foreach.across.modules.bootstrapui.elements.BootstrapUiElements;
+import com.foreach.across.modules.entity.EntityAttributes;
+import com.foreach.across.modules.entity.autosuggest.AutoSuggestDataAttributeRegistrar;
+import com.foreach.across.modules.entity.conditionals.ConditionalOnBootstrapUI;
+import com.foreach.across.modules.entity.query.EntityQueryExecutor;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.registry.EntityRegistry;
+import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
+import com.foreach.across.modules.entity.util.EntityTypeDescriptor;
+import com.foreach.across.modules.entity.util.EntityUtils;
+import com.foreach.across.modules.entity.views.ViewElementMode;
+import com.foreach.across.modules.entity.views.ViewElementTypeLookupStrategy;
+import com.foreach.across.modules.entity.views.bootstrapui.options.EntityQueryOptionCache;
+import com.foreach.across.modules.entity.views.bootstrapui.options.EntityQueryOptionIterableBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link ViewElementTypeLookupStrategy} that renders an auto-suggest control instead of a select or multi-checkbox
+ * for a property referring to other entities, if the number of entities that can be selected exceeds the
+ * {@link EntityAttributes#OPTIONS_LAZY_THRESHOLD}. The number of options is counted using the same entity query
+ * as the one that would be used for fetching the options.
+ * <p/>
+ * Only applies to form controls, and only if an auto-suggest dataset is configured
+ * ({@link AutoSuggestDataAttributeRegistrar#DATASET_ID}) on the property or the target entity configuration.
+ * If the threshold is exceeded but no dataset is available, the default control is used.
+ * The count is only cached if {@link EntityAttributes#OPTIONS_CACHED} is set on the property or the target entity.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@ConditionalOnBootstrapUI
+@Component
+@RequiredArgsConstructor
+@Order(BootstrapUiElementTypeLookupStrategy.ORDER - 1)
+@Slf4j
+public class EntityOptionsThresholdLookupStrategy implements ViewElementTypeLookupStrategy
+{
+	private final EntityRegistry entityRegistry;
+	private final EntityQueryOptionCache optionCache;
+
+	@Override
+	public String findElementType( EntityPropertyDescriptor descriptor, ViewElementMode viewElementMode ) {
+		ViewElementMode singleMode = viewElementMode.forSingle();
+
+		if ( !ViewElementMode.isControl( singleMode ) || ViewElementMode.FILTER_CONTROL.matchesTypeOf( singleMode ) || !descriptor.isWritable() ) {
+			return null;
+		}
+
+		EntityTypeDescriptor typeDescriptor = EntityUtils.resolveEntityTypeDescriptor( descriptor.getPropertyTypeDescriptor(), entityRegistry );
+
+		if ( !typeDescriptor.isTargetTypeResolved() ) {
+			return null;
+		}
+
+		EntityConfiguration<?> target = entityRegistry.getEntityConfiguration( typeDescriptor.getSimpleTargetType() );
+
+		if ( target == null || !target.hasEntityModel() || !target.hasAttribute( EntityQueryExecutor.class ) ) {
+			return null;
+		}
+
+		Number threshold = attribute( descriptor, target, EntityAttributes.OPTIONS_LAZY_THRESHOLD, Number.class );
+
+		if ( threshold == null ) {
+			return null;
+		}
+
+		EntityQueryOptionIterableBuilder options = EntityQueryOptionIterableBuilder.forEntityConfiguration( target, descriptor );
+		if ( isOptionsCached( descriptor, target ) ) {
+			options.setOptionCache( optionCache, target.getName() );
+		}
+
+		if ( options.countOptions() <= threshold.longValue() ) {
+			return null;
+		}
+
+		if ( StringUtils.isEmpty( attribute( descriptor, target, AutoSuggestDataAttributeRegistrar.DATASET_ID, String.class ) ) ) {
+			LOG.debug( "Number of options for property {} exceeds the threshold of {} but no auto-suggest dataset is configured - rendering all options",
+			           descriptor.getName(), threshold );
+			return null;
+		}
+
+		return BootstrapUiElements.AUTOSUGGEST;
+	}
+
+	private boolean isOptionsCached( EntityPropertyDescriptor descriptor, EntityConfiguration<?> target ) {
+		Object cached = descriptor.getAttribute( EntityAttributes.OPTIONS_CACHED );
+
+		if ( cached == null ) {
+			cached = target.getAttribute( EntityAttributes.OPTIONS_CACHED );
+		}
+
+		return Boolean.TRUE.equals( cached );
+	}
+
+	private <V> V attribute( EntityPropertyDescriptor descriptor, EntityConfiguration<?> target, String attributeName, Class<V> attributeType ) {
+		V value = descriptor.getAttribute( attributeName, attributeType );
+		return value != null ? value : target.getAttribute( attributeName, attributeType );
+	}
+}
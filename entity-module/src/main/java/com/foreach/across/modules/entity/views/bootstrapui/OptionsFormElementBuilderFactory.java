@@ -24,7 +24,6 @@ import com.foreach.across.modules.bootstrapui.elements.builder.OptionsFormElemen
 import com.foreach.across.modules.entity.EntityAttributes;
 import com.foreach.across.modules.entity.conditionals.ConditionalOnBootstrapUI;
 import com.foreach.across.modules.entity.query.EQGroup;
-import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryExecutor;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.EntityRegistry;
@@ -73,6 +72,7 @@ public class OptionsFormElementBuilderFactory extends EntityViewElementBuilderFa
 
 	private EntityRegistry entityRegistry;
 	private ConversionService conversionService;
+	private EntityQueryOptionCache optionCache;
 
 	@Override
 	public boolean supports( String viewElementType ) {
@@ -290,27 +290,29 @@ public class OptionsFormElementBuilderFactory extends EntityViewElementBuilderFa
 
 	private EntityQueryOptionIterableBuilder createEntityQueryOptionIterableBuilder( EntityPropertyDescriptor descriptor,
 	                                                                                 EntityConfiguration optionConfiguration ) {
-		EntityQueryOptionIterableBuilder eqBuilder = EntityQueryOptionIterableBuilder.forEntityConfiguration( optionConfiguration );
-		Object entityQueryToUse = determineEntityQuery( descriptor, optionConfiguration );
-
-		if ( entityQueryToUse instanceof EntityQuery ) {
-			eqBuilder.setEntityQuery( (EntityQuery) entityQueryToUse );
-		}
-		else if ( entityQueryToUse instanceof String ) {
-			eqBuilder.setEntityQuery( (String) entityQueryToUse );
-		}
-		else if ( entityQueryToUse != null ) {
-			throw new IllegalStateException(
-					"Illegal " + EntityAttributes.OPTIONS_ENTITY_QUERY + " attribute - expected to be String or EntityQuery" );
-		}
+		EntityQueryOptionIterableBuilder eqBuilder = EntityQueryOptionIterableBuilder.forEntityConfiguration( optionConfiguration, descriptor );
 
 		if ( conversionService != null ) {
 			eqBuilder.setConversionService( conversionService );
 		}
 
+		if ( optionCache != null && isOptionsCached( descriptor, optionConfiguration ) ) {
+			eqBuilder.setOptionCache( optionCache, optionConfiguration.getName() );
+		}
+
 		return eqBuilder;
 	}
 
+	private boolean isOptionsCached( EntityPropertyDescriptor descriptor, EntityConfiguration optionConfiguration ) {
+		Object cached = descriptor.getAttribute( EntityAttributes.OPTIONS_CACHED );
+
+		if ( cached == null ) {
+			cached = optionConfiguration.getAttribute( EntityAttributes.OPTIONS_CACHED );
+		}
+
+		return Boolean.TRUE.equals( cached );
+	}
+
 	@SuppressWarnings("unchecked")
 	private OptionIterableBuilder createBooleanOptionIterableBuilder( EntityPropertyDescriptor descriptor ) {
 		return FixedOptionIterableBuilder.sorted(
@@ -348,16 +350,6 @@ public class OptionsFormElementBuilderFactory extends EntityViewElementBuilderFa
 		return iterableBuilder;
 	}
 
-	private Object determineEntityQuery( EntityPropertyDescriptor descriptor, EntityConfiguration optionConfiguration ) {
-		Object entityQuery = descriptor.getAttribute( EntityAttributes.OPTIONS_ENTITY_QUERY );
-
-		if ( entityQuery == null && optionConfiguration != null ) {
-			entityQuery = optionConfiguration.getAttribute( EntityAttributes.OPTIONS_ENTITY_QUERY );
-		}
-
-		return entityQuery;
-	}
-
 	@Autowired
 	public void setEntityRegistry( EntityRegistry entityRegistry ) {
 		this.entityRegistry = entityRegistry;
@@ -369,6 +361,11 @@ public class OptionsFormElementBuilderFactory extends EntityViewElementBuilderFa
 		this.conversionService = conversionService;
 	}
 
+	@Autowired(required = false)
+	public void setOptionCache( EntityQueryOptionCache optionCache ) {
+		this.optionCache = optionCache;
+	}
+
 	static class FixedBooleanValueTextProcessor extends BooleanValueTextProcessor
 	{
 
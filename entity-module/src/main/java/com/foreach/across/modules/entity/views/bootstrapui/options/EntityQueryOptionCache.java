@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.bootstrapui.options;
+
+import com.foreach.across.modules.entity.conditionals.ConditionalOnBootstrapUI;
+import com.foreach.across.modules.entity.query.EntityQuery;
+import com.foreach.across.modules.entity.views.processors.support.EntityFormStateCompleted;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache for the options and the number of options generated by an {@link EntityQueryOptionIterableBuilder}.
+ * Options are cached per entity configuration, prepared {@link EntityQuery} and {@link Locale}.
+ * The option count is cached per entity configuration and prepared query.
+ * <p/>
+ * All cached values of an entity configuration are evicted when an entity of that configuration
+ * has been saved or deleted through an entity view ({@link EntityFormStateCompleted}). Entities modified
+ * in other ways are only picked up once the cached value has expired (see {@link #setTimeToLive(Duration)}),
+ * or when {@link #evict(String)} is called manually.
+ * <p/>
+ * Cached options hold the original entity as raw value, which is compared to the current property value
+ * for selecting options. The entity type should implement an id-based {@code equals()} for caching to be used.
+ *
+ * @author Arne Vandamme
+ * @see com.foreach.across.modules.entity.EntityAttributes#OPTIONS_CACHED
+ * @see com.foreach.across.modules.entity.EntityAttributes#OPTIONS_LAZY_THRESHOLD
+ * @since 4.3.0
+ */
+@ConditionalOnBootstrapUI
+@Component
+public class EntityQueryOptionCache
+{
+	/**
+	 * Maximum number of cached values per entity configuration.
+	 */
+	private static final int MAXIMUM_ENTRIES = 64;
+
+	private final Map<String, Map<CacheKey, CachedValue>> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * How long a cached value remains valid, defaults to 5 minutes.
+	 */
+	@Getter
+	@Setter
+	@NonNull
+	private Duration timeToLive = Duration.ofMinutes( 5 );
+
+	/**
+	 * Get the cached options for a query, or load and cache them using the supplier.
+	 *
+	 * @param cacheName name of the cache, usually the name of the entity configuration
+	 * @param query     prepared query
+	 * @param locale    for which the options are generated
+	 * @param loader    to load the options if not yet cached
+	 * @return options
+	 */
+	@SuppressWarnings("unchecked")
+	public List<CachedOption> getOptions( @NonNull String cacheName,
+	                                      @NonNull EntityQuery query,
+	                                      Locale locale,
+	                                      @NonNull Supplier<List<CachedOption>> loader ) {
+		return (List<CachedOption>) get( cacheName, new CacheKey( query.toString(), locale ), loader::get );
+	}
+
+	/**
+	 * Get the cached number of options for a query, or count and cache them using the supplier.
+	 *
+	 * @param cacheName name of the cache, usually the name of the entity configuration
+	 * @param query     prepared query
+	 * @param counter   to count the options if not yet cached
+	 * @return number of options
+	 */
+	public long getCount( @NonNull String cacheName, @NonNull EntityQuery query, @NonNull LongSupplier counter ) {
+		return (Long) get( cacheName, new CacheKey( query.toString(), null ), counter::getAsLong );
+	}
+
+	/**
+	 * Remove all cached values for a single cache.
+	 *
+	 * @param cacheName name of the cache, usually the name of the entity configuration
+	 */
+	public void evict( String cacheName ) {
+		cache.remove( cacheName );
+	}
+
+	/**
+	 * Remove all cached values.
+	 */
+	public void evictAll() {
+		cache.clear();
+	}
+
+	@EventListener
+	void evictOnFormStateCompleted( EntityFormStateCompleted<?> formState ) {
+		evict( formState.getEntityViewContext().getEntityConfiguration().getName() );
+	}
+
+	private Object get( String cacheName, CacheKey key, Supplier<Object> loader ) {
+		Map<CacheKey, CachedValue> values = cache.computeIfAbsent( cacheName, name -> new ConcurrentHashMap<>() );
+		CachedValue cached = values.get( key );
+
+		if ( cached == null || cached.isExpired( timeToLive ) ) {
+			cached = new CachedValue( loader.get(), System.currentTimeMillis() );
+
+			if ( values.size() >= MAXIMUM_ENTRIES && !values.containsKey( key ) ) {
+				values.clear();
+			}
+			values.put( key, cached );
+		}
+
+		return cached.value;
+	}
+
+	/**
+	 * Single cached option: the raw value (entity), the label and the value (converted id).
+	 */
+	@Value
+	public static class CachedOption
+	{
+		private final Object rawValue;
+		private final String label;
+		private final String value;
+	}
+
+	@Value
+	private static class CacheKey
+	{
+		private final String query;
+		private final Locale locale;
+	}
+
+	@Value
+	private static class CachedValue
+	{
+		private final Object value;
+		private final long created;
+
+		boolean isExpired( Duration timeToLive ) {
+			return System.currentTimeMillis() - created > timeToLive.toMillis();
+		}
+	}
+}
@@ -17,14 +17,19 @@
 package com.foreach.across.modules.entity.views.bootstrapui.options;
 
 import com.foreach.across.modules.bootstrapui.elements.builder.OptionFormElementBuilder;
+import com.foreach.across.modules.entity.EntityAttributes;
 import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryExecutor;
 import com.foreach.across.modules.entity.query.EntityQueryParser;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.EntityModel;
+import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
+import com.foreach.across.modules.entity.views.bootstrapui.options.EntityQueryOptionCache.CachedOption;
 import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.util.Assert;
 
 import java.io.Serializable;
@@ -41,6 +46,8 @@ import java.util.Optional;
  * <p/>
  * Use {@link #forEntityConfiguration(EntityConfiguration)} to easily create an  {@link EntityQueryOptionIterableBuilder}
  * configured with the entity query support for a particular {@link EntityConfiguration}.
+ * <p/>
+ * If an {@link EntityQueryOptionCache} is set, the generated options will be cached per query and locale.
  *
  * @author Arne Vandamme
  */
@@ -51,6 +58,8 @@ public class EntityQueryOptionIterableBuilder implements OptionIterableBuilder
 	private EntityQueryExecutor<Object> entityQueryExecutor;
 	private EntityQueryParser entityQueryParser;
 	private EntityQuery entityQuery = EntityQuery.all();
+	private EntityQueryOptionCache optionCache;
+	private String cacheName;
 
 	public EntityModel getEntityModel() {
 		return entityModel;
@@ -103,6 +112,20 @@ public class EntityQueryOptionIterableBuilder implements OptionIterableBuilder
 		this.entityQueryParser = entityQueryParser;
 	}
 
+	/**
+	 * Set the cache that should be used for the options and the option count.
+	 * If {@code null} (default), options will be fetched every time.
+	 *
+	 * @param optionCache to use
+	 * @param cacheName   name of the cache, usually the name of the entity configuration
+	 * @since 4.3.0
+	 */
+	public void setOptionCache( EntityQueryOptionCache optionCache, String cacheName ) {
+		Assert.isTrue( optionCache == null || cacheName != null, () -> "cacheName is required if an optionCache is set" );
+		this.optionCache = optionCache;
+		this.cacheName = cacheName;
+	}
+
 	@Override
 	public boolean isSorted() {
 		return entityQuery.hasSort();
@@ -116,14 +139,18 @@ public class EntityQueryOptionIterableBuilder implements OptionIterableBuilder
 		Assert.notNull( entityQuery, () -> "no EntityQuery set" );
 		Assert.notNull( entityQueryExecutor, () -> "no EntityQueryExecutor set" );
 
-		List<OptionFormElementBuilder> options = new ArrayList<>();
+		List<CachedOption> cachedOptions = optionCache != null
+				? optionCache.getOptions( cacheName, query, LocaleContextHolder.getLocale(), () -> loadOptions( query ) )
+				: loadOptions( query );
 
-		for ( Object entityOption : entityQueryExecutor.findAll( query ) ) {
+		List<OptionFormElementBuilder> options = new ArrayList<>( cachedOptions.size() );
+
+		for ( CachedOption cachedOption : cachedOptions ) {
 			OptionFormElementBuilder option = new OptionFormElementBuilder();
 
-			option.rawValue( entityOption );
-			option.label( entityModel.getLabel( entityOption ) );
-			option.value( convertId( entityModel.getId( entityOption ) ) );
+			option.rawValue( cachedOption.getRawValue() );
+			option.label( cachedOption.getLabel() );
+			option.value( cachedOption.getValue() );
 
 			options.add( option );
 		}
@@ -131,6 +158,40 @@ public class EntityQueryOptionIterableBuilder implements OptionIterableBuilder
 		return options;
 	}
 
+	/**
+	 * Count the number of options that would be generated, without fetching them.
+	 * Uses the option cache if one is set.
+	 *
+	 * @return number of options
+	 * @since 4.3.0
+	 */
+	public long countOptions() {
+		EntityQuery query = prepareEntityQuery();
+
+		Assert.notNull( entityQueryExecutor, () -> "no EntityQueryExecutor set" );
+
+		if ( optionCache != null ) {
+			return optionCache.getCount( cacheName, query, () -> executeCount( query ) );
+		}
+
+		return executeCount( query );
+	}
+
+	private long executeCount( EntityQuery query ) {
+		return entityQueryExecutor.findAll( query, PageRequest.of( 0, 1 ) ).getTotalElements();
+	}
+
+	private List<CachedOption> loadOptions( EntityQuery query ) {
+		List<Object> entities = entityQueryExecutor.findAll( query );
+		List<CachedOption> options = new ArrayList<>( entities.size() );
+
+		for ( Object entityOption : entities ) {
+			options.add( new CachedOption( entityOption, entityModel.getLabel( entityOption ), convertId( entityModel.getId( entityOption ) ) ) );
+		}
+
+		return options;
+	}
+
 	private String convertId( Object value ) {
 		return Optional.ofNullable( conversionService ).orElseGet( DefaultConversionService::getSharedInstance ).convert( value, String.class );
 	}
@@ -154,4 +215,38 @@ public class EntityQueryOptionIterableBuilder implements OptionIterableBuilder
 
 		return iterableBuilder;
 	}
+
+	/**
+	 * Creates an {@link EntityQueryOptionIterableBuilder} for the entities of a particular {@link EntityConfiguration},
+	 * that can be selected as value for a property. The {@link EntityAttributes#OPTIONS_ENTITY_QUERY} attribute
+	 * of the property descriptor or the entity configuration will be applied.
+	 *
+	 * @param entityConfiguration whose options to select
+	 * @param descriptor          property for which the options are selected
+	 * @return option builder
+	 * @since 4.3.0
+	 */
+	public static EntityQueryOptionIterableBuilder forEntityConfiguration( EntityConfiguration entityConfiguration,
+	                                                                       EntityPropertyDescriptor descriptor ) {
+		EntityQueryOptionIterableBuilder iterableBuilder = forEntityConfiguration( entityConfiguration );
+
+		Object entityQueryToUse = descriptor.getAttribute( EntityAttributes.OPTIONS_ENTITY_QUERY );
+
+		if ( entityQueryToUse == null ) {
+			entityQueryToUse = entityConfiguration.getAttribute( EntityAttributes.OPTIONS_ENTITY_QUERY );
+		}
+
+		if ( entityQueryToUse instanceof EntityQuery ) {
+			iterableBuilder.setEntityQuery( (EntityQuery) entityQueryToUse );
+		}
+		else if ( entityQueryToUse instanceof String ) {
+			iterableBuilder.setEntityQuery( (String) entityQueryToUse );
+		}
+		else if ( entityQueryToUse != null ) {
+			throw new IllegalStateException(
+					"Illegal " + EntityAttributes.OPTIONS_ENTITY_QUERY + " attribute - expected to be String or EntityQuery" );
+		}
+
+		return iterableBuilder;
+	}
 }
@@ -22,7 +22,7 @@ import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.views.support.EntityMessages;
 import com.foreach.across.modules.entity.views.util.EntityViewElementUtils;
 import com.foreach.across.modules.entity.web.links.EntityViewLinkBuilder;
-import com.foreach.across.modules.entity.web.links.SingleEntityViewLinkBuilder;
+import com.foreach.across.modules.entity.web.links.EntityViewLinkTemplate;
 import com.foreach.across.modules.spring.security.actions.AllowableAction;
 import com.foreach.across.modules.spring.security.actions.AllowableActions;
 import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
@@ -34,6 +34,8 @@ import static com.foreach.across.modules.entity.EntityModuleIcons.entityModuleIc
 
 /**
  * Adds common actions (update, delete) for an {@link EntityConfiguration} entity to every result item.
+ * The links are generated using precompiled {@link EntityViewLinkTemplate}s, which are created on first use.
+ * A processor instance should not be reused across requests.
  */
 public class EntityListActionsProcessor implements ViewElementPostProcessor<TableViewElement.Row>
 {
@@ -50,6 +52,10 @@ public class EntityListActionsProcessor implements ViewElementPostProcessor<Tabl
 	@Setter
 	private boolean linkToDetailView = false;
 
+	private EntityViewLinkTemplate detailViewTemplate;
+	private EntityViewLinkTemplate updateViewTemplate;
+	private EntityViewLinkTemplate deleteViewTemplate;
+
 	@SuppressWarnings("unchecked")
 	public EntityListActionsProcessor( EntityConfiguration entityConfiguration,
 	                                   EntityViewLinkBuilder linkBuilder,
@@ -80,11 +86,9 @@ public class EntityListActionsProcessor implements ViewElementPostProcessor<Tabl
 	protected void addEntityActions( TableViewElementBuilder.Cell cell, Object entity ) {
 		AllowableActions allowableActions = entityConfiguration.getAllowableActions( entity );
 
-		SingleEntityViewLinkBuilder url = linkBuilder.forInstance( entity );
-
 		ButtonViewElementBuilder detailViewBtn = bootstrap.builders.button()
 		                                                           .data( "em-button-role", "view" )
-		                                                           .link( url.toUriString() )
+		                                                           .link( detailViewTemplate().forInstance( entity ) )
 		                                                           .iconOnly( entityModuleIcons.listView.linkToDetailView() )
 		                                                           .text( messages.viewAction() );
 		if ( linkToDetailView ) {
@@ -97,7 +101,7 @@ public class EntityListActionsProcessor implements ViewElementPostProcessor<Tabl
 				cell.add(
 						bootstrap.builders.button()
 						                  .data( "em-button-role", "edit" )
-						                  .link( url.updateView().toUriString() )
+						                  .link( updateViewTemplate().forInstance( entity ) )
 						                  .iconOnly( entityModuleIcons.listView.linkToEditView() )
 						                  .text( messages.updateAction() )
 				);
@@ -111,11 +115,31 @@ public class EntityListActionsProcessor implements ViewElementPostProcessor<Tabl
 			cell.add(
 					bootstrap.builders.button()
 					                  .data( "em-button-role", "delete" )
-					                  .link( url.deleteView().toUriString() )
+					                  .link( deleteViewTemplate().forInstance( entity ) )
 					                  .iconOnly( entityModuleIcons.listView.linkToDeleteView() )
 					                  .text( messages.deleteAction() )
 			);
 		}
 	}
 
+	private EntityViewLinkTemplate detailViewTemplate() {
+		if ( detailViewTemplate == null ) {
+			detailViewTemplate = linkBuilder.instanceTemplate().toUriTemplate();
+		}
+		return detailViewTemplate;
+	}
+
+	private EntityViewLinkTemplate updateViewTemplate() {
+		if ( updateViewTemplate == null ) {
+			updateViewTemplate = linkBuilder.updateViewTemplate().toUriTemplate();
+		}
+		return updateViewTemplate;
+	}
+
+	private EntityViewLinkTemplate deleteViewTemplate() {
+		if ( deleteViewTemplate == null ) {
+			deleteViewTemplate = linkBuilder.deleteViewTemplate().toUriTemplate();
+		}
+		return deleteViewTemplate;
+	}
 }
@@ -18,6 +18,7 @@ package com.foreach.across.modules.entity.views.bootstrapui.processors.element;
 import com.foreach.across.modules.bootstrapui.elements.TableViewElement;
 import com.foreach.across.modules.entity.views.util.EntityViewElementUtils;
 import com.foreach.across.modules.entity.web.links.EntityViewLinkBuilder;
+import com.foreach.across.modules.entity.web.links.EntityViewLinkTemplate;
 import com.foreach.across.modules.web.ui.ViewElementBuilderContext;
 import com.foreach.across.modules.web.ui.ViewElementPostProcessor;
 import com.foreach.across.modules.web.ui.elements.support.ContainerViewElementUtils;
@@ -35,6 +36,8 @@ public class EntitySummaryViewActionProcessor implements ViewElementPostProcesso
 	private final String viewName;
 	private final EntityViewLinkBuilder linkBuilder;
 
+	private EntityViewLinkTemplate summaryViewTemplate;
+
 	public EntitySummaryViewActionProcessor( EntityViewLinkBuilder linkBuilder, String viewName ) {
 		this.linkBuilder = linkBuilder;
 		this.viewName = viewName;
@@ -43,7 +46,7 @@ public class EntitySummaryViewActionProcessor implements ViewElementPostProcesso
 	@Override
 	public void postProcess( ViewElementBuilderContext builderContext, TableViewElement.Row element ) {
 		Object entity = EntityViewElementUtils.currentEntity( builderContext );
-		element.setAttribute( "data-summary-url", linkBuilder.forInstance( entity ).withViewName( viewName ).withPartial( "content" ).toUriString() );
+		element.setAttribute( "data-summary-url", summaryViewTemplate().forInstance( entity ) );
 		ContainerViewElementUtils.findAll( element, TableViewElement.Cell.class )
 		                         .findFirst()
 		                         .ifPresent( cell -> cell.addFirstChild(
@@ -51,4 +54,12 @@ public class EntitySummaryViewActionProcessor implements ViewElementPostProcesso
 		                         ) );
 
 	}
+
+	private EntityViewLinkTemplate summaryViewTemplate() {
+		if ( summaryViewTemplate == null ) {
+			summaryViewTemplate = linkBuilder.instanceTemplate( link -> link.withViewName( viewName ).withPartial( "content" ) )
+			                                 .toUriTemplate();
+		}
+		return summaryViewTemplate;
+	}
 }
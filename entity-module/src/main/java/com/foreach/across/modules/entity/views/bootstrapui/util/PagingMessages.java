@@ -33,4 +33,34 @@ public interface PagingMessages
 	String previousPage( Page currentPage, Object... args );
 
 	String resultsFound( Page currentPage, Object... args );
+
+	/**
+	 * Message for the number of results if the total of the page is only an estimate.
+	 * Defaults to {@link #resultsFound(Page, Object...)}.
+	 *
+	 * @since 4.3.0
+	 */
+	default String approximateResultsFound( Page currentPage, Object... args ) {
+		return resultsFound( currentPage, args );
+	}
+
+	/**
+	 * Text following the current page number if the total number of pages is only an estimate.
+	 * Defaults to {@link #ofPages(Page, Object...)}.
+	 *
+	 * @since 4.3.0
+	 */
+	default String approximateOfPages( Page currentPage, Object... args ) {
+		return ofPages( currentPage, args );
+	}
+
+	/**
+	 * Message for the results being shown if the total number of results is unknown.
+	 * Defaults to an empty message.
+	 *
+	 * @since 4.3.0
+	 */
+	default String resultsShown( Page currentPage, Object... args ) {
+		return "";
+	}
 }
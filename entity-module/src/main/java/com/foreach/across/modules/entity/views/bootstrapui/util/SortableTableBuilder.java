@@ -21,8 +21,12 @@ import com.foreach.across.modules.bootstrapui.elements.TableViewElement;
 import com.foreach.across.modules.bootstrapui.elements.builder.TableViewElementBuilder;
 import com.foreach.across.modules.bootstrapui.styles.AcrossBootstrapStyles;
 import com.foreach.across.modules.bootstrapui.styles.BootstrapStyleRule;
+import com.foreach.across.modules.entity.bind.EntityPropertiesBinderCache;
 import com.foreach.across.modules.entity.conditionals.ConditionalOnBootstrapUI;
+import com.foreach.across.modules.entity.query.EstimatedTotalPage;
+import com.foreach.across.modules.entity.query.UnknownTotalPage;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.registry.properties.EntityPropertyBindingContext;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertyRegistry;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertySelector;
@@ -41,6 +45,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
@@ -103,7 +108,7 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 	private EntityPropertySelector propertySelector;
 	private Collection<String> sortableProperties;
 	private Collection<EntityPropertyDescriptor> propertyDescriptors;
-	private boolean tableOnly, showResultNumber = true;
+	private boolean tableOnly, showResultNumber = true, bulkValueFetching = true, totalUnknown;
 	private Page<Object> page = new PageImpl<>( Collections.emptyList() );
 	private BootstrapStyleRule[] tableStyles = new BootstrapStyleRule[] { css.table.hover };
 	private PagingMessages pagingMessages;
@@ -306,6 +311,25 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 		return this;
 	}
 
+	protected boolean isBulkValueFetching() {
+		return bulkValueFetching;
+	}
+
+	/**
+	 * Should property values be fetched in bulk for all items on the current page?
+	 * If enabled (default) and at least one of the rendered properties has a controller that is
+	 * optimized for bulk value fetching, an {@link EntityPropertiesBinderCache} will be created for
+	 * the page and every row will use its binding context. Properties supporting it will then fetch
+	 * their values once for all rows instead of once per row.
+	 *
+	 * @param bulkValueFetching true if values should be bulk fetched when possible
+	 * @return current builder
+	 */
+	public SortableTableBuilder bulkValueFetching( boolean bulkValueFetching ) {
+		this.bulkValueFetching = bulkValueFetching;
+		return this;
+	}
+
 	protected Page getPage() {
 		return page;
 	}
@@ -326,9 +350,40 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 	@SuppressWarnings("unchecked")
 	public SortableTableBuilder items( Page page ) {
 		this.page = page;
+		this.totalUnknown = page instanceof UnknownTotalPage;
 		return this;
 	}
 
+	/**
+	 * Set the data items to be shown. If the slice is not a {@link Page}, the total number of items is unknown:
+	 * no total will be rendered and the pager only allows navigating to the previous or next page.
+	 *
+	 * @param slice of data items to be shown
+	 * @return current builder
+	 */
+	@SuppressWarnings("unchecked")
+	public SortableTableBuilder items( Slice slice ) {
+		if ( slice instanceof Page ) {
+			return items( (Page) slice );
+		}
+
+		return items( new UnknownTotalPage<>( slice.getContent(), slice.getPageable(), slice.hasNext() ) );
+	}
+
+	/**
+	 * @return true if the items were set as a {@link Slice} or {@link UnknownTotalPage} and the total number of items is unknown
+	 */
+	protected boolean isTotalUnknown() {
+		return totalUnknown;
+	}
+
+	/**
+	 * @return true if the total number of items is only an estimate
+	 */
+	protected boolean isTotalEstimated() {
+		return page instanceof EstimatedTotalPage;
+	}
+
 	protected boolean isShowResultNumber() {
 		return showResultNumber;
 	}
@@ -538,7 +593,7 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 		attributes.put( DATA_ATTR_TABLE_TYPE, "paged" );
 		attributes.put( DATA_ATTR_ENTITY_TYPE, getResolvedEntityType() );
 		attributes.put( DATA_ATTR_CURRENT_PAGE, currentPage.getNumber() );
-		attributes.put( DATA_ATTR_PAGES, currentPage.getTotalPages() );
+		attributes.put( DATA_ATTR_PAGES, isTotalUnknown() ? -1 : currentPage.getTotalPages() );
 		attributes.put( DATA_ATTR_PAGE_SIZE, currentPage.getSize() );
 		attributes.put( DATA_ATTR_SORT, convertSortAttribute( currentPage.getSort() ) );
 		//attributes.put( DATA_ATTR_AJAX_LOAD, false );
@@ -639,14 +694,64 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 			valueRow.postProcessor( postProcessor );
 		}
 
+		EntityPropertiesBinderCache binderCache = createPropertiesBinderCache();
+
 		table.body()
 		     .add(
 				     bootstrap.builders.generator( Object.class, TableViewElement.Row.class )
-				                       .itemBuilder( valueRow )
+				                       .itemBuilder( binderCache != null ? bulkFetchingRow( valueRow, binderCache ) : valueRow )
 				                       .items( page.getContent() )
 		     );
 	}
 
+	/**
+	 * Create the {@link EntityPropertiesBinderCache} for the items on the current page, if bulk value fetching
+	 * is enabled and useful. Only created if at least one property to render supports bulk fetching and all
+	 * items can be uniquely identified (no {@code null} values or duplicates according to {@code equals()}).
+	 *
+	 * @return cache or {@code null} if values should be fetched for each row separately
+	 */
+	protected EntityPropertiesBinderCache createPropertiesBinderCache() {
+		if ( !isBulkValueFetching() ) {
+			return null;
+		}
+
+		EntityPropertyRegistry registry = getPropertyRegistry() != null
+				? getPropertyRegistry() : ( getEntityConfiguration() != null ? getEntityConfiguration().getPropertyRegistry() : null );
+
+		if ( registry == null || getResolvedPropertyDescriptors().stream().noneMatch( this::isOptimizedForBulkValueFetching ) ) {
+			return null;
+		}
+
+		List<Object> items = page.getContent();
+
+		if ( items.size() < 2 || items.contains( null ) || new HashSet<>( items ).size() != items.size() ) {
+			return null;
+		}
+
+		return EntityPropertiesBinderCache.builder()
+		                                  .propertyRegistry( registry )
+		                                  .entities( items )
+		                                  .build();
+	}
+
+	private boolean isOptimizedForBulkValueFetching( EntityPropertyDescriptor descriptor ) {
+		return descriptor.getController() != null && descriptor.getController().isOptimizedForBulkValueFetching();
+	}
+
+	private ViewElementBuilder<TableViewElement.Row> bulkFetchingRow( TableViewElementBuilder.Row valueRow, EntityPropertiesBinderCache binderCache ) {
+		return builderContext -> {
+			Object entity = EntityViewElementUtils.currentEntity( builderContext );
+
+			if ( entity != null ) {
+				binderCache.getPropertiesBinder( entity )
+				           .ifPresent( binder -> builderContext.setAttribute( EntityPropertyBindingContext.class, binder.asBindingContext() ) );
+			}
+
+			return valueRow.build( builderContext );
+		};
+	}
+
 	protected ViewElementBuilder createLabel( EntityPropertyDescriptor descriptor ) {
 		return viewElementBuilderService.getElementBuilder( descriptor, labelViewElementMode );
 	}
@@ -656,7 +761,7 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 	}
 
 	protected NodeViewElementBuilder createPanelForTable( TableViewElementBuilder tableBody ) {
-		String resultsFound = getResolvedPagingMessages().resultsFound( getPage() );
+		String resultsFound = resolveResultsFoundText();
 
 		NodeViewElementBuilder panel = html.builders.div()
 		                                            .name( elementName( ELEMENT_PANEL ) )
@@ -693,10 +798,20 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 		                    .add(
 				                    html.builders.div()
 				                                 .with( css.card.body, AcrossBootstrapStyles.css.text.warning )
-				                                 .add( html.builders.unescapedText( getResolvedPagingMessages().resultsFound( getPage() ) ) )
+				                                 .add( html.builders.unescapedText( resolveResultsFoundText() ) )
 		                    );
 	}
 
+	private String resolveResultsFoundText() {
+		PagingMessages messages = getResolvedPagingMessages();
+
+		if ( isTotalUnknown() ) {
+			return getPage().hasContent() ? messages.resultsShown( getPage() ) : messages.resultsFound( new PageImpl<>( Collections.emptyList() ) );
+		}
+
+		return isTotalEstimated() ? messages.approximateResultsFound( getPage() ) : messages.resultsFound( getPage() );
+	}
+
 	protected ViewElementBuilder createPager() {
 		Page currentPage = getPage();
 		PagingMessages messages = getResolvedPagingMessages();
@@ -730,16 +845,20 @@ public class SortableTableBuilder implements ViewElementBuilder<ContainerViewEle
 						                               .attribute( DATA_ATTR_TABLE_NAME, getTableName() )
 						                               .text( String.valueOf( currentPage.getNumber() + 1 ) )
 				             )
-		)
-		     .add( html.builders.span().add( html.builders.unescapedText( messages.ofPages( currentPage ) ) ) )
-		     .add(
-				     bootstrap.builders.link()
-				                       .url( "#" )
-				                       .css( "total-pages-link" )
-				                       .attribute( DATA_ATTR_PAGE, currentPage.getTotalPages() - 1 )
-				                       .attribute( DATA_ATTR_TABLE_NAME, getTableName() )
-				                       .add( html.builders.unescapedText( String.valueOf( currentPage.getTotalPages() ) ) )
-		     );
+		);
+
+		if ( !isTotalUnknown() ) {
+			String ofPages = isTotalEstimated() ? messages.approximateOfPages( currentPage ) : messages.ofPages( currentPage );
+			pager.add( html.builders.span().add( html.builders.unescapedText( ofPages ) ) )
+			     .add(
+					     bootstrap.builders.link()
+					                       .url( "#" )
+					                       .css( "total-pages-link" )
+					                       .attribute( DATA_ATTR_PAGE, currentPage.getTotalPages() - 1 )
+					                       .attribute( DATA_ATTR_TABLE_NAME, getTableName() )
+					                       .add( html.builders.unescapedText( String.valueOf( currentPage.getTotalPages() ) ) )
+			     );
+		}
 
 		if ( currentPage.hasNext() ) {
 			pager.add(
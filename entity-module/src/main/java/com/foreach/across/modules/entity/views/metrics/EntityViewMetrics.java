@@ -0,0 +1,220 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.metrics;
+
+import com.foreach.across.modules.entity.config.EntityViewMetricsProperties;
+import com.foreach.across.modules.entity.query.AbstractEntityQueryExecutor;
+import com.foreach.across.modules.entity.query.EntityQueryExecutor;
+import com.foreach.across.modules.entity.registry.EntityAssociation;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.views.context.EntityViewContext;
+import com.foreach.across.modules.entity.views.request.EntityViewRequest;
+import com.foreach.across.modules.web.ui.ViewElement;
+import com.foreach.across.modules.web.ui.elements.NodeViewElement;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.foreach.across.modules.web.ui.elements.HtmlViewElement.Functions.css;
+import static com.foreach.across.modules.web.ui.elements.HtmlViewElements.html;
+
+/**
+ * Central entry point for timing entity views. Starting the timings for a view request binds a new
+ * {@link EntityViewTimings} to the current thread, which will then be used by the
+ * {@link com.foreach.across.modules.entity.views.DefaultEntityViewFactory} and
+ * {@link com.foreach.across.modules.entity.views.processors.support.EntityViewProcessorRegistry} to record phase and processor durations.
+ * <p/>
+ * Stopping the timings notifies all {@link EntityViewMetricsListener}s, logs the breakdown if the view was slow
+ * and registers the timings as request attribute, so they can be rendered in a debug panel.
+ * <p/>
+ * When enabled, entity queries executed by an {@link AbstractEntityQueryExecutor} are timed as well.
+ * Query timers are installed on the executor the first time a view for that entity is requested,
+ * but only if the query timings are used: by a listener, the slow view log or the debug panel.
+ * <p/>
+ * Nothing is recorded unless {@link EntityViewMetricsProperties#isEnabled()} is {@code true}.
+ *
+ * @author Arne Vandamme
+ * @see EntityViewMetricsProperties
+ * @since 4.3.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityViewMetrics
+{
+	private final EntityViewMetricsProperties properties;
+	private final ObjectProvider<EntityViewMetricsListener> listeners;
+
+	/**
+	 * @return true if entity views should be timed
+	 */
+	public boolean isEnabled() {
+		return properties.isEnabled();
+	}
+
+	/**
+	 * Start timing the view request and bind the timings to the current thread.
+	 * Does nothing if metrics are not enabled.
+	 *
+	 * @param entityViewRequest to time
+	 * @return timings or {@code null} if not enabled
+	 */
+	public EntityViewTimings start( @NonNull EntityViewRequest entityViewRequest ) {
+		if ( !properties.isEnabled() ) {
+			return null;
+		}
+
+		EntityViewContext entityViewContext = entityViewRequest.getEntityViewContext();
+		EntityConfiguration<?> entityConfiguration = entityViewContext.getEntityConfiguration();
+		EntityAssociation association = entityViewContext.isForAssociation() ? entityViewContext.getEntityAssociation() : null;
+
+		if ( isQueryTimingRequired() ) {
+			installQueryTimer( entityConfiguration, entityConfiguration.getAttribute( EntityQueryExecutor.class ) );
+			if ( association != null ) {
+				installQueryTimer( association.getTargetEntityConfiguration(), association.getAttribute( EntityQueryExecutor.class ) );
+			}
+		}
+
+		EntityViewTimings timings = new EntityViewTimings(
+				entityConfiguration.getName(),
+				association != null ? association.getName() : null,
+				entityViewRequest.getViewName(),
+				properties.isProcessorTimings()
+		);
+		EntityViewTimings.bind( timings );
+
+		return timings;
+	}
+
+	/**
+	 * Stop the timings and remove them from the current thread.
+	 * Notifies all listeners and logs slow views.
+	 *
+	 * @param timings to stop, can be {@code null}
+	 */
+	public void stop( EntityViewTimings timings ) {
+		if ( timings == null ) {
+			return;
+		}
+
+		timings.stop();
+
+		if ( EntityViewTimings.current() == timings ) {
+			EntityViewTimings.bind( null );
+		}
+
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if ( requestAttributes != null ) {
+			requestAttributes.setAttribute( EntityViewTimings.REQUEST_ATTRIBUTE, timings, RequestAttributes.SCOPE_REQUEST );
+		}
+
+		Duration slowViewThreshold = properties.getSlowViewThreshold();
+		if ( slowViewThreshold != null && timings.getDuration().compareTo( slowViewThreshold ) > 0 ) {
+			LOG.warn( "Slow {}", timings.toBreakdown() );
+		}
+		else if ( LOG.isTraceEnabled() ) {
+			LOG.trace( "Timed {}", timings.toBreakdown() );
+		}
+
+		notifyListeners( listener -> listener.entityViewTimed( timings ) );
+	}
+
+	/**
+	 * Build a debug panel showing the timings, if {@link EntityViewMetricsProperties#isDebugPanel()} is {@code true}.
+	 *
+	 * @param timings to show
+	 * @return panel or {@code null} if not enabled
+	 */
+	public ViewElement buildDebugPanel( EntityViewTimings timings ) {
+		if ( timings == null || !properties.isDebugPanel() ) {
+			return null;
+		}
+
+		NodeViewElement phases = html.ul();
+		timings.getPhaseDurations().forEach( ( phase, duration ) -> {
+			NodeViewElement item = html.li( html.text( phase.getPhaseName() + ": " + EntityViewTimings.millis( duration.toNanos() ) + " ms" ) );
+
+			List<ViewElement> processors
+					= timings.getProcessorTimings()
+					         .stream()
+					         .filter( timing -> timing.getPhase() == phase )
+					         .map( timing -> html.li( html.text(
+							         timing.getProcessorName() + ": " + EntityViewTimings.millis( timing.getDurationNanos() ) + " ms"
+					         ) ) )
+					         .collect( Collectors.toList() );
+
+			if ( !processors.isEmpty() ) {
+				NodeViewElement processorList = html.ul();
+				processorList.addChildren( processors );
+				item.addChild( processorList );
+			}
+			phases.addChild( item );
+		} );
+
+		return html.div(
+				css( "em-view-timings", "small", "text-muted" ),
+				html.h6( html.text(
+						"Entity view " + timings.getViewName() + ": " + EntityViewTimings.millis( timings.getDuration().toNanos() ) + " ms, "
+								+ timings.getQueryCount() + " queries in " + EntityViewTimings.millis( timings.getQueryDuration().toNanos() ) + " ms"
+				) ),
+				phases
+		);
+	}
+
+	private boolean isQueryTimingRequired() {
+		return properties.isDebugPanel() || properties.getSlowViewThreshold() != null || listeners.stream().findAny().isPresent();
+	}
+
+	private void installQueryTimer( EntityConfiguration<?> entityConfiguration, EntityQueryExecutor<?> queryExecutor ) {
+		if ( queryExecutor instanceof AbstractEntityQueryExecutor ) {
+			AbstractEntityQueryExecutor<?> executor = (AbstractEntityQueryExecutor<?>) queryExecutor;
+			if ( executor.getQueryExecutionTimer() == null ) {
+				executor.setQueryExecutionTimer( ( operation, durationNanos ) -> queryTimed( entityConfiguration, operation, durationNanos ) );
+			}
+		}
+	}
+
+	private void queryTimed( EntityConfiguration<?> entityConfiguration, String operation, long durationNanos ) {
+		EntityViewTimings timings = EntityViewTimings.current();
+		if ( timings != null ) {
+			timings.recordQuery( durationNanos );
+		}
+
+		notifyListeners( listener -> listener.entityQueryTimed( entityConfiguration, operation, durationNanos ) );
+	}
+
+	private void notifyListeners( Consumer<EntityViewMetricsListener> notification ) {
+		listeners.forEach( listener -> {
+			try {
+				notification.accept( listener );
+			}
+			catch ( RuntimeException e ) {
+				LOG.error( "Exception in EntityViewMetricsListener {}", listener, e );
+			}
+		} );
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.metrics;
+
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+
+/**
+ * Listener that receives the timings recorded by {@link EntityViewMetrics}.
+ * All beans implementing this interface will be notified.
+ *
+ * @author Arne Vandamme
+ * @see MicrometerEntityViewMetricsListener
+ * @since 4.3.0
+ */
+public interface EntityViewMetricsListener
+{
+	/**
+	 * Called when an entity view has been created.
+	 *
+	 * @param timings of the view
+	 */
+	void entityViewTimed( EntityViewTimings timings );
+
+	/**
+	 * Called when an entity query has been executed.
+	 *
+	 * @param entityConfiguration the query was executed for
+	 * @param operation           type of query
+	 * @param durationNanos       duration of the query in nanoseconds
+	 */
+	default void entityQueryTimed( EntityConfiguration<?> entityConfiguration, String operation, long durationNanos ) {
+	}
+}
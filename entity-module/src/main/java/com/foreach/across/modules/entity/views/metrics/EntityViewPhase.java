@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The different dispatch phases of {@link com.foreach.across.modules.entity.views.DefaultEntityViewFactory#createView(com.foreach.across.modules.entity.views.request.EntityViewRequest)}
+ * that are measured by {@link EntityViewTimings}.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@RequiredArgsConstructor
+public enum EntityViewPhase
+{
+	PRE_PROCESS( "preProcess" ),
+	DO_CONTROL( "doControl" ),
+	PRE_RENDER( "preRender" ),
+	RENDER( "render" ),
+	POST_RENDER( "postRender" ),
+	POST_PROCESS( "postProcess" );
+
+	/**
+	 * Name of the phase, corresponds with the {@link com.foreach.across.modules.entity.views.EntityViewProcessor} method.
+	 */
+	@Getter
+	private final String phaseName;
+}
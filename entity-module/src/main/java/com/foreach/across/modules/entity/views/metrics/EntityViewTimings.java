@@ -0,0 +1,264 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.metrics;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the timing information for a single entity view request: the duration of every {@link EntityViewPhase}
+ * and of every processor dispatched in that phase, along with the number and total duration of the entity queries executed.
+ * <p/>
+ * Timings are bound to the current thread using {@link #bind(EntityViewTimings)}. If no timings are bound,
+ * {@link #current()} returns {@code null} and no measurements are taken, so the overhead is limited to a thread local lookup.
+ * <p/>
+ * Instances are not thread-safe and are meant to be used for a single request.
+ *
+ * @author Arne Vandamme
+ * @see EntityViewMetrics
+ * @since 4.3.0
+ */
+@RequiredArgsConstructor
+public final class EntityViewTimings
+{
+	/**
+	 * Name of the request attribute holding the timings of the last entity view for the current request.
+	 */
+	public static final String REQUEST_ATTRIBUTE = EntityViewTimings.class.getName();
+
+	private static final ThreadLocal<EntityViewTimings> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * Name of the entity configuration.
+	 */
+	@Getter
+	private final String entityName;
+
+	/**
+	 * Name of the association, {@code null} if not an association view.
+	 */
+	@Getter
+	private final String associationName;
+
+	/**
+	 * Name of the view.
+	 */
+	@Getter
+	private final String viewName;
+
+	/**
+	 * Should individual processor timings be recorded?
+	 */
+	private final boolean recordProcessors;
+
+	private final long startTime = System.nanoTime();
+	private final Map<EntityViewPhase, Long> phaseDurations = new EnumMap<>( EntityViewPhase.class );
+	private final List<ProcessorTiming> processorTimings = new ArrayList<>();
+
+	private EntityViewPhase currentPhase;
+	private long currentPhaseStart;
+	private long duration = -1;
+
+	/**
+	 * Number of entity queries executed during the view.
+	 */
+	@Getter
+	private int queryCount;
+	private long queryDuration;
+
+	/**
+	 * Start measuring a phase, any previously started phase will be ended first.
+	 *
+	 * @param phase to start
+	 */
+	public void startPhase( @NonNull EntityViewPhase phase ) {
+		endPhase();
+		currentPhase = phase;
+		currentPhaseStart = System.nanoTime();
+	}
+
+	/**
+	 * End measuring the current phase, if there is one.
+	 */
+	public void endPhase() {
+		if ( currentPhase != null ) {
+			phaseDurations.merge( currentPhase, System.nanoTime() - currentPhaseStart, Long::sum );
+			currentPhase = null;
+		}
+	}
+
+	/**
+	 * @return true if individual processor timings should be recorded
+	 */
+	public boolean isRecordingProcessors() {
+		return recordProcessors;
+	}
+
+	/**
+	 * Record the duration of a single processor dispatch in the current phase.
+	 * Ignored if processor timings are not being recorded or there is no current phase.
+	 *
+	 * @param processorName name of the processor
+	 * @param durationNanos duration in nanoseconds
+	 */
+	public void recordProcessor( String processorName, long durationNanos ) {
+		if ( recordProcessors && currentPhase != null ) {
+			processorTimings.add( new ProcessorTiming( currentPhase, processorName, durationNanos ) );
+		}
+	}
+
+	/**
+	 * Record the execution of an entity query.
+	 *
+	 * @param durationNanos duration in nanoseconds
+	 */
+	public void recordQuery( long durationNanos ) {
+		queryCount++;
+		queryDuration += durationNanos;
+	}
+
+	/**
+	 * Stop the timings, will end the current phase and fix the total duration.
+	 */
+	public void stop() {
+		if ( duration < 0 ) {
+			endPhase();
+			duration = System.nanoTime() - startTime;
+		}
+	}
+
+	/**
+	 * @return total duration of the view, up until now if not yet stopped
+	 */
+	public Duration getDuration() {
+		return Duration.ofNanos( duration < 0 ? System.nanoTime() - startTime : duration );
+	}
+
+	/**
+	 * @param phase to get the duration for
+	 * @return duration of that phase, {@link Duration#ZERO} if it was not executed
+	 */
+	public Duration getPhaseDuration( EntityViewPhase phase ) {
+		return Duration.ofNanos( phaseDurations.getOrDefault( phase, 0L ) );
+	}
+
+	/**
+	 * @return the phases that have been executed, in order
+	 */
+	public Map<EntityViewPhase, Duration> getPhaseDurations() {
+		Map<EntityViewPhase, Duration> durations = new EnumMap<>( EntityViewPhase.class );
+		phaseDurations.forEach( ( phase, nanos ) -> durations.put( phase, Duration.ofNanos( nanos ) ) );
+		return durations;
+	}
+
+	/**
+	 * @return individual processor timings, in order of execution
+	 */
+	public List<ProcessorTiming> getProcessorTimings() {
+		return Collections.unmodifiableList( processorTimings );
+	}
+
+	/**
+	 * @return total duration of all entity queries executed
+	 */
+	public Duration getQueryDuration() {
+		return Duration.ofNanos( queryDuration );
+	}
+
+	/**
+	 * @return multi-line breakdown of the timings, suitable for logging
+	 */
+	public String toBreakdown() {
+		StringBuilder breakdown = new StringBuilder( 256 );
+		breakdown.append( "entity view " ).append( entityName );
+		if ( associationName != null ) {
+			breakdown.append( " (association " ).append( associationName ).append( ')' );
+		}
+		breakdown.append( " - " ).append( viewName ).append( ": " ).append( millis( getDuration().toNanos() ) ).append( " ms" )
+		         .append( ", " ).append( queryCount ).append( " queries in " ).append( millis( queryDuration ) ).append( " ms" );
+
+		phaseDurations.forEach( ( phase, nanos ) -> {
+			breakdown.append( "\n  " ).append( phase.getPhaseName() ).append( ": " ).append( millis( nanos ) ).append( " ms" );
+			processorTimings.stream()
+			                .filter( timing -> timing.getPhase() == phase )
+			                .forEach( timing -> breakdown.append( "\n    " ).append( timing.getProcessorName() ).append( ": " )
+			                                             .append( millis( timing.getDurationNanos() ) ).append( " ms" ) );
+		} );
+
+		return breakdown.toString();
+	}
+
+	@Override
+	public String toString() {
+		return "EntityViewTimings{" + entityName + " - " + viewName + ": " + millis( getDuration().toNanos() ) + " ms}";
+	}
+
+	static String millis( long nanos ) {
+		return String.format( Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos( 1 ) );
+	}
+
+	/**
+	 * @return timings bound to the current thread, {@code null} if none
+	 */
+	public static EntityViewTimings current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Bind timings to the current thread.
+	 *
+	 * @param timings to bind, {@code null} to remove the current timings
+	 * @return the timings that were previously bound
+	 */
+	public static EntityViewTimings bind( EntityViewTimings timings ) {
+		EntityViewTimings previous = CURRENT.get();
+		if ( timings != null ) {
+			CURRENT.set( timings );
+		}
+		else {
+			CURRENT.remove();
+		}
+		return previous;
+	}
+
+	/**
+	 * Duration of a single processor dispatch.
+	 */
+	@Value
+	public static class ProcessorTiming
+	{
+		private final EntityViewPhase phase;
+		private final String processorName;
+		private final long durationNanos;
+
+		public Duration getDuration() {
+			return Duration.ofNanos( durationNanos );
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.metrics;
+
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the entity view and entity query timings as Micrometer timers.
+ * Uses the {@link MeterRegistry} bean if there is one, else the global registry.
+ * <ul>
+ * <li>{@code entity.view}: total duration of a view, tagged with entity, association and view name</li>
+ * <li>{@code entity.view.phase}: duration of a single phase, additionally tagged with the phase</li>
+ * <li>{@code entity.view.processor}: duration of a single processor, additionally tagged with phase and processor name</li>
+ * <li>{@code entity.query}: duration of an entity query, tagged with entity and operation</li>
+ * </ul>
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@Component
+@ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+public class MicrometerEntityViewMetricsListener implements EntityViewMetricsListener
+{
+	public static final String VIEW_TIMER = "entity.view";
+	public static final String PHASE_TIMER = "entity.view.phase";
+	public static final String PROCESSOR_TIMER = "entity.view.processor";
+	public static final String QUERY_TIMER = "entity.query";
+
+	private final MeterRegistry meterRegistry;
+
+	public MicrometerEntityViewMetricsListener( ObjectProvider<MeterRegistry> meterRegistry ) {
+		this.meterRegistry = meterRegistry.getIfAvailable( () -> Metrics.globalRegistry );
+	}
+
+	@Override
+	public void entityViewTimed( EntityViewTimings timings ) {
+		Tags tags = Tags.of( "entity", timings.getEntityName(),
+		                     "association", timings.getAssociationName() != null ? timings.getAssociationName() : "",
+		                     "view", timings.getViewName() );
+
+		Timer.builder( VIEW_TIMER ).tags( tags ).register( meterRegistry ).record( timings.getDuration() );
+
+		timings.getPhaseDurations().forEach(
+				( phase, duration ) -> Timer.builder( PHASE_TIMER )
+				                            .tags( tags.and( "phase", phase.getPhaseName() ) )
+				                            .register( meterRegistry )
+				                            .record( duration )
+		);
+
+		timings.getProcessorTimings().forEach(
+				timing -> Timer.builder( PROCESSOR_TIMER )
+				               .tags( tags.and( "phase", timing.getPhase().getPhaseName(), "processor", timing.getProcessorName() ) )
+				               .register( meterRegistry )
+				               .record( timing.getDurationNanos(), TimeUnit.NANOSECONDS )
+		);
+	}
+
+	@Override
+	public void entityQueryTimed( EntityConfiguration<?> entityConfiguration, String operation, long durationNanos ) {
+		Timer.builder( QUERY_TIMER )
+		     .tags( "entity", entityConfiguration.getName(), "operation", operation )
+		     .register( meterRegistry )
+		     .record( durationNanos, TimeUnit.NANOSECONDS );
+	}
+}
@@ -29,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Scope;
 import org.springframework.core.Ordered;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
@@ -55,6 +56,20 @@ public final class DefaultEntityFetchingViewProcessor extends AbstractEntityFetc
 	 */
 	public static final String EQL_PREDICATE_ATTRIBUTE_NAME = EntityQueryFilterProcessor.EQL_PREDICATE_ATTRIBUTE_NAME;
 
+	/**
+	 * Can hold an optional {@link EntityFetchPlan} that should be passed to the {@link EntityQueryExecutor}.
+	 * Usually registered by the {@link SortableTableRenderingViewProcessor} for the properties it renders.
+	 * If a fetch plan is present and an {@link EntityQueryFacade} is available, it will be used instead of the repository.
+	 */
+	public static final String FETCH_PLAN_ATTRIBUTE_NAME = EntityFetchPlan.class.getName();
+
+	/**
+	 * Name of the view configuration attribute that can hold the {@link EntityQueryCountStrategy} to use for paged results.
+	 * If not set on the view, the strategy registered on the {@link EntityConfiguration} will be used.
+	 * If there is none, the total number of results is determined by the repository or {@link EntityQueryExecutor} itself.
+	 */
+	public static final String COUNT_STRATEGY_ATTRIBUTE_NAME = EntityQueryCountStrategy.class.getName();
+
 	/**
 	 * Default order that this processor will have if it has been added through the {@link com.foreach.across.modules.entity.views.builders.ListViewInitializer}.
 	 */
@@ -83,6 +98,9 @@ public final class DefaultEntityFetchingViewProcessor extends AbstractEntityFetc
 		EntityViewContext entityViewContext = entityViewRequest.getEntityViewContext();
 		EntityQueryFacade entityQueryFacade = entityQueryFacadeResolver.forEntityViewRequest( entityViewRequest );
 		String additionalPredicate = entityView.getAttribute( EQL_PREDICATE_ATTRIBUTE_NAME, String.class );
+		EntityFetchPlan fetchPlan = entityView.getAttribute( FETCH_PLAN_ATTRIBUTE_NAME, EntityFetchPlan.class );
+		EntityQueryCountStrategy countStrategy
+				= (EntityQueryCountStrategy) entityViewRequest.getConfigurationAttributes().get( COUNT_STRATEGY_ATTRIBUTE_NAME );
 
 		// set to null so we would favour regular repository if no specific query necessary
 		EntityQuery entityQuery = null;
@@ -104,11 +122,14 @@ public final class DefaultEntityFetchingViewProcessor extends AbstractEntityFetc
 					entityQueryFacade,
 					entityQuery,
 					pageable,
-					sort
+					sort,
+					fetchPlan,
+					countStrategy
 			);
 		}
 
-		return fetchItemsForEntityConfiguration( entityViewContext.getEntityConfiguration(), entityQueryFacade, entityQuery, pageable, sort );
+		return fetchItemsForEntityConfiguration( entityViewContext.getEntityConfiguration(), entityQueryFacade, entityQuery, pageable, sort, fetchPlan,
+		                                         countStrategy );
 	}
 
 	@SuppressWarnings("unchecked")
@@ -117,7 +138,9 @@ public final class DefaultEntityFetchingViewProcessor extends AbstractEntityFetc
 	                                                         EntityQueryFacade entityQueryFacade,
 	                                                         EntityQuery entityQuery,
 	                                                         Pageable pageable,
-	                                                         Sort sort ) {
+	                                                         Sort sort,
+	                                                         EntityFetchPlan fetchPlan,
+	                                                         EntityQueryCountStrategy countStrategy ) {
 		AssociatedEntityQueryExecutor associatedEntityQueryExecutor = association.getAttribute( AssociatedEntityQueryExecutor.class );
 
 		if ( associatedEntityQueryExecutor != null ) {
@@ -130,7 +153,9 @@ public final class DefaultEntityFetchingViewProcessor extends AbstractEntityFetc
 				entityQueryFacade,
 				EntityQueryUtils.and( entityQuery, EntityQueryUtils.createAssociationPredicate( association, parentEntity ) ),
 				pageable,
-				sort );
+				sort,
+				fetchPlan,
+				countStrategy );
 	}
 
 	@SuppressWarnings("unchecked")
@@ -138,11 +163,18 @@ public final class DefaultEntityFetchingViewProcessor extends AbstractEntityFetc
 	                                                           EntityQueryFacade entityQueryFacade,
 	                                                           EntityQuery entityQuery,
 	                                                           Pageable pageable,
-	                                                           Sort sort ) {
+	                                                           Sort sort,
+	                                                           EntityFetchPlan fetchPlan,
+	                                                           EntityQueryCountStrategy countStrategy ) {
 		Repository repository = entityConfiguration.getAttribute( Repository.class );
 
 		boolean shouldOnlySort = pageable == null;
-		if ( entityQuery == null ) {
+		boolean useFetchPlan = fetchPlan != null && !fetchPlan.isEmpty() && entityQueryFacade != null;
+		EntityQueryCountStrategy countStrategyToUse
+				= shouldOnlySort || entityQueryFacade == null ? null
+				: ( countStrategy != null ? countStrategy : entityConfiguration.getAttribute( EntityQueryCountStrategy.class ) );
+
+		if ( entityQuery == null && !useFetchPlan && countStrategyToUse == null ) {
 			if ( repository instanceof PagingAndSortingRepository ) {
 				if ( shouldOnlySort ) {
 					return ( (PagingAndSortingRepository) repository ).findAll( sort );
@@ -154,9 +186,13 @@ public final class DefaultEntityFetchingViewProcessor extends AbstractEntityFetc
 		if ( entityQueryFacade != null ) {
 			EntityQuery query = entityQuery != null ? entityQuery : EntityQuery.all();
 			if ( shouldOnlySort ) {
-				return entityQueryFacade.findAll( query, sort );
+				return useFetchPlan ? entityQueryFacade.findAll( query, sort, fetchPlan ) : entityQueryFacade.findAll( query, sort );
+			}
+			if ( countStrategyToUse != null ) {
+				Slice<Object> slice = entityQueryFacade.findSlice( query, pageable, useFetchPlan ? fetchPlan : null );
+				return countStrategyToUse.createPage( query, slice, () -> entityQueryFacade.count( query ) );
 			}
-			return entityQueryFacade.findAll( query, pageable );
+			return useFetchPlan ? entityQueryFacade.findAll( query, pageable, fetchPlan ) : entityQueryFacade.findAll( query, pageable );
 		}
 
 		if ( entityQuery != null ) {
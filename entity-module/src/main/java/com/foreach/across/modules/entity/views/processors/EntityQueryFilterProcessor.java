@@ -335,7 +335,11 @@ public class EntityQueryFilterProcessor extends AbstractEntityFetchingViewProces
 		if ( operand == null ) {
 			EntityTypeDescriptor typeDescriptor = EntityUtils.resolveEntityTypeDescriptor( property.getPropertyTypeDescriptor(), entityRegistry );
 
-			if ( String.class.equals( typeDescriptor.getSimpleTargetType() ) || ( typeDescriptor.isCollection() && typeDescriptor.isTargetTypeResolved() ) ) {
+			if ( String.class.equals( typeDescriptor.getSimpleTargetType() ) && !typeDescriptor.isCollection()
+					&& filterConfiguration.isFullText( property.getName() ) ) {
+				operand = EntityQueryOps.MATCHES;
+			}
+			else if ( String.class.equals( typeDescriptor.getSimpleTargetType() ) || ( typeDescriptor.isCollection() && typeDescriptor.isTargetTypeResolved() ) ) {
 				operand = EntityQueryOps.CONTAINS;
 			}
 			else {
@@ -18,6 +18,7 @@ package com.foreach.across.modules.entity.views.processors;
 
 import com.foreach.across.core.annotations.Exposed;
 import com.foreach.across.modules.entity.EntityAttributes;
+import com.foreach.across.modules.entity.query.EntityFetchPlan;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.properties.EntityPropertySelector;
 import com.foreach.across.modules.entity.util.EntityUtils;
@@ -29,6 +30,7 @@ import com.foreach.across.modules.entity.views.bootstrapui.processors.element.En
 import com.foreach.across.modules.entity.views.bootstrapui.util.SortableTableBuilder;
 import com.foreach.across.modules.entity.views.context.EntityViewContext;
 import com.foreach.across.modules.entity.views.processors.support.ViewElementBuilderMap;
+import com.foreach.across.modules.entity.views.request.EntityViewCommand;
 import com.foreach.across.modules.entity.views.request.EntityViewRequest;
 import com.foreach.across.modules.spring.security.actions.AllowableAction;
 import com.foreach.across.modules.web.resource.WebResource;
@@ -40,6 +42,7 @@ import lombok.Setter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
@@ -48,7 +51,7 @@ import java.util.Objects;
 
 /**
  * Renders a list of items as a sortable table using a {@link com.foreach.across.modules.entity.views.bootstrapui.util.SortableTableBuilder}.
- * Expects either a {@link org.springframework.data.domain.Page} or {@link java.util.List} attribute to be available on
+ * Expects either a {@link org.springframework.data.domain.Page}, {@link Slice} or {@link java.util.List} attribute to be available on
  * the {@link com.foreach.across.modules.entity.views.EntityView} under the name {@link AbstractEntityFetchingViewProcessor#DEFAULT_ATTRIBUTE_NAME}.
  * If no {@link Page} is available as that attribute, the table will not get created.
  * <p/>
@@ -133,6 +136,34 @@ public class SortableTableRenderingViewProcessor extends EntityViewProcessorAdap
 		this.propertySelector = this.propertySelector.combine( propertySelector );
 	}
 
+	/**
+	 * Registers the {@link EntityFetchPlan} for the properties that will be rendered, so the fetching processor
+	 * can load the associations they require together with the items.
+	 *
+	 * @see DefaultEntityFetchingViewProcessor#FETCH_PLAN_ATTRIBUTE_NAME
+	 * @see EntityAttributes#LIST_VIEW_FETCH_PLAN
+	 */
+	@Override
+	protected void preProcess( EntityViewRequest entityViewRequest, EntityView entityView, EntityViewCommand command ) {
+		EntityViewContext entityViewContext = entityViewRequest.getEntityViewContext();
+
+		if ( shouldUseFetchPlan( entityViewRequest, entityViewContext.getEntityConfiguration() ) && entityViewContext.getPropertyRegistry() != null ) {
+			EntityFetchPlan fetchPlan = EntityFetchPlan.forProperties( entityViewContext.getPropertyRegistry().select( propertySelector ) );
+			EntityFetchPlan existing = entityView.getAttribute( DefaultEntityFetchingViewProcessor.FETCH_PLAN_ATTRIBUTE_NAME, EntityFetchPlan.class );
+			entityView.addAttribute( DefaultEntityFetchingViewProcessor.FETCH_PLAN_ATTRIBUTE_NAME, existing != null ? existing.combine( fetchPlan ) : fetchPlan );
+		}
+	}
+
+	private boolean shouldUseFetchPlan( EntityViewRequest entityViewRequest, EntityConfiguration entityConfiguration ) {
+		Map<String, Object> configurationAttributes = entityViewRequest.getConfigurationAttributes();
+
+		if ( configurationAttributes.containsKey( EntityAttributes.LIST_VIEW_FETCH_PLAN ) ) {
+			return !Boolean.FALSE.equals( configurationAttributes.get( EntityAttributes.LIST_VIEW_FETCH_PLAN ) );
+		}
+
+		return entityConfiguration == null || !Boolean.FALSE.equals( entityConfiguration.getAttribute( EntityAttributes.LIST_VIEW_FETCH_PLAN ) );
+	}
+
 	@Override
 	protected void createViewElementBuilders( EntityViewRequest entityViewRequest, EntityView entityView, ViewElementBuilderMap builderMap ) {
 		Iterable<?> items = entityView.getAttribute( AbstractEntityFetchingViewProcessor.DEFAULT_ATTRIBUTE_NAME, Iterable.class );
@@ -153,6 +184,9 @@ public class SortableTableRenderingViewProcessor extends EntityViewProcessorAdap
 			if ( items instanceof Page ) {
 				tableBuilder.items( (Page) items );
 			}
+			else if ( items instanceof Slice ) {
+				tableBuilder.items( (Slice) items );
+			}
 			else {
 				tableBuilder.items( EntityUtils.asPage( items ) );
 			}
@@ -89,6 +89,13 @@ public class EntityQueryFilterConfiguration
 	@Getter(AccessLevel.NONE)
 	private Set<String> multiValueProperties = new HashSet<>();
 
+	/**
+	 * Set of text properties that should use full-text matching ({@link com.foreach.across.modules.entity.query.EntityQueryOps#MATCHES})
+	 * in the basic filter, instead of the default {@code contains}.
+	 */
+	@Getter(AccessLevel.NONE)
+	private Set<String> fullTextProperties = new HashSet<>();
+
 	/**
 	 * Should the default filter controls allow multiple values to be selected.
 	 * Defaults to {@code false} meaning only a single value can be selected.
@@ -113,6 +120,16 @@ public class EntityQueryFilterConfiguration
 		return defaultToMultiValue;
 	}
 
+	/**
+	 * Returns {@code true} if the basic filter control for that text property should use full-text matching.
+	 *
+	 * @param propertyName to check
+	 * @return true if full-text matching should be used
+	 */
+	public boolean isFullText( String propertyName ) {
+		return fullTextProperties.contains( propertyName );
+	}
+
 	public boolean hasBasePredicate() {
 		return basePredicate != null && !EntityQuery.all().equals( basePredicate );
 	}
@@ -122,6 +139,7 @@ public class EntityQueryFilterConfiguration
 	{
 		private Set<String> singleValueProperties = new HashSet<>();
 		private Set<String> multiValueProperties = new HashSet<>();
+		private Set<String> fullTextProperties = new HashSet<>();
 
 		private EntityPropertyRegistryBuilder propertyRegistryBuilder = new EntityPropertyRegistryBuilder();
 
@@ -251,5 +269,17 @@ public class EntityQueryFilterConfiguration
 			} );
 			return this;
 		}
+
+		/**
+		 * Configures text properties that should use full-text matching in the basic filter:
+		 * all words entered should be present, in any order.
+		 *
+		 * @param propertyNames to configure
+		 * @return current builder
+		 */
+		public EntityQueryFilterConfigurationBuilder fullText( String... propertyNames ) {
+			Stream.of( propertyNames ).forEach( fullTextProperties::add );
+			return this;
+		}
 	}
-}
\ No newline at end of file
+}
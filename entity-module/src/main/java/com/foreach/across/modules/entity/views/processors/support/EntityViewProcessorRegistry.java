@@ -17,6 +17,7 @@
 package com.foreach.across.modules.entity.views.processors.support;
 
 import com.foreach.across.modules.entity.views.EntityViewProcessor;
+import com.foreach.across.modules.entity.views.metrics.EntityViewTimings;
 import lombok.*;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.Ordered;
@@ -33,6 +34,8 @@ import java.util.stream.Collectors;
  * <p/>
  * The default order for a processor will be 1000, the default name is the fully qualified class name.
  * Every processor must have a unique name.
+ * <p/>
+ * If {@link EntityViewTimings} are bound to the current thread, the duration of every processor call will be recorded.
  *
  * @author Arne Vandamme
  * @since 2.0.0
@@ -178,11 +181,33 @@ public class EntityViewProcessorRegistry
 	 * @param <U>           processor type
 	 */
 	public <U> void dispatch( Consumer<U> consumer, Class<U> processorType ) {
-		registrations
-				.stream()
-				.map( EntityViewProcessorRegistration::getProcessor )
-				.filter( processorType::isInstance )
-				.forEach( p -> consumer.accept( processorType.cast( p ) ) );
+		EntityViewTimings timings = EntityViewTimings.current();
+
+		if ( timings != null && timings.isRecordingProcessors() ) {
+			dispatchTimed( consumer, processorType, timings );
+		}
+		else {
+			registrations
+					.stream()
+					.map( EntityViewProcessorRegistration::getProcessor )
+					.filter( processorType::isInstance )
+					.forEach( p -> consumer.accept( processorType.cast( p ) ) );
+		}
+	}
+
+	private <U> void dispatchTimed( Consumer<U> consumer, Class<U> processorType, EntityViewTimings timings ) {
+		for ( EntityViewProcessorRegistration registration : registrations ) {
+			EntityViewProcessor processor = registration.getProcessor();
+			if ( processorType.isInstance( processor ) ) {
+				long start = System.nanoTime();
+				try {
+					consumer.accept( processorType.cast( processor ) );
+				}
+				finally {
+					timings.recordProcessor( registration.getProcessorName(), System.nanoTime() - start );
+				}
+			}
+		}
 	}
 
 	private void sortRegistrations() {
@@ -41,9 +41,12 @@ public class EntityMessages implements PagingMessages
 	public static final String PAGE_TITLE_VIEW = "pageTitle.view";
 
 	public static final String RESULTS_FOUND = "sortableTable.resultsFound";
+	public static final String RESULTS_FOUND_APPROXIMATE = "sortableTable.resultsFound.approximate";
+	public static final String RESULTS_SHOWN = "sortableTable.resultsShown";
 	public static final String PAGER = "sortableTable.pager";
 	public static final String PAGE = "sortableTable.pager.page";
 	public static final String OF_PAGES = "sortableTable.pager.ofPages";
+	public static final String OF_PAGES_APPROXIMATE = "sortableTable.pager.ofPages.approximate";
 	public static final String NEXT_PAGE = "sortableTable.pager.nextPage";
 	public static final String PREVIOUS_PAGE = "sortableTable.pager.previousPage";
 
@@ -119,6 +122,31 @@ public class EntityMessages implements PagingMessages
 		                            args );
 	}
 
+	@Override
+	public String approximateResultsFound( Page currentPage, Object... args ) {
+		return messageWithFallback( RESULTS_FOUND_APPROXIMATE,
+		                            currentPage.getTotalElements(),
+		                            messageCodeResolver.getNameSingularInline(),
+		                            messageCodeResolver.getNamePluralInline(),
+		                            args );
+	}
+
+	@Override
+	public String approximateOfPages( Page currentPage, Object... args ) {
+		return messageWithFallback( OF_PAGES_APPROXIMATE, currentPage.getNumber() + 1, currentPage.getTotalPages(), args );
+	}
+
+	@Override
+	public String resultsShown( Page currentPage, Object... args ) {
+		long first = currentPage.getPageable().isPaged() ? currentPage.getPageable().getOffset() : 0;
+		return messageWithFallback( RESULTS_SHOWN,
+		                            first + 1,
+		                            first + currentPage.getNumberOfElements(),
+		                            messageCodeResolver.getNameSingularInline(),
+		                            messageCodeResolver.getNamePluralInline(),
+		                            args );
+	}
+
 	/**
 	 * Will r
 	 *
@@ -18,10 +18,10 @@ package com.foreach.across.modules.entity.web;
 
 import com.foreach.across.modules.bootstrapui.resource.BootstrapUiFormElementsWebResources;
 import com.foreach.across.modules.bootstrapui.resource.BootstrapUiWebResources;
+import com.foreach.across.modules.bootstrapui.resource.PrecompiledWebResourcePackage;
 import com.foreach.across.modules.entity.EntityModule;
 import com.foreach.across.modules.web.resource.WebResource;
-import com.foreach.across.modules.web.resource.WebResourcePackage;
-import com.foreach.across.modules.web.resource.WebResourceRegistry;
+import com.foreach.across.modules.web.resource.WebResourceRule;
 
 import static com.foreach.across.modules.web.resource.WebResource.css;
 import static com.foreach.across.modules.web.resource.WebResource.javascript;
@@ -34,18 +34,18 @@ import static com.foreach.across.modules.web.resource.WebResourceRule.addPackage
  * @author Arne Vandamme
  * @since 2.0.0
  */
-public final class EntityModuleWebResources implements WebResourcePackage
+public final class EntityModuleWebResources extends PrecompiledWebResourcePackage
 {
 	public static final String NAME = "entity-module-admin";
 
 	@Override
-	public void install( WebResourceRegistry registry ) {
-		registry.apply(
+	protected WebResourceRule[] compileRules() {
+		return new WebResourceRule[] {
 				addPackage( BootstrapUiWebResources.NAME ),
 				add( css( "@static:/entity/css/entity-module.css" ) ).withKey( EntityModule.NAME ).toBucket( WebResource.CSS ),
 				add( javascript( "@static:/entity/js/dependson.js" ) ).withKey( EntityModule.NAME + "-dependson" ).toBucket( WebResource.JAVASCRIPT_PAGE_END ),
 				add( javascript( "@static:/entity/js/entity-module.js" ) ).withKey( EntityModule.NAME ).toBucket( WebResource.JAVASCRIPT_PAGE_END )
 				                                                          .after( BootstrapUiFormElementsWebResources.NAME )
-		);
+		};
 	}
 }
@@ -26,6 +26,8 @@ import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.function.Function;
+
 /**
  * Core link building entry point for an entity type.
  * Implements the deprecated {@link EntityLinkBuilder} to ensure backwards compatibility.
@@ -106,6 +108,62 @@ public abstract class EntityViewLinkBuilder extends EntityViewLinkBuilderSupport
 	 */
 	public abstract SingleEntityViewLinkBuilder withId( @NonNull Object id );
 
+	/**
+	 * Create a precompiled template for the {@link #forInstance(Object)} link.
+	 * The template is a snapshot of the current link builder state.
+	 *
+	 * @return template
+	 * @see EntityViewLinkTemplate
+	 */
+	public EntityViewLinkTemplate instanceTemplate() {
+		return instanceTemplate( Function.identity() );
+	}
+
+	/**
+	 * Create a precompiled template for the {@link SingleEntityViewLinkBuilder#updateView()} link.
+	 *
+	 * @return template
+	 * @see EntityViewLinkTemplate
+	 */
+	public EntityViewLinkTemplate updateViewTemplate() {
+		return instanceTemplate( SingleEntityViewLinkBuilder::updateView );
+	}
+
+	/**
+	 * Create a precompiled template for the {@link SingleEntityViewLinkBuilder#deleteView()} link.
+	 *
+	 * @return template
+	 * @see EntityViewLinkTemplate
+	 */
+	public EntityViewLinkTemplate deleteViewTemplate() {
+		return instanceTemplate( SingleEntityViewLinkBuilder::deleteView );
+	}
+
+	/**
+	 * Create a precompiled template for a link to a single entity. The function will be applied
+	 * to a {@link SingleEntityViewLinkBuilder} for a placeholder id, and should always return the same link
+	 * structure, regardless of the actual id.
+	 *
+	 * @param linkCustomizer to apply to the single entity link
+	 * @return template
+	 * @see EntityViewLinkTemplate
+	 */
+	public EntityViewLinkTemplate instanceTemplate( @NonNull Function<SingleEntityViewLinkBuilder, ? extends EntityViewLinkBuilderSupport<?>> linkCustomizer ) {
+		return EntityViewLinkTemplate.compile( this, linkCustomizer );
+	}
+
+	/**
+	 * Get the id of the entity that should be used for {@link #withId(Object)}.
+	 * Used by {@link EntityViewLinkTemplate#forInstance(Object)}, if {@code null} is returned
+	 * the template will build the link using {@link #forInstance(Object)} instead.
+	 *
+	 * @param entity instance
+	 * @return id or {@code null} if the id can not be determined by this link builder
+	 */
+	protected Object getInstanceId( @NonNull Object entity ) {
+		return null;
+	}
+
 	public static class ForEntityConfiguration extends EntityViewLinkBuilder
 	{
 		private final EntityConfiguration<Object> entityConfiguration;
@@ -122,7 +180,12 @@ public abstract class EntityViewLinkBuilder extends EntityViewLinkBuilderSupport
 
 		@Override
 		public SingleEntityViewLinkBuilder.ForEntityConfiguration forInstance( @NonNull Object entity ) {
-			return withId( entityConfiguration.getId( entity ) );
+			return withId( getInstanceId( entity ) );
+		}
+
+		@Override
+		protected Object getInstanceId( @NonNull Object entity ) {
+			return entityConfiguration.getId( entity );
 		}
 
 		@Override
@@ -194,7 +257,13 @@ public abstract class EntityViewLinkBuilder extends EntityViewLinkBuilderSupport
 		@Override
 		@SuppressWarnings("unchecked")
 		public SingleEntityViewLinkBuilder forInstance( @NonNull Object entity ) {
-			return withId( entityAssociation.getTargetEntityConfiguration().getId( entity ) );
+			return withId( getInstanceId( entity ) );
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected Object getInstanceId( @NonNull Object entity ) {
+			return entityAssociation.getTargetEntityConfiguration().getId( entity );
 		}
 
 		@Override
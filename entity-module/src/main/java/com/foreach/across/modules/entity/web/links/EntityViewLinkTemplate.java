@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.web.links;
+
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import java.util.function.Function;
+
+/**
+ * Precompiled link to a single entity instance, where only the id of the entity needs to be substituted.
+ * Useful when the same link needs to be generated for many entities, for example for every row in a list view,
+ * as creating a link using {@link EntityViewLinkBuilder#forInstance(Object)} builds a new URI every time.
+ * <p/>
+ * A template is created using {@link EntityViewLinkBuilder#instanceTemplate(Function)} and holds the
+ * unresolved link (the {@code toString()} value). Use {@link #toUriTemplate()} to get a template
+ * which generates the same result as {@link EntityViewLinkBuilderSupport#toUriString()}, with path prefixes resolved.
+ * <p/>
+ * If the id can not be substituted in the compiled link, or the link builder can not convert ids or
+ * determine the id of an entity, the template will fall back to the original link builder.
+ *
+ * @author Arne Vandamme
+ * @see EntityViewLinkBuilder#instanceTemplate()
+ * @see EntityViewLinkBuilder#updateViewTemplate()
+ * @see EntityViewLinkBuilder#deleteViewTemplate()
+ * @since 4.3.0
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class EntityViewLinkTemplate
+{
+	/**
+	 * Placeholder used for the id when compiling the template.
+	 * Consists only of unreserved characters so it is never modified when building the link.
+	 */
+	static final String ID_PLACEHOLDER = "__entityViewLinkTemplateId__";
+
+	private final String template;
+	private final String[] parts;
+	private final EntityViewLinkBuilder linkBuilder;
+	private final Function<SingleEntityViewLinkBuilder, ? extends EntityViewLinkBuilderSupport<?>> linkCustomizer;
+	private final boolean resolved;
+
+	/**
+	 * Create the link for the entity with the given id.
+	 *
+	 * @param id of the entity
+	 * @return link
+	 */
+	public String withId( @NonNull Object id ) {
+		if ( parts.length < 2 || linkBuilder.links == null ) {
+			return build( linkBuilder.withId( id ) );
+		}
+
+		String convertedId = linkBuilder.links.convertId( id );
+		StringBuilder link = new StringBuilder( template.length() + convertedId.length() );
+		link.append( parts[0] );
+		for ( int i = 1; i < parts.length; i++ ) {
+			link.append( convertedId ).append( parts[i] );
+		}
+		return link.toString();
+	}
+
+	/**
+	 * Create the link for the entity.
+	 *
+	 * @param entity to link to
+	 * @return link
+	 */
+	public String forInstance( @NonNull Object entity ) {
+		Object id = linkBuilder.getInstanceId( entity );
+		return id != null ? withId( id ) : build( linkBuilder.forInstance( entity ) );
+	}
+
+	/**
+	 * Create a template where all path prefixes have been resolved, the equivalent of
+	 * {@link EntityViewLinkBuilderSupport#toUriString()}. As prefix resolving can depend
+	 * on the current request, the resulting template should usually not be kept beyond the request.
+	 *
+	 * @return resolved template
+	 */
+	public EntityViewLinkTemplate toUriTemplate() {
+		if ( resolved ) {
+			return this;
+		}
+		return compile( linkCustomizer.apply( linkBuilder.withId( ID_PLACEHOLDER ) ).toUriString(), linkBuilder, linkCustomizer, true );
+	}
+
+	private String build( SingleEntityViewLinkBuilder singleEntityLinkBuilder ) {
+		EntityViewLinkBuilderSupport<?> link = linkCustomizer.apply( singleEntityLinkBuilder );
+		return resolved ? link.toUriString() : link.toString();
+	}
+
+	@Override
+	public String toString() {
+		return template;
+	}
+
+	static EntityViewLinkTemplate compile( EntityViewLinkBuilder linkBuilder,
+	                                       Function<SingleEntityViewLinkBuilder, ? extends EntityViewLinkBuilderSupport<?>> linkCustomizer ) {
+		String template = linkCustomizer.apply( linkBuilder.withId( ID_PLACEHOLDER ) ).toString();
+		return compile( template, linkBuilder, linkCustomizer, false );
+	}
+
+	private static EntityViewLinkTemplate compile( String template,
+	                                               EntityViewLinkBuilder linkBuilder,
+	                                               Function<SingleEntityViewLinkBuilder, ? extends EntityViewLinkBuilderSupport<?>> linkCustomizer,
+	                                               boolean resolved ) {
+		return new EntityViewLinkTemplate( template, StringUtils.splitByWholeSeparatorPreserveAllTokens( template, ID_PLACEHOLDER ),
+		                                   linkBuilder, linkCustomizer, resolved );
+	}
+}
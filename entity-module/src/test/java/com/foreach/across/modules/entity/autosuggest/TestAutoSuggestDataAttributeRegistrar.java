@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.autosuggest;
+
+import com.foreach.across.core.support.WritableAttributes;
+import com.foreach.across.modules.entity.query.EntityQueryFacadeResolver;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.registry.EntityRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Arne Vandamme
+ */
+public class TestAutoSuggestDataAttributeRegistrar
+{
+	private final AtomicInteger prefetchCount = new AtomicInteger();
+
+	private AutoSuggestDataEndpoint endpoint = new AutoSuggestDataEndpoint( "@adminWeb:/my/endpoint" );
+	private AutoSuggestDataController controller = new AutoSuggestDataController( endpoint );
+
+	private AutoSuggestDataAttributeRegistrar registrar;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		ObjectProvider<AutoSuggestDataEndpoint> endpointProvider = mock( ObjectProvider.class );
+		when( endpointProvider.getIfAvailable() ).thenReturn( endpoint );
+
+		registrar = new AutoSuggestDataAttributeRegistrar(
+				endpointProvider, mock( EntityRegistry.class ), mock( EntityQueryFacadeResolver.class ), mock( ConversionService.class )
+		);
+	}
+
+	@Test
+	public void prefetchIsReloadedIfNoCacheSettingsAreSpecified() {
+		registrar.entityQuery( ds -> ds.dataSetId( "uncached" ).as( Integer.class )
+		                               .prefetch( this::loadNumbers )
+		                               .resultTransformer( this::toResult ) )
+		         .accept( mock( EntityConfiguration.class ), mock( WritableAttributes.class ) );
+
+		assertThat( prefetch( "uncached" ).getHeaders().getCacheControl() ).isEqualTo( "no-cache" );
+		prefetch( "uncached" );
+		assertThat( prefetchCount.get() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void prefetchCacheSettingsAreAppliedToEntityQueryDataSet() {
+		registrar.entityQuery( ds -> ds.dataSetId( "cached" ).as( Integer.class )
+		                               .prefetch( this::loadNumbers )
+		                               .resultTransformer( this::toResult )
+		                               .prefetchCacheSettings( PrefetchCacheSettings.cached( Duration.ofMinutes( 5 ) ) ) )
+		         .accept( mock( EntityConfiguration.class ), mock( WritableAttributes.class ) );
+
+		assertThat( endpoint.getDataSet( "cached" ).getPrefetchCacheSettings().isServerCacheEnabled() ).isTrue();
+
+		assertThat( prefetch( "cached" ).getHeaders().getCacheControl() ).isEqualTo( "max-age=300, private" );
+		prefetch( "cached" );
+		assertThat( prefetchCount.get() ).isEqualTo( 1 );
+	}
+
+	private Iterable<Integer> loadNumbers( String controlName ) {
+		prefetchCount.incrementAndGet();
+		return Arrays.asList( 1, 2 );
+	}
+
+	private AutoSuggestDataSet.Result toResult( Integer number ) {
+		return new SimpleAutoSuggestDataSet.Result( number, "item " + number );
+	}
+
+	private ResponseEntity<?> prefetch( String dataSetId ) {
+		return (ResponseEntity<?>) controller.prefetch( dataSetId, "controlName", null, null );
+	}
+}
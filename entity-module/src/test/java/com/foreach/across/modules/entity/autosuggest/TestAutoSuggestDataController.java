@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.autosuggest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ */
+public class TestAutoSuggestDataController
+{
+	private final AtomicInteger prefetchCount = new AtomicInteger();
+
+	private AutoSuggestDataEndpoint endpoint = new AutoSuggestDataEndpoint( "@adminWeb:/my/endpoint" );
+	private AutoSuggestDataController controller = new AutoSuggestDataController( endpoint );
+
+	@Test
+	public void prefetchIsSerializedWithETag() {
+		endpoint.registerDataSet( "default", dataSet( null ) );
+
+		ResponseEntity<?> response = prefetch( "default", null, null );
+		assertThat( response.getStatusCode() ).isEqualTo( HttpStatus.OK );
+		assertThat( response.getHeaders().getETag() ).isNotNull();
+		assertThat( response.getHeaders().getCacheControl() ).isEqualTo( "no-cache" );
+		assertThat( response.getHeaders().getFirst( HttpHeaders.CONTENT_ENCODING ) ).isNull();
+		assertThat( new String( (byte[]) response.getBody(), StandardCharsets.UTF_8 ) )
+				.isEqualTo( "[{\"id\":1,\"label\":\"one\"},{\"id\":2,\"label\":\"two\"}]" );
+
+		prefetch( "default", null, null );
+		assertThat( prefetchCount.get() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void notModifiedIfETagMatches() {
+		endpoint.registerDataSet( "default", dataSet( null ) );
+
+		String eTag = prefetch( "default", null, null ).getHeaders().getETag();
+
+		ResponseEntity<?> response = prefetch( "default", eTag, null );
+		assertThat( response.getStatusCode() ).isEqualTo( HttpStatus.NOT_MODIFIED );
+		assertThat( response.getBody() ).isNull();
+		assertThat( response.getHeaders().getETag() ).isEqualTo( eTag );
+
+		assertThat( prefetch( "default", "W/" + eTag, null ).getStatusCode() ).isEqualTo( HttpStatus.NOT_MODIFIED );
+		assertThat( prefetch( "default", "\"other\", " + eTag, null ).getStatusCode() ).isEqualTo( HttpStatus.NOT_MODIFIED );
+		assertThat( prefetch( "default", "\"other\"", null ).getStatusCode() ).isEqualTo( HttpStatus.OK );
+	}
+
+	@Test
+	public void serverCacheAvoidsReloadingPrefetchData() throws IOException {
+		endpoint.registerDataSet( "cached", dataSet( PrefetchCacheSettings.cached( Duration.ofMinutes( 5 ) ) ) );
+
+		ResponseEntity<?> response = prefetch( "cached", null, "gzip, deflate" );
+		assertThat( response.getHeaders().getCacheControl() ).isEqualTo( "max-age=300, private" );
+		assertThat( response.getHeaders().getFirst( HttpHeaders.CONTENT_ENCODING ) ).isEqualTo( "gzip" );
+		assertThat( gunzip( (byte[]) response.getBody() ) ).isEqualTo( "[{\"id\":1,\"label\":\"one\"},{\"id\":2,\"label\":\"two\"}]" );
+
+		prefetch( "cached", null, null );
+		prefetch( "cached", response.getHeaders().getETag(), null );
+		assertThat( prefetchCount.get() ).isEqualTo( 1 );
+
+		endpoint.evictPrefetchCache( "cached" );
+		prefetch( "cached", null, null );
+		assertThat( prefetchCount.get() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void customResponseEntityIsReturnedAsIs() {
+		ResponseEntity<String> custom = new ResponseEntity<>( "custom", HttpStatus.ACCEPTED );
+		endpoint.registerDataSet( "custom", AutoSuggestDataSet.builder().prefetchLoader( controlName -> custom ).build() );
+
+		assertThat( controller.prefetch( "custom", null, null, null ) ).isSameAs( custom );
+	}
+
+	private ResponseEntity<?> prefetch( String dataSetId, String ifNoneMatch, String acceptEncoding ) {
+		return (ResponseEntity<?>) controller.prefetch( dataSetId, "controlName", ifNoneMatch, acceptEncoding );
+	}
+
+	private AutoSuggestDataSet dataSet( PrefetchCacheSettings settings ) {
+		return AutoSuggestDataSet.builder()
+		                         .prefetchLoader( controlName -> {
+			                         prefetchCount.incrementAndGet();
+			                         return Arrays.asList( new SimpleAutoSuggestDataSet.Result( 1, "one" ),
+			                                               new SimpleAutoSuggestDataSet.Result( 2, "two" ) );
+		                         } )
+		                         .prefetchCacheSettings( settings )
+		                         .build();
+	}
+
+	private String gunzip( byte[] data ) throws IOException {
+		try (GZIPInputStream gzip = new GZIPInputStream( new ByteArrayInputStream( data ) )) {
+			byte[] buffer = new byte[1024];
+			StringBuilder result = new StringBuilder();
+			int read;
+			while ( ( read = gzip.read( buffer ) ) > 0 ) {
+				result.append( new String( buffer, 0, read, StandardCharsets.UTF_8 ) );
+			}
+			return result.toString();
+		}
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.autosuggest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ */
+public class TestIndexedAutoSuggestDataSet
+{
+	private final AtomicInteger sourceCalls = new AtomicInteger();
+	private List<City> cities;
+	private IndexedAutoSuggestDataSet<City> dataSet;
+
+	@BeforeEach
+	public void setUp() {
+		cities = new ArrayList<>( Arrays.asList(
+				new City( 1, "Brussels", Collections.singletonList( "Bruxelles" ) ),
+				new City( 2, "Liège", Collections.singletonList( "Luik" ) ),
+				new City( 3, "Leuven", Collections.emptyList() ),
+				new City( 4, "Sint-Niklaas", Collections.emptyList() ),
+				new City( 5, "Brugge", Collections.singletonList( "Bruges" ) )
+		) );
+
+		dataSet = IndexedAutoSuggestDataSet.<City>builder()
+				.source( () -> {
+					sourceCalls.incrementAndGet();
+					return cities;
+				} )
+				.id( City::getId )
+				.label( City::getName )
+				.keywords( City::getKeywords )
+				.maximumResults( 3 )
+				.build();
+	}
+
+	@Test
+	public void indexIsBuiltOnFirstUse() {
+		assertThat( sourceCalls.get() ).isEqualTo( 0 );
+		dataSet.findItems( "br", 10 );
+		dataSet.findItems( "le", 10 );
+		assertThat( sourceCalls.get() ).isEqualTo( 1 );
+	}
+
+	@Test
+	public void caseAndDiacriticInsensitivePrefixMatching() {
+		assertThat( ids( "LIE" ) ).containsExactly( 2 );
+		assertThat( ids( "liège" ) ).containsExactly( 2 );
+		assertThat( ids( "l" ) ).containsExactly( 3, 2 );
+		assertThat( ids( "luik" ) ).containsExactly( 2 );
+		assertThat( ids( "niklaas" ) ).containsExactly( 4 );
+		assertThat( ids( "sint nik" ) ).containsExactly( 4 );
+		assertThat( ids( "sint x" ) ).isEmpty();
+		assertThat( ids( "xyz" ) ).isEmpty();
+	}
+
+	@Test
+	public void bestMatchesFirstAndLimitedToMaximumResults() {
+		assertThat( ids( "bru" ) ).containsExactly( 5, 1 );
+		assertThat( ids( "brugge" ) ).containsExactly( 5 );
+
+		@SuppressWarnings("unchecked")
+		List<AutoSuggestDataSet.Result> results = (List<AutoSuggestDataSet.Result>) dataSet.suggestions( "", null );
+		assertThat( results ).hasSize( 3 );
+		assertThat( results.get( 0 ).getId() ).isEqualTo( 1 );
+		assertThat( results.get( 0 ).getLabel() ).isEqualTo( "Brussels" );
+	}
+
+	@Test
+	public void refreshOnlyReindexesModifiedItems() {
+		assertThat( ids( "leuven" ) ).containsExactly( 3 );
+
+		cities.remove( 2 );
+		cities.set( 0, new City( 1, "Brussel", Collections.emptyList() ) );
+		cities.add( new City( 6, "Leopoldsburg", Collections.emptyList() ) );
+		dataSet.refresh();
+
+		assertThat( ids( "leuven" ) ).isEmpty();
+		assertThat( ids( "bruxelles" ) ).isEmpty();
+		assertThat( ids( "brussel" ) ).containsExactly( 1 );
+		assertThat( ids( "leo" ) ).containsExactly( 6 );
+	}
+
+	@Test
+	public void refreshDoesNotReprocessItemsWithUnchangedVersion() {
+		List<Integer> labelled = new ArrayList<>();
+		IndexedAutoSuggestDataSet<City> versioned = IndexedAutoSuggestDataSet.<City>builder()
+				.source( () -> cities )
+				.id( City::getId )
+				.label( city -> {
+					labelled.add( city.getId() );
+					return city.getName();
+				} )
+				.keywords( City::getKeywords )
+				.version( City::hashCode )
+				.build();
+
+		assertThat( versioned.findItems( "", 10 ) ).hasSize( 5 );
+		assertThat( labelled ).containsExactly( 1, 2, 3, 4, 5 );
+
+		labelled.clear();
+		cities.set( 1, new City( 2, "Luik", Collections.emptyList() ) );
+		cities.add( new City( 6, "Leopoldsburg", Collections.emptyList() ) );
+		versioned.refresh();
+
+		assertThat( labelled ).containsExactly( 2, 6 );
+		assertThat( versioned.findItems( "liege", 10 ) ).isEmpty();
+		assertThat( versioned.findItems( "luik", 10 ) ).extracting( City::getId ).containsExactly( 2 );
+		assertThat( versioned.findItems( "leo", 10 ) ).extracting( City::getId ).containsExactly( 6 );
+
+		labelled.clear();
+		versioned.refresh();
+		assertThat( labelled ).isEmpty();
+	}
+
+	@Test
+	public void addOrUpdateAndRemoveSingleItems() {
+		dataSet.addOrUpdate( new City( 3, "Löwen", Collections.emptyList() ) );
+		assertThat( ids( "leuven" ) ).isEmpty();
+		assertThat( ids( "lowen" ) ).containsExactly( 3 );
+
+		assertThat( dataSet.remove( 3 ) ).isTrue();
+		assertThat( dataSet.remove( 3 ) ).isFalse();
+		assertThat( ids( "lowen" ) ).isEmpty();
+	}
+
+	@Test
+	public void prefetchReturnsAllItemsIfEnabled() {
+		assertThat( dataSet.isPrefetchSupported() ).isFalse();
+
+		IndexedAutoSuggestDataSet<String> prefetching = IndexedAutoSuggestDataSet.<String>builder()
+				.items( Arrays.asList( "one", "two" ) )
+				.prefetch( true )
+				.build();
+
+		assertThat( prefetching.isPrefetchSupported() ).isTrue();
+		assertThat( prefetching.prefetch( null ) )
+				.isEqualTo( Arrays.asList( new SimpleAutoSuggestDataSet.Result( "one", "one" ), new SimpleAutoSuggestDataSet.Result( "two", "two" ) ) );
+	}
+
+	@Test
+	public void prefetchResultsAreKeptUntilTheIndexIsModified() {
+		List<String> items = new ArrayList<>( Arrays.asList( "one", "two" ) );
+		IndexedAutoSuggestDataSet<String> prefetching = IndexedAutoSuggestDataSet.<String>builder()
+				.source( () -> items )
+				.prefetch( true )
+				.build();
+
+		Object results = prefetching.prefetch( null );
+		prefetching.refresh();
+		assertThat( prefetching.prefetch( null ) ).isSameAs( results );
+
+		items.remove( "one" );
+		prefetching.refresh();
+		assertThat( prefetching.prefetch( null ) ).isEqualTo( Collections.singletonList( new SimpleAutoSuggestDataSet.Result( "two", "two" ) ) );
+
+		prefetching.addOrUpdate( "three" );
+		assertThat( prefetching.prefetch( null ) )
+				.isEqualTo( Arrays.asList( new SimpleAutoSuggestDataSet.Result( "two", "two" ), new SimpleAutoSuggestDataSet.Result( "three", "three" ) ) );
+
+		prefetching.remove( "two" );
+		assertThat( prefetching.prefetch( null ) ).isEqualTo( Collections.singletonList( new SimpleAutoSuggestDataSet.Result( "three", "three" ) ) );
+	}
+
+	private List<Object> ids( String query ) {
+		List<Object> ids = new ArrayList<>();
+		dataSet.findItems( query, dataSet.getMaximumResults() ).forEach( city -> ids.add( city.getId() ) );
+		return ids;
+	}
+
+	@Data
+	@AllArgsConstructor
+	static class City
+	{
+		private int id;
+		private String name;
+		private List<String> keywords;
+	}
+}
@@ -558,6 +558,55 @@ public class TestListEntityPropertyBinder
 		inOrder.verify( collectionController ).save( bindingContext, new EntityPropertyValue<>( ORIGINAL_VALUE, ORIGINAL_VALUE, false ) );
 	}
 
+	@Test
+	public void saveUsesBulkSaveOfMemberControllerIfOptimized() {
+		when( memberController.isOptimizedForBulkSave() ).thenReturn( true );
+		when( itemOne.getOriginalValue() ).thenReturn( 1 );
+		when( itemTwo.getOriginalValue() ).thenReturn( 2 );
+		when( itemTwo.getValue() ).thenReturn( 3 );
+		when( itemTwo.getSortIndex() ).thenReturn( -1L );
+		when( memberController.saveAll( eq( bindingContext ), any() ) ).thenReturn( true );
+
+		assertThat( property.save() ).isTrue();
+
+		verify( memberController ).saveAll(
+				bindingContext, Arrays.asList( new EntityPropertyValue<>( 2, 3, false ), new EntityPropertyValue<>( 1, 1, false ) )
+		);
+		verify( itemOne, never() ).save();
+		verify( itemTwo, never() ).save();
+		verify( collectionController ).save( bindingContext, new EntityPropertyValue<>( ORIGINAL_VALUE, Arrays.asList( 3, 1 ), false ) );
+	}
+
+	@Test
+	public void bulkSaveIsNotUsedIfItemHasNestedEmbeddedProperties() {
+		SingleEntityPropertyBinder embedded = new SingleEntityPropertyBinder( binder, memberDescriptor );
+		reset( itemTwo );
+		when( binder.createPropertyBinder( memberDescriptor ) ).thenReturn( itemOne ).thenReturn( embedded );
+		when( memberController.isOptimizedForBulkSave() ).thenReturn( true );
+
+		ChildPropertyPropertiesBinder childBinder = mock( ChildPropertyPropertiesBinder.class );
+		EntityPropertiesBinderController childController = mock( EntityPropertiesBinderController.class );
+		when( binder.createChildPropertyPropertiesBinder() ).thenReturn( childBinder );
+		when( childBinder.createController() ).thenReturn( childController );
+		when( childController.addEntitySaveCallback( any() ) ).thenReturn( childController );
+
+		assertThat( property.getItemList() ).contains( itemOne, embedded );
+		assertThat( embedded.getProperties() ).isSameAs( childBinder );
+
+		assertThat( property.save() ).isTrue();
+
+		verify( memberController, never() ).saveAll( any(), any() );
+		verify( itemOne ).save();
+		verify( childController ).save();
+	}
+
+	@Test
+	public void numericItemKeysAreOrderedByValue() {
+		List<String> keys = new ArrayList<>( Arrays.asList( "10", "b", "2", "a", "1" ) );
+		keys.sort( ListEntityPropertyBinder.ITEM_KEY_ORDER );
+		assertThat( keys ).containsExactly( "1", "2", "10", "a", "b" );
+	}
+
 	@Test
 	public void saveIgnoresIndividualItemsIfDeleted() {
 		when( collectionController.save( bindingContext, new EntityPropertyValue<>( ORIGINAL_VALUE, Collections.emptyList(), true ) ) )
@@ -72,12 +72,13 @@ public class TestDefaultEntityQueryMetadataProvider
 	@Test
 	public void stringOperands() {
 		when( descriptor.getPropertyTypeDescriptor() ).thenReturn( TypeDescriptor.valueOf( String.class ) );
-		expectedOperands( EQ, NEQ, IN, NOT_IN, LIKE, NOT_LIKE, LIKE_IC, NOT_LIKE_IC, IS_NULL, IS_NOT_NULL, IS_EMPTY, IS_NOT_EMPTY, CONTAINS, NOT_CONTAINS );
+		expectedOperands( EQ, NEQ, IN, NOT_IN, LIKE, NOT_LIKE, LIKE_IC, NOT_LIKE_IC, IS_NULL, IS_NOT_NULL, IS_EMPTY, IS_NOT_EMPTY, CONTAINS, NOT_CONTAINS,
+		                  MATCHES, NOT_MATCHES );
 	}
 
 	@Test
 	public void allowedStringValues() {
-		expectedValidValue( new EQString( "text" ), EQ, NEQ, LIKE, NOT_LIKE );
+		expectedValidValue( new EQString( "text" ), EQ, NEQ, LIKE, NOT_LIKE, MATCHES, NOT_MATCHES );
 		expectedInvalidValue( new EQGroup( Collections.singleton( new EQString( "text" ) ) ), EQ, NEQ );
 		expectedValidValue( new EQGroup( Collections.singleton( new EQString( "text" ) ) ), IN, NOT_IN );
 		expectedValidValue( new EQFunction( "text" ), EQ, NEQ, IN, NOT_IN, LIKE, NOT_LIKE, LIKE_IC, NOT_LIKE_IC, IS_NULL, IS_NOT_NULL, IS_EMPTY, IS_NOT_EMPTY,
@@ -24,10 +24,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.domain.Sort;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.foreach.across.modules.entity.query.EntityQueryOps.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -421,4 +424,25 @@ public class TestDefaultEntityQueryTranslator
 		EntityQueryExpression actual = translator.translate( rawQuery );
 		assertEquals( translated, actual );
 	}
+
+	@Test
+	public void textConditionTranslatorIsResolvedWhenTranslating() {
+		EQTypeConverter converter = new EQTypeConverter();
+		converter.setConversionService( new DefaultConversionService() );
+		converter.setFunctionHandlers( Collections.emptyList() );
+		translator.setTypeConverter( converter );
+
+		AtomicReference<EntityQueryConditionTranslator> textConditionTranslator = new AtomicReference<>();
+		translator.setTextConditionTranslator( textConditionTranslator::get );
+
+		EntityPropertyDescriptor name = mock( EntityPropertyDescriptor.class );
+		when( name.getName() ).thenReturn( "name" );
+		when( name.getPropertyTypeDescriptor() ).thenReturn( TypeDescriptor.valueOf( String.class ) );
+		when( propertyRegistry.getProperty( "name" ) ).thenReturn( name );
+
+		assertEquals( "name like 'jo%'", translator.translate( EntityQuery.of( "name like 'jo%'" ) ).toString() );
+
+		textConditionTranslator.set( EntityQueryConditionTranslator.prefixRanges() );
+		assertEquals( "(name >= 'jo' and name < 'jp')", translator.translate( EntityQuery.of( "name like 'jo%'" ) ).toString() );
+	}
 }
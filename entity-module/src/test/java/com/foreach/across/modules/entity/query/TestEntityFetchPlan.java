@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class TestEntityFetchPlan
+{
+	@Test
+	public void nonPropertySegmentsAreRemoved() {
+		EntityFetchPlan plan = EntityFetchPlan.of( "name", "company.group.name", "users[]", "users[].name", "company#label", "#label", "" );
+		assertThat( plan.getPropertyPaths() ).containsExactly( "name", "company.group.name", "users", "company" );
+	}
+
+	@Test
+	public void emptyPlanIfNoPropertyPaths() {
+		assertThat( EntityFetchPlan.of( "#label", "[]" ) ).isSameAs( EntityFetchPlan.EMPTY );
+		assertThat( EntityFetchPlan.EMPTY.isEmpty() ).isTrue();
+	}
+
+	@Test
+	public void combineKeepsAllPropertyPaths() {
+		EntityFetchPlan combined = EntityFetchPlan.of( "name", "company" ).combine( EntityFetchPlan.of( "company", "users" ) );
+		assertThat( combined.getPropertyPaths() ).containsExactly( "name", "company", "users" );
+		assertThat( combined ).isEqualTo( EntityFetchPlan.of( "name", "company", "users" ) );
+	}
+}
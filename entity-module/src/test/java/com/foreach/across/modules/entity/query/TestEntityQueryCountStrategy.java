@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class TestEntityQueryCountStrategy
+{
+	private static final LongSupplier NO_COUNT = () -> {
+		throw new AssertionError( "Count should not be executed" );
+	};
+
+	private final Slice<String> firstSlice = new SliceImpl<>( Arrays.asList( "one", "two" ), PageRequest.of( 0, 2 ), true );
+	private final Slice<String> lastSlice = new SliceImpl<>( Collections.singletonList( "five" ), PageRequest.of( 2, 2 ), false );
+
+	@Test
+	public void pageIsReturnedAsIs() {
+		Page<String> page = new PageImpl<>( Arrays.asList( "one", "two" ), PageRequest.of( 0, 2 ), 10 );
+		assertThat( EntityQueryCountStrategy.EXACT.createPage( EntityQuery.all(), page, NO_COUNT ) ).isSameAs( page );
+		assertThat( EntityQueryCountStrategy.NONE.createPage( EntityQuery.all(), page, NO_COUNT ) ).isSameAs( page );
+		assertThat( EntityQueryCountStrategy.cached( Duration.ofMinutes( 1 ) ).createPage( EntityQuery.all(), page, NO_COUNT ) ).isSameAs( page );
+		assertThat( EntityQueryCountStrategy.estimated( query -> 100L ).createPage( EntityQuery.all(), page, NO_COUNT ) ).isSameAs( page );
+	}
+
+	@Test
+	public void exactCountIsOnlyExecutedIfTotalIsNotKnown() {
+		Page<String> page = (Page<String>) EntityQueryCountStrategy.EXACT.createPage( EntityQuery.all(), firstSlice, () -> 5 );
+		assertThat( page.getTotalElements() ).isEqualTo( 5 );
+		assertThat( page.getContent() ).containsExactly( "one", "two" );
+
+		page = (Page<String>) EntityQueryCountStrategy.EXACT.createPage( EntityQuery.all(), lastSlice, NO_COUNT );
+		assertThat( page.getTotalElements() ).isEqualTo( 5 );
+		assertThat( page.hasNext() ).isFalse();
+	}
+
+	@Test
+	public void noCountReturnsTheSlice() {
+		assertThat( EntityQueryCountStrategy.NONE.createPage( EntityQuery.all(), firstSlice, NO_COUNT ) ).isSameAs( firstSlice );
+	}
+
+	@Test
+	public void cachedCountIsReusedUntilExpired() {
+		MutableClock clock = new MutableClock();
+		CachedEntityQueryCountStrategy strategy = new CachedEntityQueryCountStrategy( Duration.ofSeconds( 30 ), 10, clock );
+		AtomicInteger counts = new AtomicInteger();
+		LongSupplier count = () -> 10 + counts.incrementAndGet();
+
+		EntityQuery query = EntityQuery.parse( "name = 'john'" );
+		EntityQuery sorted = EntityQuery.parse( "name = 'john' order by name asc" );
+
+		assertThat( ( (Page) strategy.createPage( query, firstSlice, count ) ).getTotalElements() ).isEqualTo( 11 );
+		assertThat( ( (Page) strategy.createPage( sorted, firstSlice, count ) ).getTotalElements() ).isEqualTo( 11 );
+		assertThat( ( (Page) strategy.createPage( EntityQuery.all(), firstSlice, count ) ).getTotalElements() ).isEqualTo( 12 );
+		assertThat( counts.get() ).isEqualTo( 2 );
+
+		clock.advance( Duration.ofSeconds( 31 ) );
+		assertThat( ( (Page) strategy.createPage( query, firstSlice, count ) ).getTotalElements() ).isEqualTo( 13 );
+		assertThat( counts.get() ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void estimatedTotal() {
+		EstimatedEntityQueryCountStrategy strategy = new EstimatedEntityQueryCountStrategy(
+				query -> query.hasExpressions() ? null : 50_000L, EntityQueryCountStrategy.NONE, 1000
+		);
+
+		Slice<String> estimated = strategy.createPage( EntityQuery.all(), firstSlice, NO_COUNT );
+		assertThat( estimated ).isInstanceOf( EstimatedTotalPage.class );
+		assertThat( ( (Page) estimated ).getTotalElements() ).isEqualTo( 50_000 );
+		assertThat( estimated.hasNext() ).isTrue();
+
+		assertThat( strategy.createPage( EntityQuery.parse( "name = 'john'" ), firstSlice, NO_COUNT ) ).isSameAs( firstSlice );
+	}
+
+	@Test
+	public void smallEstimateIsReplacedByExactCount() {
+		EntityQueryCountStrategy strategy = EntityQueryCountStrategy.estimated( query -> 20L );
+		Slice<String> page = strategy.createPage( EntityQuery.all(), firstSlice, () -> 7 );
+
+		assertThat( page ).isNotInstanceOf( EstimatedTotalPage.class );
+		assertThat( ( (Page) page ).getTotalElements() ).isEqualTo( 7 );
+	}
+
+	@Test
+	public void estimatedPageNeverHasTotalBelowKnownResults() {
+		EstimatedTotalPage<String> page = new EstimatedTotalPage<>( Arrays.asList( "five", "six" ), PageRequest.of( 2, 2 ), 3, true );
+		assertThat( page.getTotalElements() ).isEqualTo( 7 );
+		assertThat( page.hasNext() ).isTrue();
+
+		page = new EstimatedTotalPage<>( Collections.singletonList( "five" ), PageRequest.of( 2, 2 ), 100, false );
+		assertThat( page.getTotalElements() ).isEqualTo( 100 );
+		assertThat( page.hasNext() ).isFalse();
+		assertThat( page.isLast() ).isTrue();
+	}
+
+	private static class MutableClock extends Clock
+	{
+		private Instant instant = Instant.now();
+
+		void advance( Duration duration ) {
+			instant = instant.plus( duration );
+		}
+
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone( ZoneId zone ) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+}
@@ -69,6 +69,8 @@ public class TestEntityQueryOps
 		assertTrue( IS_NOT_NULL.isNegation() );
 		assertFalse( IS_EMPTY.isNegation() );
 		assertTrue( IS_NOT_EMPTY.isNegation() );
+		assertFalse( MATCHES.isNegation() );
+		assertTrue( NOT_MATCHES.isNegation() );
 		assertFalse( GT.isNegation() );
 		assertFalse( GE.isNegation() );
 		assertFalse( LT.isNegation() );
@@ -87,6 +89,16 @@ public class TestEntityQueryOps
 		assertReverse( IS_EMPTY, IS_NOT_EMPTY );
 		assertReverse( GT, LT );
 		assertReverse( GE, LE );
+		assertReverse( MATCHES, NOT_MATCHES );
+	}
+
+	@Test
+	public void fullTextMatching() {
+		assertEquals( MATCHES, EntityQueryOps.forToken( "matches" ) );
+		assertEquals( NOT_MATCHES, EntityQueryOps.forToken( "NOT MATCHES" ) );
+		assertEquals( "name matches 'foo bar'", MATCHES.toString( "name", "foo bar" ) );
+		assertEquals( "name not matches 'foo'", NOT_MATCHES.toString( "name", "foo" ) );
+		assertNull( EntityQueryOps.resolveMultiValueOperand( MATCHES ) );
 	}
 
 	private void assertReverse( EntityQueryOps initial, EntityQueryOps reversed ) {
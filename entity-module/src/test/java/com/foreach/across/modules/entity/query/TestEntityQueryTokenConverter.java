@@ -358,6 +358,18 @@ public class TestEntityQueryTokenConverter
 		);
 	}
 
+	@Test
+	public void fullTextMatchOperator() {
+		assertEquals(
+				EntityQuery.and( new EntityQueryCondition( "value", EntityQueryOps.MATCHES, new EQString( "foo bar" ) ) ),
+				convert( "value", "matches", "'foo bar'" )
+		);
+		assertEquals(
+				EntityQuery.and( new EntityQueryCondition( "value", EntityQueryOps.NOT_MATCHES, new EQString( "foo" ) ) ),
+				convert( "value", "not", "matches", "'foo'" )
+		);
+	}
+
 	@Test
 	public void emptyGroupValueIsNotAllowed() {
 		expectError(
@@ -228,6 +228,21 @@ public class TestEntityQueryUtils
 		assertThat( result ).extracting( EntityQueryCondition::getFirstArgument ).containsOnly( "john", "jane", "jean-pierre" );
 	}
 
+	@Test
+	public void tokenizeFullText() {
+		assertThat( EntityQueryUtils.tokenizeFullText( null ) ).isEmpty();
+		assertThat( EntityQueryUtils.tokenizeFullText( " - " ) ).isEmpty();
+		assertThat( EntityQueryUtils.tokenizeFullText( "Foo bar" ) ).containsExactly( "foo", "bar" );
+		assertThat( EntityQueryUtils.tokenizeFullText( "Crème brûlée, foo-bar (2) FOO" ) )
+				.containsExactly( "creme", "brulee", "foo", "bar", "2" );
+	}
+
+	@Test
+	public void tokenizeFullTextKeepingAccents() {
+		assertThat( EntityQueryUtils.tokenizeFullText( "Crème brûlée, CRÈME", false ) ).containsExactly( "crème", "brûlée" );
+		assertThat( EntityQueryUtils.tokenizeFullText( "Crème brûlée", true ) ).containsExactly( "creme", "brulee" );
+	}
+
 	private void assertEqlEquals( String expectedEql, EntityQuery entityQuery ) {
 		assertEquals( expectedEql, entityQuery.toString() );
 	}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.collections;
+
+import com.foreach.across.modules.entity.query.EntityQueryCondition;
+import com.foreach.across.modules.entity.registry.properties.EntityPropertyDescriptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static com.foreach.across.modules.entity.query.EntityQueryOps.MATCHES;
+import static com.foreach.across.modules.entity.query.EntityQueryOps.NOT_MATCHES;
+import static com.foreach.across.modules.entity.query.collections.CollectionEntityQueryPredicates.createPredicate;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@SuppressWarnings("unchecked")
+public class TestMatchesPredicate
+{
+	@Mock
+	private EntityPropertyDescriptor descriptor;
+
+	@Mock
+	private CollectionEntityQueryItem item;
+
+	@BeforeEach
+	public void setUp() {
+		when( item.getPropertyValue( "title" ) ).thenReturn( "Fun with Dick and Jane - Café edition" );
+	}
+
+	@Test
+	public void allWordsShouldMatch() {
+		assertThat( matches( "dick jane" ) ).isTrue();
+		assertThat( matches( "JANE, Dick" ) ).isTrue();
+		assertThat( matches( "dick john" ) ).isFalse();
+	}
+
+	@Test
+	public void wordsMatchOnPrefixIgnoringCaseAndAccents() {
+		assertThat( matches( "edit" ) ).isTrue();
+		assertThat( matches( "cafe" ) ).isTrue();
+		assertThat( matches( "CAFÉ fun" ) ).isTrue();
+		assertThat( matches( "dition" ) ).isFalse();
+	}
+
+	@Test
+	public void blankTextMatchesEverything() {
+		assertThat( matches( "" ) ).isTrue();
+		assertThat( matches( " - " ) ).isTrue();
+	}
+
+	@Test
+	public void notMatches() {
+		Predicate predicate = createPredicate( new EntityQueryCondition( "title", NOT_MATCHES, "dick jane" ), descriptor );
+		assertThat( predicate.test( item ) ).isFalse();
+
+		predicate = createPredicate( new EntityQueryCondition( "title", NOT_MATCHES, "john" ), descriptor );
+		assertThat( predicate.test( item ) ).isTrue();
+	}
+
+	@Test
+	public void indexIsBounded() {
+		CollectionFullTextIndex index = new CollectionFullTextIndex( 2 );
+		assertThat( index.matches( "one two", Arrays.asList( "tw" ) ) ).isTrue();
+		assertThat( index.matches( "three", Arrays.asList( "tw" ) ) ).isFalse();
+		assertThat( index.matches( "four", Arrays.asList( "four" ) ) ).isTrue();
+		assertThat( index.size() ).isEqualTo( 2 );
+		assertThat( index.getWords( "one two" ) ).containsExactly( "one", "two" );
+	}
+
+	private boolean matches( String text ) {
+		return createPredicate( new EntityQueryCondition( "title", MATCHES, text ), descriptor ).test( item );
+	}
+}
@@ -21,6 +21,7 @@ import com.foreach.across.modules.entity.config.builders.EntityPropertyDescripto
 import com.foreach.across.modules.entity.query.EntityQuery;
 import com.foreach.across.modules.entity.query.EntityQueryCondition;
 import com.foreach.across.modules.entity.query.EntityQueryOps;
+import com.foreach.across.modules.entity.query.UnknownTotalPage;
 import com.foreach.across.modules.entity.registry.EntityConfiguration;
 import com.foreach.across.modules.entity.registry.EntityConfigurationImpl;
 import com.foreach.across.modules.entity.registry.EntityRegistry;
@@ -33,16 +34,27 @@ import lombok.ToString;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.TotalHitsRelation;
 import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
 import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentProperty;
+import org.springframework.data.elasticsearch.core.query.Criteria;
+import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
 import org.springframework.data.mapping.context.MappingContext;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
 
 public class TestElasticEntityQueryExecutor
 {
@@ -134,6 +146,126 @@ public class TestElasticEntityQueryExecutor
 		assertThat( transformedSort.toString() ).isEqualTo( "name: DESC,entity.name: ASC" );
 	}
 
+	@Test
+	@SneakyThrows
+	void propertyMetadataIsResolvedOnlyOnce() {
+		when( mappingContext.hasPersistentEntityFor( TestEntity.class ) ).thenReturn( true );
+		ElasticsearchPersistentEntity persistentEntity = mock( ElasticsearchPersistentEntity.class );
+		when( mappingContext.getPersistentEntity( TestEntity.class ) ).thenReturn( persistentEntity );
+		ElasticsearchPersistentProperty persistentProperty = mock( ( ElasticsearchPersistentProperty.class ) );
+		when( persistentEntity.getIdProperty() ).thenReturn( persistentProperty );
+		when( persistentProperty.getRequiredGetter() ).thenReturn( TestEntity.class.getDeclaredMethod( "getId" ) );
+		when( persistentProperty.getName() ).thenReturn( "id" );
+
+		TestEntity one = new TestEntity();
+		one.setId( "one" );
+		TestEntity two = new TestEntity();
+		two.setId( "two" );
+
+		assertThat( executor.transformExpression( new EntityQueryCondition( "entity", EntityQueryOps.EQ, one ) ) )
+				.hasToString( "entity.id = 'one'" );
+		assertThat( executor.transformExpression( new EntityQueryCondition( "entity", EntityQueryOps.NEQ, two ) ) )
+				.hasToString( "entity.id != 'two'" );
+		assertThat( executor.transformSort( Sort.by( "name" ) ) ).hasToString( "name: ASC" );
+		assertThat( executor.transformSort( Sort.by( "name" ) ) ).hasToString( "name: ASC" );
+
+		verify( mappingContext, times( 1 ) ).hasPersistentEntityFor( TestEntity.class );
+		verify( mappingContext, times( 1 ) ).hasPersistentEntityFor( String.class );
+	}
+
+	@Test
+	void searchAfterQueryFollowsSortDirections() {
+		mockIdProperty();
+		Sort sort = Sort.by( Sort.Order.desc( "name" ), Sort.Order.asc( "id" ) );
+
+		assertThat( executor.buildSearchAfterQuery( sort, Arrays.asList( "john", "123" ) ) )
+				.hasToString( "(name < 'john' or name is NULL) or (name = 'john' and id > '123')" );
+
+		assertThatExceptionOfType( IllegalArgumentException.class )
+				.isThrownBy( () -> executor.buildSearchAfterQuery( sort, Arrays.asList( "john" ) ) );
+	}
+
+	@Test
+	void searchAfterQueryHandlesMissingSortValues() {
+		mockIdProperty();
+		Sort sort = Sort.by( Sort.Order.asc( "name" ), Sort.Order.asc( "id" ) );
+
+		assertThat( executor.buildSearchAfterQuery( sort, Arrays.asList( null, "123" ) ) )
+				.hasToString( "(name is NULL and id > '123')" );
+		assertThat( executor.buildSearchAfterQuery( Sort.by( Sort.Order.desc( "age" ), Sort.Order.asc( "id" ) ),
+		                                            Arrays.asList( Long.MIN_VALUE, "123" ) ) )
+				.hasToString( "(age is NULL and id > '123')" );
+
+		Sort nullsFirst = Sort.by( Sort.Order.asc( "name" ).nullsFirst(), Sort.Order.asc( "id" ) );
+		assertThat( executor.buildSearchAfterQuery( nullsFirst, Arrays.asList( null, "123" ) ) )
+				.hasToString( "name is not NULL or (name is NULL and id > '123')" );
+		assertThat( executor.buildSearchAfterQuery( nullsFirst, Arrays.asList( "john", "123" ) ) )
+				.hasToString( "name > 'john' or (name = 'john' and id > '123')" );
+	}
+
+	@Test
+	void pageWithUntrackedTotalOnlyKnowsIfThereIsANextPage() {
+		executor.setTrackTotalHits( false );
+		CriteriaQuery criteriaQuery = mockSearch( 3, "one", "two" );
+
+		Page<NestedTestEntity> page = executor.findAll( EntityQuery.all(), PageRequest.of( 0, 2 ) );
+		assertThat( page ).isInstanceOf( UnknownTotalPage.class );
+		assertThat( page.getContent() ).extracting( NestedTestEntity::getId ).containsExactly( "one", "two" );
+		assertThat( page.hasNext() ).isTrue();
+		assertThat( criteriaQuery.getTrackTotalHitsUpTo() ).isEqualTo( 3 );
+
+		mockSearch( 2, "one", "two" );
+		assertThat( executor.findAll( EntityQuery.all(), PageRequest.of( 0, 2 ) ).hasNext() ).isFalse();
+	}
+
+	@Test
+	void totalHitsTrackingOnTheEntityConfigurationTakesPrecedence() {
+		executor.setTrackTotalHits( false );
+		entityConfiguration.setAttribute( EntityAttributes.TRACK_TOTAL_HITS, 100 );
+		CriteriaQuery criteriaQuery = mockSearch( 5, "one", "two" );
+
+		Page<NestedTestEntity> page = executor.findAll( EntityQuery.all(), PageRequest.of( 0, 2 ) );
+		assertThat( page ).isNotInstanceOf( UnknownTotalPage.class );
+		assertThat( page.getTotalElements() ).isEqualTo( 5 );
+		assertThat( criteriaQuery.getTrackTotalHitsUpTo() ).isEqualTo( 100 );
+	}
+
+	private void mockIdProperty() {
+		ElasticsearchPersistentEntity persistentEntity = mock( ElasticsearchPersistentEntity.class );
+		when( mappingContext.getPersistentEntity( NestedTestEntity.class ) ).thenReturn( persistentEntity );
+		ElasticsearchPersistentProperty idProperty = mock( ElasticsearchPersistentProperty.class );
+		when( persistentEntity.getIdProperty() ).thenReturn( idProperty );
+		when( idProperty.getName() ).thenReturn( "id" );
+	}
+
+	/**
+	 * Returns the criteria query that will be executed, once the search has been performed.
+	 */
+	@SuppressWarnings("unchecked")
+	private CriteriaQuery mockSearch( long totalHits, String... ids ) {
+		List<SearchHit<NestedTestEntity>> searchHits = new ArrayList<>();
+		for ( String id : ids ) {
+			NestedTestEntity entity = new NestedTestEntity();
+			entity.setId( id );
+			SearchHit<NestedTestEntity> searchHit = mock( SearchHit.class );
+			when( searchHit.getContent() ).thenReturn( entity );
+			searchHits.add( searchHit );
+		}
+
+		SearchHits<NestedTestEntity> hits = mock( SearchHits.class );
+		when( hits.getSearchHits() ).thenReturn( searchHits );
+		when( hits.getTotalHits() ).thenReturn( totalHits );
+		when( hits.getTotalHitsRelation() ).thenReturn( TotalHitsRelation.EQUAL_TO );
+
+		CriteriaQuery executed = new CriteriaQuery( new Criteria() );
+		doAnswer( invocation -> {
+			CriteriaQuery query = invocation.getArgument( 0 );
+			executed.setTrackTotalHitsUpTo( query.getTrackTotalHitsUpTo() );
+			return hits;
+		} ).when( elasticsearchOperations ).search( any( CriteriaQuery.class ), eq( NestedTestEntity.class ) );
+		return executed;
+	}
+
 	@Data
 	@ToString(of = "id")
 	public class TestEntity
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.elastic;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class TestElasticsearchSyncPipeline
+{
+	private static final IndexCoordinates INDEX = IndexCoordinates.of( "customers" );
+
+	private ElasticsearchOperations elasticsearchOperations;
+	private List<List<String>> indexedBatches;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		elasticsearchOperations = mock( ElasticsearchOperations.class );
+		when( elasticsearchOperations.getIndexCoordinatesFor( Document.class ) ).thenReturn( INDEX );
+
+		indexedBatches = new ArrayList<>();
+		when( elasticsearchOperations.bulkIndex( anyList(), eq( INDEX ) ) ).thenAnswer( invocation -> {
+			List<IndexQuery> queries = invocation.getArgument( 0 );
+			indexedBatches.add( queries.stream().map( IndexQuery::getId ).collect( Collectors.toList() ) );
+			return null;
+		} );
+	}
+
+	@AfterEach
+	void clearTransaction() {
+		if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void entitiesAreIndexedImmediatelyWithoutTransaction() {
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null );
+		pipeline.save( new Entity( 1L, "john" ) );
+
+		ArgumentCaptor<List<IndexQuery>> queries = ArgumentCaptor.forClass( List.class );
+		verify( elasticsearchOperations ).bulkIndex( queries.capture(), eq( INDEX ) );
+		assertThat( queries.getValue() ).hasSize( 1 );
+		assertThat( queries.getValue().get( 0 ).getId() ).isEqualTo( "1" );
+		assertThat( queries.getValue().get( 0 ).getObject() ).isEqualTo( new Document( "1", "JOHN" ) );
+	}
+
+	@Test
+	void changesAreMergedAndOnlySentAfterCommit() {
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null );
+		TransactionSynchronizationManager.initSynchronization();
+
+		pipeline.save( new Entity( 1L, "john" ) );
+		pipeline.save( new Entity( 2L, "jane" ) );
+		pipeline.save( new Entity( 1L, "johnny" ) );
+		pipeline.save( new Entity( 3L, "joe" ) );
+		pipeline.delete( new Entity( 3L, "joe" ) );
+
+		verify( elasticsearchOperations, never() ).bulkIndex( anyList(), any( IndexCoordinates.class ) );
+		commit();
+
+		assertThat( indexedBatches ).containsExactly( Arrays.asList( "2", "1" ) );
+		verify( elasticsearchOperations ).delete( "3", INDEX );
+		verify( elasticsearchOperations, never() ).delete( any( Query.class ), any(), any() );
+		assertThat( TransactionSynchronizationManager.getResource( pipeline ) ).isNull();
+	}
+
+	@Test
+	void changesAreDiscardedOnRollback() {
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null );
+		TransactionSynchronizationManager.initSynchronization();
+
+		pipeline.save( new Entity( 1L, "john" ) );
+		pipeline.delete( new Entity( 2L, "jane" ) );
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationUtils.invokeAfterCompletion( synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK );
+
+		verifyNoInteractions( elasticsearchOperations );
+		assertThat( pipeline.getQueueSize() ).isEqualTo( 0 );
+	}
+
+	@Test
+	void changesAreSentInBatches() {
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 2, 100, null );
+		TransactionSynchronizationManager.initSynchronization();
+
+		for ( long i = 1; i <= 5; i++ ) {
+			pipeline.save( new Entity( i, "entity " + i ) );
+		}
+		commit();
+
+		assertThat( indexedBatches )
+				.containsExactly( Arrays.asList( "1", "2" ), Arrays.asList( "3", "4" ), Arrays.asList( "5" ) );
+	}
+
+	@Test
+	void producerWritesBatchWhenQueueIsFull() {
+		List<Runnable> scheduled = new ArrayList<>();
+		Executor executor = scheduled::add;
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 2, 3, executor );
+		TransactionSynchronizationManager.initSynchronization();
+
+		for ( long i = 1; i <= 5; i++ ) {
+			pipeline.save( new Entity( i, "entity " + i ) );
+		}
+		commit();
+
+		assertThat( indexedBatches ).containsExactly( Arrays.asList( "1", "2" ) );
+		assertThat( pipeline.getQueueSize() ).isEqualTo( 3 );
+		assertThat( scheduled ).hasSize( 1 );
+
+		scheduled.get( 0 ).run();
+		assertThat( indexedBatches )
+				.containsExactly( Arrays.asList( "1", "2" ), Arrays.asList( "3", "4" ), Arrays.asList( "5" ) );
+		assertThat( pipeline.getQueueSize() ).isEqualTo( 0 );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void deletesAreSentAsSingleBulkRequest() throws IOException {
+		ElasticsearchRestTemplate restTemplate = mock( ElasticsearchRestTemplate.class );
+		when( restTemplate.getIndexCoordinatesFor( Document.class ) ).thenReturn( INDEX );
+		RestHighLevelClient client = mock( RestHighLevelClient.class );
+		BulkResponse bulkResponse = mock( BulkResponse.class );
+		when( client.bulk( any( BulkRequest.class ), any( RequestOptions.class ) ) ).thenReturn( bulkResponse );
+		when( restTemplate.execute( any() ) ).thenAnswer(
+				invocation -> invocation.<ElasticsearchRestTemplate.ClientCallback<?>>getArgument( 0 ).doWithClient( client )
+		);
+		elasticsearchOperations = restTemplate;
+
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null );
+		TransactionSynchronizationManager.initSynchronization();
+		pipeline.delete( new Entity( 1L, "john" ) );
+		pipeline.delete( new Entity( 2L, "jane" ) );
+		commit();
+
+		ArgumentCaptor<BulkRequest> bulkRequest = ArgumentCaptor.forClass( BulkRequest.class );
+		verify( client ).bulk( bulkRequest.capture(), eq( RequestOptions.DEFAULT ) );
+		assertThat( bulkRequest.getValue().requests() )
+				.allMatch( request -> request instanceof DeleteRequest && "customers".equals( request.index() ) )
+				.extracting( DocWriteRequest::id )
+				.containsExactly( "1", "2" );
+		verify( restTemplate, never() ).delete( any( Query.class ), any(), any() );
+		verify( restTemplate, never() ).delete( anyString(), any( IndexCoordinates.class ) );
+	}
+
+	@Test
+	void failedBatchIsRetriedBeforeOtherChanges() {
+		when( elasticsearchOperations.bulkIndex( anyList(), eq( INDEX ) ) )
+				.thenThrow( new IllegalStateException( "cluster unavailable" ) )
+				.thenAnswer( invocation -> {
+					List<IndexQuery> queries = invocation.getArgument( 0 );
+					indexedBatches.add( queries.stream().map( IndexQuery::getId ).collect( Collectors.toList() ) );
+					return null;
+				} );
+
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null, 3, Duration.ZERO );
+		TransactionSynchronizationManager.initSynchronization();
+		pipeline.save( new Entity( 1L, "john" ) );
+		commit();
+
+		assertThat( indexedBatches ).isEmpty();
+
+		pipeline.save( new Entity( 2L, "jane" ) );
+		assertThat( indexedBatches ).containsExactly( Arrays.asList( "1" ), Arrays.asList( "2" ) );
+	}
+
+	@Test
+	void failedBatchIsDroppedAfterMaximumRetries() {
+		when( elasticsearchOperations.bulkIndex( anyList(), eq( INDEX ) ) ).thenThrow( new IllegalStateException( "cluster unavailable" ) );
+
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null, 1, Duration.ZERO );
+		pipeline.save( new Entity( 1L, "john" ) );
+		pipeline.flush();
+		pipeline.flush();
+
+		verify( elasticsearchOperations, times( 2 ) ).bulkIndex( anyList(), eq( INDEX ) );
+	}
+
+	@Test
+	void retryIsDelayedByBackoff() {
+		when( elasticsearchOperations.bulkIndex( anyList(), eq( INDEX ) ) ).thenThrow( new IllegalStateException( "cluster unavailable" ) );
+
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null, 3, Duration.ofHours( 1 ) );
+		pipeline.save( new Entity( 1L, "john" ) );
+		pipeline.flush();
+		pipeline.save( new Entity( 2L, "jane" ) );
+
+		verify( elasticsearchOperations, times( 1 ) ).bulkIndex( anyList(), eq( INDEX ) );
+		assertThat( pipeline.getQueueSize() ).isEqualTo( 1 );
+	}
+
+	@Test
+	void commitDoesNotFailIfDocumentsCanNotBeWritten() {
+		when( elasticsearchOperations.getIndexCoordinatesFor( Document.class ) ).thenThrow( new IllegalStateException( "no index" ) );
+
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null );
+		TransactionSynchronizationManager.initSynchronization();
+		pipeline.save( new Entity( 1L, "john" ) );
+
+		assertThatCode( this::commit ).doesNotThrowAnyException();
+		assertThat( TransactionSynchronizationManager.getResource( pipeline ) ).isNull();
+	}
+
+	@Test
+	void reindexLoadsEntitiesInKeysetChunks() {
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null );
+		List<Entity> entities = Arrays.asList( new Entity( 1L, "a" ), new Entity( 2L, "b" ), new Entity( 3L, "c" ), new Entity( 4L, "d" ) );
+		List<Long> lastIds = new ArrayList<>();
+
+		long total = pipeline.reindex(
+				( lastEntity, chunkSize ) -> {
+					long lastId = lastEntity != null ? lastEntity.getId() : 0;
+					lastIds.add( lastId );
+					return entities.stream().filter( e -> e.getId() > lastId ).limit( chunkSize ).collect( Collectors.toList() );
+				},
+				2
+		);
+
+		assertThat( total ).isEqualTo( 4 );
+		assertThat( lastIds ).containsExactly( 0L, 2L, 4L );
+		assertThat( indexedBatches ).containsExactly( Arrays.asList( "1", "2" ), Arrays.asList( "3", "4" ) );
+	}
+
+	@Test
+	void reindexDoesNotOverwriteDocumentsChangedWhileLoadingChunk() {
+		ElasticsearchSyncPipeline<Entity> pipeline = pipeline( 500, 100, null );
+		List<Entity> staleEntities = Arrays.asList( new Entity( 1L, "a" ), new Entity( 2L, "b" ) );
+
+		long total = pipeline.reindex(
+				( lastEntity, chunkSize ) -> {
+					// entity 2 is saved and written while the chunk holding its old version is being loaded
+					pipeline.save( new Entity( 2L, "updated" ) );
+					return staleEntities;
+				},
+				5
+		);
+
+		assertThat( total ).isEqualTo( 1 );
+		assertThat( indexedBatches ).containsExactly( Collections.singletonList( "2" ), Collections.singletonList( "1" ) );
+	}
+
+	private ElasticsearchSyncPipeline<Entity> pipeline( int batchSize, int queueCapacity, Executor executor ) {
+		return pipeline( batchSize, queueCapacity, executor, null, null );
+	}
+
+	private ElasticsearchSyncPipeline<Entity> pipeline( int batchSize, int queueCapacity, Executor executor, Integer maxRetries, Duration retryBackoff ) {
+		return ElasticsearchSyncPipeline.<Entity>builder()
+				.elasticsearchOperations( elasticsearchOperations )
+				.documentType( Document.class )
+				.documentId( Entity::getId )
+				.documentMapper( entity -> new Document( String.valueOf( entity.getId() ), entity.getName().toUpperCase() ) )
+				.batchSize( batchSize )
+				.queueCapacity( queueCapacity )
+				.maxRetries( maxRetries )
+				.retryBackoff( retryBackoff )
+				.flushExecutor( executor )
+				.build();
+	}
+
+	private void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationUtils.invokeAfterCommit( synchronizations );
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationUtils.invokeAfterCompletion( synchronizations, TransactionSynchronization.STATUS_COMMITTED );
+	}
+
+	@Data
+	@AllArgsConstructor
+	static class Entity
+	{
+		private Long id;
+		private String name;
+	}
+
+	@Data
+	@AllArgsConstructor
+	static class Document
+	{
+		private String id;
+		private String name;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Arne Vandamme
+ */
+@SuppressWarnings("unchecked")
+public class TestPostgreSqlJpaFullTextDialect
+{
+	private final CriteriaBuilder cb = mock( CriteriaBuilder.class );
+	private final Expression<String> property = mock( Expression.class );
+
+	@Test
+	public void blankTextMatchesEverything() {
+		Predicate conjunction = mock( Predicate.class );
+		when( cb.conjunction() ).thenReturn( conjunction );
+
+		assertThat( new PostgreSqlJpaFullTextDialect().match( cb, property, " " ) ).isSameAs( conjunction );
+		verify( cb ).conjunction();
+		verifyNoMoreInteractions( cb );
+	}
+
+	@Test
+	public void matchUsesTheRegisteredFunction() {
+		Expression<String> text = mock( Expression.class );
+		Expression<Boolean> function = mock( Expression.class );
+		Predicate predicate = mock( Predicate.class );
+		when( cb.literal( "foo bar" ) ).thenReturn( text );
+		when( cb.function( PostgreSqlJpaFullTextDialect.MATCH_FUNCTION, Boolean.class, property, text ) ).thenReturn( function );
+		when( cb.isTrue( function ) ).thenReturn( predicate );
+
+		assertThat( new PostgreSqlJpaFullTextDialect().match( cb, property, "foo bar" ) ).isSameAs( predicate );
+	}
+
+	@Test
+	public void matchFunctionRendersOperatorWithTheSameConfigurationOnBothSides() {
+		assertThat( PostgreSqlFullTextMetadataBuilderInitializer.matchTemplate( "simple" ) )
+				.isEqualTo( "(to_tsvector('simple', ?1) @@ plainto_tsquery('simple', ?2))" );
+		assertThat( PostgreSqlFullTextMetadataBuilderInitializer.matchTemplate( "public.dutch" ) )
+				.isEqualTo( "(to_tsvector('public.dutch', ?1) @@ plainto_tsquery('public.dutch', ?2))" );
+
+		assertThatIllegalArgumentException()
+				.isThrownBy( () -> PostgreSqlFullTextMetadataBuilderInitializer.matchTemplate( "simple'); drop table x; --" ) );
+	}
+}
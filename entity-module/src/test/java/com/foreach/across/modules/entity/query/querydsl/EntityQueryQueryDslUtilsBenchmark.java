@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.query.querydsl;
+
+import com.foreach.across.modules.entity.query.EntityQuery;
+import com.foreach.across.modules.entity.query.EntityQueryCondition;
+import com.querydsl.core.types.Predicate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.foreach.across.modules.entity.query.EntityQueryOps.*;
+
+/**
+ * JMH benchmark of building the QueryDSL predicate for a query with 10 conditions.
+ * Every invocation uses a query with the same shape but different values, like paging through a filtered list.
+ * <p/>
+ * Not executed as part of the test suite, run the {@link #main(String[])} method from the test classpath.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityQueryQueryDslUtilsBenchmark
+{
+	private static final int QUERY_VARIANTS = 16;
+
+	private final EntityQuery[] queries = new EntityQuery[QUERY_VARIANTS];
+	private int invocation;
+
+	@Setup
+	public void createQueries() {
+		for ( int i = 0; i < QUERY_VARIANTS; i++ ) {
+			queries[i] = EntityQuery.and(
+					new EntityQueryCondition( "name", EQ, "name-" + i ),
+					new EntityQueryCondition( "age", GE, 18 + i ),
+					new EntityQueryCondition( "age", LT, 65 - i ),
+					new EntityQueryCondition( "email", IS_NOT_NULL ),
+					new EntityQueryCondition( "status", IN, "ACTIVE", "PENDING-" + i ),
+					new EntityQueryCondition( "address.city", LIKE_IC, "city-" + i + "%" ),
+					new EntityQueryCondition( "address.country.code", NEQ, "C" + i ),
+					EntityQuery.or(
+							new EntityQueryCondition( "tags", CONTAINS, "tag-" + i ),
+							new EntityQueryCondition( "group.name", EQ, "group-" + i ),
+							new EntityQueryCondition( "representatives[].name", LIKE, "rep-" + i + "%" )
+					)
+			);
+		}
+	}
+
+	@Benchmark
+	public Predicate predicateConstruction() {
+		return EntityQueryQueryDslUtils.toPredicate( nextQuery(), EntityQueryQueryDslUtilsBenchmark.class, "entity" );
+	}
+
+	private EntityQuery nextQuery() {
+		return queries[invocation++ & ( QUERY_VARIANTS - 1 )];
+	}
+
+	public static void main( String[] args ) throws RunnerException {
+		new Runner( new OptionsBuilder().include( EntityQueryQueryDslUtilsBenchmark.class.getSimpleName() ).build() ).run();
+	}
+}
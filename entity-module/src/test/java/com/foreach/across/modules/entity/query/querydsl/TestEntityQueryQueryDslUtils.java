@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.querydsl;
+
+import com.foreach.across.modules.entity.query.EntityQuery;
+import com.foreach.across.modules.entity.query.EntityQueryCondition;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import org.junit.jupiter.api.Test;
+
+import static com.foreach.across.modules.entity.query.EntityQueryOps.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class TestEntityQueryQueryDslUtils
+{
+	@Test
+	public void predicateIsBuiltFromQuery() {
+		EntityQuery query = EntityQuery.and(
+				new EntityQueryCondition( "name", EQ, "john" ),
+				EntityQuery.or( new EntityQueryCondition( "address.city", IN, "Antwerp", "Brussels" ), new EntityQueryCondition( "age", GE, 18 ) )
+		);
+
+		Predicate predicate = EntityQueryQueryDslUtils.toPredicate( query, Person.class, "person" );
+		assertThat( predicate.toString() ).contains( "person.name = john", "person.address.city in [Antwerp, Brussels]", "person.age >= 18" );
+		assertThat( EntityQueryQueryDslUtils.toPredicate( query, Person.class, "person" ) ).isEqualTo( predicate );
+	}
+
+	@Test
+	public void resolvedPropertyPathsAreReused() {
+		PathBuilder<?> city = EntityQueryQueryDslUtils.resolvePath( new PathBuilder<>( Person.class, "person" ), "address.city" );
+
+		assertThat( city ).hasToString( "person.address.city" );
+		assertThat( EntityQueryQueryDslUtils.resolvePath( new PathBuilder<>( Person.class, "person" ), "address.city" ) ).isSameAs( city );
+		assertThat( EntityQueryQueryDslUtils.resolvePath( new PathBuilder<>( Person.class, "other" ), "address.city" ) )
+				.isNotSameAs( city )
+				.hasToString( "other.address.city" );
+	}
+
+	@Test
+	public void queriesWithTheSameShapeBindTheirOwnValues() {
+		Predicate john = EntityQueryQueryDslUtils.toPredicate( shapedQuery( "john", 18, "Antw%" ), Person.class, "person" );
+		Predicate jane = EntityQueryQueryDslUtils.toPredicate( shapedQuery( "jane", 21, "Brus%" ), Person.class, "person" );
+
+		assertThat( john.toString() ).contains( "person.name = john", "person.age >= 18", "Antw%", "person.email is null" );
+		assertThat( jane.toString() ).contains( "person.name = jane", "person.age >= 21", "Brus%", "person.email is null" );
+		assertThat( jane.toString() ).doesNotContain( "john", "Antw%" );
+		assertThat( jane ).isNotEqualTo( john );
+	}
+
+	@Test
+	public void queriesWithFullTextConditionsAreBuiltDirectly() {
+		EntityQuery query = EntityQuery.and(
+				new EntityQueryCondition( "name", EQ, "john" ),
+				new EntityQueryCondition( "description", MATCHES, "some text" )
+		);
+
+		assertThat( EntityQueryQueryDslUtils.toPredicate( query, Person.class, "person" ).toString() )
+				.contains( "person.name = john", "person.description", "some", "text" );
+	}
+
+	private EntityQuery shapedQuery( String name, int age, String city ) {
+		return EntityQuery.and(
+				new EntityQueryCondition( "name", EQ, name ),
+				new EntityQueryCondition( "age", GE, age ),
+				new EntityQueryCondition( "email", IS_NULL ),
+				EntityQuery.or( new EntityQueryCondition( "address.city", LIKE_IC, city ), new EntityQueryCondition( "tags", CONTAINS, "vip" ) )
+		);
+	}
+
+	static class Person
+	{
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.entity.query.support;
+
+import com.foreach.across.modules.entity.query.EntityQuery;
+import com.foreach.across.modules.entity.query.EntityQueryCondition;
+import com.foreach.across.modules.entity.query.EntityQueryConditionTranslator;
+import org.junit.jupiter.api.Test;
+
+import static com.foreach.across.modules.entity.query.EntityQueryOps.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class TestTextMatchingEntityQueryConditionTranslator
+{
+	@Test
+	public void caseInsensitiveCollationUsesRegularLike() {
+		EntityQueryConditionTranslator translator = EntityQueryConditionTranslator.caseInsensitiveCollation();
+
+		assertThat( translator.translate( new EntityQueryCondition( "name", LIKE_IC, "%john%" ) ) )
+				.isEqualTo( new EntityQueryCondition( "name", LIKE, "%john%" ) );
+		assertThat( translator.translate( new EntityQueryCondition( "name", NOT_LIKE_IC, "john%" ) ) )
+				.isEqualTo( new EntityQueryCondition( "name", NOT_LIKE, "john%" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "john%" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", EQ, "john" ) );
+	}
+
+	@Test
+	public void lowerCasedPropertyIsUsedForCaseInsensitiveConditions() {
+		EntityQueryConditionTranslator translator = EntityQueryConditionTranslator.lowerCasedProperty( "searchName" );
+
+		assertThat( translator.translate( new EntityQueryCondition( "name", LIKE_IC, "%John%" ) ) )
+				.isEqualTo( new EntityQueryCondition( "searchName", LIKE, "%john%" ) );
+		assertThat( translator.translate( new EntityQueryCondition( "name", NOT_LIKE_IC, "JOHN" ) ) )
+				.isEqualTo( new EntityQueryCondition( "searchName", NOT_LIKE, "john" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "John%" ) );
+	}
+
+	@Test
+	public void leadingTextPatternIsTranslatedToRange() {
+		EntityQueryConditionTranslator translator = EntityQueryConditionTranslator.prefixRanges();
+
+		assertThat( translator.translate( new EntityQueryCondition( "name", LIKE, "jo%" ) ) )
+				.isEqualTo( EntityQuery.and( new EntityQueryCondition( "name", GE, "jo" ), new EntityQueryCondition( "name", LT, "jp" ) ) );
+		assertThat( translator.translate( new EntityQueryCondition( "name", NOT_LIKE, "jo%" ) ) )
+				.isEqualTo( EntityQuery.or( new EntityQueryCondition( "name", LT, "jo" ), new EntityQueryCondition( "name", GE, "jp" ) ) );
+		assertThat( translator.translate( new EntityQueryCondition( "name", LIKE, "50\\%%" ) ) )
+				.isEqualTo( EntityQuery.and( new EntityQueryCondition( "name", GE, "50%" ), new EntityQueryCondition( "name", LT, "50&" ) ) );
+	}
+
+	@Test
+	public void otherPatternsAreNotTranslatedToRange() {
+		EntityQueryConditionTranslator translator = EntityQueryConditionTranslator.prefixRanges();
+
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "%jo" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "%jo%" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "j%o%" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "jo\\%" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "%" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE, "jo" ) );
+		assertNotTranslated( translator, new EntityQueryCondition( "name", LIKE_IC, "jo%" ) );
+	}
+
+	@Test
+	public void combinedTranslation() {
+		EntityQueryConditionTranslator translator = EntityQueryConditionTranslator.lowerCasedProperty( "searchName" ).withPrefixRanges();
+
+		assertThat( translator.translate( new EntityQueryCondition( "name", LIKE_IC, "Jo%" ) ) )
+				.isEqualTo( EntityQuery.and( new EntityQueryCondition( "searchName", GE, "jo" ), new EntityQueryCondition( "searchName", LT, "jp" ) ) );
+		assertThat( translator.translate( new EntityQueryCondition( "name", LIKE, "Jo%" ) ) )
+				.isEqualTo( EntityQuery.and( new EntityQueryCondition( "name", GE, "Jo" ), new EntityQueryCondition( "name", LT, "Jp" ) ) );
+
+		translator = EntityQueryConditionTranslator.caseInsensitiveCollation().withPrefixRanges();
+		assertThat( translator.translate( new EntityQueryCondition( "name", LIKE_IC, "jo%" ) ) )
+				.isEqualTo( EntityQuery.and( new EntityQueryCondition( "name", GE, "jo" ), new EntityQueryCondition( "name", LT, "jp" ) ) );
+	}
+
+	private void assertNotTranslated( EntityQueryConditionTranslator translator, EntityQueryCondition condition ) {
+		assertThat( translator.translate( condition ) ).isSameAs( condition );
+	}
+}
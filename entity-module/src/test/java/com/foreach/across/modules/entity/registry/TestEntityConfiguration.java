@@ -16,9 +16,13 @@
 
 package com.foreach.across.modules.entity.registry;
 
+import com.foreach.across.modules.entity.views.EntityViewFactory;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -58,4 +62,37 @@ public class TestEntityConfiguration
 		assertEquals( "someOtherName", config.getName() );
 		assertEquals( "Display name", config.getDisplayName() );
 	}
+
+	@Test
+	public void lazyViewIsCreatedOnceOnFirstAccessWithCustomizersInOrder() {
+		MutableEntityConfiguration<BigDecimal> config = new EntityConfigurationImpl<>( BigDecimal.class );
+		EntityViewFactory viewFactory = mock( EntityViewFactory.class );
+		AtomicInteger created = new AtomicInteger();
+		List<String> customizations = new ArrayList<>();
+
+		config.registerLazyView( "lazyView", () -> {
+			created.incrementAndGet();
+			return viewFactory;
+		} );
+		config.customizeView( "lazyView", vf -> customizations.add( "one" ) );
+		config.customizeView( "lazyView", vf -> customizations.add( "two" ) );
+
+		assertTrue( config.hasView( "lazyView" ) );
+		assertArrayEquals( new String[] { "lazyView" }, config.getViewNames() );
+		assertEquals( 0, created.get() );
+
+		assertSame( viewFactory, config.getViewFactory( "lazyView" ) );
+		assertSame( viewFactory, config.getViewFactory( "lazyView" ) );
+		assertEquals( 1, created.get() );
+		assertEquals( 2, customizations.size() );
+		assertEquals( "one", customizations.get( 0 ) );
+		assertEquals( "two", customizations.get( 1 ) );
+
+		config.customizeView( "lazyView", vf -> customizations.add( "three" ) );
+		assertEquals( 3, customizations.size() );
+
+		config.removeView( "lazyView" );
+		assertFalse( config.hasView( "lazyView" ) );
+		assertNull( config.getViewFactory( "lazyView" ) );
+	}
 }
@@ -310,6 +310,35 @@ class TestGenericEntityPropertyController
 		verify( consumer ).accept( context.getTarget(), propertyValue );
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void saveAll() {
+		EntityPropertyValue<Long> otherValue = new EntityPropertyValue<>( 789L, 789L, true );
+		List<EntityPropertyValue<Long>> values = Arrays.asList( propertyValue, otherValue );
+
+		assertThat( controller.isOptimizedForBulkSave() ).isFalse();
+
+		// default saves every value separately
+		val vw = mock( BiFunction.class );
+		when( vw.apply( context, propertyValue ) ).thenReturn( false );
+		when( vw.apply( context, otherValue ) ).thenReturn( true );
+		controller.saveFunction( vw );
+		assertThat( controller.saveAll( context, values ) ).isTrue();
+		verify( vw ).apply( context, propertyValue );
+		verify( vw ).apply( context, otherValue );
+
+		controller.withTarget( BigDecimal.class, Long.class )
+		          .bulkSaveFunction( ( target, propertyValues ) -> target.equals( BigDecimal.TEN ) && propertyValues.size() == 2 );
+		assertThat( controller.isOptimizedForBulkSave() ).isTrue();
+		assertThat( controller.saveAll( context, values ) ).isTrue();
+		verifyNoMoreInteractions( vw );
+
+		GenericEntityPropertyController child = new GenericEntityPropertyController( controller );
+		assertThat( child.isOptimizedForBulkSave() ).isTrue();
+		assertThat( child.saveAll( context, values ) ).isTrue();
+		assertThat( child.saveAll( context, Arrays.asList( propertyValue ) ) ).isFalse();
+	}
+
 	@Test
 	void validate() {
 		Errors errors = mock( Errors.class );
@@ -26,6 +26,9 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -82,6 +85,30 @@ public class TestDefaultEntityPropertyRegistryProvider
 		verify( provider, times( 1 ) ).create( String.class );
 	}
 
+	@Test
+	public void createAllInParallelRegistersTheSameRegistriesAsGet() {
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+		provider.setPropertiesRegistrars( Collections.singletonList(
+				( entityType, registry ) -> threadNames.add( Thread.currentThread().getName() )
+		) );
+
+		MutableEntityPropertyRegistry existing = provider.get( Integer.class );
+
+		provider.createAll( Arrays.asList( String.class, Long.class, Integer.class, Double.class, String.class ), 3 );
+
+		assertSame( existing, provider.get( Integer.class ) );
+		Assertions.assertThat( provider.get( String.class ).getId() ).isEqualTo( String.class.getName() );
+		Assertions.assertThat( provider.get( Long.class ).getId() ).isEqualTo( Long.class.getName() );
+		Assertions.assertThat( provider.get( Double.class ).getId() ).isEqualTo( Double.class.getName() );
+
+		verify( provider, times( 1 ) ).create( String.class );
+		verify( provider, times( 1 ) ).create( Long.class );
+		verify( provider, times( 1 ) ).create( Integer.class );
+		verify( provider, times( 1 ) ).create( Double.class );
+
+		Assertions.assertThat( threadNames ).anyMatch( name -> name.startsWith( "entity-registration-" ) );
+	}
+
 	@Test
 	public void createForParentReturnsMergingRegistryWithSameId() {
 		MutableEntityPropertyRegistry parent = mock( MutableEntityPropertyRegistry.class );
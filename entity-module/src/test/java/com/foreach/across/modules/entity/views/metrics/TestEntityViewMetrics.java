@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.entity.views.metrics;
+
+import com.foreach.across.modules.entity.config.EntityViewMetricsProperties;
+import com.foreach.across.modules.entity.query.AbstractEntityQueryExecutor;
+import com.foreach.across.modules.entity.query.EntityQueryExecutionTimer;
+import com.foreach.across.modules.entity.query.EntityQueryExecutor;
+import com.foreach.across.modules.entity.registry.EntityAssociation;
+import com.foreach.across.modules.entity.registry.EntityConfiguration;
+import com.foreach.across.modules.entity.views.context.EntityViewContext;
+import com.foreach.across.modules.entity.views.request.EntityViewRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+@SuppressWarnings("unchecked")
+public class TestEntityViewMetrics
+{
+	private final EntityViewMetricsProperties properties = new EntityViewMetricsProperties();
+	private final List<EntityViewMetricsListener> listeners = new ArrayList<>();
+
+	private EntityViewMetrics metrics;
+	private EntityConfiguration<Object> book;
+	private EntityConfiguration<Object> author;
+	private AbstractEntityQueryExecutor<Object> bookExecutor;
+	private AbstractEntityQueryExecutor<Object> associationExecutor;
+	private EntityViewRequest viewRequest;
+
+	@BeforeEach
+	public void setUp() {
+		properties.setEnabled( true );
+
+		ObjectProvider<EntityViewMetricsListener> listenerProvider = mock( ObjectProvider.class, CALLS_REAL_METHODS );
+		doAnswer( invocation -> listeners.stream() ).when( listenerProvider ).stream();
+		metrics = new EntityViewMetrics( properties, listenerProvider );
+
+		book = mock( EntityConfiguration.class );
+		author = mock( EntityConfiguration.class );
+		bookExecutor = mock( AbstractEntityQueryExecutor.class, CALLS_REAL_METHODS );
+		associationExecutor = mock( AbstractEntityQueryExecutor.class, CALLS_REAL_METHODS );
+		when( book.getAttribute( EntityQueryExecutor.class ) ).thenReturn( bookExecutor );
+
+		EntityAssociation association = mock( EntityAssociation.class );
+		when( association.getTargetEntityConfiguration() ).thenReturn( author );
+		when( association.getAttribute( EntityQueryExecutor.class ) ).thenReturn( associationExecutor );
+
+		EntityViewContext viewContext = mock( EntityViewContext.class );
+		when( viewContext.getEntityConfiguration() ).thenReturn( (EntityConfiguration) book );
+		when( viewContext.isForAssociation() ).thenReturn( true );
+		when( viewContext.getEntityAssociation() ).thenReturn( association );
+
+		viewRequest = mock( EntityViewRequest.class );
+		when( viewRequest.getEntityViewContext() ).thenReturn( viewContext );
+		when( viewRequest.getViewName() ).thenReturn( "listView" );
+	}
+
+	@Test
+	public void queryTimersAreNotInstalledIfNobodyUsesTheQueryTimings() {
+		properties.setSlowViewThreshold( null );
+
+		metrics.stop( metrics.start( viewRequest ) );
+
+		assertThat( bookExecutor.getQueryExecutionTimer() ).isNull();
+		assertThat( associationExecutor.getQueryExecutionTimer() ).isNull();
+	}
+
+	@Test
+	public void associationQueriesAreRecordedForTheTargetEntity() {
+		properties.setSlowViewThreshold( null );
+		EntityViewMetricsListener listener = mock( EntityViewMetricsListener.class );
+		listeners.add( listener );
+
+		EntityViewTimings timings = metrics.start( viewRequest );
+		bookExecutor.getQueryExecutionTimer().record( EntityQueryExecutionTimer.PAGE, 100 );
+		associationExecutor.getQueryExecutionTimer().record( EntityQueryExecutionTimer.LIST, 200 );
+		metrics.stop( timings );
+
+		verify( listener ).entityQueryTimed( book, EntityQueryExecutionTimer.PAGE, 100 );
+		verify( listener ).entityQueryTimed( author, EntityQueryExecutionTimer.LIST, 200 );
+		assertThat( timings.getQueryCount() ).isEqualTo( 2 );
+	}
+
+	@Test
+	public void listenerExceptionsDoNotBreakTheQueryOrView() {
+		EntityViewMetricsListener failing = mock( EntityViewMetricsListener.class );
+		doThrow( new IllegalStateException( "query" ) ).when( failing ).entityQueryTimed( any(), any(), anyLong() );
+		doThrow( new IllegalStateException( "view" ) ).when( failing ).entityViewTimed( any() );
+		EntityViewMetricsListener listener = mock( EntityViewMetricsListener.class );
+		listeners.add( failing );
+		listeners.add( listener );
+
+		EntityViewTimings timings = metrics.start( viewRequest );
+		bookExecutor.getQueryExecutionTimer().record( EntityQueryExecutionTimer.COUNT, 100 );
+		metrics.stop( timings );
+
+		verify( listener ).entityQueryTimed( book, EntityQueryExecutionTimer.COUNT, 100 );
+		verify( listener ).entityViewTimed( timings );
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.foreach.across.modules.entity.views.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class TestEntityViewTimings
+{
+	@Test
+	public void phasesAreOnlyRecordedWhenStarted() {
+		EntityViewTimings timings = new EntityViewTimings( "book", null, "listView", true );
+		timings.recordProcessor( "ignored", 100 );
+
+		timings.startPhase( EntityViewPhase.PRE_PROCESS );
+		timings.recordProcessor( "one", 100 );
+		timings.startPhase( EntityViewPhase.RENDER );
+		timings.recordProcessor( "two", 200 );
+		timings.recordQuery( 1_000_000 );
+		timings.stop();
+
+		assertThat( timings.getPhaseDurations() ).containsOnlyKeys( EntityViewPhase.PRE_PROCESS, EntityViewPhase.RENDER );
+		assertThat( timings.getPhaseDuration( EntityViewPhase.POST_RENDER ) ).isEqualTo( Duration.ZERO );
+		assertThat( timings.getProcessorTimings() )
+				.extracting( EntityViewTimings.ProcessorTiming::getProcessorName )
+				.containsExactly( "one", "two" );
+		assertThat( timings.getQueryCount() ).isEqualTo( 1 );
+		assertThat( timings.getQueryDuration() ).isEqualTo( Duration.ofMillis( 1 ) );
+
+		Duration duration = timings.getDuration();
+		timings.stop();
+		assertThat( timings.getDuration() ).isEqualTo( duration );
+
+		assertThat( timings.toBreakdown() )
+				.startsWith( "entity view book - listView: " )
+				.contains( "\n  preProcess: ", "\n    one: 0.000 ms", "\n  render: ", "\n    two: 0.000 ms" )
+				.contains( "1 queries in 1.000 ms" );
+	}
+
+	@Test
+	public void processorsAreNotRecordedIfDisabled() {
+		EntityViewTimings timings = new EntityViewTimings( "book", "author", "listView", false );
+		timings.startPhase( EntityViewPhase.RENDER );
+		timings.recordProcessor( "one", 100 );
+		timings.stop();
+
+		assertThat( timings.isRecordingProcessors() ).isFalse();
+		assertThat( timings.getProcessorTimings() ).isEmpty();
+		assertThat( timings.getPhaseDurations() ).containsOnlyKeys( EntityViewPhase.RENDER );
+		assertThat( timings.toBreakdown() ).startsWith( "entity view book (association author) - listView: " );
+	}
+}
@@ -17,6 +17,8 @@
 package com.foreach.across.modules.entity.views.processors.support;
 
 import com.foreach.across.modules.entity.views.EntityViewProcessor;
+import com.foreach.across.modules.entity.views.metrics.EntityViewPhase;
+import com.foreach.across.modules.entity.views.metrics.EntityViewTimings;
 import com.foreach.across.modules.entity.views.processors.EntityViewProcessorAdapter;
 import com.foreach.across.modules.entity.views.processors.SimpleEntityViewProcessorAdapter;
 import org.junit.jupiter.api.BeforeEach;
@@ -212,4 +214,34 @@ public class TestEntityViewProcessorRegistry
 
 		verify( c, never() ).accept( one );
 	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void processorDurationsAreRecordedIfTimingsAreBound() {
+		registry.addProcessor( "one", one );
+		registry.addProcessor( "two", two );
+
+		EntityViewTimings timings = new EntityViewTimings( "entity", null, "listView", true );
+		EntityViewTimings.bind( timings );
+
+		try {
+			timings.startPhase( EntityViewPhase.RENDER );
+			Consumer c = mock( Consumer.class );
+			registry.dispatch( c );
+			timings.stop();
+
+			verify( c ).accept( one );
+			verify( c ).accept( two );
+		}
+		finally {
+			EntityViewTimings.bind( null );
+		}
+
+		assertEquals( 2, timings.getProcessorTimings().size() );
+		assertEquals( "one", timings.getProcessorTimings().get( 0 ).getProcessorName() );
+		assertEquals( EntityViewPhase.RENDER, timings.getProcessorTimings().get( 0 ).getPhase() );
+		assertEquals( "two", timings.getProcessorTimings().get( 1 ).getProcessorName() );
+		assertTrue( timings.getPhaseDurations().containsKey( EntityViewPhase.RENDER ) );
+		assertNull( EntityViewTimings.current() );
+	}
 }
@@ -305,6 +305,66 @@ public class TestEntityViewLinks
 				.isEqualTo( "/test/entities/principal/10/update?from=%2Fctx%2Ftest%2Fentities%2Fprincipal%2F10%2Fassociations%2FidBasedEntity%2F20%2Fupdate" );
 	}
 
+	@Test
+	public void instanceTemplates() {
+		EntityViewLinkBuilder linkBuilder = links.linkTo( SecurityPrincipal.class );
+
+		EntityViewLinkTemplate template = linkBuilder.instanceTemplate();
+		assertThat( template.forInstance( principal ) ).isEqualTo( "/test/entities/principal/10" );
+		assertThat( template.withId( 66 ) ).isEqualTo( "/test/entities/principal/66" );
+		assertThat( linkBuilder.updateViewTemplate().forInstance( principal ) ).isEqualTo( "/test/entities/principal/10/update" );
+		assertThat( linkBuilder.deleteViewTemplate().withId( 66 ) ).isEqualTo( "/test/entities/principal/66/delete" );
+		assertThat( linkBuilder.instanceTemplate( link -> link.withViewName( "summary" ).withPartial( "content" ) ).withId( 66 ) )
+				.isEqualTo( linkBuilder.withId( 66 ).withViewName( "summary" ).withPartial( "content" ).toString() );
+
+		EntityViewLinkTemplate uriTemplate = linkBuilder.updateViewTemplate().toUriTemplate();
+		assertThat( uriTemplate.forInstance( principal ) ).isEqualTo( linkBuilder.forInstance( principal ).updateView().toUriString() );
+		assertThat( uriTemplate.withId( 66 ) ).isEqualTo( "/ctx/test/entities/principal/66/update" );
+		assertThat( uriTemplate.toUriTemplate() ).isSameAs( uriTemplate );
+	}
+
+	@Test
+	public void associationInstanceTemplates() {
+		EntityViewLinkBuilder linkBuilder = links.linkTo( principal ).association( IdBasedEntity.class );
+
+		assertThat( linkBuilder.instanceTemplate().forInstance( idBasedEntity ) )
+				.isEqualTo( "/test/entities/principal/10/associations/idBasedEntity/20" );
+		assertThat( linkBuilder.deleteViewTemplate().toUriTemplate().forInstance( idBasedEntity ) )
+				.isEqualTo( linkBuilder.forInstance( idBasedEntity ).deleteView().toUriString() );
+
+		when( entityAssociation.getAssociationType() ).thenReturn( EntityAssociation.Type.LINKED );
+		assertThat( linkBuilder.updateViewTemplate().withId( 20 ) )
+				.isEqualTo( linkBuilder.withId( 20 ).updateView().toString() );
+	}
+
+	@Test
+	public void instanceTemplatesForDelegatingLinkBuilder() {
+		EntityViewLinkBuilder target = links.linkTo( SecurityPrincipal.class );
+		EntityViewLinkBuilder delegating = new EntityViewLinkBuilder( target.toUriComponentsBuilder(), null )
+		{
+			@Override
+			public EntityLinkBuilder asAssociationFor( EntityLinkBuilder sourceLinkBuilder, Object sourceEntity ) {
+				return target.asAssociationFor( sourceLinkBuilder, sourceEntity );
+			}
+
+			@Override
+			public SingleEntityViewLinkBuilder forInstance( Object entity ) {
+				return target.forInstance( entity );
+			}
+
+			@Override
+			public SingleEntityViewLinkBuilder withId( Object id ) {
+				return target.withId( id );
+			}
+		};
+
+		EntityViewLinkTemplate template = delegating.updateViewTemplate();
+		assertThat( template.forInstance( principal ) ).isEqualTo( "/test/entities/principal/10/update" );
+		assertThat( template.withId( 66 ) ).isEqualTo( "/test/entities/principal/66/update" );
+		assertThat( template.toUriTemplate().forInstance( principal ) ).isEqualTo( target.forInstance( principal ).updateView().toUriString() );
+		assertThat( template.toUriTemplate().withId( 66 ) ).isEqualTo( "/ctx/test/entities/principal/66/update" );
+	}
+
 	@Test
 	public void deprecatedEntityLinkBuilderCompatibility() {
 		EntityLinkBuilder url = links.linkTo( SecurityPrincipal.class );
@@ -42,6 +42,12 @@ public class PropertiesModuleSettings
 	private ConversionService conversionService;
 	private String conversionServiceBean;
 
+	/**
+	 * Should the buffered property tracking registrations be written asynchronously once the context
+	 * has bootstrapped, instead of on the bootstrapping thread.
+	 */
+	private boolean asyncPropertyTracking;
+
 	public ConversionService getConversionService() {
 		return conversionService;
 	}
@@ -57,4 +63,12 @@ public class PropertiesModuleSettings
 	public void setConversionServiceBean(String conversionServiceBean) {
 		this.conversionServiceBean = conversionServiceBean;
 	}
+
+	public boolean isAsyncPropertyTracking() {
+		return asyncPropertyTracking;
+	}
+
+	public void setAsyncPropertyTracking(boolean asyncPropertyTracking) {
+		this.asyncPropertyTracking = asyncPropertyTracking;
+	}
 }
@@ -21,6 +21,7 @@ import com.foreach.across.modules.properties.services.EntityPropertiesServiceBas
 import org.springframework.core.convert.ConversionService;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 
 /**
  * Configuration descriptor for an EntityProperties instance.
@@ -73,4 +74,29 @@ public interface EntityPropertiesDescriptor
 	 * @return The service that manages the property persistence.
 	 */
 	EntityPropertiesServiceBase service();
+
+	/**
+	 * Maximum number of entities for which the properties should be kept in the near-cache of the repository.
+	 * The least recently used entries are evicted first. Saving or deleting properties invalidates the entry,
+	 * properties that were being loaded while the entry was invalidated are not cached.
+	 *
+	 * @return maximum number of cached entities, 0 disables caching
+	 * @since 4.3.0
+	 */
+	default int cacheSize() {
+		return 0;
+	}
+
+	/**
+	 * Interval after which a cached entry should be revalidated against the database.
+	 * Required if multiple nodes write to the same properties table: every save then writes a new
+	 * property version, and a cached entry is only reloaded if its version has changed.
+	 * The property version column is created by the properties installer.
+	 *
+	 * @return revalidation interval, {@code null} if cached entries never need to be revalidated
+	 * @since 4.3.0
+	 */
+	default Duration cacheRevalidationInterval() {
+		return null;
+	}
 }
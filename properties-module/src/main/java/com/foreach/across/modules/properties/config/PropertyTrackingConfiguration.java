@@ -16,26 +16,73 @@
 package com.foreach.across.modules.properties.config;
 
 import com.foreach.across.core.AcrossContext;
+import com.foreach.across.core.events.AcrossContextBootstrappedEvent;
+import com.foreach.across.modules.properties.PropertiesModuleSettings;
 import com.foreach.across.modules.properties.repositories.PropertyTrackingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 
 import javax.sql.DataSource;
 
 /**
+ * Property registrations during bootstrap are buffered and written in a single transaction
+ * once the context has bootstrapped, optionally asynchronously using the {@link #propertyTrackingTaskExecutor()}.
+ * Failures of an asynchronous flush are only logged, a failing synchronous flush fails the bootstrap.
+ *
  * @author Arne Vandamme
+ * @see PropertiesModuleSettings#isAsyncPropertyTracking()
  */
 @Configuration
 public class PropertyTrackingConfiguration
 {
+	private static final Logger LOG = LoggerFactory.getLogger( PropertyTrackingConfiguration.class );
+
 	@Autowired
 	@Qualifier(AcrossContext.DATASOURCE)
 	private DataSource dataSource;
 
+	@Autowired
+	private PropertiesModuleSettings settings;
+
 	@Bean
 	public PropertyTrackingRepository propertyTrackingRepository() {
-		return new PropertyTrackingRepository( dataSource );
+		PropertyTrackingRepository repository = new PropertyTrackingRepository( dataSource );
+		repository.setBufferRegistrations( true );
+		return repository;
+	}
+
+	@Bean
+	public TaskExecutor propertyTrackingTaskExecutor() {
+		SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor( "property-tracking-" );
+		taskExecutor.setDaemon( true );
+		return taskExecutor;
+	}
+
+	@EventListener
+	public void contextBootstrapped( AcrossContextBootstrappedEvent event ) {
+		PropertyTrackingRepository repository = propertyTrackingRepository();
+
+		if ( settings.isAsyncPropertyTracking() ) {
+			propertyTrackingTaskExecutor().execute( () -> flushAsync( repository ) );
+		}
+		else {
+			repository.flushPendingRegistrations();
+		}
+	}
+
+	private void flushAsync( PropertyTrackingRepository repository ) {
+		try {
+			repository.flushPendingRegistrations();
+		}
+		catch ( RuntimeException e ) {
+			LOG.warn( "Tracking property registrations failed", e );
+		}
 	}
 }
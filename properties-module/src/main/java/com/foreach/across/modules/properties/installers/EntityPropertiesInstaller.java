@@ -19,10 +19,26 @@ import com.foreach.across.core.database.SchemaConfiguration;
 import com.foreach.across.core.database.SchemaObject;
 import com.foreach.across.core.installers.AcrossLiquibaseInstaller;
 import liquibase.exception.LiquibaseException;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 import java.util.Collections;
 
 /**
+ * Base installer for an entity properties table. Implementations can opt-in to an additional index on the
+ * property values by overriding {@link #isPropertyValueIndexEnabled()}. Such an index speeds up
+ * reverse lookups of entity ids based on property values, at the cost of some write performance.
+ * The index is created on the property name and property value columns. On databases where the property value
+ * column is too wide to be indexed in full (MySQL, PostgreSQL and SQL Server), only the first
+ * {@link com.foreach.across.modules.properties.repositories.EntityPropertiesRepository#PROPERTY_VALUE_PREFIX_LENGTH}
+ * characters of the value are indexed.
+ * <p/>
+ * If the EntityModule is present and a {@link BufferingApplicationStartup} bean is available, every installer run
+ * is recorded on it as a startup step.
+ *
  * @author Arne Vandamme
  */
 public abstract class EntityPropertiesInstaller extends AcrossLiquibaseInstaller
@@ -30,6 +46,9 @@ public abstract class EntityPropertiesInstaller extends AcrossLiquibaseInstaller
 	private final SchemaConfiguration schemaConfiguration = new SchemaConfiguration(
 			Collections.<SchemaObject>emptyList() );
 
+	@Autowired
+	private ObjectProvider<BufferingApplicationStartup> applicationStartup;
+
 	protected EntityPropertiesInstaller() {
 		this( false );
 	}
@@ -45,11 +64,38 @@ public abstract class EntityPropertiesInstaller extends AcrossLiquibaseInstaller
 
 	protected abstract String getKeyColumnName();
 
+	/**
+	 * Should an index be created on the property name and property value columns.
+	 * Disabled by default, enabling it on an existing table will create the index on the next installer run.
+	 *
+	 * @return true if the property value index should be created
+	 * @since 4.3.0
+	 */
+	protected boolean isPropertyValueIndexEnabled() {
+		return false;
+	}
+
+	/**
+	 * @return name of the property value index, limited to 30 characters
+	 * @since 4.3.0
+	 */
+	protected String getPropertyValueIndexName() {
+		return "ix_" + StringUtils.left( getTableName(), 24 ) + "_pv";
+	}
+
 	@Override
 	public void install() throws LiquibaseException {
 		schemaConfiguration.setProperty( "table.entity_properties", getTableName() );
 		schemaConfiguration.setProperty( "column.entity_id", getKeyColumnName() );
+		schemaConfiguration.setProperty( "index.property_value.enabled", String.valueOf( isPropertyValueIndexEnabled() ) );
+		schemaConfiguration.setProperty( "index.property_value.name", getPropertyValueIndexName() );
 
-		super.install();
+		StartupStep step = InstallerStartupSteps.start( applicationStartup, this ).tag( "table", getTableName() );
+		try {
+			super.install();
+		}
+		finally {
+			step.end();
+		}
 	}
 }
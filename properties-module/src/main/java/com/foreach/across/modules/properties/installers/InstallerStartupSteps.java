@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.properties.installers;
+
+import com.foreach.across.modules.entity.config.EntityStartupSteps;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Records installer runs of this module as startup steps, using the step name the ApplicationInfoModule
+ * reports installer runs under. Steps are only recorded if the EntityModule is present and a
+ * {@link BufferingApplicationStartup} bean is available, see {@link EntityStartupSteps}.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+final class InstallerStartupSteps
+{
+	/**
+	 * Same value as {@code ApplicationStartupProfile.INSTALLER}.
+	 */
+	static final String INSTALLER = "across.installer";
+
+	private static final boolean ENTITY_MODULE_PRESENT = ClassUtils.isPresent(
+			"com.foreach.across.modules.entity.config.EntityStartupSteps", InstallerStartupSteps.class.getClassLoader() );
+
+	private InstallerStartupSteps() {
+	}
+
+	static StartupStep start( ObjectProvider<BufferingApplicationStartup> applicationStartup, Object installer ) {
+		ApplicationStartup startup = ENTITY_MODULE_PRESENT ? EntityStartupSteps.applicationStartup( applicationStartup ) : ApplicationStartup.DEFAULT;
+		return startup.start( INSTALLER ).tag( "installer", installer.getClass().getName() );
+	}
+}
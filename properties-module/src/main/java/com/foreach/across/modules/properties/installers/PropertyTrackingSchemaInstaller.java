@@ -17,6 +17,11 @@ package com.foreach.across.modules.properties.installers;
 
 import com.foreach.across.core.annotations.Installer;
 import com.foreach.across.core.installers.AcrossLiquibaseInstaller;
+import liquibase.exception.LiquibaseException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 
 /**
  * @author Arne Vandamme
@@ -24,4 +29,17 @@ import com.foreach.across.core.installers.AcrossLiquibaseInstaller;
 @Installer(description = "Installs the property tracking table", version = 1)
 public class PropertyTrackingSchemaInstaller extends AcrossLiquibaseInstaller
 {
+	@Autowired
+	private ObjectProvider<BufferingApplicationStartup> applicationStartup;
+
+	@Override
+	public void install() throws LiquibaseException {
+		StartupStep step = InstallerStartupSteps.start( applicationStartup, this );
+		try {
+			super.install();
+		}
+		finally {
+			step.end();
+		}
+	}
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.properties.query;
+
+import com.foreach.across.modules.entity.query.*;
+import com.foreach.across.modules.properties.repositories.EntityPropertiesCondition;
+import com.foreach.across.modules.properties.services.AbstractEntityPropertiesService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link EntityQueryExecutor} adapter that allows entity properties to be used in EQL filters.
+ * Conditions on properties prefixed with the properties prefix (eg. {@code properties.theme = 'dark'})
+ * are resolved against the entity properties table, and replaced by a condition on the entity id
+ * before the query is passed to the actual executor. All property conditions in the same group are
+ * combined into a single properties query.
+ * <p/>
+ * Supported operators are {@code =}, {@code in}, {@code like} and {@code is not empty/null}.
+ * The matching entity ids are passed on to the actual executor as {@code id in (...)} conditions of at most
+ * {@link #setEntityIdChunkSize(int)} ids. If more entities match, all ids are streamed from the properties table
+ * and combined in multiple {@code in} conditions. Selective property conditions perform best.
+ * <p/>
+ * Note that the property descriptors must be registered on the entity configuration for the query to be translated,
+ * see {@link com.foreach.across.modules.properties.services.EntityPropertiesValueFetchers}.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public class EntityPropertiesEntityQueryExecutor<T> implements EntityQueryExecutor<T>
+{
+	private static final Logger LOG = LoggerFactory.getLogger( EntityPropertiesEntityQueryExecutor.class );
+
+	/**
+	 * Default maximum number of entity ids in a single {@code in} condition.
+	 */
+	public static final int DEFAULT_ENTITY_ID_CHUNK_SIZE = 1000;
+
+	private final EntityQueryExecutor<T> entityQueryExecutor;
+	private final AbstractEntityPropertiesService<?, ?> entityPropertiesService;
+	private final String propertyPrefix;
+	private final String idProperty;
+
+	private int entityIdChunkSize = DEFAULT_ENTITY_ID_CHUNK_SIZE;
+
+	/**
+	 * @param entityQueryExecutor     actual executor for the entity
+	 * @param entityPropertiesService for the properties of the entity
+	 * @param propertyPrefix          prefix of the property conditions that should be resolved against the properties
+	 * @param idProperty              name of the entity property holding the id the properties are attached to
+	 */
+	public EntityPropertiesEntityQueryExecutor( EntityQueryExecutor<T> entityQueryExecutor,
+	                                            AbstractEntityPropertiesService<?, ?> entityPropertiesService,
+	                                            String propertyPrefix,
+	                                            String idProperty ) {
+		Assert.notNull( entityQueryExecutor, "An EntityQueryExecutor is required" );
+		Assert.notNull( entityPropertiesService, "An EntityPropertiesService is required" );
+		Assert.hasText( propertyPrefix, "A property prefix is required" );
+		Assert.hasText( idProperty, "An id property is required" );
+		this.entityQueryExecutor = entityQueryExecutor;
+		this.entityPropertiesService = entityPropertiesService;
+		this.propertyPrefix = propertyPrefix + ".";
+		this.idProperty = idProperty;
+	}
+
+	/**
+	 * @param entityIdChunkSize maximum number of entity ids in a single {@code in} condition
+	 */
+	public void setEntityIdChunkSize( int entityIdChunkSize ) {
+		Assert.isTrue( entityIdChunkSize > 0, "Entity id chunk size must be positive" );
+		this.entityIdChunkSize = entityIdChunkSize;
+	}
+
+	@Override
+	public List<T> findAll( EntityQuery query ) {
+		return entityQueryExecutor.findAll( resolvePropertyConditions( query ) );
+	}
+
+	@Override
+	public List<T> findAll( EntityQuery query, Sort sort ) {
+		return entityQueryExecutor.findAll( resolvePropertyConditions( query ), sort );
+	}
+
+	@Override
+	public Page<T> findAll( EntityQuery query, Pageable pageable ) {
+		return entityQueryExecutor.findAll( resolvePropertyConditions( query ), pageable );
+	}
+
+	@Override
+	public List<T> findAll( EntityQuery query, Sort sort, EntityFetchPlan fetchPlan ) {
+		return entityQueryExecutor.findAll( resolvePropertyConditions( query ), sort, fetchPlan );
+	}
+
+	@Override
+	public Page<T> findAll( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return entityQueryExecutor.findAll( resolvePropertyConditions( query ), pageable, fetchPlan );
+	}
+
+	@Override
+	public Slice<T> findSlice( EntityQuery query, Pageable pageable, EntityFetchPlan fetchPlan ) {
+		return entityQueryExecutor.findSlice( resolvePropertyConditions( query ), pageable, fetchPlan );
+	}
+
+	@Override
+	public long count( EntityQuery query ) {
+		return entityQueryExecutor.count( resolvePropertyConditions( query ) );
+	}
+
+	@Override
+	public boolean canExecute( EntityQuery query ) {
+		return entityQueryExecutor.canExecute( query );
+	}
+
+	/**
+	 * Replace all conditions on entity properties by a single condition on the entity id, per query group.
+	 *
+	 * @param query to convert
+	 * @return query without property conditions
+	 */
+	public EntityQuery resolvePropertyConditions( EntityQuery query ) {
+		if ( query == null || !hasPropertyConditions( query ) ) {
+			return query;
+		}
+
+		EntityQuery resolved = new EntityQuery( query.getOperand() );
+		resolved.setSort( query.getSort() );
+		resolved.setTranslated( query.isTranslated() );
+
+		List<EntityPropertiesCondition> propertyConditions = new ArrayList<>();
+
+		for ( EntityQueryExpression expression : query.getExpressions() ) {
+			if ( expression instanceof EntityQuery ) {
+				resolved.add( resolvePropertyConditions( (EntityQuery) expression ) );
+			}
+			else if ( isPropertyCondition( expression ) ) {
+				propertyConditions.add( convert( (EntityQueryCondition) expression ) );
+			}
+			else {
+				resolved.add( expression );
+			}
+		}
+
+		if ( !propertyConditions.isEmpty() ) {
+			EntityPropertiesCondition[] conditions = propertyConditions.toArray( new EntityPropertiesCondition[0] );
+			resolved.add( entityIdCondition(
+					query.getOperand() == EntityQueryOps.OR
+							? EntityPropertiesCondition.anyOf( conditions )
+							: EntityPropertiesCondition.allOf( conditions )
+			) );
+		}
+
+		return resolved;
+	}
+
+	private boolean hasPropertyConditions( EntityQuery query ) {
+		for ( EntityQueryExpression expression : query.getExpressions() ) {
+			if ( isPropertyCondition( expression )
+					|| ( expression instanceof EntityQuery && hasPropertyConditions( (EntityQuery) expression ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isPropertyCondition( EntityQueryExpression expression ) {
+		return expression instanceof EntityQueryCondition
+				&& ( (EntityQueryCondition) expression ).getProperty().startsWith( propertyPrefix );
+	}
+
+	private EntityPropertiesCondition convert( EntityQueryCondition condition ) {
+		EntityPropertiesCondition.PropertyConditionBuilder property
+				= EntityPropertiesCondition.property( condition.getProperty().substring( propertyPrefix.length() ) );
+
+		switch ( condition.getOperand() ) {
+			case EQ:
+				return property.eq( argumentValue( condition.getFirstArgument() ) );
+			case IN:
+				return property.in( Arrays.stream( condition.getArguments() ).map( this::argumentValue ).toArray() );
+			case LIKE:
+				return property.like( String.valueOf( argumentValue( condition.getFirstArgument() ) ) );
+			case IS_NOT_NULL:
+			case IS_NOT_EMPTY:
+				return property.exists();
+			default:
+				throw new IllegalArgumentException(
+						"Operand " + condition.getOperand() + " is not supported for entity property " + condition.getProperty() );
+		}
+	}
+
+	private Object argumentValue( Object argument ) {
+		if ( argument instanceof EQString ) {
+			return ( (EQString) argument ).getValue();
+		}
+		if ( argument instanceof EQValue ) {
+			return ( (EQValue) argument ).getValue();
+		}
+		return argument;
+	}
+
+	private EntityQueryExpression entityIdCondition( EntityPropertiesCondition condition ) {
+		List<Object> entityIds = new ArrayList<>( entityPropertiesService.findEntityIds( condition, 0, entityIdChunkSize + 1 ) );
+
+		if ( entityIds.isEmpty() ) {
+			// entity ids are never null, so this results in no matches
+			return new EntityQueryCondition( idProperty, EntityQueryOps.IS_NULL );
+		}
+
+		if ( entityIds.size() <= entityIdChunkSize ) {
+			return new EntityQueryCondition( idProperty, EntityQueryOps.IN, entityIds.toArray() );
+		}
+
+		LOG.debug( "More than {} entities match the property condition {}, combining multiple id conditions", entityIdChunkSize, condition );
+
+		EntityQuery chunks = new EntityQuery( EntityQueryOps.OR );
+		List<Object> chunk = new ArrayList<>( entityIdChunkSize );
+		entityPropertiesService.forEachEntityId( condition, entityId -> {
+			chunk.add( entityId );
+			if ( chunk.size() == entityIdChunkSize ) {
+				chunks.add( new EntityQueryCondition( idProperty, EntityQueryOps.IN, chunk.toArray() ) );
+				chunk.clear();
+			}
+		} );
+		if ( !chunk.isEmpty() ) {
+			chunks.add( new EntityQueryCondition( idProperty, EntityQueryOps.IN, chunk.toArray() ) );
+		}
+
+		return chunks;
+	}
+}
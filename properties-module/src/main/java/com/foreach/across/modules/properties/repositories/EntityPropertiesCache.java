@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.properties.repositories;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded near-cache holding immutable property snapshots for the most recently used entities.
+ * Every snapshot optionally keeps the property version it was loaded with, so it can be revalidated
+ * against the database after the configured interval.
+ * <p/>
+ * To avoid a slow reader caching properties that have been modified in the meantime, a reader should
+ * request an {@link #invalidationToken(Object)} before loading the properties and pass it when adding
+ * them to the cache. If the entity has been invalidated since, the properties are not cached.
+ * Invalidations are tracked in a fixed number of stripes, an invalidation of another entity in the same
+ * stripe can also cause the properties not to be cached.
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+final class EntityPropertiesCache<T>
+{
+	private static final int INVALIDATION_STRIPES = 64;
+
+	private final Map<T, Snapshot> snapshots;
+	private final AtomicLongArray invalidations = new AtomicLongArray( INVALIDATION_STRIPES );
+	private final long revalidationIntervalMillis;
+
+	EntityPropertiesCache( int maximumSize, Duration revalidationInterval ) {
+		this.revalidationIntervalMillis = revalidationInterval != null ? revalidationInterval.toMillis() : -1;
+		this.snapshots = Collections.synchronizedMap( new LinkedHashMap<T, Snapshot>( 16, 0.75f, true )
+		{
+			@Override
+			protected boolean removeEldestEntry( Map.Entry<T, Snapshot> eldest ) {
+				return size() > maximumSize;
+			}
+		} );
+	}
+
+	Snapshot get( T entityId ) {
+		return snapshots.get( entityId );
+	}
+
+	/**
+	 * Get the token that should be passed to {@link #put(Object, Map, Long, long)} when caching properties
+	 * loaded after this call.
+	 */
+	long invalidationToken( T entityId ) {
+		return invalidations.get( stripe( entityId ) );
+	}
+
+	/**
+	 * Cache the properties, unless the entity has been invalidated since the token was requested.
+	 *
+	 * @return true if the properties have been cached
+	 */
+	boolean put( T entityId, Map<String, String> properties, Long version, long invalidationToken ) {
+		synchronized ( snapshots ) {
+			if ( invalidations.get( stripe( entityId ) ) != invalidationToken ) {
+				return false;
+			}
+			snapshots.put( entityId, new Snapshot( Collections.unmodifiableMap( properties ), version ) );
+			return true;
+		}
+	}
+
+	/**
+	 * Remove the entity from the cache. If a transaction is active, the entity is removed again after commit,
+	 * to avoid other threads caching the old properties before the transaction has been committed.
+	 */
+	void invalidate( T entityId ) {
+		remove( entityId );
+
+		if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+			TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization()
+			{
+				@Override
+				public void afterCompletion( int status ) {
+					remove( entityId );
+				}
+			} );
+		}
+	}
+
+	private void remove( T entityId ) {
+		synchronized ( snapshots ) {
+			invalidations.incrementAndGet( stripe( entityId ) );
+			snapshots.remove( entityId );
+		}
+	}
+
+	void clear() {
+		synchronized ( snapshots ) {
+			for ( int i = 0; i < INVALIDATION_STRIPES; i++ ) {
+				invalidations.incrementAndGet( i );
+			}
+			snapshots.clear();
+		}
+	}
+
+	private int stripe( T entityId ) {
+		return ( entityId.hashCode() & Integer.MAX_VALUE ) % INVALIDATION_STRIPES;
+	}
+
+	final class Snapshot
+	{
+		private final Map<String, String> properties;
+		private final Long version;
+		private volatile long validatedTimestamp = System.currentTimeMillis();
+
+		private Snapshot( Map<String, String> properties, Long version ) {
+			this.properties = properties;
+			this.version = version;
+		}
+
+		Map<String, String> getProperties() {
+			return properties;
+		}
+
+		boolean requiresRevalidation() {
+			return revalidationIntervalMillis >= 0 && System.currentTimeMillis() - validatedTimestamp >= revalidationIntervalMillis;
+		}
+
+		/**
+		 * Revalidate the snapshot against the current version in the database.
+		 *
+		 * @return true if the snapshot is still valid
+		 */
+		boolean revalidate( Long currentVersion ) {
+			if ( Objects.equals( version, currentVersion ) ) {
+				validatedTimestamp = System.currentTimeMillis();
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.foreach.across.modules.properties.repositories;
+
+import org.springframework.util.Assert;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Represents a condition on the properties of an entity, used to find the ids of all entities having
+ * properties matching the condition. Conditions on a single property can be combined using
+ * {@link #and(EntityPropertiesCondition...)} and {@link #or(EntityPropertiesCondition...)}.
+ * <pre>{@code
+ * EntityPropertiesCondition condition = EntityPropertiesCondition.property( "theme" ).eq( "dark" )
+ *     .and( EntityPropertiesCondition.property( "locale" ).in( "nl", "fr" ) );
+ * }</pre>
+ * Every property condition is translated into a separate sub-select on the properties table,
+ * and benefits from the optional property value index. Conditions that must all match are driven
+ * from the first sub-select, alternative conditions are combined using {@code UNION}.
+ *
+ * @author Arne Vandamme
+ * @see EntityPropertiesRepository#findEntityIds(EntityPropertiesCondition, int, int)
+ * @since 4.3.0
+ */
+public abstract class EntityPropertiesCondition
+{
+	EntityPropertiesCondition() {
+	}
+
+	/**
+	 * Create a new condition requiring both this and all other conditions to match.
+	 *
+	 * @param conditions to combine with this one
+	 * @return new condition
+	 */
+	public EntityPropertiesCondition and( EntityPropertiesCondition... conditions ) {
+		return new Group( true, prepend( this, conditions ) );
+	}
+
+	/**
+	 * Create a new condition requiring either this or any of the other conditions to match.
+	 *
+	 * @param conditions to combine with this one
+	 * @return new condition
+	 */
+	public EntityPropertiesCondition or( EntityPropertiesCondition... conditions ) {
+		return new Group( false, prepend( this, conditions ) );
+	}
+
+	/**
+	 * Append the SQL for this condition, the SQL should select the entity ids in the key column.
+	 * If a value prefix length is specified, equality conditions also compare the prefix of the
+	 * property value, so a prefix (expression) index on the property value can be used.
+	 */
+	abstract void appendSql( StringBuilder sql,
+	                         List<Object> parameters,
+	                         String table,
+	                         String keyColumn,
+	                         Function<Object, String> valueConverter,
+	                         int valuePrefixLength );
+
+	/**
+	 * Start a condition on a single property.
+	 *
+	 * @param propertyName name of the property
+	 * @return builder for the condition
+	 */
+	public static PropertyConditionBuilder property( String propertyName ) {
+		Assert.hasText( propertyName, "A property name is required" );
+		return new PropertyConditionBuilder( propertyName );
+	}
+
+	/**
+	 * @param conditions that should all match
+	 * @return condition
+	 */
+	public static EntityPropertiesCondition allOf( EntityPropertiesCondition... conditions ) {
+		return new Group( true, Arrays.asList( conditions ) );
+	}
+
+	/**
+	 * @param conditions of which at least one should match
+	 * @return condition
+	 */
+	public static EntityPropertiesCondition anyOf( EntityPropertiesCondition... conditions ) {
+		return new Group( false, Arrays.asList( conditions ) );
+	}
+
+	private static List<EntityPropertiesCondition> prepend( EntityPropertiesCondition first, EntityPropertiesCondition... others ) {
+		List<EntityPropertiesCondition> conditions = new ArrayList<>( others.length + 1 );
+		conditions.add( first );
+		conditions.addAll( Arrays.asList( others ) );
+		return conditions;
+	}
+
+	/**
+	 * Builder for a condition on a single property.
+	 */
+	public static final class PropertyConditionBuilder
+	{
+		private final String propertyName;
+
+		private PropertyConditionBuilder( String propertyName ) {
+			this.propertyName = propertyName;
+		}
+
+		/**
+		 * @param value the property should have
+		 * @return condition
+		 */
+		public EntityPropertiesCondition eq( Object value ) {
+			return new PropertyCondition( propertyName, "=", Collections.singletonList( value ) );
+		}
+
+		/**
+		 * @param values one of which the property should have
+		 * @return condition
+		 */
+		public EntityPropertiesCondition in( Object... values ) {
+			return in( Arrays.asList( values ) );
+		}
+
+		/**
+		 * @param values one of which the property should have
+		 * @return condition
+		 */
+		public EntityPropertiesCondition in( Collection<?> values ) {
+			Assert.notEmpty( values, "At least one value is required" );
+			return new PropertyCondition( propertyName, "IN", new ArrayList<>( values ) );
+		}
+
+		/**
+		 * Note that the property value index can only be used if the pattern does not start with a wildcard.
+		 *
+		 * @param pattern the property value should be like, using {@code %} as wildcard
+		 * @return condition
+		 */
+		public EntityPropertiesCondition like( String pattern ) {
+			return new PropertyCondition( propertyName, "LIKE", Collections.singletonList( pattern ) );
+		}
+
+		/**
+		 * @return condition requiring the property to have been set
+		 */
+		public EntityPropertiesCondition exists() {
+			return new PropertyCondition( propertyName, null, Collections.emptyList() );
+		}
+	}
+
+	static final class PropertyCondition extends EntityPropertiesCondition
+	{
+		private final String propertyName;
+		private final String operator;
+		private final List<Object> values;
+
+		PropertyCondition( String propertyName, String operator, List<Object> values ) {
+			this.propertyName = propertyName;
+			this.operator = operator;
+			this.values = values;
+		}
+
+		@Override
+		void appendSql( StringBuilder sql,
+		                List<Object> parameters,
+		                String table,
+		                String keyColumn,
+		                Function<Object, String> valueConverter,
+		                int valuePrefixLength ) {
+			sql.append( "SELECT " ).append( keyColumn ).append( " FROM " ).append( table ).append( " WHERE property_name = ?" );
+			parameters.add( propertyName );
+
+			if ( operator == null ) {
+				return;
+			}
+
+			if ( "IN".equals( operator ) ) {
+				List<String> converted = new ArrayList<>( values.size() );
+				values.forEach( value -> converted.add( valueConverter.apply( value ) ) );
+
+				if ( valuePrefixLength > 0 ) {
+					sql.append( " AND " ).append( valuePrefix( "property_value", valuePrefixLength ) ).append( " IN (" );
+					for ( int i = 0; i < converted.size(); i++ ) {
+						sql.append( i > 0 ? "," : "" ).append( valuePrefix( "?", valuePrefixLength ) );
+					}
+					sql.append( ')' );
+					parameters.addAll( converted );
+				}
+
+				sql.append( " AND property_value IN (" );
+				for ( int i = 0; i < converted.size(); i++ ) {
+					sql.append( i > 0 ? ",?" : "?" );
+				}
+				sql.append( ')' );
+				parameters.addAll( converted );
+			}
+			else {
+				Object value = values.get( 0 );
+				if ( value == null ) {
+					sql.append( " AND property_value IS NULL" );
+				}
+				else {
+					String converted = valueConverter.apply( value );
+					if ( valuePrefixLength > 0 && "=".equals( operator ) ) {
+						sql.append( " AND " ).append( valuePrefix( "property_value", valuePrefixLength ) )
+						   .append( " = " ).append( valuePrefix( "?", valuePrefixLength ) );
+						parameters.add( converted );
+					}
+					sql.append( " AND property_value " ).append( operator ).append( " ?" );
+					parameters.add( converted );
+				}
+			}
+		}
+
+		private static String valuePrefix( String expression, int valuePrefixLength ) {
+			return "LEFT(" + expression + ", " + valuePrefixLength + ")";
+		}
+
+		@Override
+		public String toString() {
+			return propertyName + ( operator != null ? " " + operator + " " + values : " exists" );
+		}
+	}
+
+	static final class Group extends EntityPropertiesCondition
+	{
+		private final boolean all;
+		private final List<EntityPropertiesCondition> conditions;
+
+		Group( boolean all, List<EntityPropertiesCondition> conditions ) {
+			Assert.notEmpty( conditions, "At least one condition is required" );
+			Assert.noNullElements( conditions.toArray(), "Conditions may not be null" );
+			this.all = all;
+			this.conditions = conditions;
+		}
+
+		@Override
+		void appendSql( StringBuilder sql,
+		                List<Object> parameters,
+		                String table,
+		                String keyColumn,
+		                Function<Object, String> valueConverter,
+		                int valuePrefixLength ) {
+			if ( conditions.size() == 1 ) {
+				conditions.get( 0 ).appendSql( sql, parameters, table, keyColumn, valueConverter, valuePrefixLength );
+				return;
+			}
+
+			if ( all ) {
+				// the first condition drives the query, the others only filter its entity ids
+				sql.append( "SELECT driver." ).append( keyColumn ).append( " FROM (" );
+				conditions.get( 0 ).appendSql( sql, parameters, table, keyColumn, valueConverter, valuePrefixLength );
+				sql.append( ") driver WHERE " );
+				for ( int i = 1; i < conditions.size(); i++ ) {
+					sql.append( i > 1 ? " AND driver." : "driver." ).append( keyColumn ).append( " IN (" );
+					conditions.get( i ).appendSql( sql, parameters, table, keyColumn, valueConverter, valuePrefixLength );
+					sql.append( ')' );
+				}
+			}
+			else {
+				for ( int i = 0; i < conditions.size(); i++ ) {
+					if ( i > 0 ) {
+						sql.append( " UNION " );
+					}
+					conditions.get( i ).appendSql( sql, parameters, table, keyColumn, valueConverter, valuePrefixLength );
+				}
+			}
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder description = new StringBuilder( "(" );
+			for ( int i = 0; i < conditions.size(); i++ ) {
+				description.append( i > 0 ? ( all ? " and " : " or " ) : "" ).append( conditions.get( i ) );
+			}
+			return description.append( ')' ).toString();
+		}
+	}
+}
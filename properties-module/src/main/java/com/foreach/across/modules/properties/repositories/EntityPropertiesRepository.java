@@ -18,31 +18,67 @@ package com.foreach.across.modules.properties.repositories;
 import com.foreach.across.modules.properties.business.StringPropertiesSource;
 import com.foreach.across.modules.properties.config.EntityPropertiesDescriptor;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.Assert;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.lang.reflect.ParameterizedType;
+import java.sql.PreparedStatement;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for persitence of StringTypedPropertyMap instances.
+ * <p/>
+ * If the {@link EntityPropertiesDescriptor#cacheSize()} is configured, the repository keeps a near-cache of
+ * immutable property snapshots. Loading properties always returns a new {@link StringPropertiesSource} that
+ * can be modified without affecting the cache. If a {@link EntityPropertiesDescriptor#cacheRevalidationInterval()}
+ * is configured as well, every save writes a new property version that other nodes use to detect stale entries.
  *
  * @author Arne Vandamme
  */
 public class EntityPropertiesRepository<T>
 {
+	/**
+	 * Maximum number of entity ids that will be put in a single IN clause when loading properties in bulk.
+	 */
+	public static final int BULK_LOAD_CHUNK_SIZE = 500;
+
+	/**
+	 * Number of characters of the property value that are indexed by the optional property value index
+	 * on databases that cannot index the full property value column (PostgreSQL and SQL Server).
+	 */
+	public static final int PROPERTY_VALUE_PREFIX_LENGTH = 255;
+
 	private final Class<T> clazz;
+	private final String table;
 
 	private final String SQL_INSERT_PROPERTY;
+	private final String SQL_INSERT_VERSIONED_PROPERTY;
 	private final String SQL_SELECT_PROPERTIES;
+	private final String SQL_SELECT_VERSIONED_PROPERTIES;
+	private final String SQL_SELECT_PROPERTY_VERSION;
 	private final String SQL_DROP_PROPERTIES;
 	private final String SQL_SELECT_ENTITIES_WITH_PROPERTY;
+	private final String SQL_SELECT_PROPERTIES_FOR_ENTITIES;
+	private final String SQL_SELECT_PROPERTIES_FOR_ENTITIES_CHUNK;
 
 	private final String keyColumn;
 	private final ConversionService conversionService;
 
 	private final JdbcTemplate jdbcTemplate;
 
+	private final EntityPropertiesCache<T> cache;
+	private final boolean versioned;
+
+	private volatile String databaseProductName;
+
 	@SuppressWarnings("unchecked")
 	public EntityPropertiesRepository( EntityPropertiesDescriptor configuration ) {
 		ParameterizedType genericSuperclass = (ParameterizedType) getClass().getGenericSuperclass();
@@ -50,17 +86,38 @@ public class EntityPropertiesRepository<T>
 
 		jdbcTemplate = new JdbcTemplate( configuration.dataSource() );
 
-		String table = configuration.tableName();
+		table = configuration.tableName();
 		keyColumn = configuration.keyColumnName();
 		conversionService = configuration.conversionService();
 
 		SQL_INSERT_PROPERTY = String.format( "INSERT INTO %s (%s,property_name,property_value) VALUES (?,?,?)", table,
 		                                     keyColumn );
+		SQL_INSERT_VERSIONED_PROPERTY = String.format(
+				"INSERT INTO %s (%s,property_name,property_value,property_version) VALUES (?,?,?,?)", table, keyColumn );
 		SQL_SELECT_PROPERTIES = String.format( "SELECT property_name, property_value FROM %s WHERE %s = ?", table,
 		                                       keyColumn );
+		SQL_SELECT_VERSIONED_PROPERTIES = String.format(
+				"SELECT property_name, property_value, property_version FROM %s WHERE %s = ?", table, keyColumn );
+		SQL_SELECT_PROPERTY_VERSION = String.format( "SELECT MAX(property_version) FROM %s WHERE %s = ?", table, keyColumn );
 		SQL_DROP_PROPERTIES = String.format( "DELETE FROM %s WHERE %s = ?", table, keyColumn );
 		SQL_SELECT_ENTITIES_WITH_PROPERTY = String.format(
 				"SELECT DISTINCT %s FROM %s WHERE property_name = ? AND property_value = ?", keyColumn, table );
+		SQL_SELECT_PROPERTIES_FOR_ENTITIES = String.format(
+				"SELECT %s, property_name, property_value FROM %s WHERE %s IN (", keyColumn, table, keyColumn ) + "%s)";
+		SQL_SELECT_PROPERTIES_FOR_ENTITIES_CHUNK = String.format( SQL_SELECT_PROPERTIES_FOR_ENTITIES, placeholders( BULK_LOAD_CHUNK_SIZE ) );
+
+		versioned = configuration.cacheSize() > 0 && configuration.cacheRevalidationInterval() != null;
+		cache = configuration.cacheSize() > 0
+				? new EntityPropertiesCache<>( configuration.cacheSize(), configuration.cacheRevalidationInterval() )
+				: null;
+	}
+
+	private static String placeholders( int count ) {
+		StringBuilder placeholders = new StringBuilder( count * 2 );
+		for ( int i = 0; i < count; i++ ) {
+			placeholders.append( i > 0 ? ",?" : "?" );
+		}
+		return placeholders.toString();
 	}
 
 	/**
@@ -83,6 +140,120 @@ public class EntityPropertiesRepository<T>
 		return entityIdList;
 	}
 
+	/**
+	 * Select a page of the entity ids having properties matching the condition. Ids are ordered ascending.
+	 *
+	 * @param condition the properties should match
+	 * @param offset    number of ids to skip
+	 * @param limit     maximum number of ids to return
+	 * @return entity ids
+	 */
+	@Transactional(readOnly = true)
+	public List<T> findEntityIds( EntityPropertiesCondition condition, int offset, int limit ) {
+		Assert.isTrue( offset >= 0, "Offset may not be negative" );
+		Assert.isTrue( limit > 0, "Limit must be positive" );
+
+		List<Object> parameters = new ArrayList<>();
+		String sql = buildEntityIdsQuery( "SELECT DISTINCT %1$s FROM (%2$s) matched ORDER BY %1$s", condition, parameters );
+
+		if ( usesLimitOffsetSyntax() ) {
+			sql += " LIMIT ? OFFSET ?";
+			parameters.add( limit );
+			parameters.add( offset );
+		}
+		else {
+			sql += " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+			parameters.add( offset );
+			parameters.add( limit );
+		}
+
+		return jdbcTemplate.query( entityIdsStatement( sql, parameters, 0 ),
+		                           (RowMapper<T>) ( rs, rowNum ) -> convertObjectToRequiredType( rs.getObject( 1 ) ) );
+	}
+
+	/**
+	 * MySQL and MariaDB do not support the standard {@code OFFSET ... FETCH} clause,
+	 * all other supported databases do.
+	 */
+	private boolean usesLimitOffsetSyntax() {
+		String productName = getDatabaseProductName();
+		return StringUtils.containsIgnoreCase( productName, "MySQL" ) || StringUtils.containsIgnoreCase( productName, "MariaDB" );
+	}
+
+	/**
+	 * PostgreSQL and SQL Server limit the size of an index key, the property value index
+	 * only covers a prefix of the property value on those databases.
+	 */
+	private int getValuePrefixLength() {
+		String productName = getDatabaseProductName();
+		return StringUtils.containsIgnoreCase( productName, "PostgreSQL" ) || StringUtils.containsIgnoreCase( productName, "SQL Server" )
+				? PROPERTY_VALUE_PREFIX_LENGTH : 0;
+	}
+
+	private String getDatabaseProductName() {
+		String productName = databaseProductName;
+		if ( productName == null ) {
+			productName = jdbcTemplate.execute(
+					(ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName() );
+			databaseProductName = productName != null ? productName : "";
+		}
+		return productName;
+	}
+
+	/**
+	 * Count the number of entities having properties matching the condition.
+	 *
+	 * @param condition the properties should match
+	 * @return number of entities
+	 */
+	@Transactional(readOnly = true)
+	public long countEntityIds( EntityPropertiesCondition condition ) {
+		List<Object> parameters = new ArrayList<>();
+		String sql = buildEntityIdsQuery( "SELECT COUNT(DISTINCT %1$s) FROM (%2$s) matched", condition, parameters );
+
+		Long count = jdbcTemplate.queryForObject( sql, Long.class, parameters.toArray() );
+		return count != null ? count : 0;
+	}
+
+	/**
+	 * Stream all entity ids having properties matching the condition, without keeping them in memory.
+	 * Ids are ordered ascending.
+	 *
+	 * @param condition the properties should match
+	 * @param consumer  for every entity id
+	 */
+	@Transactional(readOnly = true)
+	public void forEachEntityId( EntityPropertiesCondition condition, Consumer<T> consumer ) {
+		List<Object> parameters = new ArrayList<>();
+		String sql = buildEntityIdsQuery( "SELECT DISTINCT %1$s FROM (%2$s) matched ORDER BY %1$s", condition, parameters );
+
+		jdbcTemplate.query( entityIdsStatement( sql, parameters, 0 ),
+		                    (RowCallbackHandler) rs -> consumer.accept( convertObjectToRequiredType( rs.getObject( 1 ) ) ) );
+	}
+
+	private String buildEntityIdsQuery( String template, EntityPropertiesCondition condition, List<Object> parameters ) {
+		Assert.notNull( condition, "A condition is required" );
+		StringBuilder conditionSql = new StringBuilder();
+		condition.appendSql( conditionSql, parameters, table, keyColumn,
+		                     value -> value != null ? conversionService.convert( value, String.class ) : null,
+		                     getValuePrefixLength() );
+		return String.format( template, keyColumn, conditionSql );
+	}
+
+	private PreparedStatementCreator entityIdsStatement( String sql, List<Object> parameters, int maxRows ) {
+		return connection -> {
+			PreparedStatement ps = connection.prepareStatement( sql );
+			ps.setFetchSize( BULK_LOAD_CHUNK_SIZE );
+			if ( maxRows > 0 ) {
+				ps.setMaxRows( maxRows );
+			}
+			for ( int i = 0; i < parameters.size(); i++ ) {
+				ps.setObject( i + 1, parameters.get( i ) );
+			}
+			return ps;
+		};
+	}
+
 	@SuppressWarnings( "unchecked" )
 	private T convertObjectToRequiredType( Object value ) {
 		// Oracle maps numbers to BigDecimal by default, and in most cases we'd be using a Long implementation
@@ -95,28 +266,129 @@ public class EntityPropertiesRepository<T>
 
 	@Transactional(readOnly = true)
 	public StringPropertiesSource loadProperties( T entityId ) {
-		List<Map<String, Object>> properties = jdbcTemplate.queryForList( SQL_SELECT_PROPERTIES, entityId );
+		if ( cache != null ) {
+			EntityPropertiesCache<T>.Snapshot snapshot = cache.get( entityId );
 
+			if ( snapshot != null && ( !snapshot.requiresRevalidation()
+					|| snapshot.revalidate( jdbcTemplate.queryForObject( SQL_SELECT_PROPERTY_VERSION, Long.class, entityId ) ) ) ) {
+				return new StringPropertiesSource( new HashMap<>( snapshot.getProperties() ) );
+			}
+		}
+
+		long invalidationToken = cache != null ? cache.invalidationToken( entityId ) : 0;
 		Map<String, String> sourceMap = new HashMap<>();
 
-		for ( Map<String, Object> entry : properties ) {
-			sourceMap.put( (String) entry.get( "property_name" ), (String) entry.get( "property_value" ) );
+		if ( versioned ) {
+			Long[] version = new Long[1];
+			jdbcTemplate.query( SQL_SELECT_VERSIONED_PROPERTIES, (RowCallbackHandler) rs -> {
+				sourceMap.put( rs.getString( 1 ), rs.getString( 2 ) );
+				long rowVersion = rs.getLong( 3 );
+				if ( !rs.wasNull() && ( version[0] == null || rowVersion > version[0] ) ) {
+					version[0] = rowVersion;
+				}
+			}, entityId );
+			cache.put( entityId, new HashMap<>( sourceMap ), version[0], invalidationToken );
+		}
+		else {
+			jdbcTemplate.query( SQL_SELECT_PROPERTIES,
+			                    (RowCallbackHandler) rs -> sourceMap.put( rs.getString( 1 ), rs.getString( 2 ) ),
+			                    entityId );
+			if ( cache != null ) {
+				cache.put( entityId, new HashMap<>( sourceMap ), null, invalidationToken );
+			}
 		}
 
 		return new StringPropertiesSource( sourceMap );
 	}
 
+	/**
+	 * Load the properties for a collection of entities. Properties are selected using IN queries
+	 * of at most {@link #BULK_LOAD_CHUNK_SIZE} entity ids. The resulting map will contain an entry for every
+	 * distinct entity id requested, in the order of the original collection, even if there are no properties for that entity.
+	 * Entities present in the near-cache are not selected again.
+	 *
+	 * @param entityIds to load the properties for
+	 * @return properties source for every entity id
+	 */
+	@Transactional(readOnly = true)
+	public Map<T, StringPropertiesSource> loadProperties( Collection<T> entityIds ) {
+		Map<T, Map<String, String>> sourceMaps = new LinkedHashMap<>();
+		entityIds.forEach( entityId -> sourceMaps.computeIfAbsent( entityId, id -> new HashMap<>() ) );
+
+		List<T> distinctIds = new ArrayList<>( sourceMaps.size() );
+		Map<T, Long> invalidationTokens = new HashMap<>();
+		sourceMaps.forEach( ( entityId, sourceMap ) -> {
+			EntityPropertiesCache<T>.Snapshot snapshot = cache != null ? cache.get( entityId ) : null;
+			if ( snapshot != null && !snapshot.requiresRevalidation() ) {
+				sourceMap.putAll( snapshot.getProperties() );
+			}
+			else {
+				distinctIds.add( entityId );
+				if ( cache != null && !versioned ) {
+					invalidationTokens.put( entityId, cache.invalidationToken( entityId ) );
+				}
+			}
+		} );
+
+		RowCallbackHandler rowHandler = rs -> {
+			T entityId = convertObjectToRequiredType( rs.getObject( 1 ) );
+			sourceMaps.computeIfAbsent( entityId, id -> new HashMap<>() ).put( rs.getString( 2 ), rs.getString( 3 ) );
+		};
+
+		for ( int start = 0; start < distinctIds.size(); start += BULK_LOAD_CHUNK_SIZE ) {
+			List<T> chunk = distinctIds.subList( start, Math.min( start + BULK_LOAD_CHUNK_SIZE, distinctIds.size() ) );
+			String sql = chunk.size() == BULK_LOAD_CHUNK_SIZE
+					? SQL_SELECT_PROPERTIES_FOR_ENTITIES_CHUNK
+					: String.format( SQL_SELECT_PROPERTIES_FOR_ENTITIES, placeholders( chunk.size() ) );
+
+			jdbcTemplate.query( sql, rowHandler, chunk.toArray() );
+		}
+
+		if ( cache != null && !versioned ) {
+			distinctIds.forEach(
+					entityId -> cache.put( entityId, new HashMap<>( sourceMaps.get( entityId ) ), null, invalidationTokens.get( entityId ) )
+			);
+		}
+
+		Map<T, StringPropertiesSource> properties = new LinkedHashMap<>( sourceMaps.size() );
+		sourceMaps.forEach( ( entityId, sourceMap ) -> properties.put( entityId, new StringPropertiesSource( sourceMap ) ) );
+
+		return properties;
+	}
+
 	@Transactional
 	public void saveProperties( T entityId, StringPropertiesSource properties ) {
 		deleteProperties( entityId );
 
-		for ( Map.Entry<String, ?> entry : properties.getProperties().entrySet() ) {
-			jdbcTemplate.update( SQL_INSERT_PROPERTY, entityId, entry.getKey(), entry.getValue() );
+		if ( versioned ) {
+			// versions are only compared for equality
+			long version = ThreadLocalRandom.current().nextLong();
+			for ( Map.Entry<String, ?> entry : properties.getProperties().entrySet() ) {
+				jdbcTemplate.update( SQL_INSERT_VERSIONED_PROPERTY, entityId, entry.getKey(), entry.getValue(), version );
+			}
+		}
+		else {
+			for ( Map.Entry<String, ?> entry : properties.getProperties().entrySet() ) {
+				jdbcTemplate.update( SQL_INSERT_PROPERTY, entityId, entry.getKey(), entry.getValue() );
+			}
 		}
 	}
 
 	@Transactional
 	public void deleteProperties( T entityId ) {
 		jdbcTemplate.update( SQL_DROP_PROPERTIES, entityId );
+
+		if ( cache != null ) {
+			cache.invalidate( entityId );
+		}
+	}
+
+	/**
+	 * Remove all entries from the near-cache, if caching is enabled.
+	 */
+	public void clearCache() {
+		if ( cache != null ) {
+			cache.clear();
+		}
 	}
 }
@@ -18,19 +18,24 @@ package com.foreach.across.modules.properties.repositories;
 import com.foreach.across.modules.properties.config.EntityPropertiesDescriptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.DigestUtils;
 
 import javax.sql.DataSource;
-import java.util.Date;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Tracks property registration by other modules in a database table.
+ * <p/>
+ * If registrations are buffered, they are only written when {@link #flushPendingRegistrations()} is called.
+ * All pending registrations are then written in a single transaction: the existing records are selected
+ * once per module, and new records and registration timestamps are written as batch updates.
+ * Once flushed, buffering stops and every new registration is written immediately.
  *
  * @author Arne Vandamme
  */
@@ -39,73 +44,135 @@ public class PropertyTrackingRepository
 {
 	private static final Logger LOG = LoggerFactory.getLogger( PropertyTrackingRepository.class );
 
-	private static final String SQL_SELECT = "SELECT uuid FROM across_property_tracking WHERE " +
-			"hash_code = ? AND module = ? AND properties_id = ? AND database_table = ? AND property_name = ?";
+	private static final String SQL_SELECT_FOR_MODULE = "SELECT hash_code, uuid FROM across_property_tracking WHERE module = ?";
 	private static final String SQL_INSERT = "INSERT INTO across_property_tracking " +
 			"(uuid, hash_code, module, properties_id, database_table, property_name, first_registration, last_registration) " +
 			"VALUES (?,?,?,?,?,?,?,?)";
 	private static final String SQL_UPDATE = "UPDATE across_property_tracking SET last_registration = ? WHERE uuid = ?";
 
-	private JdbcTemplate jdbcTemplate;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+
+	private final List<Registration> pendingRegistrations = new ArrayList<>();
+	private boolean bufferRegistrations;
 
 	public PropertyTrackingRepository( DataSource dataSource ) {
 		jdbcTemplate = new JdbcTemplate( dataSource );
+		transactionTemplate = new TransactionTemplate( new DataSourceTransactionManager( dataSource ) );
+		transactionTemplate.setPropagationBehavior( TransactionDefinition.PROPAGATION_REQUIRES_NEW );
+	}
+
+	/**
+	 * Should registrations be kept in memory until {@link #flushPendingRegistrations()} is called.
+	 *
+	 * @param bufferRegistrations true if registrations should be buffered
+	 * @since 4.3.0
+	 */
+	public void setBufferRegistrations( boolean bufferRegistrations ) {
+		synchronized ( pendingRegistrations ) {
+			this.bufferRegistrations = bufferRegistrations;
+		}
 	}
 
-	@Transactional(propagation = Propagation.REQUIRES_NEW)
-	public synchronized void register( String moduleName,
-	                                   EntityPropertiesDescriptor descriptor,
-	                                   String propertyName ) {
+	public void register( String moduleName,
+	                      EntityPropertiesDescriptor descriptor,
+	                      String propertyName ) {
 		LOG.debug( "Registering {} property {} for module {}", descriptor.propertiesId(), propertyName, moduleName );
 
-		String hashCode = hashCode( moduleName, descriptor.propertiesId(), descriptor.tableName(), propertyName );
-		String id = existingRecordId( hashCode, moduleName, descriptor.propertiesId(), descriptor.tableName(),
-		                              propertyName );
+		Registration registration = new Registration( moduleName, descriptor.propertiesId(), descriptor.tableName(), propertyName );
 
-		if ( id == null ) {
-			createRecord( hashCode, moduleName, descriptor.propertiesId(), descriptor.tableName(), propertyName );
-		}
-		else {
-			updateRegistrationTimestamp( id );
+		synchronized ( pendingRegistrations ) {
+			if ( bufferRegistrations ) {
+				pendingRegistrations.add( registration );
+				return;
+			}
 		}
-	}
 
-	private void createRecord( String hashCode,
-	                           String moduleName,
-	                           String propertiesId,
-	                           String databaseTable,
-	                           String propertyName ) {
-		String id = UUID.randomUUID().toString();
-		Date timestamp = new Date();
-
-		jdbcTemplate.update( SQL_INSERT, id, hashCode, moduleName, propertiesId, databaseTable, propertyName, timestamp,
-		                     timestamp );
+		writeRegistrations( Collections.singletonList( registration ) );
 	}
 
-	private void updateRegistrationTimestamp( String id ) {
-		jdbcTemplate.update( SQL_UPDATE, new Date(), id );
-	}
+	/**
+	 * Write all buffered registrations and stop buffering.
+	 *
+	 * @since 4.3.0
+	 */
+	public void flushPendingRegistrations() {
+		List<Registration> registrations;
 
-	private String existingRecordId( String hashCode,
-	                                 String moduleName,
-	                                 String propertiesId,
-	                                 String databaseTable,
-	                                 String propertyName ) {
-		try {
-			return jdbcTemplate.queryForObject( SQL_SELECT, String.class,
-			                                    hashCode, moduleName, propertiesId, databaseTable, propertyName );
+		synchronized ( pendingRegistrations ) {
+			registrations = new ArrayList<>( pendingRegistrations );
+			pendingRegistrations.clear();
+			bufferRegistrations = false;
 		}
-		catch ( EmptyResultDataAccessException erdae ) {
-			return null;
+
+		if ( !registrations.isEmpty() ) {
+			LOG.debug( "Writing {} pending property registrations", registrations.size() );
+			writeRegistrations( registrations );
 		}
+	}
 
+	private synchronized void writeRegistrations( List<Registration> registrations ) {
+		Map<String, List<Registration>> registrationsByModule = new LinkedHashMap<>();
+		registrations.forEach( r -> registrationsByModule.computeIfAbsent( r.moduleName, m -> new ArrayList<>() ).add( r ) );
+
+		transactionTemplate.execute( status -> {
+			Date timestamp = new Date();
+			List<Object[]> inserts = new ArrayList<>();
+			List<Object[]> updates = new ArrayList<>();
+
+			registrationsByModule.forEach( ( moduleName, moduleRegistrations ) -> {
+				Map<String, String> existingRecordIds = new HashMap<>();
+				jdbcTemplate.query( SQL_SELECT_FOR_MODULE,
+				                    (RowCallbackHandler) rs -> existingRecordIds.put( rs.getString( 1 ), rs.getString( 2 ) ),
+				                    moduleName );
+
+				Set<String> processed = new HashSet<>();
+				for ( Registration registration : moduleRegistrations ) {
+					String hashCode = registration.hashCode;
+					if ( processed.add( hashCode ) ) {
+						String id = existingRecordIds.get( hashCode );
+
+						if ( id == null ) {
+							inserts.add( new Object[] {
+									UUID.randomUUID().toString(), hashCode, moduleName, registration.propertiesId,
+									registration.databaseTable, registration.propertyName, timestamp, timestamp
+							} );
+						}
+						else {
+							updates.add( new Object[] { timestamp, id } );
+						}
+					}
+				}
+			} );
+
+			if ( !inserts.isEmpty() ) {
+				jdbcTemplate.batchUpdate( SQL_INSERT, inserts );
+			}
+			if ( !updates.isEmpty() ) {
+				jdbcTemplate.batchUpdate( SQL_UPDATE, updates );
+			}
+			return null;
+		} );
 	}
 
-	private String hashCode( String moduleName,
-	                         String propertiesId,
-	                         String databaseTable,
-	                         String propertyName ) {
+	private static String hashCode( String moduleName,
+	                                String propertiesId,
+	                                String databaseTable,
+	                                String propertyName ) {
 		String hashString = moduleName + propertiesId + databaseTable + propertyName;
 		return DigestUtils.md5DigestAsHex( hashString.getBytes() );
 	}
+
+	private static final class Registration
+	{
+		private final String moduleName, propertiesId, databaseTable, propertyName, hashCode;
+
+		Registration( String moduleName, String propertiesId, String databaseTable, String propertyName ) {
+			this.moduleName = moduleName;
+			this.propertiesId = propertiesId;
+			this.databaseTable = databaseTable;
+			this.propertyName = propertyName;
+			this.hashCode = PropertyTrackingRepository.hashCode( moduleName, propertiesId, databaseTable, propertyName );
+		}
+	}
 }
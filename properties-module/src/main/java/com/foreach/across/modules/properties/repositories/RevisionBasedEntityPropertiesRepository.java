@@ -22,12 +22,21 @@ import com.foreach.across.modules.properties.business.StringPropertiesSource;
 import com.foreach.across.modules.properties.config.EntityPropertiesDescriptor;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Entity properties that supports revisions. repository supporting revisions.
+ * <p/>
+ * All revision state transitions executed through {@link #saveProperties(StringPropertiesSource, Object, int)},
+ * {@link #checkoutProperties(Object, int)}, {@link #checkinProperties(Object, int, int)} and
+ * {@link #deletePropertiesForRevision(Object, int)} are collected and sent to the database as JDBC batches.
+ * Consecutive statements of the same type are batched together, and all pending statements are flushed
+ * before properties are selected, so the order of execution is retained.
  *
  * @author Arne Vandamme
  */
@@ -40,13 +49,20 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 	private static final String FILTER_FOR_LATEST_AND_DRAFTS = "(first_revision = -1 or removal_revision = 0)";
 
 	private final String SQL_INSERT_PROPERTY;
-	private final String SQL_SELECT_PROPERTIES;
+	private final String SQL_SELECT_PROPERTIES_FOR_LATEST;
+	private final String SQL_SELECT_PROPERTIES_FOR_REVISION;
+	private final String SQL_SELECT_PROPERTIES_FOR_LATEST_AND_DRAFTS;
 	private final String SQL_DROP_PROPERTIES;
 	private final String SQL_UPDATE_PROPERTY;
 	private final String SQL_DELETE_PROPERTY;
+	private final String SQL_SELECT_PROPERTIES_FOR_OWNERS;
+	private final String SQL_SELECT_LATEST_PROPERTIES_FOR_OWNERS_CHUNK;
+	private final String SQL_SELECT_REVISION_PROPERTIES_FOR_OWNERS_CHUNK;
 
 	private final JdbcTemplate jdbcTemplate;
 
+	private final ThreadLocal<PendingStatements> pendingStatements = new ThreadLocal<>();
+
 	public RevisionBasedEntityPropertiesRepository( EntityPropertiesDescriptor configuration ) {
 		jdbcTemplate = new JdbcTemplate( configuration.dataSource() );
 
@@ -56,9 +72,12 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 		SQL_INSERT_PROPERTY = String.format(
 				"INSERT INTO %s (%s,property_name,property_value,first_revision,removal_revision,delete_for_revision) " +
 						"VALUES (?,?,?,?,?,?)", table, keyColumn );
-		SQL_SELECT_PROPERTIES = String.format(
+		String selectProperties = String.format(
 				"SELECT property_name, property_value,first_revision,removal_revision,delete_for_revision " +
-						"FROM %s WHERE %s = ?", table, keyColumn ) + " AND %s";
+						"FROM %s WHERE %s = ?", table, keyColumn ) + " AND ";
+		SQL_SELECT_PROPERTIES_FOR_LATEST = selectProperties + FILTER_FOR_LATEST;
+		SQL_SELECT_PROPERTIES_FOR_REVISION = selectProperties + FILTER_FOR_REVISION;
+		SQL_SELECT_PROPERTIES_FOR_LATEST_AND_DRAFTS = selectProperties + FILTER_FOR_LATEST_AND_DRAFTS;
 
 		SQL_UPDATE_PROPERTY = String.format(
 				"UPDATE %s SET property_value = ?, first_revision = ?, removal_revision = ?, delete_for_revision = ? " +
@@ -72,11 +91,17 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 		);
 
 		SQL_DROP_PROPERTIES = String.format( "DELETE FROM %s WHERE %s = ?", table, keyColumn );
+
+		SQL_SELECT_PROPERTIES_FOR_OWNERS = String.format(
+				"SELECT %s, property_name, property_value FROM %s WHERE %s IN (", keyColumn, table, keyColumn ) + "%s) AND %s";
+		String chunkPlaceholders = StringUtils.repeat( "?", ",", EntityPropertiesRepository.BULK_LOAD_CHUNK_SIZE );
+		SQL_SELECT_LATEST_PROPERTIES_FOR_OWNERS_CHUNK = String.format( SQL_SELECT_PROPERTIES_FOR_OWNERS, chunkPlaceholders, FILTER_FOR_LATEST );
+		SQL_SELECT_REVISION_PROPERTIES_FOR_OWNERS_CHUNK = String.format( SQL_SELECT_PROPERTIES_FOR_OWNERS, chunkPlaceholders, FILTER_FOR_REVISION );
 	}
 
 	@Override
 	protected void insert( PropertyRevision<T> entity ) {
-		jdbcTemplate.update(
+		execute(
 				SQL_INSERT_PROPERTY,
 				entity.getOwner(),
 				entity.getName(),
@@ -91,7 +116,7 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 	protected void update( PropertyRevision<T> entity,
 	                       int currentFirstRevision,
 	                       int currentLastRevision ) {
-		jdbcTemplate.update(
+		execute(
 				SQL_UPDATE_PROPERTY,
 				entity.getValue(),
 				entity.getFirstRevision(),
@@ -106,7 +131,7 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 
 	@Override
 	protected void delete( PropertyRevision<T> entity ) {
-		jdbcTemplate.update(
+		execute(
 				SQL_DELETE_PROPERTY,
 				entity.getOwner(),
 				entity.getName(),
@@ -117,7 +142,7 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 
 	@Override
 	protected void deleteAllForOwner( T owner ) {
-		jdbcTemplate.update(
+		execute(
 				SQL_DROP_PROPERTIES,
 				owner
 		);
@@ -125,36 +150,22 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 
 	@Override
 	protected Collection<PropertyRevision<T>> getAllForLatestRevision( T owner ) {
-		return buildProperties(
-				owner,
-				jdbcTemplate.queryForList(
-						String.format( SQL_SELECT_PROPERTIES, FILTER_FOR_LATEST ),
-						owner
-				)
-		);
+		flushPendingStatements();
+		return jdbcTemplate.query( SQL_SELECT_PROPERTIES_FOR_LATEST, propertyRevisionMapper( owner ), owner );
 	}
 
 	@Override
 	protected Collection<PropertyRevision<T>> getAllForSpecificRevision( T owner,
 	                                                                     int revisionNumber ) {
-		return buildProperties(
-				owner,
-				jdbcTemplate.queryForList(
-						String.format( SQL_SELECT_PROPERTIES, FILTER_FOR_REVISION ),
-						owner, revisionNumber, revisionNumber
-				)
-		);
+		flushPendingStatements();
+		return jdbcTemplate.query( SQL_SELECT_PROPERTIES_FOR_REVISION, propertyRevisionMapper( owner ),
+		                           owner, revisionNumber, revisionNumber );
 	}
 
 	@Override
 	protected Collection<PropertyRevision<T>> getAllForDraftRevision( T owner ) {
-		return buildProperties(
-				owner,
-				jdbcTemplate.queryForList(
-						String.format( SQL_SELECT_PROPERTIES, FILTER_FOR_LATEST_AND_DRAFTS ),
-						owner
-				)
-		);
+		flushPendingStatements();
+		return jdbcTemplate.query( SQL_SELECT_PROPERTIES_FOR_LATEST_AND_DRAFTS, propertyRevisionMapper( owner ), owner );
 	}
 
 	@Override
@@ -186,9 +197,81 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 		return new StringPropertiesSource( sourceMap );
 	}
 
+	/**
+	 * Load the properties for a collection of owners for a specific revision. For the latest or a specific
+	 * revision number, the properties are selected using IN queries of at most {@link EntityPropertiesRepository#BULK_LOAD_CHUNK_SIZE}
+	 * owners. Draft revisions are loaded one owner at a time. The resulting map will contain an entry for every
+	 * distinct owner requested, in the order of the original collection, even if there are no properties for that owner.
+	 * <p/>
+	 * If the owner value returned by the database is of a different type (eg. {@code BigDecimal} instead of {@code Long}),
+	 * it will be matched to the requested owner with the same string representation.
+	 *
+	 * @param owners         to load the properties for
+	 * @param revisionNumber revision to load
+	 * @return properties source for every owner
+	 */
+	@Transactional(readOnly = true)
+	@SuppressWarnings("unchecked")
+	public Map<T, StringPropertiesSource> loadProperties( Collection<T> owners, int revisionNumber ) {
+		Map<T, Map<String, String>> sourceMaps = new LinkedHashMap<>();
+		owners.forEach( owner -> sourceMaps.computeIfAbsent( owner, o -> new HashMap<>() ) );
+
+		if ( revisionNumber == Revision.LATEST || revisionNumber > 0 ) {
+			boolean latest = revisionNumber == Revision.LATEST;
+			List<T> distinctOwners = new ArrayList<>( sourceMaps.keySet() );
+
+			Map<String, Map<String, String>> sourceMapsByString = new HashMap<>();
+			sourceMaps.forEach( ( owner, sourceMap ) -> sourceMapsByString.put( String.valueOf( owner ), sourceMap ) );
+
+			RowCallbackHandler rowHandler = rs -> {
+				Object owner = rs.getObject( 1 );
+				Map<String, String> sourceMap = sourceMaps.get( owner );
+				if ( sourceMap == null ) {
+					sourceMap = sourceMapsByString.get( String.valueOf( owner ) );
+				}
+				if ( sourceMap != null ) {
+					sourceMap.put( rs.getString( 2 ), rs.getString( 3 ) );
+				}
+			};
+
+			for ( int start = 0; start < distinctOwners.size(); start += EntityPropertiesRepository.BULK_LOAD_CHUNK_SIZE ) {
+				List<T> chunk = distinctOwners.subList(
+						start, Math.min( start + EntityPropertiesRepository.BULK_LOAD_CHUNK_SIZE, distinctOwners.size() )
+				);
+				String sql;
+				if ( chunk.size() == EntityPropertiesRepository.BULK_LOAD_CHUNK_SIZE ) {
+					sql = latest ? SQL_SELECT_LATEST_PROPERTIES_FOR_OWNERS_CHUNK : SQL_SELECT_REVISION_PROPERTIES_FOR_OWNERS_CHUNK;
+				}
+				else {
+					sql = String.format( SQL_SELECT_PROPERTIES_FOR_OWNERS,
+					                     StringUtils.repeat( "?", ",", chunk.size() ),
+					                     latest ? FILTER_FOR_LATEST : FILTER_FOR_REVISION );
+				}
+
+				List<Object> parameters = new ArrayList<>( chunk );
+				if ( !latest ) {
+					parameters.add( revisionNumber );
+					parameters.add( revisionNumber );
+				}
+
+				jdbcTemplate.query( sql, rowHandler, parameters.toArray() );
+			}
+		}
+		else {
+			sourceMaps.keySet().forEach(
+					owner -> sourceMaps.get( owner ).putAll( (Map<String, String>) loadProperties( owner, revisionNumber ).getProperties() )
+			);
+		}
+
+		Map<T, StringPropertiesSource> properties = new LinkedHashMap<>( sourceMaps.size() );
+		sourceMaps.forEach( ( owner, sourceMap ) -> properties.put( owner, new StringPropertiesSource( sourceMap ) ) );
+
+		return properties;
+	}
+
 	@Transactional
 	public StringPropertiesSource checkoutProperties( T owner, int revisionNumber ) {
-		Collection<PropertyRevision<T>> entities = checkout( owner, revisionNumber );
+		Collection<PropertyRevision<T>> entities = batched( () -> checkout( owner, revisionNumber ) );
 
 		Map<String, String> sourceMap = new HashMap<>();
 		for ( PropertyRevision<T> property : entities ) {
@@ -198,9 +281,31 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 		return new StringPropertiesSource( sourceMap );
 	}
 
+	/**
+	 * Checkin the properties of a revision as a new revision, executing all state transitions as batch updates.
+	 */
+	@Transactional
+	public void checkinProperties( T owner, int revisionNumber, int newRevisionNumber ) {
+		batched( () -> {
+			checkin( owner, revisionNumber, newRevisionNumber );
+			return null;
+		} );
+	}
+
+	/**
+	 * Delete the properties of a specific revision, executing all state transitions as batch updates.
+	 */
+	@Transactional
+	public void deletePropertiesForRevision( T owner, int revisionNumber ) {
+		batched( () -> {
+			deleteEntities( owner, revisionNumber );
+			return null;
+		} );
+	}
+
 	@Transactional
 	public void saveProperties( StringPropertiesSource properties, T owner, int revisionNumber ) {
-		Collection<PropertyRevision<T>> entities = new LinkedList<>();
+		Collection<PropertyRevision<T>> entities = new ArrayList<>( properties.getProperties().size() );
 
 		for ( Map.Entry<String, ?> entry : properties.getProperties().entrySet() ) {
 			PropertyRevision<T> candidate = new PropertyRevision<>();
@@ -215,7 +320,10 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 			entities.add( candidate );
 		}
 
-		saveEntitiesForRevision( entities, owner, revisionNumber );
+		batched( () -> {
+			saveEntitiesForRevision( entities, owner, revisionNumber );
+			return null;
+		} );
 	}
 
 	@Override
@@ -223,42 +331,85 @@ public class RevisionBasedEntityPropertiesRepository<T, R extends Revision<T>>
 		return entitiesForRevision;
 	}
 
-	private Collection<PropertyRevision<T>> buildProperties( T owner, List<Map<String, Object>> properties ) {
-		List<PropertyRevision<T>> props = new LinkedList<>();
-
-		for ( Map<String, Object> entry : properties ) {
+	private RowMapper<PropertyRevision<T>> propertyRevisionMapper( T owner ) {
+		return ( rs, rowNum ) -> {
 			PropertyRevision<T> propertyRevision = new PropertyRevision<>();
 			propertyRevision.setOwner( owner );
-			propertyRevision.setName( (String) entry.get( "property_name" ) );
-			propertyRevision.setValue( (String) entry.get( "property_value" ) );
-			propertyRevision.setFirstRevision( toInteger( entry.get( "first_revision" ) ) );
-			propertyRevision.setRemovalRevision( toInteger( entry.get( "removal_revision" ) ) );
-			propertyRevision.setDeleteForRevision( toBoolean( entry.get( "delete_for_revision" ) ) );
+			propertyRevision.setName( rs.getString( 1 ) );
+			propertyRevision.setValue( rs.getString( 2 ) );
+			propertyRevision.setFirstRevision( rs.getInt( 3 ) );
+			propertyRevision.setRemovalRevision( rs.getInt( 4 ) );
+			propertyRevision.setDeleteForRevision( rs.getBoolean( 5 ) );
+			return propertyRevision;
+		};
+	}
 
-			props.add( propertyRevision );
+	/**
+	 * Execute the action with all state transitions being collected as batch statements.
+	 * Pending statements are flushed when the action completes, or discarded if it fails.
+	 * Nested calls are part of the outer batch.
+	 */
+	private <V> V batched( Supplier<V> action ) {
+		if ( pendingStatements.get() != null ) {
+			return action.get();
 		}
 
-		return props;
+		pendingStatements.set( new PendingStatements() );
+		try {
+			V result = action.get();
+			flushPendingStatements();
+			return result;
+		}
+		finally {
+			pendingStatements.remove();
+		}
 	}
 
-	private boolean toBoolean( Object instance ) {
-		if ( instance instanceof Boolean ) {
-			return (Boolean) instance;
-		}
+	private void execute( String sql, Object... parameters ) {
+		PendingStatements pending = pendingStatements.get();
 
-		if ( instance instanceof Number ) {
-			return ( (Number) instance ).intValue() == 1;
+		if ( pending != null ) {
+			pending.add( sql, parameters );
+		}
+		else {
+			jdbcTemplate.update( sql, parameters );
 		}
+	}
+
+	private void flushPendingStatements() {
+		PendingStatements pending = pendingStatements.get();
 
-		return false;
+		if ( pending != null ) {
+			pending.flush();
+		}
 	}
 
-	private int toInteger( Object numericObject ) {
-		if ( numericObject instanceof Number ) {
-			return ( (Number) numericObject ).intValue();
+	/**
+	 * Consecutive statements with the same SQL, executed as a single batch.
+	 */
+	private final class PendingStatements
+	{
+		private String sql;
+		private final List<Object[]> batch = new ArrayList<>();
+
+		void add( String statementSql, Object[] parameters ) {
+			if ( !statementSql.equals( sql ) ) {
+				flush();
+				sql = statementSql;
+			}
+			batch.add( parameters );
 		}
 
-		return numericObject != null ? Integer.valueOf( numericObject.toString() ) : 0;
+		void flush() {
+			if ( batch.size() == 1 ) {
+				jdbcTemplate.update( sql, batch.get( 0 ) );
+			}
+			else if ( !batch.isEmpty() ) {
+				jdbcTemplate.batchUpdate( sql, batch );
+			}
+			batch.clear();
+			sql = null;
+		}
 	}
 
 	static class PropertyRevision<T> implements RevisionBasedEntity<PropertyRevision<T>>
@@ -18,10 +18,15 @@ package com.foreach.across.modules.properties.services;
 import com.foreach.across.modules.properties.business.EntityProperties;
 import com.foreach.across.modules.properties.business.StringPropertiesSource;
 import com.foreach.across.modules.properties.registries.EntityPropertiesRegistry;
+import com.foreach.across.modules.properties.repositories.EntityPropertiesCondition;
 import com.foreach.across.modules.properties.repositories.EntityPropertiesRepository;
 import com.foreach.common.spring.properties.PropertyTypeRegistry;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * @author Arne Vandamme
@@ -42,13 +47,53 @@ public abstract class AbstractEntityPropertiesService<T extends EntityProperties
 
 		return createEntityProperties( entityId,
 		                               entityPropertiesRegistry.getPropertyTypeRegistry(),
-		                               source.detach() );
+		                               source );
+	}
+
+	/**
+	 * Get the properties for a collection of entities, using a single bulk query for every
+	 * {@link EntityPropertiesRepository#BULK_LOAD_CHUNK_SIZE} entities.
+	 *
+	 * @param entityIds to fetch the properties for
+	 * @return properties for every distinct entity id, in the order of the original collection
+	 */
+	@Override
+	public Map<U, T> getProperties( Collection<U> entityIds ) {
+		PropertyTypeRegistry<String> propertyTypeRegistry = entityPropertiesRegistry.getPropertyTypeRegistry();
+
+		Map<U, T> properties = new LinkedHashMap<>();
+		entityPropertiesRepository.loadProperties( entityIds )
+		                          .forEach( ( entityId, source ) -> properties.put(
+				                          entityId, createEntityProperties( entityId, propertyTypeRegistry, source )
+		                          ) );
+		return properties;
 	}
 
 	public Collection<U> getEntityIdsForPropertyValue( String propertyName, Object propertyValue ) {
 		return entityPropertiesRepository.getEntityIdsForPropertyValue( propertyName, propertyValue );
 	}
 
+	/**
+	 * @see EntityPropertiesRepository#findEntityIds(EntityPropertiesCondition, int, int)
+	 */
+	public List<U> findEntityIds( EntityPropertiesCondition condition, int offset, int limit ) {
+		return entityPropertiesRepository.findEntityIds( condition, offset, limit );
+	}
+
+	/**
+	 * @see EntityPropertiesRepository#countEntityIds(EntityPropertiesCondition)
+	 */
+	public long countEntityIds( EntityPropertiesCondition condition ) {
+		return entityPropertiesRepository.countEntityIds( condition );
+	}
+
+	/**
+	 * @see EntityPropertiesRepository#forEachEntityId(EntityPropertiesCondition, Consumer)
+	 */
+	public void forEachEntityId( EntityPropertiesCondition condition, Consumer<U> consumer ) {
+		entityPropertiesRepository.forEachEntityId( condition, consumer );
+	}
+
 	public void saveProperties( T entityProperties ) {
 		entityPropertiesRepository.saveProperties( entityProperties.getId(),
 		                                           entityProperties.getSource() );
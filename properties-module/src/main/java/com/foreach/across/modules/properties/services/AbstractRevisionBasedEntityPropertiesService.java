@@ -23,7 +23,10 @@ import com.foreach.across.modules.properties.repositories.RevisionBasedEntityPro
 import com.foreach.common.spring.properties.PropertyTypeRegistry;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * @author Arne Vandamme
@@ -57,6 +60,19 @@ public abstract class AbstractRevisionBasedEntityPropertiesService<T extends Ent
 		                               source );
 	}
 
+	@Transactional(readOnly = true)
+	@Override
+	public Map<U, T> getProperties( Collection<U> entityIds, int revisionNumber ) {
+		PropertyTypeRegistry<String> propertyTypeRegistry = entityPropertiesRegistry.getPropertyTypeRegistry();
+
+		Map<U, T> properties = new LinkedHashMap<>();
+		entityPropertiesRepository.loadProperties( entityIds, revisionNumber )
+		                          .forEach( ( entityId, source ) -> properties.put(
+				                          entityId, createEntityProperties( entityId, propertyTypeRegistry, source )
+		                          ) );
+		return properties;
+	}
+
 	@Transactional
 	@Override
 	public void saveProperties( T entityProperties, R revision ) {
@@ -78,7 +94,7 @@ public abstract class AbstractRevisionBasedEntityPropertiesService<T extends Ent
 	@Transactional
 	@Override
 	public void deleteProperties( U entityId, int revisionNumber ) {
-		entityPropertiesRepository.deleteEntities( entityId, revisionNumber );
+		entityPropertiesRepository.deletePropertiesForRevision( entityId, revisionNumber );
 	}
 
 	@Transactional
@@ -96,7 +112,7 @@ public abstract class AbstractRevisionBasedEntityPropertiesService<T extends Ent
 	@Transactional
 	@Override
 	public void checkin( U entityId, int revisionNumber, int newRevisionNumber ) {
-		entityPropertiesRepository.checkin( entityId, revisionNumber, newRevisionNumber );
+		entityPropertiesRepository.checkinProperties( entityId, revisionNumber, newRevisionNumber );
 	}
 
 	@Transactional
@@ -18,6 +18,8 @@ package com.foreach.across.modules.properties.services;
 import com.foreach.across.modules.properties.business.EntityProperties;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * @author Arne Vandamme
@@ -26,6 +28,19 @@ public interface EntityPropertiesService<T extends EntityProperties<U>, U> exten
 {
 	T getProperties( U entityId );
 
+	/**
+	 * Get the properties for a collection of entities. The default implementation fetches the properties
+	 * one entity at a time, implementations should provide a bulk fetching approach.
+	 *
+	 * @param entityIds to fetch the properties for
+	 * @return properties for every distinct entity id, in the order of the original collection
+	 */
+	default Map<U, T> getProperties( Collection<U> entityIds ) {
+		Map<U, T> properties = new LinkedHashMap<>();
+		entityIds.forEach( entityId -> properties.computeIfAbsent( entityId, this::getProperties ) );
+		return properties;
+	}
+
 	void saveProperties( T entityProperties );
 
 	void deleteProperties( U entityId );
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.properties.services;
+
+import com.foreach.across.modules.properties.business.EntityProperties;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Creates value fetching functions for a single property of an {@link EntityProperties} map.
+ * Intended to expose properties as entity properties in EntityModule, where the bulk value fetcher
+ * will be used by the {@code EntityPropertyController.fetchValues()} implementation, for example when
+ * rendering property values as columns of a list view:
+ * <pre>{@code
+ * props.property( "userProperties[theme]" )
+ *      .propertyType( String.class )
+ *      .controller( c -> c.withTarget( User.class, String.class )
+ *                         .valueFetcher( EntityPropertiesValueFetchers.valueFetcher( userPropertiesService, User::getId, "theme" ) )
+ *                         .bulkValueFetcher( EntityPropertiesValueFetchers.bulkValueFetcher( userPropertiesService, User::getId, "theme" ) ) );
+ * }</pre>
+ *
+ * @author Arne Vandamme
+ * @since 4.3.0
+ */
+public abstract class EntityPropertiesValueFetchers
+{
+	private EntityPropertiesValueFetchers() {
+	}
+
+	/**
+	 * Create a function fetching the property value for a single entity.
+	 *
+	 * @param propertiesService to load the properties with
+	 * @param idResolver        returns the id of the entity the properties are attached to
+	 * @param propertyName      name of the property
+	 * @param <T>               entity type
+	 * @param <U>               entity id type
+	 * @param <V>               property value type
+	 * @return value fetcher
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, U, V> Function<T, V> valueFetcher( EntityPropertiesService<? extends EntityProperties<U>, U> propertiesService,
+	                                                     Function<T, U> idResolver,
+	                                                     String propertyName ) {
+		return entity -> {
+			U entityId = entity != null ? idResolver.apply( entity ) : null;
+			return entityId != null ? (V) propertiesService.getProperties( entityId ).getValue( propertyName ) : null;
+		};
+	}
+
+	/**
+	 * Create a function fetching the property value for a collection of entities.
+	 * The properties of all entities will be loaded using {@link EntityPropertiesService#getProperties(Collection)}.
+	 * The resulting map is an {@link IdentityHashMap} with an entry for every entity.
+	 *
+	 * @param propertiesService to load the properties with
+	 * @param idResolver        returns the id of the entity the properties are attached to
+	 * @param propertyName      name of the property
+	 * @param <T>               entity type
+	 * @param <U>               entity id type
+	 * @param <V>               property value type
+	 * @return bulk value fetcher
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, U, V> Function<Collection<T>, Map<T, V>> bulkValueFetcher( EntityPropertiesService<? extends EntityProperties<U>, U> propertiesService,
+	                                                                             Function<T, U> idResolver,
+	                                                                             String propertyName ) {
+		return entities -> {
+			Map<T, U> entityIds = new IdentityHashMap<>( entities.size() );
+			entities.forEach( entity -> entityIds.put( entity, entity != null ? idResolver.apply( entity ) : null ) );
+
+			List<U> idsToLoad = new ArrayList<>( entityIds.size() );
+			entityIds.values().stream().filter( Objects::nonNull ).forEach( idsToLoad::add );
+
+			Map<U, ? extends EntityProperties<U>> properties
+					= idsToLoad.isEmpty() ? Collections.emptyMap() : propertiesService.getProperties( idsToLoad );
+
+			Map<T, V> values = new IdentityHashMap<>( entityIds.size() );
+			entityIds.forEach( ( entity, entityId ) -> {
+				EntityProperties<U> entityProperties = entityId != null ? properties.get( entityId ) : null;
+				values.put( entity, entityProperties != null ? (V) entityProperties.getValue( propertyName ) : null );
+			} );
+
+			return values;
+		};
+	}
+}
@@ -18,6 +18,10 @@ package com.foreach.across.modules.properties.services;
 import com.foreach.across.core.revision.Revision;
 import com.foreach.across.modules.properties.business.EntityProperties;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * @author Arne Vandamme
  */
@@ -28,6 +32,20 @@ public interface RevisionBasedEntityPropertiesService<T extends EntityProperties
 
 	T getProperties( U entityId, int revisionNumber );
 
+	/**
+	 * Get the properties for a collection of entities for a specific revision. The default implementation fetches
+	 * the properties one entity at a time, implementations should provide a bulk fetching approach.
+	 *
+	 * @param entityIds      to fetch the properties for
+	 * @param revisionNumber revision to fetch
+	 * @return properties for every distinct entity id, in the order of the original collection
+	 */
+	default Map<U, T> getProperties( Collection<U> entityIds, int revisionNumber ) {
+		Map<U, T> properties = new LinkedHashMap<>();
+		entityIds.forEach( entityId -> properties.computeIfAbsent( entityId, id -> getProperties( id, revisionNumber ) ) );
+		return properties;
+	}
+
 	void saveProperties( T entityProperties, R revision );
 
 	void saveProperties( T entityProperties, U entityId, int revisionNumber );
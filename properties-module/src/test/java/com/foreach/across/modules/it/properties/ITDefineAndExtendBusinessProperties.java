@@ -33,20 +33,26 @@ import com.foreach.across.modules.it.properties.extendingmodule.config.ClientPro
 import com.foreach.across.modules.it.properties.extendingmodule.config.UserPropertiesConfig;
 import com.foreach.across.modules.it.properties.extendingmodule.services.ClientPropertyService;
 import com.foreach.across.modules.properties.PropertiesModule;
+import com.foreach.across.modules.properties.repositories.EntityPropertiesCondition;
+import com.foreach.across.modules.properties.services.EntityPropertiesValueFetchers;
 import com.foreach.across.test.AcrossTestConfiguration;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import javax.sql.DataSource;
+
 import java.math.BigDecimal;
-import java.util.Collection;
-import java.util.Date;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,6 +64,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @ContextConfiguration(classes = ITDefineAndExtendBusinessProperties.Config.class)
 public class ITDefineAndExtendBusinessProperties
 {
+	private static final Logger LOG = LoggerFactory.getLogger( ITDefineAndExtendBusinessProperties.class );
+
 	@Autowired
 	private UserPropertyService userPropertyService;
 
@@ -76,6 +84,9 @@ public class ITDefineAndExtendBusinessProperties
 	@Autowired
 	private RevisionPropertiesRepository revisionPropertiesRepository;
 
+	@Autowired
+	private DataSource dataSource;
+
 	private long entityId = System.currentTimeMillis();
 
 	@BeforeEach
@@ -92,6 +103,23 @@ public class ITDefineAndExtendBusinessProperties
 		userPropertyRegistry.register( moduleInfo, UserPropertiesConfig.BOOLEAN, Boolean.class );
 	}
 
+	@Test
+	public void propertyRegistrationsAreTrackedOnceBootstrapped() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate( dataSource );
+		Integer registrations = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM across_property_tracking WHERE module = ? AND properties_id = ? AND property_name = ?",
+				Integer.class, "ExtendingModule", "ExtendingModule.ClientProperties", ClientPropertiesConfig.BOOLEAN );
+		assertEquals( Integer.valueOf( 1 ), registrations );
+
+		AcrossModuleInfo moduleInfo = acrossContextInfo.getModuleInfo( "ExtendingModule" );
+		userPropertyRegistry.register( moduleInfo, "extending.registeredAfterBootstrap", String.class );
+
+		registrations = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM across_property_tracking WHERE module = ? AND property_name = ?",
+				Integer.class, "ExtendingModule", "extending.registeredAfterBootstrap" );
+		assertEquals( Integer.valueOf( 1 ), registrations );
+	}
+
 	@Test
 	public void defaultPropertyValues() {
 		User userOne = new User( 1, "one" );
@@ -153,6 +181,29 @@ public class ITDefineAndExtendBusinessProperties
 		assertTrue( clientPropertyService.getProperties( userTwo.getId() ).isEmpty() );
 	}
 
+	@Test
+	public void cachedPropertiesAreRevalidatedUsingTheVersion() {
+		ClientProperties created = clientPropertyService.getProperties( 10L );
+		created.set( "name", "client ten" );
+		clientPropertyService.saveProperties( created );
+
+		ClientProperties fetched = clientPropertyService.getProperties( 10L );
+		assertEquals( "client ten", fetched.getValue( "name" ) );
+		fetched.set( "name", "modified but not saved" );
+		assertEquals( "client ten", clientPropertyService.getProperties( 10L ).getValue( "name" ) );
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate( dataSource );
+		jdbcTemplate.update( "UPDATE client_properties SET property_value = 'same version' WHERE client_id = 10" );
+		assertEquals( "client ten", clientPropertyService.getProperties( 10L ).getValue( "name" ) );
+
+		jdbcTemplate.update(
+				"UPDATE client_properties SET property_value = 'other node', property_version = property_version + 1 WHERE client_id = 10" );
+		assertEquals( "other node", clientPropertyService.getProperties( 10L ).getValue( "name" ) );
+
+		clientPropertyService.deleteProperties( 10L );
+		assertTrue( clientPropertyService.getProperties( 10L ).isEmpty() );
+	}
+
 	@Test
 	public void selectPropertyValues() {
 		User three = new User( 3, "three" );
@@ -188,6 +239,97 @@ public class ITDefineAndExtendBusinessProperties
 		assertTrue( entityIds.contains( 4L ) );
 	}
 
+	@Test
+	public void bulkLoadProperties() {
+		User five = new User( 5, "five" );
+		User six = new User( 6, "six" );
+		User seven = new User( 7, "seven" );
+
+		UserProperties propsFive = userPropertyService.getProperties( five.getId() );
+		propsFive.set( "description", "user five" );
+		propsFive.set( "number", 5 );
+		userPropertyService.saveProperties( propsFive );
+
+		UserProperties propsSix = userPropertyService.getProperties( six.getId() );
+		propsSix.set( "description", "user six" );
+		userPropertyService.saveProperties( propsSix );
+
+		Map<Long, UserProperties> properties = userPropertyService.getProperties( Arrays.asList( 7L, 5L, 6L, 5L ) );
+		assertEquals( Arrays.asList( 7L, 5L, 6L ), new ArrayList<>( properties.keySet() ) );
+		assertEquals( "user five", properties.get( 5L ).getValue( "description" ) );
+		assertEquals( Integer.valueOf( 5 ), properties.get( 5L ).getValue( "number", Integer.class ) );
+		assertEquals( "user six", properties.get( 6L ).getValue( "description" ) );
+		assertNull( properties.get( 7L ).getValue( "description" ) );
+		assertEquals( Long.valueOf( 7L ), properties.get( 7L ).getId() );
+
+		Function<Collection<User>, Map<User, String>> bulkValueFetcher
+				= EntityPropertiesValueFetchers.bulkValueFetcher( userPropertyService, User::getId, "description" );
+		Map<User, String> descriptions = bulkValueFetcher.apply( Arrays.asList( five, six, seven ) );
+		assertEquals( 3, descriptions.size() );
+		assertEquals( "user five", descriptions.get( five ) );
+		assertEquals( "user six", descriptions.get( six ) );
+		assertNull( descriptions.get( seven ) );
+
+		Function<User, String> valueFetcher = EntityPropertiesValueFetchers.valueFetcher( userPropertyService, User::getId, "description" );
+		assertEquals( "user six", valueFetcher.apply( six ) );
+	}
+
+	@Test
+	public void findEntityIdsForPropertyConditions() {
+		String group = RandomStringUtils.randomAlphanumeric( 10 );
+
+		for ( long id = 101; id <= 105; id++ ) {
+			UserProperties props = userPropertyService.getProperties( id );
+			props.set( "group", group );
+			props.set( "number", (int) id % 2 );
+			if ( id > 103 ) {
+				props.set( "description", group + " user " + id );
+			}
+			userPropertyService.saveProperties( props );
+		}
+
+		EntityPropertiesCondition inGroup = EntityPropertiesCondition.property( "group" ).eq( group );
+		assertEquals( Arrays.asList( 101L, 102L, 103L, 104L, 105L ), userPropertyService.findEntityIds( inGroup, 0, 10 ) );
+		assertEquals( Arrays.asList( 102L, 103L ), userPropertyService.findEntityIds( inGroup, 1, 2 ) );
+		assertEquals( 5, userPropertyService.countEntityIds( inGroup ) );
+
+		EntityPropertiesCondition odd = inGroup.and( EntityPropertiesCondition.property( "number" ).eq( 1 ) );
+		assertEquals( Arrays.asList( 101L, 103L, 105L ), userPropertyService.findEntityIds( odd, 0, 10 ) );
+
+		EntityPropertiesCondition evenOrDescribed = inGroup.and(
+				EntityPropertiesCondition.anyOf(
+						EntityPropertiesCondition.property( "number" ).in( 0 ),
+						EntityPropertiesCondition.property( "description" ).exists()
+				)
+		);
+		List<Long> streamed = new ArrayList<>();
+		userPropertyService.forEachEntityId( evenOrDescribed, streamed::add );
+		assertEquals( Arrays.asList( 102L, 104L, 105L ), streamed );
+
+		EntityPropertiesCondition like = EntityPropertiesCondition.property( "description" ).like( group + " user 10%" );
+		assertEquals( 2, userPropertyService.countEntityIds( like ) );
+		assertEquals( 0, userPropertyService.countEntityIds( EntityPropertiesCondition.property( "group" ).eq( "unknown-" + group ) ) );
+	}
+
+	@Test
+	public void bulkLoadRevisionBasedProperties() {
+		Entity one = new Entity( entityId() );
+		Entity two = new Entity( entityId() );
+
+		RevisionProperties propsOne = revisionPropertyService.createProperties( one.getId() );
+		propsOne.put( "string", "one" );
+		revisionPropertyService.saveProperties( propsOne, new EntityRevision( one, 0, false, true ) );
+
+		RevisionProperties propsTwo = revisionPropertyService.createProperties( two.getId() );
+		propsTwo.put( "string", "two" );
+		revisionPropertyService.saveProperties( propsTwo, new EntityRevision( two, 0, false, true ) );
+
+		Map<Long, RevisionProperties> properties = revisionPropertyService.getProperties( Arrays.asList( two.getId(), one.getId() ), 0 );
+		assertEquals( Arrays.asList( two.getId(), one.getId() ), new ArrayList<>( properties.keySet() ) );
+		assertEquals( "one", properties.get( one.getId() ).getValue( "string" ) );
+		assertEquals( "two", properties.get( two.getId() ).getValue( "string" ) );
+	}
+
 	@Test
 	public void revisionBasedPropertiesForNonRevision() {
 		Entity entity = new Entity( entityId() );
@@ -470,6 +612,56 @@ public class ITDefineAndExtendBusinessProperties
 		assertEquals( "text", threeProps.getValue( "string" ) );
 	}
 
+	@Test
+	public void saveAndCheckoutLargeNumberOfRevisionProperties() {
+		int numberOfProperties = 5000;
+		Entity entity = new Entity( entityId() );
+		EntityRevision draft = new EntityRevision( entity, Revision.DRAFT, true, false );
+		EntityRevision latest = new EntityRevision( entity, 2, false, true );
+
+		RevisionProperties created = revisionPropertyService.createProperties( draft );
+		for ( int i = 0; i < numberOfProperties; i++ ) {
+			created.put( "property." + i, "value " + i );
+		}
+
+		long start = System.nanoTime();
+		revisionPropertyService.saveProperties( created, draft );
+		long saveDraft = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		revisionPropertyService.checkin( draft, 1 );
+		long checkin = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		RevisionProperties checkedOut = revisionPropertyService.checkout( draft );
+		long checkout = System.nanoTime() - start;
+		assertEquals( numberOfProperties, checkedOut.size() );
+
+		for ( int i = 0; i < numberOfProperties; i += 2 ) {
+			checkedOut.put( "property." + i, "modified " + i );
+		}
+		checkedOut.remove( "property.1" );
+
+		start = System.nanoTime();
+		revisionPropertyService.saveProperties( checkedOut, draft );
+		long saveModified = System.nanoTime() - start;
+
+		revisionPropertyService.checkin( draft, 2 );
+
+		RevisionProperties latestProps = revisionPropertyService.getProperties( latest );
+		assertEquals( numberOfProperties - 1, latestProps.size() );
+		assertEquals( "modified 0", latestProps.getValue( "property.0" ) );
+		assertEquals( "value 3", latestProps.getValue( "property.3" ) );
+		assertNull( latestProps.getValue( "property.1" ) );
+
+		RevisionProperties firstRevision = revisionPropertyService.getProperties( new EntityRevision( entity, 1, false, false ) );
+		assertEquals( numberOfProperties, firstRevision.size() );
+		assertEquals( "value 0", firstRevision.getValue( "property.0" ) );
+
+		LOG.info( "{} revision properties - save draft: {} ms, checkin: {} ms, checkout: {} ms, save modified draft: {} ms",
+		          numberOfProperties, saveDraft / 1_000_000, checkin / 1_000_000, checkout / 1_000_000, saveModified / 1_000_000 );
+	}
+
 	private long entityId() {
 		return entityId++;
 	}
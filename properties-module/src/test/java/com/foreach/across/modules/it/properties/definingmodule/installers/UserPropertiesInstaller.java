@@ -21,7 +21,7 @@ import com.foreach.across.modules.properties.installers.EntityPropertiesInstalle
 /**
  * @author Arne Vandamme
  */
-@Installer(description = "Creates user properties table", version = 1)
+@Installer(description = "Creates user properties table", version = 2)
 public class UserPropertiesInstaller extends EntityPropertiesInstaller
 {
 	@Override
@@ -33,4 +33,9 @@ public class UserPropertiesInstaller extends EntityPropertiesInstaller
 	protected String getKeyColumnName() {
 		return "user_id";
 	}
+
+	@Override
+	protected boolean isPropertyValueIndexEnabled() {
+		return true;
+	}
 }
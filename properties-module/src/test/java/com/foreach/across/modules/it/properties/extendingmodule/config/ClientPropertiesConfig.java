@@ -24,6 +24,8 @@ import com.foreach.common.spring.properties.support.SingletonPropertyFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * @author Arne Vandamme
  */
@@ -52,6 +54,16 @@ public class ClientPropertiesConfig extends AbstractEntityPropertiesConfiguratio
 		return "client_id";
 	}
 
+	@Override
+	public int cacheSize() {
+		return 100;
+	}
+
+	@Override
+	public Duration cacheRevalidationInterval() {
+		return Duration.ZERO;
+	}
+
 	@Bean
 	@Exposed
 	@Override
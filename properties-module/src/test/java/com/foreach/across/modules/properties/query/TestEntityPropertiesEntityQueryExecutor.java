@@ -0,0 +1,128 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.properties.query;
+
+import com.foreach.across.modules.entity.query.*;
+import com.foreach.across.modules.properties.repositories.EntityPropertiesCondition;
+import com.foreach.across.modules.properties.services.AbstractEntityPropertiesService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Arne Vandamme
+ */
+@SuppressWarnings("unchecked")
+public class TestEntityPropertiesEntityQueryExecutor
+{
+	private static final EntityFetchPlan FETCH_PLAN = EntityFetchPlan.of( "group" );
+
+	private EntityQueryExecutor<Object> delegate;
+	private AbstractEntityPropertiesService<?, Long> service;
+	private EntityPropertiesEntityQueryExecutor<Object> executor;
+
+	private EntityQuery query;
+	private EntityQuery resolved;
+
+	@BeforeEach
+	public void setUp() {
+		delegate = mock( EntityQueryExecutor.class );
+		service = mock( AbstractEntityPropertiesService.class );
+		when( service.findEntityIds( any( EntityPropertiesCondition.class ), eq( 0 ), eq( EntityPropertiesEntityQueryExecutor.DEFAULT_ENTITY_ID_CHUNK_SIZE + 1 ) ) )
+				.thenReturn( Arrays.asList( 1L, 2L ) );
+
+		executor = new EntityPropertiesEntityQueryExecutor<>( delegate, service, "properties", "id" );
+
+		query = EntityQuery.and(
+				new EntityQueryCondition( "name", EntityQueryOps.EQ, "john" ),
+				new EntityQueryCondition( "properties.theme", EntityQueryOps.EQ, "dark" )
+		);
+		resolved = EntityQuery.and(
+				new EntityQueryCondition( "name", EntityQueryOps.EQ, "john" ),
+				new EntityQueryCondition( "id", EntityQueryOps.IN, 1L, 2L )
+		);
+	}
+
+	@Test
+	public void findAllWithFetchPlanIsForwarded() {
+		Sort sort = Sort.by( "name" );
+		when( delegate.findAll( resolved, sort, FETCH_PLAN ) ).thenReturn( Collections.singletonList( "one" ) );
+
+		assertEquals( Collections.singletonList( "one" ), executor.findAll( query, sort, FETCH_PLAN ) );
+		verify( delegate, never() ).findAll( any( EntityQuery.class ), any( Sort.class ) );
+	}
+
+	@Test
+	public void pagedFindAllWithFetchPlanIsForwarded() {
+		Pageable pageable = PageRequest.of( 0, 10 );
+		Page<Object> page = new PageImpl<>( Collections.singletonList( "one" ) );
+		when( delegate.findAll( resolved, pageable, FETCH_PLAN ) ).thenReturn( page );
+
+		assertSame( page, executor.findAll( query, pageable, FETCH_PLAN ) );
+		verify( delegate, never() ).findAll( any( EntityQuery.class ), any( Pageable.class ) );
+	}
+
+	@Test
+	public void findSliceIsForwarded() {
+		Pageable pageable = PageRequest.of( 1, 10 );
+		Slice<Object> slice = new SliceImpl<>( Collections.singletonList( "one" ) );
+		when( delegate.findSlice( resolved, pageable, FETCH_PLAN ) ).thenReturn( slice );
+
+		assertSame( slice, executor.findSlice( query, pageable, FETCH_PLAN ) );
+		verify( delegate, never() ).findAll( any( EntityQuery.class ), any( Pageable.class ), any() );
+	}
+
+	@Test
+	public void countIsForwarded() {
+		when( delegate.count( resolved ) ).thenReturn( 2L );
+
+		assertEquals( 2L, executor.count( query ) );
+		verify( delegate, never() ).findAll( any( EntityQuery.class ), any( Pageable.class ) );
+	}
+
+	@Test
+	public void manyMatchingEntitiesAreSplitInMultipleIdConditions() {
+		executor.setEntityIdChunkSize( 2 );
+		when( service.findEntityIds( any( EntityPropertiesCondition.class ), eq( 0 ), eq( 3 ) ) ).thenReturn( Arrays.asList( 1L, 2L, 3L ) );
+		doAnswer( invocation -> {
+			Consumer<Long> consumer = invocation.getArgument( 1 );
+			LongStream.rangeClosed( 1, 5 ).forEach( consumer::accept );
+			return null;
+		} ).when( service ).forEachEntityId( any( EntityPropertiesCondition.class ), any() );
+
+		EntityQuery expected = EntityQuery.and(
+				new EntityQueryCondition( "name", EntityQueryOps.EQ, "john" ),
+				EntityQuery.or(
+						new EntityQueryCondition( "id", EntityQueryOps.IN, 1L, 2L ),
+						new EntityQueryCondition( "id", EntityQueryOps.IN, 3L, 4L ),
+						new EntityQueryCondition( "id", EntityQueryOps.IN, 5L )
+				)
+		);
+
+		assertEquals( expected, executor.resolvePropertyConditions( query ) );
+	}
+}
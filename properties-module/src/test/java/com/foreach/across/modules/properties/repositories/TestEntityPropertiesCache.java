@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.properties.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Arne Vandamme
+ */
+public class TestEntityPropertiesCache
+{
+	private final EntityPropertiesCache<Long> cache = new EntityPropertiesCache<>( 10, null );
+
+	@Test
+	public void propertiesAreCachedIfNotInvalidatedSinceLoading() {
+		long token = cache.invalidationToken( 1L );
+
+		assertTrue( cache.put( 1L, Collections.singletonMap( "theme", "dark" ), null, token ) );
+		assertEquals( Collections.singletonMap( "theme", "dark" ), cache.get( 1L ).getProperties() );
+	}
+
+	@Test
+	public void staleReaderDoesNotCacheAfterInvalidation() {
+		long token = cache.invalidationToken( 1L );
+
+		// properties are saved while the reader is loading the old values
+		cache.invalidate( 1L );
+
+		assertFalse( cache.put( 1L, Collections.singletonMap( "theme", "dark" ), null, token ) );
+		assertNull( cache.get( 1L ) );
+
+		assertTrue( cache.put( 1L, Collections.singletonMap( "theme", "light" ), null, cache.invalidationToken( 1L ) ) );
+		assertEquals( "light", cache.get( 1L ).getProperties().get( "theme" ) );
+	}
+
+	@Test
+	public void staleReaderDoesNotCacheAfterClear() {
+		long token = cache.invalidationToken( 1L );
+		cache.clear();
+
+		assertFalse( cache.put( 1L, Collections.singletonMap( "theme", "dark" ), null, token ) );
+		assertNull( cache.get( 1L ) );
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.foreach.across.modules.properties.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Arne Vandamme
+ */
+public class TestEntityPropertiesCondition
+{
+	private final List<Object> parameters = new ArrayList<>();
+
+	@Test
+	public void singlePropertyCondition() {
+		assertEquals( "SELECT user_id FROM props WHERE property_name = ? AND property_value = ?",
+		              sql( EntityPropertiesCondition.property( "theme" ).eq( "dark" ), 0 ) );
+		assertEquals( Arrays.asList( "theme", "dark" ), parameters );
+	}
+
+	@Test
+	public void valuePrefixIsComparedForEqualityConditions() {
+		assertEquals( "SELECT user_id FROM props WHERE property_name = ? AND LEFT(property_value, 255) = LEFT(?, 255) AND property_value = ?",
+		              sql( EntityPropertiesCondition.property( "theme" ).eq( "dark" ), 255 ) );
+		assertEquals( Arrays.asList( "theme", "dark", "dark" ), parameters );
+
+		parameters.clear();
+		assertEquals( "SELECT user_id FROM props WHERE property_name = ? "
+				              + "AND LEFT(property_value, 255) IN (LEFT(?, 255),LEFT(?, 255)) AND property_value IN (?,?)",
+		              sql( EntityPropertiesCondition.property( "locale" ).in( "nl", "fr" ), 255 ) );
+		assertEquals( Arrays.asList( "locale", "nl", "fr", "nl", "fr" ), parameters );
+
+		parameters.clear();
+		assertEquals( "SELECT user_id FROM props WHERE property_name = ? AND property_value LIKE ?",
+		              sql( EntityPropertiesCondition.property( "theme" ).like( "da%" ), 255 ) );
+	}
+
+	@Test
+	public void allOfIsDrivenByTheFirstCondition() {
+		EntityPropertiesCondition condition = EntityPropertiesCondition.property( "theme" ).eq( "dark" )
+		                                                               .and( EntityPropertiesCondition.property( "locale" ).exists(),
+		                                                                     EntityPropertiesCondition.property( "size" ).eq( 10 ) );
+
+		assertEquals( "SELECT driver.user_id FROM (SELECT user_id FROM props WHERE property_name = ? AND property_value = ?) driver "
+				              + "WHERE driver.user_id IN (SELECT user_id FROM props WHERE property_name = ?) "
+				              + "AND driver.user_id IN (SELECT user_id FROM props WHERE property_name = ? AND property_value = ?)",
+		              sql( condition, 0 ) );
+		assertEquals( Arrays.asList( "theme", "dark", "locale", "size", "10" ), parameters );
+	}
+
+	@Test
+	public void anyOfIsAUnionOfTheConditions() {
+		EntityPropertiesCondition condition = EntityPropertiesCondition.anyOf(
+				EntityPropertiesCondition.property( "theme" ).eq( "dark" ),
+				EntityPropertiesCondition.allOf( EntityPropertiesCondition.property( "locale" ).exists(),
+				                                 EntityPropertiesCondition.property( "size" ).exists() )
+		);
+
+		assertEquals( "SELECT user_id FROM props WHERE property_name = ? AND property_value = ? "
+				              + "UNION SELECT driver.user_id FROM (SELECT user_id FROM props WHERE property_name = ?) driver "
+				              + "WHERE driver.user_id IN (SELECT user_id FROM props WHERE property_name = ?)",
+		              sql( condition, 0 ) );
+		assertEquals( Arrays.asList( "theme", "dark", "locale", "size" ), parameters );
+	}
+
+	private String sql( EntityPropertiesCondition condition, int valuePrefixLength ) {
+		StringBuilder sql = new StringBuilder();
+		condition.appendSql( sql, parameters, "props", "user_id", String::valueOf, valuePrefixLength );
+		return sql.toString();
+	}
+}